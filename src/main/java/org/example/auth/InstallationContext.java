@@ -0,0 +1,53 @@
+package org.example.auth;
+
+/**
+ * Holds the GitHub App installation ID that the current thread is acting on behalf of.
+ * Set by the PR processing pipeline from the webhook payload so that Feign interceptors
+ * can attach the matching installation token without threading the ID through every call.
+ *
+ * When no installation is bound, the configured default installation is used.
+ *
+ * Reactive pipelines don't stay on one thread; they carry the installation ID in their
+ * Reactor context under {@link #REACTOR_KEY} instead.
+ */
+public final class InstallationContext {
+
+    /**
+     * Reactor context key of the installation ID used by the non-blocking GitHub client
+     */
+    public static final String REACTOR_KEY = "github.installation-id";
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private InstallationContext() {
+    }
+
+    /**
+     * Binds an installation ID to the current thread.
+     *
+     * @param installationId Installation ID, or null to clear the binding
+     */
+    public static void set(Long installationId) {
+        if (installationId == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(installationId);
+        }
+    }
+
+    /**
+     * Gets the installation ID bound to the current thread.
+     *
+     * @return Installation ID, or null if none is bound
+     */
+    public static Long get() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Removes the installation binding from the current thread.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.auth;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.GitHubAppConfig;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background refresher for installation access tokens.
+ * Renews tokens of recently active installations before they expire so that
+ * webhook processing never waits on a JWT sign and token exchange.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InstallationTokenRefresher {
+
+    private final InstallationTokenService tokenService;
+    private final GitHubAppConfig config;
+
+    /**
+     * Refreshes tokens whose scheduled refresh time has passed.
+     * Installations idle longer than the activity window are left to refresh on demand.
+     */
+    @Scheduled(
+            fixedDelayString = "${github.app.token-refresh-interval-seconds:30}",
+            initialDelayString = "${github.app.token-refresh-interval-seconds:30}",
+            timeUnit = TimeUnit.SECONDS
+    )
+    public void refreshExpiringTokens() {
+        Duration activeWindow = Duration.ofMinutes(config.getTokenRefreshActiveWindowMinutes());
+        Instant now = Instant.now();
+
+        for (Long installationId : tokenService.getActiveInstallations(activeWindow)) {
+            Instant refreshAt = tokenService.getRefreshAt(installationId);
+            if (refreshAt == null || now.isBefore(refreshAt)) {
+                continue;
+            }
+
+            try {
+                log.debug("Proactively refreshing token for installation ID: {}", installationId);
+                tokenService.refreshToken(installationId);
+            } catch (Exception e) {
+                // Callers fall back to on-demand refresh; retry on the next tick
+                log.warn("Proactive token refresh failed for installation ID: {}", installationId, e);
+            }
+        }
+    }
+}
@@ -4,48 +4,158 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.client.GitHubAuthClient;
 import org.example.config.GitHubAppConfig;
+import org.example.exception.GitHubUnavailableException;
 import org.example.model.github.InstallationToken;
+import org.example.profiling.CacheLookupEvent;
+import org.example.profiling.TokenRefreshEvent;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing GitHub App installation access tokens.
  * Installation tokens are used to authenticate API requests on behalf of the app installation.
  * Tokens are valid for 1 hour and should be cached.
+ *
+ * Tokens are cached per installation. {@link InstallationTokenRefresher} renews tokens of
+ * recently active installations ahead of expiry so request threads rarely pay for a refresh.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class InstallationTokenService {
 
+    // Tokens closer than this to expiry are never handed out
+    private static final Duration EXPIRY_BUFFER = Duration.ofMinutes(5);
+
     private final GitHubAppJwtService jwtService;
     private final GitHubAppConfig config;
     private final GitHubAuthClient authClient;
 
-    // Cache for installation token
-    private String cachedToken;
-    private Instant tokenExpiration;
+    // Cache of installation tokens keyed by installation ID
+    private final Map<Long, CachedToken> tokens = new ConcurrentHashMap<>();
+    private final Map<Long, Object> refreshLocks = new ConcurrentHashMap<>();
+    private final Map<Long, Instant> lastAccess = new ConcurrentHashMap<>();
+
+    /**
+     * Gets a valid installation access token for the installation bound to the current
+     * thread, falling back to the configured installation.
+     *
+     * @return Installation access token
+     */
+    public String getInstallationToken() {
+        return getInstallationToken(currentInstallationId());
+    }
 
     /**
      * Gets a valid installation access token.
      * Returns cached token if still valid, otherwise requests a new one.
      *
+     * @param installationId Installation ID
      * @return Installation access token
      */
-    public String getInstallationToken() {
-        // Return cached token if still valid (with 5-minute buffer)
-        if (cachedToken != null && tokenExpiration != null) {
-            if (Instant.now().isBefore(tokenExpiration.minusSeconds(300))) {
-                log.debug("Using cached installation token");
-                return cachedToken;
+    public String getInstallationToken(Long installationId) {
+        lastAccess.put(installationId, Instant.now());
+
+        CachedToken cached = tokens.get(installationId);
+        boolean usable = cached != null && cached.isUsable();
+        CacheLookupEvent.record("installation-token", usable);
+        if (usable) {
+            log.debug("Using cached installation token for installation ID: {}", installationId);
+            return cached.token();
+        }
+
+        synchronized (refreshLocks.computeIfAbsent(installationId, id -> new Object())) {
+            // Another thread may have refreshed while we waited for the lock
+            cached = tokens.get(installationId);
+            if (cached != null && cached.isUsable()) {
+                return cached.token();
             }
+            return requestToken(installationId).token();
+        }
+    }
+
+    /**
+     * Gets the cached token of an installation without ever requesting one, for callers
+     * that must not block.
+     *
+     * @param installationId Installation ID
+     * @return Usable cached token, or null if a new token has to be requested
+     */
+    public String getCachedToken(Long installationId) {
+        lastAccess.put(installationId, Instant.now());
+        CachedToken cached = tokens.get(installationId);
+        return cached != null && cached.isUsable() ? cached.token() : null;
+    }
+
+    /**
+     * Refreshes the token of an installation unconditionally.
+     * Used by the background refresher; concurrent callers keep using the current token.
+     *
+     * @param installationId Installation ID
+     */
+    public void refreshToken(Long installationId) {
+        synchronized (refreshLocks.computeIfAbsent(installationId, id -> new Object())) {
+            requestToken(installationId);
         }
+    }
+
+    /**
+     * Gets installations that requested a token within the given window.
+     *
+     * @param window Activity window
+     * @return Recently active installation IDs
+     */
+    public Set<Long> getActiveInstallations(Duration window) {
+        Instant cutoff = Instant.now().minus(window);
+        lastAccess.entrySet().removeIf(entry -> entry.getValue().isBefore(cutoff));
+        return lastAccess.keySet().stream().collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Gets the instant at which the background refresher should renew an installation's token.
+     *
+     * @param installationId Installation ID
+     * @return Scheduled refresh instant, or null if no token is cached
+     */
+    public Instant getRefreshAt(Long installationId) {
+        CachedToken cached = tokens.get(installationId);
+        return cached != null ? cached.refreshAt() : null;
+    }
+
+    /**
+     * Invalidates the cached token, forcing a refresh on next request.
+     */
+    public void invalidateToken() {
+        invalidateToken(currentInstallationId());
+    }
+
+    /**
+     * Invalidates the cached token of an installation, forcing a refresh on next request.
+     *
+     * @param installationId Installation ID
+     */
+    public void invalidateToken(Long installationId) {
+        log.info("Invalidating cached installation token for installation ID: {}", installationId);
+        tokens.remove(installationId);
+    }
 
-        // Request new token
-        log.info("Requesting new installation access token for installation ID: {}",
-                config.getInstallationId());
+    /**
+     * Exchanges a fresh JWT for an installation access token and caches it.
+     */
+    private CachedToken requestToken(Long installationId) {
+        log.info("Requesting new installation access token for installation ID: {}", installationId);
+
+        TokenRefreshEvent event = new TokenRefreshEvent();
+        event.begin();
+        event.installationId = installationId != null ? installationId : 0;
 
         String jwt = jwtService.generateJwt();
 
@@ -56,37 +166,60 @@ public class InstallationTokenService {
                     "Bearer " + jwt,
                     "application/vnd.github+json",
                     "2022-11-28",
-                    config.getInstallationId()
+                    installationId
             );
 
             if (response == null || response.getToken() == null) {
                 throw new RuntimeException("Failed to obtain installation token: empty response");
             }
 
-            // Cache the token
-            cachedToken = response.getToken();
-            tokenExpiration = Instant.from(
+            Instant expiresAt = Instant.from(
                     DateTimeFormatter.ISO_INSTANT.parse(response.getExpiresAt())
             );
+            CachedToken cached = new CachedToken(response.getToken(), expiresAt, scheduleRefresh(expiresAt));
+            tokens.put(installationId, cached);
 
-            log.info("Successfully obtained installation token, expires at: {}", 
+            log.info("Successfully obtained installation token, expires at: {}",
                     response.getExpiresAt());
-            
-            return cachedToken;
+            event.succeeded = true;
+
+            return cached;
 
+        } catch (GitHubUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to obtain installation access token", e);
             throw new RuntimeException("Failed to obtain installation access token", e);
+        } finally {
+            event.commit();
         }
     }
 
     /**
-     * Invalidates the cached token, forcing a refresh on next request.
+     * Picks the refresh instant for a token: ahead of expiry, spread by random jitter
+     * so installations fetched together do not all refresh on the same tick.
      */
-    public void invalidateToken() {
-        log.info("Invalidating cached installation token");
-        cachedToken = null;
-        tokenExpiration = null;
+    private Instant scheduleRefresh(Instant expiresAt) {
+        long jitterSeconds = config.getTokenRefreshJitterSeconds() > 0
+                ? ThreadLocalRandom.current().nextLong(config.getTokenRefreshJitterSeconds() + 1L)
+                : 0;
+        return expiresAt
+                .minus(Duration.ofMinutes(config.getTokenRefreshAheadMinutes()))
+                .minusSeconds(jitterSeconds);
     }
-}
 
+    private Long currentInstallationId() {
+        Long installationId = InstallationContext.get();
+        return installationId != null ? installationId : config.getInstallationId();
+    }
+
+    /**
+     * Cached installation token with its expiry and scheduled refresh time.
+     */
+    private record CachedToken(String token, Instant expiresAt, Instant refreshAt) {
+
+        boolean isUsable() {
+            return Instant.now().isBefore(expiresAt.minus(EXPIRY_BUFFER));
+        }
+    }
+}
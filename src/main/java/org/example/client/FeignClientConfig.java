@@ -2,6 +2,9 @@ package org.example.client;
 
 import feign.Logger;
 import feign.RequestInterceptor;
+import feign.RetryableException;
+import feign.Retryer;
+import feign.codec.ErrorDecoder;
 import lombok.RequiredArgsConstructor;
 import org.example.auth.InstallationTokenService;
 import org.springframework.context.annotation.Bean;
@@ -9,7 +12,7 @@ import org.springframework.context.annotation.Configuration;
 
 /**
  * Configuration for Feign clients.
- * Adds authentication headers and logging configuration.
+ * Adds authentication headers, 401 retry handling and logging configuration.
  */
 @Configuration
 @RequiredArgsConstructor
@@ -27,16 +30,52 @@ public class FeignClientConfig {
     @Bean
     public RequestInterceptor githubAuthInterceptor() {
         return requestTemplate -> {
-            // Add installation access token
+            // Add installation access token; a retried request reuses its template, so the
+            // rejected token is replaced rather than sent alongside the new one
             String token = tokenService.getInstallationToken();
+            requestTemplate.removeHeader("Authorization");
             requestTemplate.header("Authorization", "Bearer " + token);
             
-            // Add GitHub API headers
-            requestTemplate.header("Accept", "application/vnd.github+json");
+            // Add GitHub API headers (keep a media type chosen by the client method)
+            if (!requestTemplate.headers().containsKey("Accept")) {
+                requestTemplate.header("Accept", "application/vnd.github+json");
+            }
+            requestTemplate.removeHeader("X-GitHub-Api-Version");
             requestTemplate.header("X-GitHub-Api-Version", "2022-11-28");
         };
     }
 
+    /**
+     * Error decoder that treats 401 Unauthorized as retryable.
+     * The cached installation token may have been revoked early, so it is invalidated
+     * before the request is re-issued with a freshly minted token.
+     */
+    @Bean
+    public ErrorDecoder githubErrorDecoder() {
+        ErrorDecoder defaultDecoder = new ErrorDecoder.Default();
+        return (methodKey, response) -> {
+            if (response.status() == 401) {
+                tokenService.invalidateToken();
+                return new RetryableException(
+                        response.status(),
+                        "Unauthorized - installation token rejected",
+                        response.request().httpMethod(),
+                        (Long) null,
+                        response.request()
+                );
+            }
+            return defaultDecoder.decode(methodKey, response);
+        };
+    }
+
+    /**
+     * Retries a request once after its installation token was rejected.
+     */
+    @Bean
+    public Retryer githubRetryer() {
+        return new UnauthorizedRetryer();
+    }
+
     /**
      * Configures Feign logging level.
      * FULL logs headers, body, and metadata for both request and response.
@@ -1,17 +1,37 @@
 package org.example.client;
 
+import feign.Response;
+import org.example.client.request.CheckRunRequest;
+import org.example.client.request.CreateBlobRequest;
+import org.example.client.request.CreateCommitRequest;
 import org.example.client.request.CreateReviewCommentRequest;
+import org.example.client.request.CreateReviewRequest;
+import org.example.client.request.CreateTreeRequest;
+import org.example.client.request.UpdateReferenceRequest;
+import org.example.model.github.CheckRun;
+import org.example.model.github.CompareResult;
 import org.example.model.github.FileContent;
+import org.example.model.github.GitCommit;
+import org.example.model.github.GitObject;
+import org.example.model.github.GitReference;
+import org.example.model.github.IssueComment;
 import org.example.model.github.PullRequestFile;
+import org.example.model.github.PullRequestReview;
+import org.example.model.github.RepositoryCommit;
 import org.example.model.github.ReviewComment;
+import org.example.model.webhook.PullRequest;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Feign client for GitHub REST API.
@@ -27,6 +47,38 @@ import java.util.List;
 )
 public interface GitHubApiClient {
 
+    /**
+     * Fetches a pull request.
+     * GET /repos/{owner}/{repo}/pulls/{pull_number}
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param pullNumber PR number
+     * @return Pull request with its head and base
+     */
+    @GetMapping("/repos/{owner}/{repo}/pulls/{pullNumber}")
+    PullRequest getPullRequest(
+            @PathVariable("owner") String owner,
+            @PathVariable("repo") String repo,
+            @PathVariable("pullNumber") int pullNumber
+    );
+
+    /**
+     * Fetches a commit with its author and committer accounts.
+     * GET /repos/{owner}/{repo}/commits/{ref}
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param sha Commit SHA
+     * @return Commit
+     */
+    @GetMapping("/repos/{owner}/{repo}/commits/{sha}")
+    RepositoryCommit getRepositoryCommit(
+            @PathVariable("owner") String owner,
+            @PathVariable("repo") String repo,
+            @PathVariable("sha") String sha
+    );
+
     /**
      * Fetches the list of files changed in a pull request.
      * GET /repos/{owner}/{repo}/pulls/{pull_number}/files
@@ -34,13 +86,38 @@ public interface GitHubApiClient {
      * @param owner Repository owner
      * @param repo Repository name
      * @param pullNumber PR number
-     * @return List of changed files
+     * @param perPage Page size (max 100)
+     * @param page Page number (1-based)
+     * @return List of changed files on the page
      */
     @GetMapping("/repos/{owner}/{repo}/pulls/{pullNumber}/files")
     List<PullRequestFile> getPullRequestFiles(
             @PathVariable("owner") String owner,
             @PathVariable("repo") String repo,
-            @PathVariable("pullNumber") int pullNumber
+            @PathVariable("pullNumber") int pullNumber,
+            @RequestParam("per_page") int perPage,
+            @RequestParam("page") int page
+    );
+
+    /**
+     * Streams one page of the files changed in a pull request, for decoding without a
+     * bean per file ({@link org.example.model.github.ChangedFiles}).
+     * GET /repos/{owner}/{repo}/pulls/{pull_number}/files
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param pullNumber PR number
+     * @param perPage Page size (max 100)
+     * @param page Page number (1-based)
+     * @return Response whose body streams the JSON array of files (caller must close)
+     */
+    @GetMapping("/repos/{owner}/{repo}/pulls/{pullNumber}/files")
+    Response streamPullRequestFiles(
+            @PathVariable("owner") String owner,
+            @PathVariable("repo") String repo,
+            @PathVariable("pullNumber") int pullNumber,
+            @RequestParam("per_page") int perPage,
+            @RequestParam("page") int page
     );
 
     /**
@@ -61,6 +138,44 @@ public interface GitHubApiClient {
             @RequestParam("ref") String ref
     );
 
+    /**
+     * Fetches the raw bytes of a file from a specific branch as a stream.
+     * The raw media type avoids Base64 inflation and supports files up to 100 MB.
+     * GET /repos/{owner}/{repo}/contents/{path}?ref={branch}
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param path File path
+     * @param ref Branch name or commit SHA
+     * @param accept Must be "application/vnd.github.raw+json"
+     * @return Response whose body streams the raw file content (caller must close)
+     */
+    @GetMapping("/repos/{owner}/{repo}/contents/{path}")
+    Response getRawFileContent(
+            @PathVariable("owner") String owner,
+            @PathVariable("repo") String repo,
+            @PathVariable("path") String path,
+            @RequestParam("ref") String ref,
+            @RequestHeader("Accept") String accept
+    );
+
+    /**
+     * Downloads the gzip-compressed tarball of a commit as a stream.
+     * GitHub redirects to codeload.github.com; the redirect is followed by the HTTP client.
+     * GET /repos/{owner}/{repo}/tarball/{ref}
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param ref Commit SHA or branch
+     * @return Response whose body streams the .tar.gz archive (caller must close)
+     */
+    @GetMapping("/repos/{owner}/{repo}/tarball/{ref}")
+    Response downloadTarball(
+            @PathVariable("owner") String owner,
+            @PathVariable("repo") String repo,
+            @PathVariable("ref") String ref
+    );
+
     /**
      * Creates a review comment on a pull request.
      * Adds an inline comment on a specific line of code in the PR diff.
@@ -79,5 +194,264 @@ public interface GitHubApiClient {
             @PathVariable("pullNumber") int pullNumber,
             @RequestBody CreateReviewCommentRequest request
     );
-}
 
+    /**
+     * Submits a review with several inline comments as one content-creating call.
+     * POST /repos/{owner}/{repo}/pulls/{pull_number}/reviews
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param pullNumber PR number
+     * @param request Review with its comments
+     * @return Submitted review
+     */
+    @PostMapping("/repos/{owner}/{repo}/pulls/{pullNumber}/reviews")
+    PullRequestReview createReview(
+            @PathVariable("owner") String owner,
+            @PathVariable("repo") String repo,
+            @PathVariable("pullNumber") int pullNumber,
+            @RequestBody CreateReviewRequest request
+    );
+
+    /**
+     * Lists the comments of a review, one page at a time.
+     * GET /repos/{owner}/{repo}/pulls/{pull_number}/reviews/{review_id}/comments
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param pullNumber PR number
+     * @param reviewId Review ID
+     * @param perPage Page size (max 100)
+     * @param page Page number (1-based)
+     * @return Review comments on the page
+     */
+    @GetMapping("/repos/{owner}/{repo}/pulls/{pullNumber}/reviews/{reviewId}/comments")
+    List<ReviewComment> listReviewCommentsOfReview(
+            @PathVariable("owner") String owner,
+            @PathVariable("repo") String repo,
+            @PathVariable("pullNumber") int pullNumber,
+            @PathVariable("reviewId") long reviewId,
+            @RequestParam("per_page") int perPage,
+            @RequestParam("page") int page
+    );
+
+    /**
+     * Creates a comment in the conversation of an issue or pull request.
+     * POST /repos/{owner}/{repo}/issues/{issue_number}/comments
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param issueNumber Issue or PR number
+     * @param body Request body containing the comment "body"
+     * @return Created comment
+     */
+    @PostMapping("/repos/{owner}/{repo}/issues/{issueNumber}/comments")
+    IssueComment createIssueComment(
+            @PathVariable("owner") String owner,
+            @PathVariable("repo") String repo,
+            @PathVariable("issueNumber") int issueNumber,
+            @RequestBody Map<String, String> body
+    );
+
+    /**
+     * Lists review comments on a pull request, one page at a time.
+     * GET /repos/{owner}/{repo}/pulls/{pull_number}/comments
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param pullNumber PR number
+     * @param perPage Page size (max 100)
+     * @param page Page number (1-based)
+     * @return Review comments on the page
+     */
+    @GetMapping("/repos/{owner}/{repo}/pulls/{pullNumber}/comments")
+    List<ReviewComment> listReviewComments(
+            @PathVariable("owner") String owner,
+            @PathVariable("repo") String repo,
+            @PathVariable("pullNumber") int pullNumber,
+            @RequestParam("per_page") int perPage,
+            @RequestParam("page") int page
+    );
+
+    /**
+     * Updates the body of a review comment.
+     * PATCH /repos/{owner}/{repo}/pulls/comments/{comment_id}
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param commentId Comment ID
+     * @param body Request body containing the new "body"
+     * @return Updated review comment
+     */
+    @PatchMapping("/repos/{owner}/{repo}/pulls/comments/{commentId}")
+    ReviewComment updateReviewComment(
+            @PathVariable("owner") String owner,
+            @PathVariable("repo") String repo,
+            @PathVariable("commentId") long commentId,
+            @RequestBody Map<String, String> body
+    );
+
+    /**
+     * Deletes a review comment.
+     * DELETE /repos/{owner}/{repo}/pulls/comments/{comment_id}
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param commentId Comment ID
+     */
+    @DeleteMapping("/repos/{owner}/{repo}/pulls/comments/{commentId}")
+    void deleteReviewComment(
+            @PathVariable("owner") String owner,
+            @PathVariable("repo") String repo,
+            @PathVariable("commentId") long commentId
+    );
+
+    /**
+     * Fetches a git reference.
+     * GET /repos/{owner}/{repo}/git/ref/{ref}
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param ref Reference without "refs/" (e.g., "heads/main")
+     * @return Reference with the SHA it points to
+     */
+    @GetMapping("/repos/{owner}/{repo}/git/ref/{ref}")
+    GitReference getReference(
+            @PathVariable("owner") String owner,
+            @PathVariable("repo") String repo,
+            @PathVariable("ref") String ref
+    );
+
+    /**
+     * Moves a git reference to another commit.
+     * Fails with 422 if the update is not a fast-forward and force is false.
+     * PATCH /repos/{owner}/{repo}/git/refs/{ref}
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param ref Reference without "refs/" (e.g., "heads/main")
+     * @param request New SHA and force flag
+     * @return Updated reference
+     */
+    @PatchMapping("/repos/{owner}/{repo}/git/refs/{ref}")
+    GitReference updateReference(
+            @PathVariable("owner") String owner,
+            @PathVariable("repo") String repo,
+            @PathVariable("ref") String ref,
+            @RequestBody UpdateReferenceRequest request
+    );
+
+    /**
+     * Fetches a git commit.
+     * GET /repos/{owner}/{repo}/git/commits/{commit_sha}
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param sha Commit SHA
+     * @return Commit with its tree and parents
+     */
+    @GetMapping("/repos/{owner}/{repo}/git/commits/{sha}")
+    GitCommit getCommit(
+            @PathVariable("owner") String owner,
+            @PathVariable("repo") String repo,
+            @PathVariable("sha") String sha
+    );
+
+    /**
+     * Creates a git commit.
+     * POST /repos/{owner}/{repo}/git/commits
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param request Message, tree and parents
+     * @return Created commit
+     */
+    @PostMapping("/repos/{owner}/{repo}/git/commits")
+    GitCommit createCommit(
+            @PathVariable("owner") String owner,
+            @PathVariable("repo") String repo,
+            @RequestBody CreateCommitRequest request
+    );
+
+    /**
+     * Creates a git blob.
+     * POST /repos/{owner}/{repo}/git/blobs
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param request Content and its encoding
+     * @return Created blob with its SHA
+     */
+    @PostMapping("/repos/{owner}/{repo}/git/blobs")
+    GitObject createBlob(
+            @PathVariable("owner") String owner,
+            @PathVariable("repo") String repo,
+            @RequestBody CreateBlobRequest request
+    );
+
+    /**
+     * Creates a git tree, optionally relative to a base tree.
+     * POST /repos/{owner}/{repo}/git/trees
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param request Base tree and changed entries
+     * @return Created tree with its SHA
+     */
+    @PostMapping("/repos/{owner}/{repo}/git/trees")
+    GitObject createTree(
+            @PathVariable("owner") String owner,
+            @PathVariable("repo") String repo,
+            @RequestBody CreateTreeRequest request
+    );
+
+    /**
+     * Compares two commits.
+     * GET /repos/{owner}/{repo}/compare/{basehead}
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param basehead "{base}...{head}"
+     * @return Comparison including changed files
+     */
+    @GetMapping("/repos/{owner}/{repo}/compare/{basehead}")
+    CompareResult compareCommits(
+            @PathVariable("owner") String owner,
+            @PathVariable("repo") String repo,
+            @PathVariable("basehead") String basehead
+    );
+
+    /**
+     * Creates a check run on a commit.
+     * POST /repos/{owner}/{repo}/check-runs
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param request Name, head SHA and initial status
+     * @return Created check run
+     */
+    @PostMapping("/repos/{owner}/{repo}/check-runs")
+    CheckRun createCheckRun(
+            @PathVariable("owner") String owner,
+            @PathVariable("repo") String repo,
+            @RequestBody CheckRunRequest request
+    );
+
+    /**
+     * Updates a check run; annotations in the output are appended.
+     * PATCH /repos/{owner}/{repo}/check-runs/{check_run_id}
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param checkRunId Check run ID
+     * @param request Fields to change
+     * @return Updated check run
+     */
+    @PatchMapping("/repos/{owner}/{repo}/check-runs/{checkRunId}")
+    CheckRun updateCheckRun(
+            @PathVariable("owner") String owner,
+            @PathVariable("repo") String repo,
+            @PathVariable("checkRunId") long checkRunId,
+            @RequestBody CheckRunRequest request
+    );
+}
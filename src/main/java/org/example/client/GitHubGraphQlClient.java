@@ -0,0 +1,32 @@
+package org.example.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.Map;
+
+/**
+ * Feign client for the GitHub GraphQL API.
+ * Used to batch reads that would take one REST call per file.
+ *
+ * Authentication is handled by FeignClientConfig, same as GitHubApiClient.
+ */
+@FeignClient(
+    name = "github-graphql",
+    url = "${github.app.api-base-url}",
+    configuration = FeignClientConfig.class
+)
+public interface GitHubGraphQlClient {
+
+    /**
+     * Executes a GraphQL query.
+     * POST /graphql
+     *
+     * @param request Request body with "query" and "variables"
+     * @return Raw response with "data" and optional "errors"
+     */
+    @PostMapping("/graphql")
+    JsonNode query(@RequestBody Map<String, Object> request);
+}
@@ -0,0 +1,33 @@
+package org.example.client;
+
+import feign.RetryableException;
+import feign.Retryer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Feign retryer that re-issues a request exactly once after a 401 Unauthorized.
+ * The error decoder invalidates the cached installation token before signalling a retry,
+ * so the retried request picks up a fresh token from the auth interceptor.
+ *
+ * All other retryable exceptions are propagated immediately.
+ */
+@Slf4j
+public class UnauthorizedRetryer implements Retryer {
+
+    private boolean retried;
+
+    @Override
+    public void continueOrPropagate(RetryableException e) {
+        if (retried || e.status() != 401) {
+            throw e;
+        }
+        retried = true;
+        log.info("Retrying {} {} with a refreshed installation token",
+                e.method(), e.request() != null ? e.request().url() : "");
+    }
+
+    @Override
+    public Retryer clone() {
+        return new UnauthorizedRetryer();
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.client.request;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request body for creating or updating a check run.
+ * Unset fields are omitted, so an update only changes what it carries. Annotations
+ * sent with an update are appended to those already on the run (at most 50 per request).
+ *
+ * GitHub API: POST /repos/{owner}/{repo}/check-runs
+ *             PATCH /repos/{owner}/{repo}/check-runs/{check_run_id}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CheckRunRequest {
+
+    /**
+     * Name of the check (required on create)
+     */
+    @JsonProperty("name")
+    private String name;
+
+    /**
+     * Commit SHA the check run belongs to (required on create)
+     */
+    @JsonProperty("head_sha")
+    private String headSha;
+
+    /**
+     * "queued", "in_progress" or "completed"
+     */
+    @JsonProperty("status")
+    private String status;
+
+    /**
+     * ISO 8601 start time
+     */
+    @JsonProperty("started_at")
+    private String startedAt;
+
+    /**
+     * Required when completing: "success", "neutral", "failure", "cancelled", ...
+     */
+    @JsonProperty("conclusion")
+    private String conclusion;
+
+    /**
+     * ISO 8601 completion time
+     */
+    @JsonProperty("completed_at")
+    private String completedAt;
+
+    /**
+     * Summary, text and annotations shown on the Checks tab
+     */
+    @JsonProperty("output")
+    private Output output;
+
+    /**
+     * Check run output.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Output {
+
+        @JsonProperty("title")
+        private String title;
+
+        /**
+         * Markdown summary (required whenever output is sent)
+         */
+        @JsonProperty("summary")
+        private String summary;
+
+        @JsonProperty("annotations")
+        private List<Annotation> annotations;
+    }
+
+    /**
+     * An annotation on a line range of a file.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Annotation {
+
+        @JsonProperty("path")
+        private String path;
+
+        @JsonProperty("start_line")
+        private Integer startLine;
+
+        @JsonProperty("end_line")
+        private Integer endLine;
+
+        /**
+         * "notice", "warning" or "failure"
+         */
+        @JsonProperty("annotation_level")
+        private String annotationLevel;
+
+        @JsonProperty("title")
+        private String title;
+
+        @JsonProperty("message")
+        private String message;
+    }
+}
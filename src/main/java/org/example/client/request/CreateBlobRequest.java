@@ -0,0 +1,26 @@
+package org.example.client.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request body for creating a git blob.
+ *
+ * GitHub API: POST /repos/{owner}/{repo}/git/blobs
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateBlobRequest {
+
+    /**
+     * Blob content, encoded as given by {@code encoding}
+     */
+    private String content;
+
+    /**
+     * "utf-8" or "base64"
+     */
+    private String encoding;
+}
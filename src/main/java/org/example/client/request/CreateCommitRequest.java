@@ -0,0 +1,33 @@
+package org.example.client.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request body for creating a git commit.
+ *
+ * GitHub API: POST /repos/{owner}/{repo}/git/commits
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateCommitRequest {
+
+    /**
+     * Commit message
+     */
+    private String message;
+
+    /**
+     * SHA of the root tree
+     */
+    private String tree;
+
+    /**
+     * SHAs of the parent commits
+     */
+    private List<String> parents;
+}
@@ -0,0 +1,92 @@
+package org.example.client.request;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request body for submitting a review with several inline comments in one call.
+ *
+ * GitHub API: POST /repos/{owner}/{repo}/pulls/{pull_number}/reviews
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CreateReviewRequest {
+
+    /**
+     * SHA of the commit the comments refer to
+     */
+    @JsonProperty("commit_id")
+    private String commitId;
+
+    /**
+     * Review action; "COMMENT" submits the comments without approving or requesting changes
+     */
+    @JsonProperty("event")
+    private String event;
+
+    /**
+     * Inline comments of the review
+     */
+    @JsonProperty("comments")
+    private List<DraftComment> comments;
+
+    /**
+     * An inline comment of the review.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class DraftComment {
+
+        /**
+         * File path relative to the repository root
+         */
+        private String path;
+
+        /**
+         * Comment text
+         */
+        private String body;
+
+        /**
+         * Line of the diff the comment applies to (last line for a multi-line comment)
+         */
+        private Integer line;
+
+        /**
+         * Diff side, LEFT or RIGHT
+         */
+        private String side;
+
+        /**
+         * First line of a multi-line comment
+         */
+        @JsonProperty("start_line")
+        private Integer startLine;
+
+        /**
+         * Diff side of the first line of a multi-line comment
+         */
+        @JsonProperty("start_side")
+        private String startSide;
+
+        /**
+         * Creates the draft of a single-comment request.
+         *
+         * @param comment Review comment request
+         * @return Draft comment
+         */
+        public static DraftComment of(CreateReviewCommentRequest comment) {
+            return new DraftComment(comment.getPath(), comment.getBody(), comment.getLine(), comment.getSide(),
+                    comment.getStartLine(), comment.getStartSide());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.client.request;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request body for creating a git tree relative to a base tree.
+ * Entries not listed are taken unchanged from the base tree.
+ *
+ * GitHub API: POST /repos/{owner}/{repo}/git/trees
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateTreeRequest {
+
+    /**
+     * SHA of the tree the entries are applied to
+     */
+    @JsonProperty("base_tree")
+    private String baseTree;
+
+    /**
+     * Entries to add, replace or delete
+     */
+    @JsonProperty("tree")
+    private List<TreeEntry> tree;
+
+    /**
+     * A file entry of the tree.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TreeEntry {
+
+        /**
+         * File path relative to the repository root
+         */
+        private String path;
+
+        /**
+         * File mode: "100644" (file), "100755" (executable) or "120000" (symlink)
+         */
+        private String mode;
+
+        /**
+         * Object type, "blob" for files
+         */
+        private String type;
+
+        /**
+         * Blob SHA; null deletes the path from the tree, so it is always serialized
+         */
+        @JsonInclude(JsonInclude.Include.ALWAYS)
+        private String sha;
+    }
+}
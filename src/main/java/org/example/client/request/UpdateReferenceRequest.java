@@ -0,0 +1,26 @@
+package org.example.client.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request body for moving a git reference.
+ *
+ * GitHub API: PATCH /repos/{owner}/{repo}/git/refs/{ref}
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateReferenceRequest {
+
+    /**
+     * Commit SHA the reference should point to
+     */
+    private String sha;
+
+    /**
+     * Whether a non-fast-forward update is allowed
+     */
+    private boolean force;
+}
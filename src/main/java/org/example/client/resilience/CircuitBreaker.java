@@ -0,0 +1,194 @@
+package org.example.client.resilience;
+
+import org.example.config.GitHubResilienceConfig;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker driven by rolling error-rate and slow-call-rate windows.
+ *
+ * The window is split into one-second buckets that are reset as time moves on. While
+ * closed, the breaker opens once the window holds enough calls and either rate crosses
+ * its threshold. While open, calls are rejected; after the open time a few trial calls
+ * are let through (half-open). If they all succeed the breaker closes, otherwise it opens
+ * again for twice as long, up to the configured maximum.
+ *
+ * Thread-safe; all state changes happen under the instance lock, which is held only for
+ * counter updates.
+ */
+public final class CircuitBreaker {
+
+    /**
+     * Breaker state; the ordinal is exported as a gauge.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final GitHubResilienceConfig config;
+    private final int bucketCount;
+    private final long[] bucketSecond;
+    private final int[] calls;
+    private final int[] failures;
+    private final int[] slowCalls;
+
+    private State state = State.CLOSED;
+    private long openUntilNanos;
+    private int consecutiveTrips;
+    private int trialsStarted;
+    private int trialsSucceeded;
+
+    public CircuitBreaker(GitHubResilienceConfig config) {
+        this.config = config;
+        this.bucketCount = (int) Math.max(1, config.getWindow().toSeconds());
+        this.bucketSecond = new long[bucketCount];
+        this.calls = new int[bucketCount];
+        this.failures = new int[bucketCount];
+        this.slowCalls = new int[bucketCount];
+    }
+
+    /**
+     * Asks for permission to make a call.
+     *
+     * @return true if the call may proceed; it must then be reported with {@link #record}
+     */
+    public synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        if (state == State.OPEN) {
+            if (now < openUntilNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialsStarted = 0;
+            trialsSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsStarted >= config.getHalfOpenCalls()) {
+                return false;
+            }
+            trialsStarted++;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a permission that was not used for a call.
+     */
+    public synchronized void releaseUnused() {
+        if (state == State.HALF_OPEN && trialsStarted > 0) {
+            trialsStarted--;
+        }
+    }
+
+    /**
+     * Reports the outcome of a permitted call.
+     *
+     * @param failed Whether the call failed (I/O error, 5xx or 429)
+     * @param durationNanos Call duration
+     */
+    public synchronized void record(boolean failed, long durationNanos) {
+        boolean slow = durationNanos >= config.getSlowCallThreshold().toNanos();
+
+        if (state == State.HALF_OPEN) {
+            if (failed || slow) {
+                trip();
+            } else if (++trialsSucceeded >= config.getHalfOpenCalls()) {
+                close();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            // A call started before the breaker opened; it no longer matters
+            return;
+        }
+
+        int bucket = bucket(System.nanoTime());
+        calls[bucket]++;
+        if (failed) {
+            failures[bucket]++;
+        }
+        if (slow) {
+            slowCalls[bucket]++;
+        }
+
+        int totalCalls = sum(calls);
+        if (totalCalls < config.getMinimumCalls()) {
+            return;
+        }
+        if (sum(failures) * 100 >= config.getFailureRateThreshold() * totalCalls
+                || sum(slowCalls) * 100 >= config.getSlowCallRateThreshold() * totalCalls) {
+            trip();
+        }
+    }
+
+    /**
+     * Gets the current state.
+     *
+     * @return Breaker state
+     */
+    public synchronized State getState() {
+        if (state == State.OPEN && System.nanoTime() >= openUntilNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * Gets how long the breaker stays open.
+     *
+     * @return Remaining open time, zero if not open
+     */
+    public synchronized Duration getRemainingOpen() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, openUntilNanos - System.nanoTime()));
+    }
+
+    private void trip() {
+        long base = config.getOpenDuration().toNanos();
+        long max = config.getMaxOpenDuration().toNanos();
+        long openNanos = Math.min(max, base << Math.min(consecutiveTrips, 20));
+        consecutiveTrips++;
+        state = State.OPEN;
+        openUntilNanos = System.nanoTime() + openNanos;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        consecutiveTrips = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            reset(i, 0);
+        }
+    }
+
+    private int bucket(long nowNanos) {
+        long second = nowNanos / 1_000_000_000L;
+        int index = (int) Math.floorMod(second, (long) bucketCount);
+        if (bucketSecond[index] != second) {
+            reset(index, second);
+        }
+        // Drop buckets that fell out of the window while no calls arrived
+        for (int i = 0; i < bucketCount; i++) {
+            if (i != index && second - bucketSecond[i] >= bucketCount) {
+                reset(i, 0);
+            }
+        }
+        return index;
+    }
+
+    private void reset(int index, long second) {
+        bucketSecond[index] = second;
+        calls[index] = 0;
+        failures[index] = 0;
+        slowCalls[index] = 0;
+    }
+
+    private static int sum(int[] values) {
+        int total = 0;
+        for (int value : values) {
+            total += value;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.client.resilience;
+
+import feign.Request;
+import org.example.exception.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the deadline of the job the current thread works for.
+ * Set by the PR processing pipeline; every Feign call made on the thread has its
+ * timeouts capped to the time left, and fails fast once the deadline has passed.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private Deadline() {
+    }
+
+    /**
+     * Starts a deadline on the current thread.
+     *
+     * @param budget Time from now until the deadline
+     */
+    public static void start(Duration budget) {
+        CURRENT.set(System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * Binds an absolute deadline to the current thread.
+     *
+     * @param deadlineNanos Deadline in {@link System#nanoTime()} terms, or null to clear it
+     */
+    public static void set(Long deadlineNanos) {
+        if (deadlineNanos == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadlineNanos);
+        }
+    }
+
+    /**
+     * Gets the deadline bound to the current thread.
+     *
+     * @return Deadline in {@link System#nanoTime()} terms, or null if none is bound
+     */
+    public static Long get() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Removes the deadline from the current thread.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Gets the time left until the deadline.
+     *
+     * @return Remaining nanoseconds (negative once passed), or {@link Long#MAX_VALUE} without deadline
+     */
+    public static long remainingNanos() {
+        Long deadline = CURRENT.get();
+        return deadline == null ? Long.MAX_VALUE : deadline - System.nanoTime();
+    }
+
+    /**
+     * Checks whether the deadline of the current thread has passed.
+     *
+     * @return true if a deadline is bound and has passed
+     */
+    public static boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * Caps request timeouts to the time left until the deadline.
+     *
+     * @param options Configured request options
+     * @return Options whose connect and read timeouts end no later than the deadline
+     * @throws DeadlineExceededException if the deadline has passed
+     */
+    static Request.Options limit(Request.Options options) {
+        long remaining = remainingNanos();
+        if (remaining == Long.MAX_VALUE) {
+            return options;
+        }
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(remaining);
+        if (remainingMillis <= 0) {
+            throw new DeadlineExceededException("Job deadline passed; not calling GitHub");
+        }
+        long connect = Math.min(options.connectTimeoutUnit().toMillis(options.connectTimeout()), remainingMillis);
+        long read = Math.min(options.readTimeoutUnit().toMillis(options.readTimeout()), remainingMillis);
+        return new Request.Options(connect, TimeUnit.MILLISECONDS, read, TimeUnit.MILLISECONDS,
+                options.isFollowRedirects());
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.client.resilience;
+
+import feign.Request;
+
+/**
+ * GitHub endpoint classes, each guarded by its own circuit breaker and bulkhead,
+ * so a degraded write path does not stop reads and vice versa.
+ */
+public enum EndpointClass {
+
+    /**
+     * Installation token exchange
+     */
+    AUTH("auth"),
+
+    /**
+     * GET requests and GraphQL queries
+     */
+    READ("read"),
+
+    /**
+     * Everything that changes state: comments, check runs, blobs, refs
+     */
+    WRITE("write");
+
+    private final String id;
+
+    EndpointClass(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the ID used in metrics and logs.
+     *
+     * @return Endpoint class ID
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Classifies a request.
+     *
+     * @param request Feign request
+     * @return Endpoint class
+     */
+    public static EndpointClass of(Request request) {
+        String url = request.url();
+        if (url.contains("/app/installations/")) {
+            return AUTH;
+        }
+        Request.HttpMethod method = request.httpMethod();
+        if (method == Request.HttpMethod.GET || method == Request.HttpMethod.HEAD || url.endsWith("/graphql")) {
+            return READ;
+        }
+        return WRITE;
+    }
+}
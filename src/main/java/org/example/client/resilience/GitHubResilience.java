@@ -0,0 +1,172 @@
+package org.example.client.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.GitHubResilienceConfig;
+import org.example.exception.GitHubUnavailableException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breakers and bulkheads for the GitHub endpoint classes.
+ *
+ * Every GitHub call passes {@link #acquire} before it is sent and {@link #release} after
+ * the response headers arrive. Calls are rejected with {@link GitHubUnavailableException}
+ * while the class's breaker is open or when no bulkhead slot frees up in time, so a
+ * degraded GitHub costs callers a fast failure instead of a blocked thread.
+ *
+ * Exposes github.breaker.state (0 closed, 1 open, 2 half-open) and
+ * github.breaker.rejected per endpoint class.
+ */
+@Component
+@Slf4j
+public class GitHubResilience {
+
+    private static final Duration HALF_OPEN_RETRY = Duration.ofSeconds(1);
+
+    private final GitHubResilienceConfig config;
+    private final Map<EndpointClass, Guard> guards = new EnumMap<>(EndpointClass.class);
+
+    public GitHubResilience(GitHubResilienceConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        for (EndpointClass endpoint : EndpointClass.values()) {
+            int limit = switch (endpoint) {
+                case AUTH -> config.getAuthMaxConcurrent();
+                case READ -> config.getReadMaxConcurrent();
+                case WRITE -> config.getWriteMaxConcurrent();
+            };
+            Guard guard = new Guard(new CircuitBreaker(config), new Semaphore(limit),
+                    Counter.builder("github.breaker.rejected")
+                            .description("GitHub calls rejected by an open breaker or full bulkhead")
+                            .tag("endpoint", endpoint.getId())
+                            .register(meterRegistry));
+            Gauge.builder("github.breaker.state", guard.breaker(), b -> b.getState().ordinal())
+                    .description("Circuit breaker state (0 closed, 1 open, 2 half-open)")
+                    .tag("endpoint", endpoint.getId())
+                    .register(meterRegistry);
+            guards.put(endpoint, guard);
+        }
+    }
+
+    /**
+     * Takes a bulkhead slot and breaker permission for a call.
+     *
+     * @param endpoint Endpoint class of the call
+     * @throws GitHubUnavailableException if the breaker is open or the bulkhead stays full
+     */
+    public void acquire(EndpointClass endpoint) {
+        Guard guard = guards.get(endpoint);
+        if (!guard.breaker().tryAcquire()) {
+            guard.rejected().increment();
+            throw unavailable(endpoint, "circuit open");
+        }
+
+        boolean permitted;
+        try {
+            permitted = guard.bulkhead().tryAcquire(config.getBulkheadMaxWait().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            permitted = false;
+        }
+        if (!permitted) {
+            guard.breaker().releaseUnused();
+            guard.rejected().increment();
+            throw new GitHubUnavailableException(endpoint.getId(), config.getBulkheadMaxWait(),
+                    "GitHub " + endpoint.getId() + " calls saturated: no free slot within "
+                            + config.getBulkheadMaxWait().toMillis() + " ms");
+        }
+    }
+
+    /**
+     * Releases the slot of a finished call and records its outcome.
+     *
+     * @param endpoint Endpoint class of the call
+     * @param failed Whether the call failed (I/O error, 5xx or 429)
+     * @param durationNanos Time until the response headers arrived
+     */
+    public void release(EndpointClass endpoint, boolean failed, long durationNanos) {
+        guards.get(endpoint).bulkhead().release();
+        record(endpoint, failed, durationNanos);
+    }
+
+    /**
+     * Takes breaker permission for a call that is bounded by its caller instead of the
+     * bulkhead (non-blocking calls, which must never wait for a slot).
+     *
+     * @param endpoint Endpoint class of the call
+     * @throws GitHubUnavailableException if the breaker is open
+     */
+    public void admit(EndpointClass endpoint) {
+        Guard guard = guards.get(endpoint);
+        if (!guard.breaker().tryAcquire()) {
+            guard.rejected().increment();
+            throw unavailable(endpoint, "circuit open");
+        }
+    }
+
+    /**
+     * Records the outcome of an admitted call.
+     *
+     * @param endpoint Endpoint class of the call
+     * @param failed Whether the call failed (I/O error, 5xx or 429)
+     * @param durationNanos Time until the response headers arrived
+     */
+    public void record(EndpointClass endpoint, boolean failed, long durationNanos) {
+        CircuitBreaker breaker = guards.get(endpoint).breaker();
+        CircuitBreaker.State before = breaker.getState();
+        breaker.record(failed, durationNanos);
+        CircuitBreaker.State after = breaker.getState();
+        if (before != after) {
+            log.warn("GitHub {} circuit breaker {} -> {}", endpoint.getId(), before, after);
+        }
+    }
+
+    /**
+     * Returns the permission of an admitted call that was cancelled before it finished.
+     *
+     * @param endpoint Endpoint class of the call
+     */
+    public void abandon(EndpointClass endpoint) {
+        guards.get(endpoint).breaker().releaseUnused();
+    }
+
+    /**
+     * Checks whether calls of an endpoint class would currently be rejected.
+     *
+     * @param endpoint Endpoint class
+     * @return true if the breaker is open
+     */
+    public boolean isOpen(EndpointClass endpoint) {
+        return guards.get(endpoint).breaker().getState() == CircuitBreaker.State.OPEN;
+    }
+
+    /**
+     * Gets the time until an endpoint class accepts calls again.
+     *
+     * @param endpoint Endpoint class
+     * @return Remaining open time, zero if calls are accepted
+     */
+    public Duration getRetryAfter(EndpointClass endpoint) {
+        return guards.get(endpoint).breaker().getRemainingOpen();
+    }
+
+    private GitHubUnavailableException unavailable(EndpointClass endpoint, String reason) {
+        Duration retryAfter = getRetryAfter(endpoint);
+        if (retryAfter.isZero()) {
+            retryAfter = HALF_OPEN_RETRY;
+        }
+        return new GitHubUnavailableException(endpoint.getId(), retryAfter,
+                "GitHub " + endpoint.getId() + " calls rejected: " + reason + ", retry in "
+                        + retryAfter.toSeconds() + " s");
+    }
+
+    private record Guard(CircuitBreaker breaker, Semaphore bulkhead, Counter rejected) {
+    }
+}
@@ -0,0 +1,355 @@
+package org.example.client.resilience;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.auth.InstallationContext;
+import org.example.config.GitHubReadConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hedges slow GitHub GET requests.
+ *
+ * Latency is tracked per client method. Once a GET has been waiting longer than the
+ * configured quantile of its method (p95 by default), the same request is sent again and
+ * whichever response arrives first is used; the other is closed when it arrives.
+ *
+ * Streamed downloads (methods returning a raw {@link Response}, tarballs, raw contents) are
+ * never hedged: closing the losing response would drain its whole body first.
+ *
+ * Hedges cost API quota, so each installation earns hedge budget as a share of its
+ * requests (token bucket) and stops hedging when its remaining rate limit runs low.
+ *
+ * Metrics:
+ * - github.reads.duration: latency seen by callers, tagged hedged=true/false
+ * - github.reads.attempt.duration: latency of single attempts, tagged attempt=primary/hedge;
+ *   the gap between its tail and that of github.reads.duration is what hedging saves
+ * - github.reads.hedges: hedges sent, tagged result=won/lost/failed
+ * - github.reads.hedges.skipped: hedges not sent, tagged reason=budget/rate-limit/pool
+ */
+@Component
+@Slf4j
+public class HedgedReads {
+
+    private static final String RATE_LIMIT_REMAINING = "x-ratelimit-remaining";
+    private static final long NO_INSTALLATION = 0L;
+
+    private final GitHubReadConfig config;
+    private final ThreadPoolTaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, LatencyTracker> trackers = new ConcurrentHashMap<>();
+    private final Map<Long, HedgeBudget> budgets = new ConcurrentHashMap<>();
+    private final Timer primaryAttempts;
+    private final Timer hedgeAttempts;
+
+    public HedgedReads(GitHubReadConfig config, @Qualifier("githubHedgeExecutor") ThreadPoolTaskExecutor executor,
+                       MeterRegistry meterRegistry) {
+        this.config = config;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.primaryAttempts = attemptTimer("primary");
+        this.hedgeAttempts = attemptTimer("hedge");
+    }
+
+    /**
+     * Executes a request, hedging it if it is an idempotent read.
+     *
+     * @param client Client performing single attempts
+     * @param request Request
+     * @param options Request options
+     * @return First response to arrive
+     * @throws IOException if all attempts failed
+     */
+    Response execute(Client client, Request request, Request.Options options) throws IOException {
+        if (request.httpMethod() != Request.HttpMethod.GET || EndpointClass.of(request) != EndpointClass.READ
+                || streamed(request)) {
+            return client.execute(request, options);
+        }
+
+        LatencyTracker tracker = trackers.computeIfAbsent(endpointKey(request),
+                key -> new LatencyTracker(config.getHedgeQuantile()));
+        Long installationId = InstallationContext.get();
+        HedgeBudget budget = budgets.computeIfAbsent(installationId != null ? installationId : NO_INSTALLATION,
+                id -> new HedgeBudget());
+        budget.deposit(config.getHedgeBudgetPercent() / 100.0, config.getHedgeBurst());
+
+        long start = System.nanoTime();
+        long hedgeDelay = config.isHedgeEnabled() ? tracker.quantileNanos(config.getHedgeMinSamples()) : -1;
+        if (hedgeDelay < 0) {
+            Response response = attempt(client, request, options, tracker, budget, primaryAttempts);
+            record(start, false);
+            return response;
+        }
+        return executeHedged(client, request, options, tracker, budget, start,
+                Math.max(hedgeDelay, config.getHedgeMinDelay().toNanos()));
+    }
+
+    private Response executeHedged(Client client, Request request, Request.Options options, LatencyTracker tracker,
+                                   HedgeBudget budget, long start, long hedgeDelay) throws IOException {
+        Race race = new Race(Deadline.get());
+        if (!launch(client, request, options, tracker, budget, primaryAttempts, race)) {
+            skipped("pool");
+            Response response = attempt(client, request, options, tracker, budget, primaryAttempts);
+            record(start, false);
+            return response;
+        }
+
+        boolean hedged = false;
+        try {
+            try {
+                return race.winner.get(hedgeDelay, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                hedged = hedge(client, request, options, tracker, budget, race);
+            }
+            Response response = race.winner.get();
+            if (hedged) {
+                hedgeCounter(response.request() == request ? "lost" : "won").increment();
+            }
+            return response;
+
+        } catch (ExecutionException e) {
+            if (hedged) {
+                hedgeCounter("failed").increment();
+            }
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            // Responses arriving later are closed by the attempts themselves
+            race.winner.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for " + request.url(), e);
+        } finally {
+            record(start, hedged);
+        }
+    }
+
+    /**
+     * Sends the hedge if the installation can afford it.
+     *
+     * @return true if a hedge was sent
+     */
+    private boolean hedge(Client client, Request request, Request.Options options, LatencyTracker tracker,
+                          HedgeBudget budget, Race race) {
+        if (budget.rateLimitRemaining < config.getHedgeMinRateLimitRemaining()) {
+            skipped("rate-limit");
+            return false;
+        }
+        if (!budget.tryTake()) {
+            skipped("budget");
+            return false;
+        }
+        if (!race.join()) {
+            // The primary failed just now and has settled the result
+            budget.refund();
+            return false;
+        }
+        // Hedges use a copy so the winner can be told apart from the primary
+        Request copy = Request.create(request.httpMethod(), request.url(), request.headers(), request.body(),
+                request.charset(), request.requestTemplate());
+        if (!launch(client, copy, options, tracker, budget, hedgeAttempts, race)) {
+            race.leave();
+            budget.refund();
+            skipped("pool");
+            return false;
+        }
+        log.debug("Hedged {}", request.url());
+        return true;
+    }
+
+    /**
+     * Runs one attempt of a race on the hedge pool.
+     *
+     * @return false if the pool had no free thread
+     */
+    private boolean launch(Client client, Request request, Request.Options options, LatencyTracker tracker,
+                           HedgeBudget budget, Timer attemptTimer, Race race) {
+        try {
+            executor.execute(() -> {
+                Deadline.set(race.deadline);
+                try {
+                    race.offer(attempt(client, request, options, tracker, budget, attemptTimer));
+                } catch (Throwable e) {
+                    race.fail(e);
+                } finally {
+                    Deadline.clear();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private static Response attempt(Client client, Request request, Request.Options options, LatencyTracker tracker,
+                                    HedgeBudget budget, Timer attemptTimer) throws IOException {
+        long start = System.nanoTime();
+        Response response = client.execute(request, options);
+        long elapsed = System.nanoTime() - start;
+        tracker.record(elapsed);
+        attemptTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        budget.updateRateLimit(response);
+        return response;
+    }
+
+    private static IOException unwrap(Throwable cause) {
+        if (cause instanceof IOException io) {
+            return io;
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IOException(cause);
+    }
+
+    /**
+     * Checks whether the caller streams the response body.
+     */
+    private static boolean streamed(Request request) {
+        if (request.requestTemplate() != null && request.requestTemplate().methodMetadata() != null
+                && request.requestTemplate().methodMetadata().returnType() == Response.class) {
+            return true;
+        }
+        Collection<String> accept = request.headers().get("Accept");
+        return request.url().contains("/tarball/")
+                || (accept != null && accept.stream().anyMatch(type -> type.contains(".raw")));
+    }
+
+    private static String endpointKey(Request request) {
+        if (request.requestTemplate() != null && request.requestTemplate().methodMetadata() != null) {
+            return request.requestTemplate().methodMetadata().configKey();
+        }
+        return request.httpMethod() + " " + request.url();
+    }
+
+    private void record(long start, boolean hedged) {
+        Timer.builder("github.reads.duration")
+                .description("GitHub GET latency seen by callers")
+                .tag("hedged", String.valueOf(hedged))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer attemptTimer(String attempt) {
+        return Timer.builder("github.reads.attempt.duration")
+                .description("Latency of single GitHub GET attempts")
+                .tag("attempt", attempt)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Counter hedgeCounter(String result) {
+        return Counter.builder("github.reads.hedges")
+                .description("Hedged GitHub GET requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private void skipped(String reason) {
+        Counter.builder("github.reads.hedges.skipped")
+                .description("GitHub GET requests past their hedge delay that were not hedged")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Attempts of one request racing for the first response.
+     */
+    private static final class Race {
+
+        final CompletableFuture<Response> winner = new CompletableFuture<>();
+        final Long deadline;
+        private final AtomicInteger running = new AtomicInteger(1);
+        private volatile Throwable error;
+
+        Race(Long deadline) {
+            this.deadline = deadline;
+        }
+
+        /**
+         * Registers another attempt.
+         *
+         * @return false if all earlier attempts already failed
+         */
+        boolean join() {
+            return running.incrementAndGet() > 1;
+        }
+
+        void offer(Response response) {
+            if (!winner.complete(response)) {
+                response.close();
+            }
+        }
+
+        void fail(Throwable e) {
+            error = e;
+            leave();
+        }
+
+        /**
+         * Ends an attempt; the last one to end without a response fails the race.
+         */
+        void leave() {
+            if (running.decrementAndGet() == 0) {
+                winner.completeExceptionally(error);
+            }
+        }
+    }
+
+    /**
+     * Hedge budget and last seen rate limit of one installation.
+     */
+    private static final class HedgeBudget {
+
+        private double tokens;
+        private volatile int rateLimitRemaining = Integer.MAX_VALUE;
+
+        synchronized void deposit(double amount, int cap) {
+            tokens = Math.min(cap, tokens + amount);
+        }
+
+        synchronized boolean tryTake() {
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+
+        synchronized void refund() {
+            tokens++;
+        }
+
+        void updateRateLimit(Response response) {
+            Collection<String> values = response.headers().get(RATE_LIMIT_REMAINING);
+            if (values == null || values.isEmpty()) {
+                return;
+            }
+            try {
+                rateLimitRemaining = Integer.parseInt(values.iterator().next().trim());
+            } catch (NumberFormatException e) {
+                // Keep the last known value
+            }
+        }
+    }
+}
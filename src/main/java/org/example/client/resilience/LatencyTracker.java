@@ -0,0 +1,51 @@
+package org.example.client.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Latency quantiles of one endpoint over its most recent calls.
+ *
+ * Keeps a ring of the last {@value #SAMPLES} durations; the quantile is recomputed from a
+ * sorted copy every {@value #REFRESH_INTERVAL} samples and read lock-free in between.
+ */
+final class LatencyTracker {
+
+    private static final int SAMPLES = 512;
+    private static final int REFRESH_INTERVAL = 32;
+
+    private final double quantile;
+    private final long[] samples = new long[SAMPLES];
+    private volatile long recorded;
+    private volatile long quantileNanos = -1;
+
+    LatencyTracker(double quantile) {
+        this.quantile = quantile;
+    }
+
+    /**
+     * Adds a call duration.
+     *
+     * @param nanos Time until the response headers arrived
+     */
+    synchronized void record(long nanos) {
+        samples[(int) (recorded % SAMPLES)] = nanos;
+        recorded++;
+        if (recorded % REFRESH_INTERVAL == 0) {
+            int count = (int) Math.min(recorded, SAMPLES);
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            quantileNanos = sorted[Math.min(count - 1, (int) Math.ceil(quantile * count) - 1)];
+        }
+    }
+
+    /**
+     * Gets the tracked quantile.
+     *
+     * @param minSamples Samples needed for a meaningful value
+     * @return Quantile in nanoseconds, or -1 if fewer samples were recorded
+     */
+    long quantileNanos(int minSamples) {
+        long value = quantileNanos;
+        return value >= 0 && recorded >= minSamples ? value : -1;
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.client.resilience;
+
+import feign.Capability;
+import feign.Client;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+import org.example.job.TrackedJob;
+import org.example.profiling.GitHubCallEvent;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Feign capability that routes every GitHub client through {@link GitHubResilience}.
+ * Registered as a bean, so Spring Cloud OpenFeign applies it to all Feign clients.
+ *
+ * Timeouts are capped to the current job's {@link Deadline}, and slow GETs are hedged by
+ * {@link HedgedReads}; each hedged attempt passes the breaker and bulkhead on its own.
+ * Comment and review writes are paced per installation by {@link WriteThrottle}.
+ * The call in flight is recorded on the current thread's {@link TrackedJob}, and each call
+ * emits a {@link GitHubCallEvent} to JFR.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResilientClientCapability implements Capability {
+
+    private final GitHubResilience resilience;
+    private final HedgedReads hedgedReads;
+    private final WriteThrottle writeThrottle;
+
+    @Override
+    public Client enrich(Client client) {
+        Client guarded = (request, options) -> {
+            EndpointClass endpoint = EndpointClass.of(request);
+            resilience.acquire(endpoint);
+
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Response response = client.execute(request, options);
+                failed = response.status() >= 500 || response.status() == 429;
+                return response;
+            } catch (RuntimeException | IOException e) {
+                // A timeout cut short by the job deadline says nothing about GitHub
+                failed = !Deadline.isExpired();
+                throw e;
+            } finally {
+                resilience.release(endpoint, failed, System.nanoTime() - start);
+            }
+        };
+        Client paced = (request, options) -> writeThrottle.applies(request)
+                ? writeThrottle.execute(guarded, request, options)
+                : guarded.execute(request, options);
+        return (request, options) -> {
+            // Lets the jobs endpoint show which call a job is waiting for
+            TrackedJob job = TrackedJob.current();
+            if (job != null) {
+                job.enterCall(request.httpMethod() + " " + URI.create(request.url()).getPath());
+            }
+            GitHubCallEvent event = new GitHubCallEvent();
+            event.begin();
+            Response response = null;
+            try {
+                response = hedgedReads.execute(paced, request, Deadline.limit(options));
+                return response;
+            } finally {
+                if (job != null) {
+                    job.exitCall();
+                }
+                event.end();
+                if (event.shouldCommit()) {
+                    event.endpoint = EndpointClass.of(request).name();
+                    event.method = request.httpMethod().name();
+                    event.path = URI.create(request.url()).getPath();
+                    event.status = response != null ? response.status() : 0;
+                    event.responseBytes = response != null && response.body() != null
+                            && response.body().length() != null ? response.body().length() : -1;
+                    event.jobId = job != null ? job.getId() : 0;
+                    event.commit();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,229 @@
+package org.example.client.resilience;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.auth.InstallationContext;
+import org.example.config.WriteThrottleConfig;
+import org.example.exception.GitHubUnavailableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Paces content-creating GitHub calls per installation.
+ *
+ * GitHub's secondary rate limits punish bursts of requests that create content (comments,
+ * reviews) with lockouts of the whole installation. Each installation therefore gets one
+ * lane: its content-creating calls run one at a time, in arrival order, and draw from a
+ * token bucket refilled at github.writes.rate-per-minute. A call that would wait longer
+ * than github.writes.max-wait or its job's {@link Deadline} fails fast with
+ * {@link GitHubUnavailableException}, so the job is parked instead of holding a thread.
+ *
+ * A 403 or 429 response with Retry-After (or an exhausted rate limit) pauses the lane
+ * until GitHub accepts writes again, and the call fails with
+ * {@link GitHubUnavailableException} carrying that delay.
+ *
+ * Only calls through the Feign clients are paced. Exposes github.writes.queued (calls
+ * waiting for their turn), github.writes.wait and github.writes.rate-limited.
+ */
+@Component
+@Slf4j
+public class WriteThrottle {
+
+    private static final String ENDPOINT = EndpointClass.WRITE.getId();
+    private static final Pattern CONTENT_CREATING = Pattern.compile(
+            ".*/(pulls/\\d+/(comments|reviews)|issues/\\d+/comments|(pulls|issues)/comments/\\d+)");
+
+    private final WriteThrottleConfig config;
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Timer waits;
+    private final Counter rateLimited;
+
+    public WriteThrottle(WriteThrottleConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        Gauge.builder("github.writes.queued", queued, AtomicInteger::get)
+                .description("Content-creating GitHub calls waiting for their turn")
+                .register(meterRegistry);
+        this.waits = Timer.builder("github.writes.wait")
+                .description("Time content-creating GitHub calls wait for their turn")
+                .register(meterRegistry);
+        this.rateLimited = Counter.builder("github.writes.rate-limited")
+                .description("Content-creating GitHub calls answered with a rate limit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks whether a request creates or edits content and is paced.
+     *
+     * @param request Feign request
+     * @return true for comment and review writes
+     */
+    public boolean applies(Request request) {
+        return config.isEnabled()
+                && request.httpMethod() != Request.HttpMethod.GET
+                && CONTENT_CREATING.matcher(URI.create(request.url()).getPath()).matches();
+    }
+
+    /**
+     * Sends a content-creating request on the lane of the current installation.
+     *
+     * @param client Client that sends the request
+     * @param request Request
+     * @param options Request options
+     * @return Response
+     * @throws GitHubUnavailableException if the turn is too far off or GitHub rate-limited the call
+     */
+    public Response execute(Client client, Request request, Request.Options options) throws IOException {
+        Long installationId = InstallationContext.get();
+        // Calls without an installation use the default one
+        Lane lane = lanes.computeIfAbsent(installationId != null ? installationId : 0L, id -> new Lane());
+        long maxWaitNanos = Math.max(0, Math.min(config.getMaxWait().toNanos(), Deadline.remainingNanos()));
+
+        long start = System.nanoTime();
+        queued.incrementAndGet();
+        try {
+            if (!lane.lock.tryLock(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                throw unavailable(config.getMaxWait(), "write lane busy");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw unavailable(config.getMaxWait(), "interrupted while waiting for the write lane");
+        } finally {
+            queued.decrementAndGet();
+        }
+
+        try {
+            long delay = lane.delayNanos(System.nanoTime());
+            // A call with a token ready never waits, however little time is left
+            if (delay > 0 && delay > maxWaitNanos - (System.nanoTime() - start)) {
+                throw unavailable(Duration.ofNanos(delay), "writes paced");
+            }
+            if (delay > 0) {
+                queued.incrementAndGet();
+                try {
+                    TimeUnit.NANOSECONDS.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw unavailable(Duration.ofNanos(delay), "interrupted while paced");
+                } finally {
+                    queued.decrementAndGet();
+                }
+            }
+            waits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            lane.take(System.nanoTime());
+
+            Response response = client.execute(request, options);
+            Duration retryAfter = rateLimit(response);
+            if (retryAfter != null) {
+                lane.pause(System.nanoTime() + retryAfter.toNanos());
+                rateLimited.increment();
+                log.warn("GitHub rate-limited writes of installation {} for {} s", installationId,
+                        retryAfter.toSeconds());
+                response.close();
+                throw unavailable(retryAfter, "rate limited");
+            }
+            return response;
+        } finally {
+            lane.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets how long GitHub asks to back off, if the response is a rate limit.
+     *
+     * @return Delay, or null if the response is not a rate limit
+     */
+    private Duration rateLimit(Response response) {
+        if (response.status() != 403 && response.status() != 429) {
+            return null;
+        }
+        String retryAfter = header(response, "retry-after");
+        if (retryAfter != null) {
+            try {
+                return Duration.ofSeconds(Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException e) {
+                return config.getDefaultRetryAfter();
+            }
+        }
+        if ("0".equals(header(response, "x-ratelimit-remaining"))) {
+            String reset = header(response, "x-ratelimit-reset");
+            try {
+                long seconds = Long.parseLong(reset) - System.currentTimeMillis() / 1000;
+                return Duration.ofSeconds(Math.max(1, seconds));
+            } catch (NumberFormatException e) {
+                return config.getDefaultRetryAfter();
+            }
+        }
+        // A plain 403 is a permission problem; a 429 without headers is still a rate limit
+        return response.status() == 429 ? config.getDefaultRetryAfter() : null;
+    }
+
+    private static String header(Response response, String name) {
+        for (Map.Entry<String, Collection<String>> header : response.headers().entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name) && !header.getValue().isEmpty()) {
+                return header.getValue().iterator().next();
+            }
+        }
+        return null;
+    }
+
+    private GitHubUnavailableException unavailable(Duration retryAfter, String reason) {
+        return new GitHubUnavailableException(ENDPOINT, retryAfter,
+                "GitHub content writes deferred: " + reason + ", retry in " + retryAfter.toSeconds() + " s");
+    }
+
+    /**
+     * Token bucket of one installation. Guarded by its lock, so calls run one at a time.
+     */
+    private final class Lane {
+
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private double tokens = config.getBurst();
+        private long refilledAt = System.nanoTime();
+        private long pausedUntil = refilledAt;
+
+        private double tokensPerNano() {
+            return config.getRatePerMinute() / (double) TimeUnit.MINUTES.toNanos(1);
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(config.getBurst(), tokens + (now - refilledAt) * tokensPerNano());
+            refilledAt = now;
+        }
+
+        /**
+         * Gets how long the next call has to wait for a token.
+         */
+        private long delayNanos(long now) {
+            refill(now);
+            long paced = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano());
+            long paused = pausedUntil - now;
+            return Math.max(paced, Math.max(paused, 0));
+        }
+
+        private void take(long now) {
+            refill(now);
+            tokens = Math.max(0, tokens - 1);
+        }
+
+        private void pause(long until) {
+            pausedUntil = Math.max(pausedUntil, until);
+        }
+    }
+}
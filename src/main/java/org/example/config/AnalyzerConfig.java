@@ -0,0 +1,66 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties for running analyzers on reviewed files.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "review.analyzers")
+@Data
+public class AnalyzerConfig {
+
+    /**
+     * Time an analyzer may spend on one file before it is cancelled
+     */
+    private Duration timeout = Duration.ofSeconds(10);
+
+    /**
+     * Per-analyzer timeout overrides, keyed by analyzer ID
+     */
+    private Map<String, Duration> timeouts = new HashMap<>();
+
+    /**
+     * IDs of analyzers that are not run
+     */
+    private List<String> disabled = new ArrayList<>();
+
+    /**
+     * Threads for CPU-bound analyzers (0 means one per available processor)
+     */
+    private int cpuThreads = 0;
+
+    /**
+     * Threads for I/O-bound analyzers
+     */
+    private int ioThreads = 32;
+
+    /**
+     * Files queued per executor before further analyses are rejected
+     */
+    private int queueCapacity = 1_000;
+
+    /**
+     * Unfinished runs an analyzer may have at once, including runs that ignored cancellation;
+     * beyond this, the analyzer is skipped so a hanging analyzer cannot take over the pool
+     */
+    private int maxInFlightPerAnalyzer = 16;
+
+    /**
+     * Gets the timeout of an analyzer.
+     *
+     * @param analyzerId Analyzer ID
+     * @return Override if configured, else the default timeout
+     */
+    public Duration getTimeout(String analyzerId) {
+        return timeouts.getOrDefault(analyzerId, timeout);
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -14,8 +15,14 @@ import java.util.concurrent.Executor;
  */
 @Configuration
 @EnableAsync
+@RequiredArgsConstructor
 public class AsyncConfig {
 
+    private final AnalyzerConfig analyzerConfig;
+    private final GitDataConfig gitDataConfig;
+    private final GitHubReadConfig readConfig;
+    private final CommandConfig commandConfig;
+
     /**
      * Thread pool executor for processing webhook events asynchronously.
      * Configured for production use with proper queue and thread limits.
@@ -31,5 +38,86 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
-}
 
+    /**
+     * Thread pool for CPU-bound analyzers, sized to the available processors.
+     * Rejects when full rather than running on the caller, so analysis never
+     * occupies webhook threads beyond waiting for results.
+     */
+    @Bean(name = "analyzerCpuExecutor")
+    public ThreadPoolTaskExecutor analyzerCpuExecutor() {
+        int threads = analyzerConfig.getCpuThreads() > 0
+                ? analyzerConfig.getCpuThreads()
+                : Runtime.getRuntime().availableProcessors();
+        return analyzerExecutor(threads, "analyzer-cpu-");
+    }
+
+    /**
+     * Thread pool for I/O-bound analyzers.
+     */
+    @Bean(name = "analyzerIoExecutor")
+    public ThreadPoolTaskExecutor analyzerIoExecutor() {
+        return analyzerExecutor(analyzerConfig.getIoThreads(), "analyzer-io-");
+    }
+
+    /**
+     * Thread pool for Git Data API blob uploads. Callers run uploads themselves when the
+     * queue is full, which throttles them; the number of uploads in flight is capped by a
+     * semaphore in GitDataService, since caller-run uploads bypass the pool size.
+     */
+    @Bean(name = "gitBlobExecutor")
+    public ThreadPoolTaskExecutor gitBlobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(gitDataConfig.getBlobParallelism());
+        executor.setMaxPoolSize(gitDataConfig.getBlobParallelism());
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("git-blob-");
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Thread pool running hedged GitHub reads. Has no queue: when every thread is busy
+     * a read runs on the caller unhedged instead of waiting.
+     */
+    @Bean(name = "githubHedgeExecutor")
+    public ThreadPoolTaskExecutor githubHedgeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(readConfig.getHedgeThreads());
+        executor.setMaxPoolSize(readConfig.getHedgeThreads());
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("github-hedge-");
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Thread pool of the chat-ops command lane. Kept apart from PR jobs so a command is
+     * never queued behind full reviews; rejects when full instead of blocking the webhook.
+     */
+    @Bean(name = "commandExecutor")
+    public ThreadPoolTaskExecutor commandExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(commandConfig.getThreads());
+        executor.setMaxPoolSize(commandConfig.getThreads());
+        executor.setQueueCapacity(commandConfig.getQueueCapacity());
+        executor.setThreadNamePrefix("command-");
+        executor.setThreadPriority(Thread.MAX_PRIORITY);
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    private ThreadPoolTaskExecutor analyzerExecutor(int threads, String namePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(analyzerConfig.getQueueCapacity());
+        executor.setThreadNamePrefix(namePrefix);
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for publishing review results as a GitHub Check Run.
+ * Requires the "Checks: write" permission on the GitHub App.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "review.checks")
+@Data
+public class CheckRunConfig {
+
+    /**
+     * Whether each PR job reports to a check run
+     */
+    private boolean enabled = true;
+
+    /**
+     * Name of the check shown on the PR
+     */
+    private String name = "PR Review Bot";
+
+    /**
+     * Annotations sent per update (GitHub accepts at most 50)
+     */
+    private int annotationBatchSize = 50;
+
+    /**
+     * Whether findings are also posted as inline review comments
+     */
+    private boolean reviewComments = true;
+}
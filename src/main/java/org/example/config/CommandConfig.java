@@ -0,0 +1,62 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration properties for chat-ops commands posted as PR comments.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "review.commands")
+@Data
+public class CommandConfig {
+
+    /**
+     * Whether /review and /recheck comments are acted on
+     */
+    private boolean enabled = true;
+
+    /**
+     * Author associations allowed to run commands
+     */
+    private List<String> allowedAssociations = List.of("OWNER", "MEMBER", "COLLABORATOR");
+
+    /**
+     * Threads of the command lane, separate from PR jobs
+     */
+    private int threads = 4;
+
+    /**
+     * Commands waiting for a thread; more are rejected
+     */
+    private int queueCapacity = 50;
+
+    /**
+     * Latency objective from delivery to reply; slower commands are logged
+     */
+    private Duration latencySlo = Duration.ofSeconds(5);
+
+    /**
+     * Time a command may spend in total; GitHub calls are cut short once it has passed
+     */
+    private Duration deadline = Duration.ofSeconds(30);
+
+    /**
+     * Maximum number of files one command may re-analyze
+     */
+    private int maxFiles = 20;
+
+    /**
+     * Heap held by the cache of recently reviewed file contents
+     */
+    private long contentCacheBytes = 32L * 1024 * 1024;
+
+    /**
+     * Largest file kept in the content cache
+     */
+    private long contentCacheMaxEntryBytes = 256 * 1024;
+}
@@ -0,0 +1,31 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for how file contents of a PR are fetched from GitHub.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "review.fetch")
+@Data
+public class ContentFetchConfig {
+
+    /**
+     * Download the head commit tarball once instead of fetching files one by one
+     * when at least this many files are needed
+     */
+    private int tarballThreshold = 100;
+
+    /**
+     * Use batched GraphQL queries instead of per-file REST calls when at least
+     * this many files are needed (and fewer than the tarball threshold)
+     */
+    private int graphqlThreshold = 3;
+
+    /**
+     * Maximum number of blobs requested in one GraphQL query
+     */
+    private int graphqlBatchSize = 50;
+}
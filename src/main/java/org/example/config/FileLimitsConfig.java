@@ -0,0 +1,57 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for size limits on reviewed files and per-job memory use.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "review.files")
+@Data
+public class FileLimitsConfig {
+
+    /**
+     * Contents and patches larger than this are spilled to temp files instead of kept on heap
+     */
+    private long spillThresholdBytes = 256 * 1024;
+
+    /**
+     * Files whose content exceeds this are skipped entirely
+     */
+    private long maxFileBytes = 5L * 1024 * 1024;
+
+    /**
+     * Files whose patch exceeds this are skipped entirely
+     */
+    private long maxPatchBytes = 2L * 1024 * 1024;
+
+    /**
+     * Files with more changed lines than this are skipped entirely
+     */
+    private int maxChangedLines = 20_000;
+
+    /**
+     * Heap bytes a single PR job may hold for contents and patches before everything spills
+     */
+    private long jobMemoryBudgetBytes = 64L * 1024 * 1024;
+
+    /**
+     * Directory for spilled contents (default: system temp directory)
+     */
+    private String spillDirectory = System.getProperty("java.io.tmpdir") + "/pr-review-bot";
+
+    /**
+     * File name suffixes that are never reviewed (lockfiles, minified and binary files)
+     */
+    private List<String> skipSuffixes = new ArrayList<>(List.of(
+            ".lock", "package-lock.json", "pnpm-lock.yaml", "go.sum",
+            ".min.js", ".min.css", ".map",
+            ".png", ".jpg", ".jpeg", ".gif", ".ico", ".pdf",
+            ".jar", ".zip", ".gz", ".tar", ".class", ".so", ".dll", ".exe"
+    ));
+}
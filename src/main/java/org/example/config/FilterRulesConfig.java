@@ -0,0 +1,38 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Declarative filter rules for pull requests and files.
+ * Compiled once at startup by PullRequestFilters.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "review.filters")
+@Data
+public class FilterRulesConfig {
+
+    /**
+     * Glob patterns of paths that are never reviewed (e.g., "vendor/**", "*.pb.go")
+     */
+    private List<String> ignorePaths = new ArrayList<>();
+
+    /**
+     * Logins whose PRs are never reviewed
+     */
+    private List<String> ignoreAuthors = new ArrayList<>();
+
+    /**
+     * PRs carrying any of these labels are not reviewed
+     */
+    private List<String> ignoreLabels = new ArrayList<>(List.of("skip-review"));
+
+    /**
+     * Only PRs targeting these base branches are reviewed (empty means all branches)
+     */
+    private List<String> baseBranches = new ArrayList<>();
+}
@@ -0,0 +1,34 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the cross-PR cache of analyzer findings by blob SHA.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "review.findings-cache")
+@Data
+public class FindingsCacheConfig {
+
+    /**
+     * Whether findings are reused for content analyzed before
+     */
+    private boolean enabled = true;
+
+    /**
+     * Entries kept in memory; older ones are read back from disk
+     */
+    private int memoryEntries = 10_000;
+
+    /**
+     * Directory holding one file per cached entry
+     */
+    private String directory = "data/findings-cache";
+
+    /**
+     * Maximum size of the directory; the least recently used entries are deleted beyond it
+     */
+    private long maxDiskBytes = 256L * 1024 * 1024;
+}
@@ -0,0 +1,24 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for commits created through the Git Data API.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "review.commit")
+@Data
+public class GitDataConfig {
+
+    /**
+     * Maximum number of blob uploads in flight at once, across all commits
+     */
+    private int blobParallelism = 8;
+
+    /**
+     * Attempts to move the branch when it advanced concurrently (non-fast-forward)
+     */
+    private int refUpdateAttempts = 5;
+}
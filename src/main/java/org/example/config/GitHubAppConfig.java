@@ -75,19 +75,61 @@ public class GitHubAppConfig {
     private int tokenCacheDurationMinutes = 50;
 
     /**
-     * Load private key from file if privateKeyPath is specified and privateKey is not set.
+     * How long before expiry the background refresher renews an installation token
+     */
+    private int tokenRefreshAheadMinutes = 10;
+
+    /**
+     * Maximum random jitter in seconds subtracted from the scheduled refresh time
+     */
+    private int tokenRefreshJitterSeconds = 120;
+
+    /**
+     * Installations that requested a token within this window are refreshed proactively
+     */
+    private int tokenRefreshActiveWindowMinutes = 60;
+
+    /**
+     * Interval in seconds between background token refresh checks
+     */
+    private int tokenRefreshIntervalSeconds = 30;
+
+    /**
+     * Gets the login GitHub uses for the app's bot user (e.g., "pr-review-bot[bot]").
+     *
+     * @return Bot login
+     */
+    public String getBotLogin() {
+        return botName.endsWith("[bot]") ? botName : botName + "[bot]";
+    }
+
+    /**
+     * Checks that a private key is configured. A key file is only read on first use,
+     * keeping file I/O off the startup path.
      */
     @PostConstruct
-    public void loadPrivateKey() throws IOException {
+    public void checkPrivateKey() {
+        if ((privateKey == null || privateKey.isBlank()) && privateKeyPath == null) {
+            throw new IllegalStateException("Either github.app.private-key or github.app.private-key-path must be configured");
+        }
+    }
+
+    /**
+     * Gets the private key, loading it from privateKeyPath if it is not set directly.
+     *
+     * @return PEM-encoded private key
+     */
+    public synchronized String getPrivateKey() {
         if ((privateKey == null || privateKey.isBlank()) && privateKeyPath != null) {
             log.info("Loading private key from: {}", privateKeyPath);
-            privateKey = privateKeyPath.getContentAsString(StandardCharsets.UTF_8);
+            try {
+                privateKey = privateKeyPath.getContentAsString(StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to read private key from " + privateKeyPath, e);
+            }
             log.info("Private key loaded successfully from file");
-        } else if (privateKey != null && !privateKey.isBlank()) {
-            log.info("Using private key from direct configuration");
-        } else {
-            throw new IllegalStateException("Either github.app.private-key or github.app.private-key-path must be configured");
         }
+        return privateKey;
     }
 }
 
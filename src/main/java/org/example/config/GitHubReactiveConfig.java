@@ -0,0 +1,56 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the non-blocking GitHub client and the reactive PR pipeline.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "github.reactive")
+@Data
+public class GitHubReactiveConfig {
+
+    /**
+     * Whether PR jobs run on the non-blocking pipeline instead of webhook threads
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of open connections to the GitHub API
+     */
+    private int maxConnections = 500;
+
+    /**
+     * Maximum number of requests waiting for a free connection; more are rejected
+     */
+    private int pendingAcquireMaxCount = 10000;
+
+    /**
+     * Time a request may wait for a free connection
+     */
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Time idle connections are kept open
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    /**
+     * Time to wait for a response after the request was sent
+     */
+    private Duration responseTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Largest JSON value decoded in memory, e.g. one changed file with its patch
+     */
+    private int maxInMemoryBytes = 4 * 1024 * 1024;
+
+    /**
+     * Maximum number of concurrent content fetches of one PR job
+     */
+    private int contentConcurrency = 64;
+}
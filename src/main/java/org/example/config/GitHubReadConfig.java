@@ -0,0 +1,61 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for job deadlines and hedged GitHub reads.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "github.reads")
+@Data
+public class GitHubReadConfig {
+
+    /**
+     * Time a PR job may spend in total; GitHub calls are cut short once it has passed
+     */
+    private Duration jobDeadline = Duration.ofMinutes(10);
+
+    /**
+     * Whether slow GET requests are hedged with a second request
+     */
+    private boolean hedgeEnabled = true;
+
+    /**
+     * Latency quantile of an endpoint after which a hedge is sent
+     */
+    private double hedgeQuantile = 0.95;
+
+    /**
+     * Lower bound for the hedge delay, so fast endpoints are not hedged on noise
+     */
+    private Duration hedgeMinDelay = Duration.ofMillis(50);
+
+    /**
+     * Latency samples an endpoint needs before it is hedged
+     */
+    private int hedgeMinSamples = 50;
+
+    /**
+     * Hedges allowed per 100 requests of an installation
+     */
+    private int hedgeBudgetPercent = 5;
+
+    /**
+     * Hedges an installation may send in a burst once budget has accumulated
+     */
+    private int hedgeBurst = 20;
+
+    /**
+     * No hedging for an installation whose remaining REST rate limit is below this
+     */
+    private int hedgeMinRateLimitRemaining = 500;
+
+    /**
+     * Threads running hedged requests; a request is not hedged when all are busy
+     */
+    private int hedgeThreads = 32;
+}
@@ -0,0 +1,82 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for circuit breakers and bulkheads around GitHub API calls.
+ * Each endpoint class (auth, reads, writes) has its own breaker and concurrency limit.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "github.resilience")
+@Data
+public class GitHubResilienceConfig {
+
+    /**
+     * Concurrent installation token requests
+     */
+    private int authMaxConcurrent = 4;
+
+    /**
+     * Concurrent read calls (GET and GraphQL queries)
+     */
+    private int readMaxConcurrent = 32;
+
+    /**
+     * Concurrent write calls (comments, check runs, blobs, refs)
+     */
+    private int writeMaxConcurrent = 8;
+
+    /**
+     * How long a call waits for a free bulkhead slot before it is rejected
+     */
+    private Duration bulkheadMaxWait = Duration.ofSeconds(2);
+
+    /**
+     * Length of the rolling window the error and slow-call rates are computed over
+     */
+    private Duration window = Duration.ofSeconds(30);
+
+    /**
+     * Calls needed in the window before the breaker may open
+     */
+    private int minimumCalls = 20;
+
+    /**
+     * Failure rate (percent) that opens the breaker; failures are I/O errors, 5xx and 429
+     */
+    private int failureRateThreshold = 50;
+
+    /**
+     * Calls slower than this count as slow
+     */
+    private Duration slowCallThreshold = Duration.ofSeconds(5);
+
+    /**
+     * Slow-call rate (percent) that opens the breaker
+     */
+    private int slowCallRateThreshold = 80;
+
+    /**
+     * Time the breaker stays open after it first trips; doubled on each consecutive trip
+     */
+    private Duration openDuration = Duration.ofSeconds(15);
+
+    /**
+     * Upper bound for the doubled open time
+     */
+    private Duration maxOpenDuration = Duration.ofMinutes(5);
+
+    /**
+     * Trial calls let through while half-open; all must succeed to close the breaker
+     */
+    private int halfOpenCalls = 3;
+
+    /**
+     * Times a PR job is parked while GitHub is unavailable before it is dropped
+     */
+    private int maxParkAttempts = 10;
+}
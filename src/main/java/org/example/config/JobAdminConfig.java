@@ -0,0 +1,21 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the jobs admin endpoint.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "review.jobs")
+@Data
+public class JobAdminConfig {
+
+    /**
+     * Running time after which a job is listed with the stack of its thread
+     */
+    private Duration stuckAfter = Duration.ofSeconds(60);
+}
@@ -0,0 +1,41 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for JFR recordings started through the jfr endpoint.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "review.profiling")
+@Data
+public class ProfilingConfig {
+
+    /**
+     * Whether a recording starts with the application
+     */
+    private boolean startOnBoot = false;
+
+    /**
+     * JFR settings: "default" (about 1% overhead), "profile", or the path of a .jfc file
+     */
+    private String settings = "default";
+
+    /**
+     * Age of the oldest data kept in the rolling on-disk buffer
+     */
+    private Duration maxAge = Duration.ofMinutes(30);
+
+    /**
+     * Size of the rolling on-disk buffer
+     */
+    private long maxSizeBytes = 256L * 1024 * 1024;
+
+    /**
+     * Directory that dumps are written to
+     */
+    private String directory = "data/jfr";
+}
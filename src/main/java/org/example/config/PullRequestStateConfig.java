@@ -0,0 +1,29 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the in-memory pull request state used by the PR filters.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "review.state")
+@Data
+public class PullRequestStateConfig {
+
+    /**
+     * Pull requests whose head state is kept; the least recently used are evicted
+     */
+    private int maxPullRequests = 10000;
+
+    /**
+     * Commit authors remembered from pushes and the app's own commits
+     */
+    private int maxCommits = 50000;
+
+    /**
+     * Whether PR events for a head that was already reviewed are skipped
+     */
+    private boolean skipReviewedHeads = true;
+}
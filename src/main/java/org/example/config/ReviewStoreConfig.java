@@ -0,0 +1,39 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the local review-result store.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "review.store")
+@Data
+public class ReviewStoreConfig {
+
+    /**
+     * Whether review results are persisted and used to skip already-reviewed files
+     */
+    private boolean enabled = true;
+
+    /**
+     * Directory holding the append-only review log
+     */
+    private String directory = "data/review-store";
+
+    /**
+     * Maximum number of live records; the oldest are dropped on compaction
+     */
+    private int maxEntries = 100_000;
+
+    /**
+     * Maximum size of the log file in bytes before compaction is forced
+     */
+    private long maxLogBytes = 256L * 1024 * 1024;
+
+    /**
+     * Compact when the log holds more than this many bytes per live byte
+     */
+    private double compactionRatio = 2.0;
+}
@@ -0,0 +1,29 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the pattern scanner run over added diff lines.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "review.scan")
+@Data
+public class ScanRulesConfig {
+
+    /**
+     * Whether pattern checks run at all
+     */
+    private boolean enabled = true;
+
+    /**
+     * Location of the YAML rule file (classpath: or file: resource)
+     */
+    private String rules = "classpath:scan-rules.yml";
+
+    /**
+     * Maximum number of lines with findings reported per file
+     */
+    private int maxFindingsPerFile = 50;
+}
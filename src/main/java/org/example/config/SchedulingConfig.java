@@ -0,0 +1,12 @@
+package org.example.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background tasks such as proactive token refresh.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,35 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for splitting large PR reviews into parallel shards.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "review.sharding")
+@Data
+public class ShardingConfig {
+
+    /**
+     * Whether large PRs are reviewed in shards
+     */
+    private boolean enabled = true;
+
+    /**
+     * Files to review from which a PR is sharded
+     */
+    private int minFiles = 200;
+
+    /**
+     * Files per shard; each shard fetches its own contents, so keep it below
+     * review.fetch.tarball-threshold to avoid one tarball download per shard
+     */
+    private int shardSize = 50;
+
+    /**
+     * Directory of the checkpoints of sharded reviews in progress
+     */
+    private String checkpointDirectory = "data/shard-checkpoints";
+}
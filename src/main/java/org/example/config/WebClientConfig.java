@@ -0,0 +1,147 @@
+package org.example.config;
+
+import lombok.RequiredArgsConstructor;
+import org.example.auth.InstallationContext;
+import org.example.auth.InstallationTokenService;
+import org.example.client.resilience.EndpointClass;
+import org.example.client.resilience.GitHubResilience;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Configuration of the non-blocking GitHub client on Reactor Netty.
+ *
+ * Requests carry the same headers as the Feign clients. The installation is taken from
+ * the Reactor context ({@link InstallationContext#REACTOR_KEY}); its token comes from the
+ * shared token cache, and only a cache miss is exchanged on a blocking worker. A 401 is
+ * retried once with a fresh token. Calls go through the endpoint class's circuit breaker
+ * but not its bulkhead: concurrency is bounded by the connection pool and its pending queue.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebClientConfig {
+
+    private final GitHubAppConfig appConfig;
+    private final GitHubReactiveConfig reactiveConfig;
+    private final InstallationTokenService tokenService;
+    private final GitHubResilience resilience;
+
+    /**
+     * Connection pool shared by all non-blocking GitHub calls.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider githubConnectionProvider() {
+        return ConnectionProvider.builder("github")
+                .maxConnections(reactiveConfig.getMaxConnections())
+                .pendingAcquireMaxCount(reactiveConfig.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(reactiveConfig.getPendingAcquireTimeout())
+                .maxIdleTime(reactiveConfig.getMaxIdleTime())
+                .build();
+    }
+
+    /**
+     * WebClient for the GitHub REST API.
+     */
+    @Bean
+    public WebClient githubWebClient(WebClient.Builder builder, ConnectionProvider githubConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(githubConnectionProvider)
+                .responseTimeout(reactiveConfig.getResponseTimeout())
+                .compress(true);
+        return builder
+                .baseUrl(appConfig.getApiBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(reactiveConfig.getMaxInMemoryBytes()))
+                // Request-specific Accept headers (raw media type) take precedence
+                .defaultHeader(HttpHeaders.ACCEPT, "application/vnd.github+json")
+                .defaultHeader("X-GitHub-Api-Version", "2022-11-28")
+                .filter(authentication())
+                .filter(circuitBreaker())
+                .build();
+    }
+
+    /**
+     * Adds the installation token and retries once after it was rejected.
+     */
+    private ExchangeFilterFunction authentication() {
+        return (request, next) -> Mono.deferContextual(context -> {
+            Long installationId = context.getOrDefault(InstallationContext.REACTOR_KEY, appConfig.getInstallationId());
+            return installationToken(installationId)
+                    .flatMap(token -> next.exchange(authorize(request, token)))
+                    .flatMap(response -> {
+                        if (response.statusCode().value() != 401) {
+                            return Mono.just(response);
+                        }
+                        // The cached token may have been revoked early
+                        tokenService.invalidateToken(installationId);
+                        return response.releaseBody()
+                                .then(installationToken(installationId))
+                                .flatMap(token -> next.exchange(authorize(request, token)));
+                    });
+        });
+    }
+
+    private Mono<String> installationToken(Long installationId) {
+        String cached = tokenService.getCachedToken(installationId);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return Mono.fromCallable(() -> tokenService.getInstallationToken(installationId))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static ClientRequest authorize(ClientRequest request, String token) {
+        return ClientRequest.from(request)
+                .headers(headers -> headers.setBearerAuth(token))
+                .build();
+    }
+
+    /**
+     * Passes each call through the circuit breaker of its endpoint class and reports the
+     * outcome once the response headers arrive. Cancelled calls (job deadline) are not
+     * counted.
+     */
+    private ExchangeFilterFunction circuitBreaker() {
+        return (request, next) -> Mono.defer(() -> {
+            HttpMethod method = request.method();
+            EndpointClass endpoint = HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method)
+                    ? EndpointClass.READ
+                    : EndpointClass.WRITE;
+            resilience.admit(endpoint);
+            long start = System.nanoTime();
+            AtomicBoolean reported = new AtomicBoolean();
+            return next.exchange(request)
+                    .doOnNext(response -> {
+                        if (reported.compareAndSet(false, true)) {
+                            resilience.record(endpoint, isFailure(response.statusCode()), System.nanoTime() - start);
+                        }
+                    })
+                    .doOnError(error -> {
+                        if (reported.compareAndSet(false, true)) {
+                            resilience.record(endpoint, true, System.nanoTime() - start);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (reported.compareAndSet(false, true)) {
+                            resilience.abandon(endpoint);
+                        }
+                    });
+        });
+    }
+
+    private static boolean isFailure(HttpStatusCode status) {
+        return status.is5xxServerError() || status.value() == 429;
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for recording webhook deliveries to a local archive.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "review.capture")
+@Data
+public class WebhookCaptureConfig {
+
+    /**
+     * Whether verified webhook deliveries are recorded
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory holding the compressed archive segments
+     */
+    private String directory = "data/webhook-capture";
+
+    /**
+     * Uncompressed bytes written to a segment before a new one is started
+     */
+    private long segmentBytes = 64L * 1024 * 1024;
+
+    /**
+     * Number of segments kept; the oldest are deleted beyond this
+     */
+    private int maxSegments = 16;
+
+    /**
+     * Deliveries waiting to be written; further deliveries are dropped while the queue is full
+     */
+    private int queueCapacity = 10_000;
+}
@@ -0,0 +1,47 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for pacing content-creating GitHub calls (comments and
+ * reviews) per installation, to stay clear of GitHub's secondary rate limits.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "github.writes")
+@Data
+public class WriteThrottleConfig {
+
+    /**
+     * Whether content-creating calls are paced
+     */
+    private boolean enabled = true;
+
+    /**
+     * Content-creating calls per minute and installation; GitHub advises at most 80
+     */
+    private int ratePerMinute = 60;
+
+    /**
+     * Calls an idle installation may send back to back before pacing starts
+     */
+    private int burst = 1;
+
+    /**
+     * Longest a call waits for its turn; beyond that the job is parked instead
+     */
+    private Duration maxWait = Duration.ofSeconds(30);
+
+    /**
+     * Pause after a secondary rate limit response without a Retry-After header
+     */
+    private Duration defaultRetryAfter = Duration.ofSeconds(60);
+
+    /**
+     * New comments on one file from which they are posted as a single review
+     */
+    private int coalesceMinComments = 2;
+}
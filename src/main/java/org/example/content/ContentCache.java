@@ -0,0 +1,104 @@
+package org.example.content;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.config.CommandConfig;
+import org.example.profiling.CacheLookupEvent;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small LRU cache of recently reviewed file contents, keyed by repository and blob SHA,
+ * so follow-up commands on a PR re-analyze files without downloading them again.
+ *
+ * Only files up to review.commands.content-cache-max-entry-bytes are kept, and the cache
+ * evicts the least recently used entries once it holds review.commands.content-cache-bytes.
+ *
+ * Exposes review.content.cache.bytes and review.content.cache.requests (result=hit/miss).
+ */
+@Component
+public class ContentCache {
+
+    private final CommandConfig config;
+    private final Counter hits;
+    private final Counter misses;
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+
+    public ContentCache(CommandConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        Gauge.builder("review.content.cache.bytes", this, ContentCache::getBytes)
+                .description("Heap held by cached file contents")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Caches the content of a file if it is small enough.
+     *
+     * @param repository Repository ("owner/repo")
+     * @param blobSha Blob SHA of the content
+     * @param content Content
+     */
+    public void put(String repository, String blobSha, SpooledContent content) {
+        if (blobSha == null || content.size() > config.getContentCacheMaxEntryBytes()) {
+            return;
+        }
+        ByteBuffer buffer = content.buffer();
+        byte[] copy = new byte[buffer.remaining()];
+        buffer.get(copy);
+
+        synchronized (this) {
+            byte[] previous = entries.put(key(repository, blobSha), copy);
+            bytes += copy.length - (previous != null ? previous.length : 0);
+            Iterator<byte[]> oldest = entries.values().iterator();
+            while (bytes > config.getContentCacheBytes() && oldest.hasNext()) {
+                bytes -= oldest.next().length;
+                oldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Gets the cached content of a blob.
+     *
+     * @param repository Repository ("owner/repo")
+     * @param blobSha Blob SHA
+     * @return Content bytes (do not modify), or null if not cached
+     */
+    public byte[] get(String repository, String blobSha) {
+        byte[] content;
+        synchronized (this) {
+            content = entries.get(key(repository, blobSha));
+        }
+        (content != null ? hits : misses).increment();
+        CacheLookupEvent.record("content", content != null);
+        return content;
+    }
+
+    /**
+     * Gets the heap held by cached contents.
+     *
+     * @return Bytes
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    private static String key(String repository, String blobSha) {
+        return repository + "@" + blobSha;
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("review.content.cache.requests")
+                .description("Lookups in the file content cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,235 @@
+package org.example.content;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.FileLimitsConfig;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates {@link SpooledContent} within per-job memory budgets.
+ *
+ * Content at or below the spill threshold is kept on heap while the job's budget allows;
+ * anything larger is streamed to a temp file and memory-mapped for reading. Content larger
+ * than the hard file limit is rejected with {@link ContentTooLargeException}.
+ *
+ * Exposes gauges for heap held by all jobs and a counter of spilled bytes.
+ */
+@Component
+@Slf4j
+public class ContentSpooler {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final FileLimitsConfig config;
+    private final Counter spilledBytes;
+    private final Map<String, JobMemoryBudget> activeBudgets = new ConcurrentHashMap<>();
+
+    public ContentSpooler(FileLimitsConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.spilledBytes = Counter.builder("review.content.spilled.bytes")
+                .description("Bytes of file content and patches spilled to disk")
+                .register(meterRegistry);
+        Gauge.builder("review.content.heap.bytes", activeBudgets,
+                        budgets -> budgets.values().stream().mapToLong(JobMemoryBudget::getHeapBytes).sum())
+                .description("Heap bytes held for file content and patches by running jobs")
+                .register(meterRegistry);
+        Gauge.builder("review.content.jobs.active", activeBudgets, Map::size)
+                .description("PR jobs holding spooled content")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens the memory budget of a PR job. Close it when the job finishes.
+     *
+     * @param jobId Job identifier
+     * @return Job memory budget
+     */
+    public JobMemoryBudget openBudget(String jobId) {
+        JobMemoryBudget budget = new JobMemoryBudget(jobId, config.getJobMemoryBudgetBytes(),
+                () -> activeBudgets.remove(jobId));
+        activeBudgets.put(jobId, budget);
+        return budget;
+    }
+
+    /**
+     * Gets the budgets of all running jobs, for per-job heap reporting.
+     *
+     * @return Active budgets
+     */
+    public Collection<JobMemoryBudget> getActiveBudgets() {
+        return Collections.unmodifiableCollection(activeBudgets.values());
+    }
+
+    /**
+     * Spools text content (e.g., a patch) already held as a string.
+     * The caller should drop its own reference so a spilled copy is the only one left.
+     *
+     * @param text Text content
+     * @param budget Job memory budget
+     * @return Spooled content
+     */
+    public SpooledContent spool(String text, JobMemoryBudget budget) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > config.getMaxFileBytes()) {
+            throw new ContentTooLargeException(bytes.length, config.getMaxFileBytes());
+        }
+        if (bytes.length <= config.getSpillThresholdBytes() && budget.tryReserve(bytes.length)) {
+            return track(new SpooledContent(ByteBuffer.wrap(bytes), null, bytes.length, budget), budget);
+        }
+
+        Path file = createSpillFile();
+        Files.write(file, bytes);
+        return track(map(file, budget), budget);
+    }
+
+    /**
+     * Spools content from a stream, reading at most the hard file limit.
+     *
+     * @param in Content stream (not closed)
+     * @param expectedBytes Content length if known, otherwise -1
+     * @param budget Job memory budget
+     * @return Spooled content
+     */
+    public SpooledContent spool(InputStream in, long expectedBytes, JobMemoryBudget budget) throws IOException {
+        if (expectedBytes > config.getMaxFileBytes()) {
+            throw new ContentTooLargeException(expectedBytes, config.getMaxFileBytes());
+        }
+
+        boolean fitsOnHeap = expectedBytes >= 0
+                && expectedBytes <= config.getSpillThresholdBytes()
+                && budget.tryReserve(expectedBytes);
+        if (fitsOnHeap) {
+            byte[] bytes = in.readNBytes((int) config.getSpillThresholdBytes() + 1);
+            if (bytes.length <= config.getSpillThresholdBytes()) {
+                budget.release(expectedBytes - bytes.length);
+                return track(new SpooledContent(ByteBuffer.wrap(bytes), null, bytes.length, budget), budget);
+            }
+            // Content-Length lied; fall through to disk with what we already read
+            budget.release(expectedBytes);
+            return spillStream(bytes, in, budget);
+        }
+
+        return spillStream(new byte[0], in, budget);
+    }
+
+    /**
+     * Spools content from a non-blocking body, reading at most the hard file limit.
+     * Large or unsized content is written to the spill file as it arrives, so a job
+     * fetching many files at once only holds small ones on heap.
+     *
+     * @param body Content buffers (consumed)
+     * @param expectedBytes Content length if known, otherwise -1
+     * @param budget Job memory budget
+     * @return Spooled content
+     */
+    public Mono<SpooledContent> spool(Flux<DataBuffer> body, long expectedBytes, JobMemoryBudget budget) {
+        if (expectedBytes > config.getMaxFileBytes()) {
+            return Mono.error(new ContentTooLargeException(expectedBytes, config.getMaxFileBytes()));
+        }
+
+        boolean fitsOnHeap = expectedBytes >= 0
+                && expectedBytes <= config.getSpillThresholdBytes()
+                && budget.tryReserve(expectedBytes);
+        if (fitsOnHeap) {
+            return DataBufferUtils.join(body, (int) config.getSpillThresholdBytes())
+                    .map(buffer -> {
+                        byte[] bytes = new byte[buffer.readableByteCount()];
+                        buffer.read(bytes);
+                        DataBufferUtils.release(buffer);
+                        budget.release(expectedBytes - bytes.length);
+                        return track(new SpooledContent(ByteBuffer.wrap(bytes), null, bytes.length, budget), budget);
+                    })
+                    .switchIfEmpty(Mono.fromSupplier(() -> {
+                        budget.release(expectedBytes);
+                        return track(new SpooledContent(ByteBuffer.allocate(0), null, 0, budget), budget);
+                    }))
+                    // Unlike a stream, a consumed body can't fall back to disk when Content-Length lied
+                    .doOnError(e -> budget.release(expectedBytes));
+        }
+
+        long limit = config.getMaxFileBytes();
+        return Mono.fromCallable(this::createSpillFile)
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(file -> DataBufferUtils.write(DataBufferUtils.takeUntilByteCount(body, limit + 1), file)
+                        .then(Mono.fromCallable(() -> {
+                            long size = Files.size(file);
+                            if (size > limit) {
+                                throw new ContentTooLargeException(size, limit);
+                            }
+                            return track(map(file, budget), budget);
+                        }))
+                        .doOnError(e -> deleteQuietly(file)));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete spill file {}", file, e);
+        }
+    }
+
+    private SpooledContent spillStream(byte[] head, InputStream in, JobMemoryBudget budget) throws IOException {
+        Path file = createSpillFile();
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write(head);
+            long written = head.length;
+            byte[] chunk = new byte[COPY_BUFFER_SIZE];
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                written += read;
+                if (written > config.getMaxFileBytes()) {
+                    throw new ContentTooLargeException(written, config.getMaxFileBytes());
+                }
+                out.write(chunk, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return track(map(file, budget), budget);
+    }
+
+    private SpooledContent map(Path file, JobMemoryBudget budget) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            budget.recordSpill(size);
+            spilledBytes.increment(size);
+            log.debug("Spilled {} bytes for job {} to {}", size, budget.getJobId(), file);
+            return new SpooledContent(mapped, file, 0, budget);
+        }
+    }
+
+    private Path createSpillFile() throws IOException {
+        Path directory = Path.of(config.getSpillDirectory());
+        Files.createDirectories(directory);
+        return Files.createTempFile(directory, "spill-", ".tmp");
+    }
+
+    private static SpooledContent track(SpooledContent content, JobMemoryBudget budget) {
+        budget.track(content);
+        return content;
+    }
+}
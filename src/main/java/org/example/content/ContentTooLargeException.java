@@ -0,0 +1,11 @@
+package org.example.content;
+
+/**
+ * Thrown when file content or a patch exceeds the configured hard size limit.
+ */
+public class ContentTooLargeException extends RuntimeException {
+
+    public ContentTooLargeException(long sizeBytes, long limitBytes) {
+        super("Content of " + sizeBytes + " bytes exceeds limit of " + limitBytes + " bytes");
+    }
+}
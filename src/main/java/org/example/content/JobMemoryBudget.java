@@ -0,0 +1,119 @@
+package org.example.content;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Heap budget for the file contents and patches held by a single PR job.
+ *
+ * Content is kept on heap only while the job stays under its budget; beyond that,
+ * {@link ContentSpooler} spills it to disk. Closing the budget closes every piece of
+ * content spooled for the job, releasing heap and deleting temp files.
+ */
+@Slf4j
+public final class JobMemoryBudget implements AutoCloseable {
+
+    private final String jobId;
+    private final long limitBytes;
+    private final Runnable onClose;
+
+    private final AtomicLong heapBytes = new AtomicLong();
+    private final AtomicLong peakHeapBytes = new AtomicLong();
+    private final AtomicLong spilledBytes = new AtomicLong();
+    private final List<SpooledContent> contents = new ArrayList<>();
+
+    JobMemoryBudget(String jobId, long limitBytes, Runnable onClose) {
+        this.jobId = jobId;
+        this.limitBytes = limitBytes;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Reserves heap bytes if the job stays within its budget.
+     *
+     * @param bytes Bytes to reserve
+     * @return true if reserved, false if the content must spill
+     */
+    boolean tryReserve(long bytes) {
+        while (true) {
+            long current = heapBytes.get();
+            if (current + bytes > limitBytes) {
+                return false;
+            }
+            if (heapBytes.compareAndSet(current, current + bytes)) {
+                peakHeapBytes.accumulateAndGet(current + bytes, Math::max);
+                return true;
+            }
+        }
+    }
+
+    void release(long bytes) {
+        if (bytes > 0) {
+            heapBytes.addAndGet(-bytes);
+        }
+    }
+
+    void recordSpill(long bytes) {
+        spilledBytes.addAndGet(bytes);
+    }
+
+    synchronized void track(SpooledContent content) {
+        contents.add(content);
+    }
+
+    /**
+     * Gets the job this budget belongs to.
+     *
+     * @return Job ID
+     */
+    public String getJobId() {
+        return jobId;
+    }
+
+    /**
+     * Gets the heap bytes currently held by the job.
+     *
+     * @return Heap bytes
+     */
+    public long getHeapBytes() {
+        return heapBytes.get();
+    }
+
+    /**
+     * Gets the highest heap use of the job so far.
+     *
+     * @return Peak heap bytes
+     */
+    public long getPeakHeapBytes() {
+        return peakHeapBytes.get();
+    }
+
+    /**
+     * Gets the bytes the job spilled to disk.
+     *
+     * @return Spilled bytes
+     */
+    public long getSpilledBytes() {
+        return spilledBytes.get();
+    }
+
+    /**
+     * Releases all content spooled for the job.
+     */
+    @Override
+    public void close() {
+        List<SpooledContent> toClose;
+        synchronized (this) {
+            toClose = new ArrayList<>(contents);
+            contents.clear();
+        }
+        toClose.forEach(SpooledContent::close);
+
+        log.debug("Job {} released content: peak heap {} bytes, spilled {} bytes",
+                jobId, peakHeapBytes.get(), spilledBytes.get());
+        onClose.run();
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.content;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * File content or patch text held either on heap or in a temp file.
+ *
+ * Small content stays as a byte array. Content above the spill threshold, or content that
+ * would exceed the job's memory budget, is written to a temp file and read back through a
+ * read-only memory-mapped buffer, so it occupies page cache rather than Java heap.
+ *
+ * Lines are decoded lazily one at a time; {@link #asString()} materializes everything and
+ * should only be used for small content.
+ */
+public final class SpooledContent implements AutoCloseable {
+
+    private final ByteBuffer buffer;
+    private final Path spillFile;
+    private final long heapBytes;
+    private final JobMemoryBudget budget;
+
+    SpooledContent(ByteBuffer buffer, Path spillFile, long heapBytes, JobMemoryBudget budget) {
+        this.buffer = buffer.asReadOnlyBuffer();
+        this.spillFile = spillFile;
+        this.heapBytes = heapBytes;
+        this.budget = budget;
+    }
+
+    /**
+     * Gets the content size in bytes.
+     *
+     * @return Size in bytes
+     */
+    public long size() {
+        return buffer.limit();
+    }
+
+    /**
+     * Checks whether the content was spilled to disk.
+     *
+     * @return true if backed by a memory-mapped temp file
+     */
+    public boolean isSpilled() {
+        return spillFile != null;
+    }
+
+    /**
+     * Gets a read-only view of the raw UTF-8 bytes.
+     *
+     * @return Independent read-only buffer positioned at the start
+     */
+    public ByteBuffer buffer() {
+        return buffer.duplicate();
+    }
+
+    /**
+     * Decodes the whole content into a string.
+     *
+     * @return Content as string
+     */
+    public String asString() {
+        ByteBuffer view = buffer();
+        return StandardCharsets.UTF_8.decode(view).toString();
+    }
+
+    /**
+     * Iterates the content line by line without materializing it.
+     * Line terminators (LF or CRLF) are stripped.
+     *
+     * @return Lines of the content
+     */
+    public Iterable<String> lines() {
+        return () -> new LineIterator(buffer());
+    }
+
+    /**
+     * Releases the heap budget and deletes the temp file, if any.
+     */
+    @Override
+    public void close() {
+        budget.release(heapBytes);
+        if (spillFile != null) {
+            try {
+                Files.deleteIfExists(spillFile);
+            } catch (IOException e) {
+                // Temp directory is cleaned on restart; nothing else to do
+            }
+        }
+    }
+
+    /**
+     * Splits a byte buffer into UTF-8 decoded lines.
+     */
+    private static final class LineIterator implements Iterator<String> {
+
+        private final ByteBuffer view;
+
+        LineIterator(ByteBuffer view) {
+            this.view = view;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return view.hasRemaining();
+        }
+
+        @Override
+        public String next() {
+            if (!view.hasRemaining()) {
+                throw new NoSuchElementException();
+            }
+            int start = view.position();
+            int end = start;
+            int limit = view.limit();
+            while (end < limit && view.get(end) != '\n') {
+                end++;
+            }
+            int next = end < limit ? end + 1 : end;
+            if (end > start && view.get(end - 1) == '\r') {
+                end--;
+            }
+
+            ByteBuffer line = view.duplicate();
+            line.position(start).limit(end);
+            view.position(next);
+            return StandardCharsets.UTF_8.decode(line).toString();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package org.example.content;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal forward-only reader for tar streams (ustar with GNU long names and pax headers).
+ *
+ * Entries are read strictly in order from the underlying stream, so a gzip-compressed
+ * tarball can be processed while it downloads without extracting anything to disk.
+ * Only the features produced by {@code git archive} are supported.
+ */
+public final class TarStreamReader {
+
+    private static final int BLOCK_SIZE = 512;
+
+    private static final byte TYPE_FILE = '0';
+    private static final byte TYPE_FILE_OLD = 0;
+    private static final byte TYPE_GNU_LONG_NAME = 'L';
+    private static final byte TYPE_PAX_HEADER = 'x';
+    private static final byte TYPE_PAX_GLOBAL = 'g';
+
+    private final InputStream in;
+    private final byte[] header = new byte[BLOCK_SIZE];
+
+    private long remainingInEntry;
+    private long paddingAfterEntry;
+
+    public TarStreamReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Advances to the next regular file entry, skipping any unread data of the current one.
+     *
+     * @return Next file entry, or null at the end of the archive
+     */
+    public Entry nextFile() throws IOException {
+        skipRemaining();
+
+        String longName = null;
+        while (true) {
+            if (!readBlock(header)) {
+                return null;
+            }
+            if (isZeroBlock(header)) {
+                return null;
+            }
+
+            byte type = header[156];
+            long size = parseOctal(header, 124, 12);
+            String name = longName != null ? longName : headerName(header);
+            longName = null;
+
+            if (type == TYPE_GNU_LONG_NAME) {
+                longName = trimNul(new String(readData(size), StandardCharsets.UTF_8));
+                continue;
+            }
+            if (type == TYPE_PAX_HEADER) {
+                longName = paxPath(readData(size));
+                continue;
+            }
+            if (type == TYPE_PAX_GLOBAL) {
+                readData(size);
+                continue;
+            }
+
+            remainingInEntry = size;
+            paddingAfterEntry = padding(size);
+            if (type == TYPE_FILE || type == TYPE_FILE_OLD) {
+                return new Entry(name, size, new EntryStream());
+            }
+            // Directories, links and other special entries carry no usable content
+            skipRemaining();
+        }
+    }
+
+    /**
+     * A regular file in the archive. The content stream is valid until the next call
+     * to {@link #nextFile()}.
+     */
+    public record Entry(String name, long size, InputStream content) {
+    }
+
+    private void skipRemaining() throws IOException {
+        skipFully(remainingInEntry + paddingAfterEntry);
+        remainingInEntry = 0;
+        paddingAfterEntry = 0;
+    }
+
+    private byte[] readData(long size) throws IOException {
+        if (size > Integer.MAX_VALUE - BLOCK_SIZE) {
+            throw new IOException("Tar metadata entry too large: " + size);
+        }
+        byte[] data = in.readNBytes((int) size);
+        if (data.length < size) {
+            throw new EOFException("Truncated tar entry");
+        }
+        skipFully(padding(size));
+        return data;
+    }
+
+    private boolean readBlock(byte[] block) throws IOException {
+        int read = in.readNBytes(block, 0, BLOCK_SIZE);
+        if (read == 0) {
+            return false;
+        }
+        if (read < BLOCK_SIZE) {
+            throw new EOFException("Truncated tar header");
+        }
+        return true;
+    }
+
+    private void skipFully(long bytes) throws IOException {
+        // InputStream.skipNBytes throws EOFException if the stream ends early
+        in.skipNBytes(bytes);
+    }
+
+    private static long padding(long size) {
+        long remainder = size % BLOCK_SIZE;
+        return remainder == 0 ? 0 : BLOCK_SIZE - remainder;
+    }
+
+    private static boolean isZeroBlock(byte[] block) {
+        for (byte b : block) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String headerName(byte[] block) {
+        String name = field(block, 0, 100);
+        // ustar splits long paths into prefix (offset 345) and name
+        if ("ustar".equals(field(block, 257, 5))) {
+            String prefix = field(block, 345, 155);
+            if (!prefix.isEmpty()) {
+                return prefix + "/" + name;
+            }
+        }
+        return name;
+    }
+
+    private static String paxPath(byte[] data) {
+        // Records look like "<length> <key>=<value>\n"
+        String records = new String(data, StandardCharsets.UTF_8);
+        int position = 0;
+        while (position < records.length()) {
+            int space = records.indexOf(' ', position);
+            if (space < 0) {
+                break;
+            }
+            int length = Integer.parseInt(records.substring(position, space));
+            String record = records.substring(space + 1, position + length - 1);
+            if (record.startsWith("path=")) {
+                return record.substring("path=".length());
+            }
+            position += length;
+        }
+        return null;
+    }
+
+    private static String field(byte[] block, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && block[end] != 0) {
+            end++;
+        }
+        return new String(block, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    private static String trimNul(String value) {
+        int nul = value.indexOf('\0');
+        return nul >= 0 ? value.substring(0, nul) : value;
+    }
+
+    private static long parseOctal(byte[] block, int offset, int length) {
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            byte b = block[i];
+            if (b == 0 || b == ' ') {
+                if (value != 0) {
+                    break;
+                }
+                continue;
+            }
+            value = (value << 3) + (b - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Stream over the data of the current entry that stops at the entry boundary.
+     */
+    private final class EntryStream extends InputStream {
+
+        @Override
+        public int read() throws IOException {
+            if (remainingInEntry <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b == -1) {
+                throw new EOFException("Truncated tar entry");
+            }
+            remainingInEntry--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remainingInEntry <= 0) {
+                return -1;
+            }
+            int read = in.read(buffer, offset, (int) Math.min(length, remainingInEntry));
+            if (read == -1) {
+                throw new EOFException("Truncated tar entry");
+            }
+            remainingInEntry -= read;
+            return read;
+        }
+
+        @Override
+        public void close() {
+            // Remaining data is skipped by the next call to nextFile()
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.exception;
+
+/**
+ * Thrown instead of calling GitHub when the deadline of the current job has passed.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown instead of calling GitHub when the circuit breaker of an endpoint class is open
+ * or its bulkhead is full. Callers should retry after {@link #getRetryAfter()} rather than
+ * treat it as a failure of the request itself.
+ */
+public class GitHubUnavailableException extends RuntimeException {
+
+    private final String endpointClass;
+    private final Duration retryAfter;
+
+    public GitHubUnavailableException(String endpointClass, Duration retryAfter, String message) {
+        super(message);
+        this.endpointClass = endpointClass;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Gets the endpoint class that is unavailable.
+     *
+     * @return Endpoint class ID (auth, read or write)
+     */
+    public String getEndpointClass() {
+        return endpointClass;
+    }
+
+    /**
+     * Gets how long callers should wait before trying again.
+     *
+     * @return Suggested delay
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Finds a GitHubUnavailableException in a cause chain.
+     *
+     * @param error Error to inspect
+     * @return The exception, or null if the error was not caused by one
+     */
+    public static GitHubUnavailableException find(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof GitHubUnavailableException unavailable) {
+                return unavailable;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.git;
+
+/**
+ * Outcome of {@link GitDataService#commit}.
+ *
+ * @param commitSha SHA of the created commit, or null if no file actually changed
+ * @param changedFiles Files written or deleted by the commit
+ * @param unchangedFiles Files skipped because their content already matched
+ * @param uploadedBlobs Blobs uploaded (identical contents are uploaded once)
+ * @param attempts Ref update attempts, including retries after concurrent pushes
+ */
+public record CommitResult(String commitSha, int changedFiles, int unchangedFiles, int uploadedBlobs,
+                           int attempts) {
+
+    /**
+     * Checks whether a commit was created.
+     *
+     * @return true if the branch moved
+     */
+    public boolean isCommitted() {
+        return commitSha != null;
+    }
+}
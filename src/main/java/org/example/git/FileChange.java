@@ -0,0 +1,46 @@
+package org.example.git;
+
+/**
+ * A file to write or delete in a commit.
+ *
+ * @param path File path relative to the repository root
+ * @param content New content, or null to delete the file
+ * @param baseBlobSha Blob SHA of the file in the commit the change was computed from,
+ *                    or null if unknown or new; unchanged content is skipped
+ * @param mode Git file mode ("100644", "100755" or "120000")
+ */
+public record FileChange(String path, byte[] content, String baseBlobSha, String mode) {
+
+    static final String MODE_FILE = "100644";
+
+    /**
+     * Creates a change writing a regular file.
+     *
+     * @param path File path
+     * @param content New content
+     * @param baseBlobSha Current blob SHA of the file, or null
+     * @return File change
+     */
+    public static FileChange write(String path, byte[] content, String baseBlobSha) {
+        return new FileChange(path, content, baseBlobSha, MODE_FILE);
+    }
+
+    /**
+     * Creates a change deleting a file.
+     *
+     * @param path File path
+     * @return File change
+     */
+    public static FileChange delete(String path) {
+        return new FileChange(path, null, null, MODE_FILE);
+    }
+
+    /**
+     * Checks whether this change deletes the file.
+     *
+     * @return true for deletions
+     */
+    public boolean isDelete() {
+        return content == null;
+    }
+}
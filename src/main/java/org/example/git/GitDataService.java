@@ -0,0 +1,242 @@
+package org.example.git;
+
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.example.auth.InstallationContext;
+import org.example.client.GitHubApiClient;
+import org.example.client.request.CreateBlobRequest;
+import org.example.client.request.CreateCommitRequest;
+import org.example.client.request.CreateTreeRequest;
+import org.example.client.request.UpdateReferenceRequest;
+import org.example.config.GitDataConfig;
+import org.example.config.GitHubAppConfig;
+import org.example.model.github.CompareResult;
+import org.example.model.github.GitCommit;
+import org.example.model.github.GitObject;
+import org.example.model.github.PullRequestFile;
+import org.example.pr.state.PullRequestStateCache;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Commits file changes to a branch through the GitHub Git Data API, without a clone.
+ *
+ * Pipeline:
+ * 1. Compute each file's git blob SHA locally and drop files whose content is unchanged
+ * 2. Upload the remaining blobs concurrently on the gitBlobExecutor pool, uploading
+ *    identical contents once; at most review.commit.blob-parallelism uploads are in
+ *    flight across all commits, including those a full queue runs on the caller
+ * 3. Create one tree relative to the branch head's tree ({@code base_tree})
+ * 4. Create the commit and fast-forward the branch
+ *
+ * If the branch moved in the meantime, the ref update fails as non-fast-forward; the tree
+ * and commit are then rebuilt on the new head (blobs are reused) and the update retried,
+ * unless the new commits touched one of the changed files.
+ */
+@Service
+@Slf4j
+public class GitDataService {
+
+    private static final String BLOB = "blob";
+
+    private final GitHubApiClient apiClient;
+    private final GitDataConfig config;
+    private final ThreadPoolTaskExecutor blobExecutor;
+    private final PullRequestStateCache stateCache;
+    private final String botLogin;
+    // The pool alone doesn't bound uploads: callers run them too when its queue is full
+    private final Semaphore uploadPermits;
+
+    public GitDataService(GitHubApiClient apiClient, GitDataConfig config,
+                          @Qualifier("gitBlobExecutor") ThreadPoolTaskExecutor blobExecutor,
+                          PullRequestStateCache stateCache, GitHubAppConfig appConfig) {
+        this.apiClient = apiClient;
+        this.config = config;
+        this.blobExecutor = blobExecutor;
+        this.stateCache = stateCache;
+        this.botLogin = appConfig.getBotLogin();
+        this.uploadPermits = new Semaphore(Math.max(1, config.getBlobParallelism()), true);
+    }
+
+    /**
+     * Commits file changes on top of a branch.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param branch Branch to commit to
+     * @param message Commit message
+     * @param changes Files to write or delete
+     * @param expectedHeadSha Commit the changes were computed from; if the branch has moved past
+     *                        it and the new commits touched a changed file, nothing is committed.
+     *                        Null to commit on whatever the branch head is.
+     * @return Commit result
+     */
+    public CommitResult commit(String owner, String repo, String branch, String message,
+                               List<FileChange> changes, String expectedHeadSha) {
+        long start = System.currentTimeMillis();
+        String ref = "heads/" + branch;
+
+        // Step 1: Skip files whose content already matches
+        List<FileChange> effective = new ArrayList<>();
+        Map<String, String> blobShas = new LinkedHashMap<>();
+        for (FileChange change : changes) {
+            if (change.isDelete()) {
+                effective.add(change);
+                continue;
+            }
+            String sha = blobSha(change.content());
+            if (sha.equals(change.baseBlobSha())) {
+                log.debug("Skipping {} - content unchanged (blob {})", change.path(), sha);
+                continue;
+            }
+            blobShas.put(change.path(), sha);
+            effective.add(change);
+        }
+        int unchanged = changes.size() - effective.size();
+        if (effective.isEmpty()) {
+            log.info("Nothing to commit to {}/{}@{}: all {} files unchanged", owner, repo, branch, changes.size());
+            return new CommitResult(null, 0, unchanged, 0, 0);
+        }
+
+        // Step 2: Upload blobs concurrently
+        int uploaded = uploadBlobs(owner, repo, effective, blobShas);
+        List<CreateTreeRequest.TreeEntry> entries = effective.stream()
+                .map(change -> new CreateTreeRequest.TreeEntry(change.path(), change.mode(), BLOB,
+                        change.isDelete() ? null : blobShas.get(change.path())))
+                .toList();
+        Set<String> paths = effective.stream().map(FileChange::path).collect(Collectors.toSet());
+
+        // Steps 3-4: Tree, commit and fast-forward, rebuilt if the branch moved concurrently
+        String checkedHead = expectedHeadSha;
+        for (int attempt = 1; attempt <= config.getRefUpdateAttempts(); attempt++) {
+            String headSha = apiClient.getReference(owner, repo, ref).getObject().getSha();
+            if (checkedHead != null && !checkedHead.equals(headSha)) {
+                ensureUntouched(owner, repo, checkedHead, headSha, paths);
+            }
+            checkedHead = headSha;
+
+            GitCommit head = apiClient.getCommit(owner, repo, headSha);
+            GitObject tree = apiClient.createTree(owner, repo,
+                    new CreateTreeRequest(head.getTree().getSha(), entries));
+            GitCommit commit = apiClient.createCommit(owner, repo,
+                    new CreateCommitRequest(message, tree.getSha(), List.of(headSha)));
+
+            try {
+                // Recorded before the ref moves, so the resulting PR event finds the bot as author
+                stateCache.recordCommit(owner, repo, commit.getSha(), botLogin);
+                apiClient.updateReference(owner, repo, ref, new UpdateReferenceRequest(commit.getSha(), false));
+                log.info("Committed {} files to {}/{}@{} as {} in {} ms ({} unchanged, {} blobs uploaded, "
+                                + "attempt {})", effective.size(), owner, repo, branch, commit.getSha(),
+                        System.currentTimeMillis() - start, unchanged, uploaded, attempt);
+                return new CommitResult(commit.getSha(), effective.size(), unchanged, uploaded, attempt);
+
+            } catch (FeignException.UnprocessableEntity e) {
+                log.info("Branch {}/{}@{} moved during commit (attempt {}), retrying on new head",
+                        owner, repo, branch, attempt);
+            }
+        }
+
+        throw new RuntimeException("Failed to update " + owner + "/" + repo + "@" + branch + " after "
+                + config.getRefUpdateAttempts() + " attempts: branch keeps moving");
+    }
+
+    /**
+     * Computes the git blob SHA-1 of content, as {@code git hash-object} does.
+     *
+     * @param content File content
+     * @return Hex blob SHA
+     */
+    public static String blobSha(byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(("blob " + content.length + "\0").getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest.digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
+        }
+    }
+
+    /**
+     * Uploads the blobs of all written files, each distinct content once.
+     *
+     * @return Number of blobs uploaded
+     */
+    private int uploadBlobs(String owner, String repo, List<FileChange> changes, Map<String, String> blobShas) {
+        Long installationId = InstallationContext.get();
+        Map<String, CompletableFuture<Void>> uploads = new LinkedHashMap<>();
+
+        for (FileChange change : changes) {
+            if (change.isDelete()) {
+                continue;
+            }
+            String expected = blobShas.get(change.path());
+            uploads.computeIfAbsent(expected, sha -> CompletableFuture.runAsync(() -> {
+                try {
+                    uploadPermits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted before uploading " + change.path(), e);
+                }
+                // Worker threads act for the same installation as the caller
+                Long previous = InstallationContext.get();
+                InstallationContext.set(installationId);
+                try {
+                    String encoded = Base64.getEncoder().encodeToString(change.content());
+                    GitObject blob = apiClient.createBlob(owner, repo, new CreateBlobRequest(encoded, "base64"));
+                    if (!sha.equals(blob.getSha())) {
+                        throw new IllegalStateException("Blob SHA mismatch for " + change.path() + ": expected "
+                                + sha + ", got " + blob.getSha());
+                    }
+                } finally {
+                    uploadPermits.release();
+                    // Restore rather than clear: a full queue runs the upload on the caller
+                    InstallationContext.set(previous);
+                }
+            }, blobExecutor));
+        }
+
+        try {
+            CompletableFuture.allOf(uploads.values().toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            uploads.values().forEach(upload -> upload.cancel(false));
+            log.error("Failed to upload blobs to {}/{}", owner, repo, e.getCause());
+            throw new RuntimeException("Failed to upload blobs", e.getCause());
+        }
+        return uploads.size();
+    }
+
+    /**
+     * Fails if commits between two heads changed any of the given paths.
+     */
+    private void ensureUntouched(String owner, String repo, String fromSha, String toSha, Set<String> paths) {
+        CompareResult comparison = apiClient.compareCommits(owner, repo, fromSha + "..." + toSha);
+        if (!"ahead".equals(comparison.getStatus())) {
+            throw new IllegalStateException("Branch was rewritten from " + fromSha + " to " + toSha
+                    + " (" + comparison.getStatus() + "); not committing");
+        }
+        List<PullRequestFile> files = comparison.getFiles() != null ? comparison.getFiles() : List.of();
+        for (PullRequestFile file : files) {
+            if (paths.contains(file.getFilename())
+                    || (file.getPreviousFilename() != null && paths.contains(file.getPreviousFilename()))) {
+                throw new IllegalStateException("Branch moved from " + fromSha + " to " + toSha
+                        + " and changed " + file.getFilename() + "; not overwriting");
+            }
+        }
+    }
+}
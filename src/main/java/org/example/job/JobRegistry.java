@@ -0,0 +1,217 @@
+package org.example.job;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry of queued, running and parked PR jobs, and dispatcher of the webhook executor.
+ *
+ * Jobs wait in the registry's own queue; the webhook executor only receives one token
+ * per submitted job, and each token runs the next job when it gets a thread. Jobs of
+ * prioritized repositories go first. Cancelled jobs stop at their next stage; queued ones
+ * move to the front of the queue, so their work ends (and reports the cancellation) at once.
+ *
+ * All structures are concurrent collections and jobs publish their progress through
+ * volatile fields, so listing jobs never blocks the threads that process them.
+ *
+ * Exposes review.jobs.queued (gauge).
+ */
+@Component
+@Slf4j
+public class JobRegistry {
+
+    private final Executor webhookExecutor;
+    private final AtomicLong ids = new AtomicLong();
+    private final Map<Long, TrackedJob> jobs = new ConcurrentHashMap<>();
+    private final Deque<TrackedJob> pending = new ConcurrentLinkedDeque<>();
+    private final Set<String> priorityRepositories = ConcurrentHashMap.newKeySet();
+
+    public JobRegistry(@Qualifier("webhookExecutor") Executor webhookExecutor, MeterRegistry meterRegistry) {
+        this.webhookExecutor = webhookExecutor;
+        Gauge.builder("review.jobs.queued", pending, Deque::size)
+                .description("PR jobs waiting for a webhook executor thread")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers a job that will be submitted to the webhook executor.
+     *
+     * @param repository Repository ("owner/repo")
+     * @param pullNumber PR number
+     * @param headSha PR head commit SHA
+     * @return Job handle
+     */
+    public TrackedJob register(String repository, int pullNumber, String headSha) {
+        TrackedJob job = new TrackedJob(ids.incrementAndGet(), repository, pullNumber, headSha,
+                TrackedJob.State.QUEUED);
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    /**
+     * Registers a job that is already running without holding a thread, such as a
+     * reactive pipeline. It is removed by {@link #finish(TrackedJob)}.
+     *
+     * @param repository Repository ("owner/repo")
+     * @param pullNumber PR number
+     * @param headSha PR head commit SHA
+     * @return Job handle
+     */
+    public TrackedJob track(String repository, int pullNumber, String headSha) {
+        TrackedJob job = register(repository, pullNumber, headSha);
+        job.transition(TrackedJob.State.RUNNING);
+        return job;
+    }
+
+    /**
+     * Queues an attempt of a registered job on the webhook executor. While it runs, the
+     * job is bound to the worker thread ({@link TrackedJob#current()}).
+     *
+     * @param job Job handle
+     * @param work Attempt to run
+     */
+    public void submit(TrackedJob job, Runnable work) {
+        if (job.isCancelled()) {
+            jobs.remove(job.getId());
+            return;
+        }
+        job.setWork(work);
+        job.transition(TrackedJob.State.QUEUED);
+        jobs.put(job.getId(), job);
+        pending.add(job);
+        webhookExecutor.execute(this::runNext);
+    }
+
+    /**
+     * Marks a running job as parked; it stays listed until submitted again.
+     *
+     * @param job Job handle
+     */
+    public void park(TrackedJob job) {
+        job.endStage();
+        job.transition(TrackedJob.State.PARKED);
+    }
+
+    /**
+     * Removes a job that runs outside the webhook executor.
+     *
+     * @param job Job handle
+     */
+    public void finish(TrackedJob job) {
+        job.endStage();
+        jobs.remove(job.getId());
+    }
+
+    /**
+     * Cancels a job. Parked jobs are dropped; queued and running jobs stop at their next stage.
+     *
+     * @param id Job ID
+     * @return false if no such job is known
+     */
+    public boolean cancel(long id) {
+        TrackedJob job = jobs.get(id);
+        if (job == null) {
+            return false;
+        }
+        job.cancel();
+        if (pending.remove(job)) {
+            pending.addFirst(job);
+        } else if (job.getState() == TrackedJob.State.PARKED) {
+            jobs.remove(id);
+        }
+        log.info("Cancelled job {} ({}#{}, {})", id, job.getRepository(), job.getPullNumber(), job.getState());
+        return true;
+    }
+
+    /**
+     * Lets queued jobs of a repository go ahead of other queued jobs, or stops doing so.
+     *
+     * @param repository Repository ("owner/repo")
+     * @param priority Whether the repository's jobs go first
+     */
+    public void prioritize(String repository, boolean priority) {
+        if (priority) {
+            priorityRepositories.add(repository);
+        } else {
+            priorityRepositories.remove(repository);
+        }
+        log.info("Jobs of {} {} prioritized", repository, priority ? "are" : "are no longer");
+    }
+
+    /**
+     * Gets a job.
+     *
+     * @param id Job ID
+     * @return Job, or null if no such job is known
+     */
+    public TrackedJob get(long id) {
+        return jobs.get(id);
+    }
+
+    /**
+     * Gets all known jobs.
+     *
+     * @return Live view of the jobs
+     */
+    public Collection<TrackedJob> getJobs() {
+        return Collections.unmodifiableCollection(jobs.values());
+    }
+
+    /**
+     * Gets the prioritized repositories.
+     *
+     * @return Repositories ("owner/repo")
+     */
+    public Set<String> getPriorityRepositories() {
+        return Collections.unmodifiableSet(priorityRepositories);
+    }
+
+    /**
+     * Runs the next queued job on the calling executor thread.
+     */
+    private void runNext() {
+        TrackedJob job = next();
+        if (job == null) {
+            // The job this token was submitted for was cancelled
+            return;
+        }
+        TrackedJob.bind(job);
+        job.attach(Thread.currentThread());
+        job.transition(TrackedJob.State.RUNNING);
+        try {
+            job.getWork().run();
+        } finally {
+            job.endStage();
+            job.attach(null);
+            TrackedJob.bind(null);
+            // Parked jobs stay listed until they run again
+            if (job.getState() == TrackedJob.State.RUNNING) {
+                jobs.remove(job.getId());
+            }
+        }
+    }
+
+    private TrackedJob next() {
+        if (!priorityRepositories.isEmpty()) {
+            for (TrackedJob job : pending) {
+                if (priorityRepositories.contains(job.getRepository()) && pending.remove(job)) {
+                    return job;
+                }
+            }
+        }
+        return pending.poll();
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.job;
+
+import lombok.RequiredArgsConstructor;
+import org.example.config.JobAdminConfig;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for PR jobs ({@code /actuator/jobs}).
+ *
+ * <pre>
+ * GET    /actuator/jobs        queued, running and parked jobs; stuck jobs with their stack
+ * GET    /actuator/jobs/{id}   one job with its stack
+ * DELETE /actuator/jobs/{id}   cancel a job
+ * POST   /actuator/jobs        {"repository": "owner/repo", "priority": true} to run a repository's jobs first
+ * </pre>
+ *
+ * Reads go to {@link JobRegistry} without locking. Not exposed by default; see
+ * management.endpoints.web.exposure.include.
+ */
+@Component
+@Endpoint(id = "jobs")
+@RequiredArgsConstructor
+public class JobsEndpoint {
+
+    private final JobRegistry registry;
+    private final JobAdminConfig config;
+
+    /**
+     * Summary of a job.
+     *
+     * @param id Job ID
+     * @param repository Repository ("owner/repo")
+     * @param pullNumber PR number
+     * @param headSha PR head commit SHA
+     * @param state Lifecycle state
+     * @param stateMillis Time in the current state
+     * @param ageMillis Time since the job was received
+     * @param attempt Attempts started so far
+     * @param stage Last stage reached, if running
+     * @param githubCall GitHub call in flight, if any
+     * @param githubCallMillis Time the call has been waiting
+     * @param thread Worker thread, if one is working for the job
+     * @param cancelled Whether the job was cancelled
+     * @param stack Stack of the worker thread; only for stuck jobs in listings
+     */
+    public record JobView(long id, String repository, int pullNumber, String headSha, TrackedJob.State state,
+                          long stateMillis, long ageMillis, int attempt, String stage, String githubCall,
+                          long githubCallMillis, String thread, boolean cancelled, List<String> stack) {
+    }
+
+    @ReadOperation
+    public Map<String, Object> jobs() {
+        long stuckMillis = config.getStuckAfter().toMillis();
+        List<JobView> jobs = registry.getJobs().stream()
+                .sorted(Comparator.comparingLong(TrackedJob::getId))
+                .map(job -> view(job, job.getState() == TrackedJob.State.RUNNING
+                        && job.getStateMillis() >= stuckMillis))
+                .toList();
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (TrackedJob.State state : TrackedJob.State.values()) {
+            result.put(state.name().toLowerCase(Locale.ROOT), jobs.stream().filter(job -> job.state() == state).toList());
+        }
+        result.put("priorityRepositories", registry.getPriorityRepositories());
+        return result;
+    }
+
+    @ReadOperation
+    public JobView job(@Selector long id) {
+        TrackedJob job = registry.get(id);
+        return job != null ? view(job, true) : null;
+    }
+
+    @DeleteOperation
+    public Map<String, Object> cancel(@Selector long id) {
+        return Map.of("id", id, "cancelled", registry.cancel(id));
+    }
+
+    @WriteOperation
+    public Map<String, Object> prioritize(String repository, boolean priority) {
+        registry.prioritize(repository, priority);
+        return Map.of("priorityRepositories", registry.getPriorityRepositories());
+    }
+
+    private static JobView view(TrackedJob job, boolean withStack) {
+        List<String> stack = withStack
+                ? Arrays.stream(job.getStack()).map(frame -> "at " + frame).toList()
+                : List.of();
+        return new JobView(job.getId(), job.getRepository(), job.getPullNumber(), job.getHeadSha(), job.getState(),
+                job.getStateMillis(), job.getAgeMillis(), job.getAttempt(), job.getStage(), job.getGithubCall(),
+                job.getGithubCallMillis(), job.getThreadName(), job.isCancelled(), stack);
+    }
+}
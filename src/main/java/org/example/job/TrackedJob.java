@@ -0,0 +1,225 @@
+package org.example.job;
+
+import lombok.Getter;
+import org.example.profiling.JobStageEvent;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * A PR job as seen by {@link JobRegistry}: where it is in its lifecycle, which stage it
+ * has reached and which GitHub call it is waiting for.
+ *
+ * The job's own threads write the fields; admin reads see them through volatile fields
+ * without taking locks. Each stage is emitted to JFR as a {@link JobStageEvent}. The job bound to the current thread is available from
+ * {@link #current()}, so the GitHub client can record its calls.
+ */
+public final class TrackedJob {
+
+    private static final ThreadLocal<TrackedJob> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Lifecycle states
+     */
+    public enum State {
+
+        /**
+         * Waiting for a webhook executor thread
+         */
+        QUEUED,
+
+        /**
+         * Being processed
+         */
+        RUNNING,
+
+        /**
+         * Waiting for GitHub to become available again
+         */
+        PARKED
+    }
+
+    @Getter
+    private final long id;
+    @Getter
+    private final String repository;
+    @Getter
+    private final int pullNumber;
+    @Getter
+    private final String headSha;
+    private final long createdNanos = System.nanoTime();
+
+    @Getter
+    private volatile State state;
+    private volatile long stateSinceNanos = createdNanos;
+    @Getter
+    private volatile int attempt;
+    @Getter
+    private volatile String stage;
+    @Getter
+    private volatile String githubCall;
+    private volatile long githubCallSinceNanos;
+    private volatile Thread thread;
+    @Getter
+    private volatile boolean cancelled;
+    private volatile Runnable work;
+    private volatile JobStageEvent stageEvent;
+
+    TrackedJob(long id, String repository, int pullNumber, String headSha, State state) {
+        this.id = id;
+        this.repository = repository;
+        this.pullNumber = pullNumber;
+        this.headSha = headSha;
+        this.state = state;
+    }
+
+    /**
+     * Gets the job bound to the current thread.
+     *
+     * @return Job, or null if the thread works for no tracked job
+     */
+    public static TrackedJob current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds a job to the current thread, or clears the binding.
+     *
+     * @param job Job, or null to clear
+     */
+    public static void bind(TrackedJob job) {
+        if (job == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(job);
+        }
+    }
+
+    /**
+     * Records the stage the job has reached and ends the previous one. Cancellation
+     * takes effect here.
+     *
+     * @param stage Short description, e.g. "fetching contents"
+     * @throws CancellationException if the job was cancelled
+     */
+    public void stage(String stage) {
+        endStage();
+        if (cancelled) {
+            throw new CancellationException("Job " + id + " was cancelled");
+        }
+        this.stage = stage;
+
+        JobStageEvent event = new JobStageEvent();
+        if (event.isEnabled()) {
+            event.jobId = id;
+            event.repository = repository;
+            event.pullNumber = pullNumber;
+            event.stage = stage;
+            event.begin();
+            stageEvent = event;
+        }
+    }
+
+    /**
+     * Ends the current stage, emitting its {@link JobStageEvent}.
+     */
+    void endStage() {
+        JobStageEvent event = stageEvent;
+        if (event != null) {
+            stageEvent = null;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records that the job is waiting for a GitHub call.
+     *
+     * @param call Method and path of the call
+     */
+    public void enterCall(String call) {
+        this.githubCallSinceNanos = System.nanoTime();
+        this.githubCall = call;
+    }
+
+    /**
+     * Records that the current GitHub call has returned.
+     */
+    public void exitCall() {
+        this.githubCall = null;
+    }
+
+    /**
+     * Records the thread currently working for the job, or null while it holds none.
+     *
+     * @param thread Worker thread
+     */
+    public void attach(Thread thread) {
+        this.thread = thread;
+    }
+
+    void transition(State state) {
+        this.state = state;
+        this.stateSinceNanos = System.nanoTime();
+        if (state == State.RUNNING) {
+            attempt++;
+        }
+    }
+
+    void cancel() {
+        this.cancelled = true;
+    }
+
+    void setWork(Runnable work) {
+        this.work = work;
+    }
+
+    Runnable getWork() {
+        return work;
+    }
+
+    /**
+     * Gets the time since the job was received.
+     *
+     * @return Milliseconds
+     */
+    public long getAgeMillis() {
+        return (System.nanoTime() - createdNanos) / 1_000_000;
+    }
+
+    /**
+     * Gets the time spent in the current state.
+     *
+     * @return Milliseconds
+     */
+    public long getStateMillis() {
+        return (System.nanoTime() - stateSinceNanos) / 1_000_000;
+    }
+
+    /**
+     * Gets the time the current GitHub call has been waiting.
+     *
+     * @return Milliseconds, or 0 if no call is in flight
+     */
+    public long getGithubCallMillis() {
+        return githubCall != null ? (System.nanoTime() - githubCallSinceNanos) / 1_000_000 : 0;
+    }
+
+    /**
+     * Gets the stack of the thread working for the job.
+     *
+     * @return Stack frames, empty if no thread is working for it
+     */
+    public StackTraceElement[] getStack() {
+        Thread worker = thread;
+        return worker != null ? worker.getStackTrace() : new StackTraceElement[0];
+    }
+
+    /**
+     * Gets the name of the thread working for the job.
+     *
+     * @return Thread name, or null if no thread is working for it
+     */
+    public String getThreadName() {
+        Thread worker = thread;
+        return worker != null ? worker.getName() : null;
+    }
+}
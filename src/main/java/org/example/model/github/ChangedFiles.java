@@ -0,0 +1,442 @@
+package org.example.model.github;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Files changed in a pull request, stored column by column.
+ * Response from GET /repos/{owner}/{repo}/pulls/{pull_number}/files
+ *
+ * A PR may change up to 3000 files. Instead of one {@link PullRequestFile} per file, each
+ * attribute is kept in an array indexed by file position: counters as primitive ints, the
+ * status as a byte, and paths split into an interned directory and the file name, so the
+ * directory of files in the same folder is stored once. Files are decoded straight from
+ * the JSON stream ({@link Builder#readPage(JsonParser)}); beans are created only for the
+ * files that are actually reviewed ({@link #file(int)}).
+ *
+ * Instances are not thread-safe.
+ */
+public final class ChangedFiles {
+
+    /**
+     * File status as reported by GitHub
+     */
+    public enum Status {
+        ADDED, REMOVED, MODIFIED, RENAMED, COPIED, CHANGED, UNCHANGED, UNKNOWN;
+
+        private static final Status[] VALUES = values();
+
+        private final String apiName = name().toLowerCase(Locale.ROOT);
+
+        /**
+         * Gets the status for a GitHub status name.
+         *
+         * @param name Status name, e.g. "modified"
+         * @return Status, UNKNOWN for names this version does not know
+         */
+        public static Status of(String name) {
+            if (name != null) {
+                for (Status status : VALUES) {
+                    if (status.apiName.equals(name)) {
+                        return status;
+                    }
+                }
+            }
+            return UNKNOWN;
+        }
+
+        /**
+         * Gets the GitHub status name.
+         *
+         * @return Name, e.g. "modified"
+         */
+        public String getName() {
+            return apiName;
+        }
+    }
+
+    private final String[] directories;
+    private final int[] directory;
+    private final String[] names;
+    private final String[] shas;
+    private final byte[] statuses;
+    private final int[] additions;
+    private final int[] deletions;
+    private final int[] changes;
+    private final String[] previousFilenames;
+    private final String[] patches;
+    private final int size;
+
+    private ChangedFiles(Builder builder) {
+        this.size = builder.size;
+        this.directories = builder.directoryNames.toArray(String[]::new);
+        this.directory = Arrays.copyOf(builder.directory, size);
+        this.names = Arrays.copyOf(builder.names, size);
+        this.shas = Arrays.copyOf(builder.shas, size);
+        this.statuses = Arrays.copyOf(builder.statuses, size);
+        this.additions = Arrays.copyOf(builder.additions, size);
+        this.deletions = Arrays.copyOf(builder.deletions, size);
+        this.changes = Arrays.copyOf(builder.changes, size);
+        this.previousFilenames = Arrays.copyOf(builder.previousFilenames, size);
+        this.patches = Arrays.copyOf(builder.patches, size);
+    }
+
+    /**
+     * Gets an empty file set.
+     *
+     * @return File set without files
+     */
+    public static ChangedFiles empty() {
+        return new Builder().build();
+    }
+
+    /**
+     * Gets the number of files.
+     *
+     * @return Number of files
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the set has no files.
+     *
+     * @return true if no files changed
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the path of a file.
+     *
+     * @param index File index
+     * @return Path, e.g. "src/main/java/Example.java"
+     */
+    public String path(int index) {
+        String dir = directories[directory[index]];
+        return dir.isEmpty() ? names[index] : dir + "/" + names[index];
+    }
+
+    /**
+     * Gets the blob SHA of a file at the PR head.
+     *
+     * @param index File index
+     * @return Blob SHA
+     */
+    public String sha(int index) {
+        return shas[index];
+    }
+
+    /**
+     * Gets the status of a file.
+     *
+     * @param index File index
+     * @return Status
+     */
+    public Status status(int index) {
+        return Status.VALUES[statuses[index]];
+    }
+
+    /**
+     * Gets the number of added lines of a file.
+     *
+     * @param index File index
+     * @return Added lines
+     */
+    public int additions(int index) {
+        return additions[index];
+    }
+
+    /**
+     * Gets the number of deleted lines of a file.
+     *
+     * @param index File index
+     * @return Deleted lines
+     */
+    public int deletions(int index) {
+        return deletions[index];
+    }
+
+    /**
+     * Gets the number of changed lines of a file.
+     *
+     * @param index File index
+     * @return Changed lines
+     */
+    public int changes(int index) {
+        return changes[index];
+    }
+
+    /**
+     * Gets the previous path of a renamed file.
+     *
+     * @param index File index
+     * @return Previous path, or null
+     */
+    public String previousFilename(int index) {
+        return previousFilenames[index];
+    }
+
+    /**
+     * Gets the length of a file's patch without copying it.
+     *
+     * @param index File index
+     * @return Patch length in characters, or -1 if GitHub sent no patch
+     */
+    public int patchLength(int index) {
+        return patches[index] != null ? patches[index].length() : -1;
+    }
+
+    /**
+     * Creates the bean of a file for the review pipeline. The patch moves to the bean,
+     * so this set no longer holds it.
+     *
+     * @param index File index
+     * @return Changed file
+     */
+    public PullRequestFile file(int index) {
+        PullRequestFile file = new PullRequestFile();
+        file.setFilename(path(index));
+        file.setSha(shas[index]);
+        file.setStatus(status(index).getName());
+        file.setAdditions(additions[index]);
+        file.setDeletions(deletions[index]);
+        file.setChanges(changes[index]);
+        file.setPreviousFilename(previousFilenames[index]);
+        file.setPatch(patches[index]);
+        patches[index] = null;
+        return file;
+    }
+
+    /**
+     * Gets the total number of changed lines.
+     *
+     * @return Sum of the changes of all files
+     */
+    public long totalChurn() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += changes[i];
+        }
+        return total;
+    }
+
+    /**
+     * Counts files per extension.
+     *
+     * @return Number of files keyed by lower-case extension ("" for none), most frequent first
+     */
+    public Map<String, Integer> countByExtension() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            counts.merge(extension(names[i]), 1, Integer::sum);
+        }
+        Map<String, Integer> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    /**
+     * Finds the files with an extension.
+     *
+     * @param extension Extension without dot, e.g. "java"
+     * @return File indexes in PR order
+     */
+    public int[] withExtension(String extension) {
+        int[] matches = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (extension(names[i]).equalsIgnoreCase(extension)) {
+                matches[count++] = i;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Finds the files with the most changed lines.
+     *
+     * @param n Maximum number of files
+     * @return File indexes, largest first
+     */
+    public int[] largest(int n) {
+        int limit = Math.min(Math.max(n, 0), size);
+        int[] top = new int[limit];
+        int count = 0;
+        // Insertion into a sorted window of n entries; n is small compared to the file count
+        for (int i = 0; i < size; i++) {
+            if (count == limit && (limit == 0 || changes[i] <= changes[top[limit - 1]])) {
+                continue;
+            }
+            int pos = count < limit ? count++ : limit - 1;
+            while (pos > 0 && changes[top[pos - 1]] < changes[i]) {
+                top[pos] = top[pos - 1];
+                pos--;
+            }
+            top[pos] = i;
+        }
+        return top;
+    }
+
+    /**
+     * Summarizes the set for logs without listing every file.
+     */
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder()
+                .append(size).append(" files, ").append(totalChurn()).append(" changed lines");
+        int[] top = largest(3);
+        if (top.length > 0) {
+            summary.append(", largest:");
+            for (int index : top) {
+                summary.append(' ').append(path(index)).append(" (").append(changes[index]).append(')');
+            }
+        }
+        return summary.toString();
+    }
+
+    private static String extension(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+    }
+
+    /**
+     * Accumulates files, page by page, and interns their directories.
+     */
+    public static final class Builder {
+
+        private final Map<String, Integer> directoryIndex = new HashMap<>();
+        private final List<String> directoryNames = new ArrayList<>();
+        private int[] directory = new int[0];
+        private String[] names = new String[0];
+        private String[] shas = new String[0];
+        private byte[] statuses = new byte[0];
+        private int[] additions = new int[0];
+        private int[] deletions = new int[0];
+        private int[] changes = new int[0];
+        private String[] previousFilenames = new String[0];
+        private String[] patches = new String[0];
+        private int size;
+
+        /**
+         * Adds a file.
+         *
+         * @param path File path
+         * @param sha Blob SHA at the PR head
+         * @param status GitHub status name
+         * @param added Added lines
+         * @param deleted Deleted lines
+         * @param changed Changed lines
+         * @param previousFilename Previous path of a renamed file, or null
+         * @param patch Patch, or null
+         * @return This builder
+         */
+        public Builder add(String path, String sha, String status, int added, int deleted, int changed,
+                           String previousFilename, String patch) {
+            ensureCapacity(size + 1);
+            int slash = path.lastIndexOf('/');
+            String dir = slash >= 0 ? path.substring(0, slash) : "";
+            directory[size] = directoryIndex.computeIfAbsent(dir, key -> {
+                directoryNames.add(key);
+                return directoryNames.size() - 1;
+            });
+            names[size] = slash >= 0 ? path.substring(slash + 1) : path;
+            shas[size] = sha;
+            statuses[size] = (byte) Status.of(status).ordinal();
+            additions[size] = added;
+            deletions[size] = deleted;
+            changes[size] = changed;
+            previousFilenames[size] = previousFilename;
+            patches[size] = patch;
+            size++;
+            return this;
+        }
+
+        /**
+         * Decodes one page of the files endpoint (a JSON array of files) from a parser
+         * positioned before the array. Fields this model does not keep are skipped.
+         *
+         * @param parser Parser over the response body
+         * @return Number of files on the page
+         * @throws IOException if the body can't be read or is not a file array
+         */
+        public int readPage(JsonParser parser) throws IOException {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected an array of files but got " + parser.currentToken());
+            }
+            int count = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                String path = null;
+                String sha = null;
+                String status = null;
+                String previousFilename = null;
+                String patch = null;
+                int added = 0;
+                int deleted = 0;
+                int changed = 0;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if (value == JsonToken.VALUE_NULL) {
+                        continue;
+                    }
+                    switch (field) {
+                        case "filename" -> path = parser.getText();
+                        case "sha" -> sha = parser.getText();
+                        case "status" -> status = parser.getText();
+                        case "additions" -> added = parser.getIntValue();
+                        case "deletions" -> deleted = parser.getIntValue();
+                        case "changes" -> changed = parser.getIntValue();
+                        case "previous_filename" -> previousFilename = parser.getText();
+                        case "patch" -> patch = parser.getText();
+                        default -> parser.skipChildren();
+                    }
+                }
+                if (path != null) {
+                    add(path, sha, status, added, deleted, changed, previousFilename, patch);
+                }
+                count++;
+            }
+            return count;
+        }
+
+        /**
+         * Creates the file set.
+         *
+         * @return Changed files
+         */
+        public ChangedFiles build() {
+            return new ChangedFiles(this);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity <= names.length) {
+                return;
+            }
+            // GitHub pages hold 100 files
+            int grown = Math.max(capacity, Math.max(100, names.length * 2));
+            directory = Arrays.copyOf(directory, grown);
+            names = Arrays.copyOf(names, grown);
+            shas = Arrays.copyOf(shas, grown);
+            statuses = Arrays.copyOf(statuses, grown);
+            additions = Arrays.copyOf(additions, grown);
+            deletions = Arrays.copyOf(deletions, grown);
+            changes = Arrays.copyOf(changes, grown);
+            previousFilenames = Arrays.copyOf(previousFilenames, grown);
+            patches = Arrays.copyOf(patches, grown);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.model.github;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+/**
+ * Represents a check run.
+ * Response from POST and PATCH /repos/{owner}/{repo}/check-runs
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CheckRun {
+
+    /**
+     * Check run ID
+     */
+    private Long id;
+
+    /**
+     * Check name
+     */
+    private String name;
+
+    /**
+     * Current status
+     */
+    private String status;
+
+    /**
+     * Conclusion once completed
+     */
+    private String conclusion;
+
+    /**
+     * Web URL of the check run
+     */
+    @JsonProperty("html_url")
+    private String htmlUrl;
+}
@@ -0,0 +1,38 @@
+package org.example.model.github;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Represents the comparison of two commits.
+ * Response from GET /repos/{owner}/{repo}/compare/{base}...{head}
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CompareResult {
+
+    /**
+     * "ahead", "behind", "identical" or "diverged"
+     */
+    private String status;
+
+    /**
+     * Commits in head but not in base
+     */
+    @JsonProperty("ahead_by")
+    private Integer aheadBy;
+
+    /**
+     * Commits in base but not in head
+     */
+    @JsonProperty("behind_by")
+    private Integer behindBy;
+
+    /**
+     * Files changed between base and head (at most 300)
+     */
+    private List<PullRequestFile> files;
+}
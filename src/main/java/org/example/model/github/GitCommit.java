@@ -0,0 +1,35 @@
+package org.example.model.github;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Represents a git commit.
+ * Response from GET and POST /repos/{owner}/{repo}/git/commits
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GitCommit {
+
+    /**
+     * Commit SHA
+     */
+    private String sha;
+
+    /**
+     * Commit message
+     */
+    private String message;
+
+    /**
+     * Root tree of the commit
+     */
+    private GitObject tree;
+
+    /**
+     * Parent commits
+     */
+    private List<GitObject> parents;
+}
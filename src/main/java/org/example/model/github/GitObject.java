@@ -0,0 +1,27 @@
+package org.example.model.github;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+/**
+ * Reference to a git object (blob, tree or commit) in Git Data API responses.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GitObject {
+
+    /**
+     * Object SHA
+     */
+    private String sha;
+
+    /**
+     * Object type ("blob", "tree" or "commit"), when present
+     */
+    private String type;
+
+    /**
+     * API URL of the object
+     */
+    private String url;
+}
@@ -0,0 +1,23 @@
+package org.example.model.github;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+/**
+ * Represents a git reference such as a branch head.
+ * Response from GET /repos/{owner}/{repo}/git/ref/{ref}
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GitReference {
+
+    /**
+     * Full reference name (e.g., "refs/heads/main")
+     */
+    private String ref;
+
+    /**
+     * Object the reference points to
+     */
+    private GitObject object;
+}
@@ -0,0 +1,37 @@
+package org.example.model.github;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import org.example.model.webhook.User;
+
+/**
+ * Represents a comment in the conversation of an issue or pull request.
+ * Response from GitHub API when creating issue comments.
+ */
+@Data
+public class IssueComment {
+
+    /**
+     * Unique identifier for the comment.
+     */
+    @JsonProperty("id")
+    private Long id;
+
+    /**
+     * The text of the comment.
+     */
+    @JsonProperty("body")
+    private String body;
+
+    /**
+     * User who created the comment.
+     */
+    @JsonProperty("user")
+    private User user;
+
+    /**
+     * URL to the comment.
+     */
+    @JsonProperty("html_url")
+    private String htmlUrl;
+}
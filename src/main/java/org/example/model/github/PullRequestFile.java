@@ -17,6 +17,11 @@ public class PullRequestFile {
      */
     private String filename;
 
+    /**
+     * Blob SHA of the file at the PR head
+     */
+    private String sha;
+
     /**
      * File status: "added", "modified", "removed", "renamed"
      */
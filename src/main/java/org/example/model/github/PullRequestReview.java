@@ -0,0 +1,30 @@
+package org.example.model.github;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+/**
+ * Represents a pull request review.
+ * Response from POST /repos/{owner}/{repo}/pulls/{pull_number}/reviews
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PullRequestReview {
+
+    /**
+     * Review ID
+     */
+    private Long id;
+
+    /**
+     * Review state, e.g. "COMMENTED"
+     */
+    private String state;
+
+    /**
+     * Commit the review refers to
+     */
+    @JsonProperty("commit_id")
+    private String commitId;
+}
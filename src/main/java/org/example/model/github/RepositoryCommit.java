@@ -0,0 +1,29 @@
+package org.example.model.github;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import org.example.model.webhook.User;
+
+/**
+ * Represents a commit with the GitHub accounts behind it.
+ * Response from GET /repos/{owner}/{repo}/commits/{ref}
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RepositoryCommit {
+
+    /**
+     * Commit SHA
+     */
+    private String sha;
+
+    /**
+     * Account of the commit author, null if the author email matches no account
+     */
+    private User author;
+
+    /**
+     * Account of the committer, null if the committer email matches no account
+     */
+    private User committer;
+}
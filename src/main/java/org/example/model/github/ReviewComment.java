@@ -2,6 +2,7 @@ package org.example.model.github;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
+import org.example.model.webhook.User;
 
 /**
  * Represents a review comment on a pull request.
@@ -58,6 +59,18 @@ public class ReviewComment {
     @JsonProperty("original_commit_id")
     private String originalCommitId;
 
+    /**
+     * User who created the comment.
+     */
+    @JsonProperty("user")
+    private User user;
+
+    /**
+     * The ID of the comment this comment replies to.
+     */
+    @JsonProperty("in_reply_to_id")
+    private Long inReplyToId;
+
     /**
      * The position in the diff that the comment applies to.
      */
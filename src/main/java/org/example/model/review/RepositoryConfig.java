@@ -0,0 +1,88 @@
+package org.example.model.review;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import org.example.pr.filter.GlobSetMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-repository settings read from {@code .github/pr-review-bot.yml} on the base branch.
+ *
+ * Example:
+ * <pre>
+ * enabled: true
+ * checks: [secrets, todo]
+ * ignore_paths:
+ *   - "docs/**"
+ *   - "*.snap"
+ * max_comments: 25
+ * </pre>
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RepositoryConfig {
+
+    /**
+     * Settings used when a repository has no config file
+     */
+    public static final RepositoryConfig DEFAULT = new RepositoryConfig().compile();
+
+    /**
+     * Whether the bot reviews PRs in this repository at all
+     */
+    private boolean enabled = true;
+
+    /**
+     * Checks to run (empty means all checks)
+     */
+    private List<String> checks = new ArrayList<>();
+
+    /**
+     * Glob patterns of paths that are never reviewed in this repository
+     */
+    @JsonProperty("ignore_paths")
+    private List<String> ignorePaths = new ArrayList<>();
+
+    /**
+     * Maximum number of review comments posted per PR review (0 means unlimited)
+     */
+    @JsonProperty("max_comments")
+    private int maxComments;
+
+    @JsonIgnore
+    private GlobSetMatcher ignoredPaths;
+
+    /**
+     * Compiles the ignore patterns. Called once after parsing.
+     *
+     * @return This config
+     */
+    public RepositoryConfig compile() {
+        ignoredPaths = new GlobSetMatcher(ignorePaths);
+        return this;
+    }
+
+    /**
+     * Checks whether a path is ignored by this repository's config.
+     *
+     * @param path File path
+     * @return true if the path matches an ignore pattern
+     */
+    public boolean isIgnored(String path) {
+        return ignoredPaths != null && ignoredPaths.match(path) >= 0;
+    }
+
+    /**
+     * Checks whether a check is enabled by this repository's config.
+     *
+     * @param check Check ID
+     * @return true if enabled
+     */
+    public boolean isCheckEnabled(String check) {
+        return checks.isEmpty() || checks.contains(check);
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.model.review;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.client.request.CreateReviewCommentRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of reviewing one file of a pull request at a specific blob SHA.
+ * Persisted by ReviewResultStore so restarts and redeliveries do not re-run analysis.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ReviewRecord {
+
+    /**
+     * Full repository name (e.g., "owner/my-repo")
+     */
+    private String repository;
+
+    /**
+     * PR number
+     */
+    private int pullNumber;
+
+    /**
+     * File path
+     */
+    private String path;
+
+    /**
+     * Blob SHA of the reviewed file content
+     */
+    private String blobSha;
+
+    /**
+     * PR head commit SHA at the time of the review
+     */
+    private String headSha;
+
+    /**
+     * Findings produced for this file
+     */
+    @Builder.Default
+    private List<CreateReviewCommentRequest> findings = new ArrayList<>();
+
+    /**
+     * IDs of review comments posted for the findings
+     */
+    @Builder.Default
+    private List<Long> commentIds = new ArrayList<>();
+
+    /**
+     * Review time (epoch milliseconds)
+     */
+    private long reviewedAt;
+
+    /**
+     * Builds the store key for a file at a blob SHA.
+     *
+     * @param repository Full repository name
+     * @param pullNumber PR number
+     * @param path File path
+     * @param blobSha Blob SHA
+     * @return Store key
+     */
+    public static String key(String repository, int pullNumber, String path, String blobSha) {
+        return repository + '#' + pullNumber + ':' + path + '@' + blobSha;
+    }
+
+    /**
+     * Gets the store key of this record.
+     *
+     * @return Store key
+     */
+    public String key() {
+        return key(repository, pullNumber, path, blobSha);
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.model.webhook;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+/**
+ * Comment from an issue_comment or pull_request_review_comment webhook payload.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Comment {
+
+    /**
+     * Comment ID
+     */
+    private Long id;
+
+    /**
+     * Comment text (Markdown)
+     */
+    private String body;
+
+    /**
+     * User who wrote the comment
+     */
+    private User user;
+
+    /**
+     * Relation of the author to the repository (e.g., "OWNER", "MEMBER", "COLLABORATOR", "NONE")
+     */
+    @JsonProperty("author_association")
+    private String authorAssociation;
+
+    /**
+     * File the comment is attached to (review comments only)
+     */
+    private String path;
+
+    /**
+     * Line of the file the comment is attached to (review comments only)
+     */
+    private Integer line;
+}
@@ -0,0 +1,61 @@
+package org.example.model.webhook;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+/**
+ * Webhook payload of issue_comment and pull_request_review_comment events.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CommentPayload {
+
+    /**
+     * The action that was performed (e.g., "created", "edited", "deleted")
+     */
+    private String action;
+
+    /**
+     * The comment
+     */
+    private Comment comment;
+
+    /**
+     * Issue or PR the comment belongs to (issue_comment only)
+     */
+    private Issue issue;
+
+    /**
+     * Pull request the comment belongs to (pull_request_review_comment only)
+     */
+    @JsonProperty("pull_request")
+    private PullRequest pullRequest;
+
+    /**
+     * Repository where the event occurred
+     */
+    private Repository repository;
+
+    /**
+     * Installation details (contains installation ID)
+     */
+    private Installation installation;
+
+    /**
+     * User who triggered the event
+     */
+    private User sender;
+
+    /**
+     * Gets the number of the pull request the comment belongs to.
+     *
+     * @return PR number, or null if the comment is not on a pull request
+     */
+    public Integer getPullNumber() {
+        if (pullRequest != null) {
+            return pullRequest.getNumber();
+        }
+        return issue != null && issue.isPullRequest() ? issue.getNumber() : null;
+    }
+}
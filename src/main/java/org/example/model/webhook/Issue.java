@@ -0,0 +1,38 @@
+package org.example.model.webhook;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Issue from an issue_comment webhook payload. Pull requests are issues too; their
+ * conversation comments arrive as issue_comment events.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Issue {
+
+    /**
+     * Issue or PR number
+     */
+    private Integer number;
+
+    /**
+     * Links to the pull request; present only if the issue is a PR
+     */
+    @JsonProperty("pull_request")
+    private Map<String, Object> pullRequestLinks;
+
+    /**
+     * Checks whether the issue is a pull request.
+     *
+     * @return true for pull requests
+     */
+    @JsonIgnore
+    public boolean isPullRequest() {
+        return pullRequestLinks != null;
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.model.webhook;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+/**
+ * Label details from GitHub webhook payload.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Label {
+
+    /**
+     * Label name (e.g., "skip-review")
+     */
+    private String name;
+}
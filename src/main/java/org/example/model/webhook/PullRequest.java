@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
+import java.util.List;
+
 /**
  * Pull request details from GitHub webhook payload.
  */
@@ -46,6 +48,11 @@ public class PullRequest {
      */
     private User user;
 
+    /**
+     * Labels applied to the PR
+     */
+    private List<Label> labels;
+
     /**
      * Represents a branch in the pull request
      */
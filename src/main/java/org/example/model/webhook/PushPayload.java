@@ -0,0 +1,101 @@
+package org.example.model.webhook;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Root payload of a push webhook event.
+ * Only the fields needed to detect changes to tracked files and to track commit authors
+ * are mapped.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PushPayload {
+
+    /**
+     * Full ref that was pushed (e.g., "refs/heads/main")
+     */
+    private String ref;
+
+    /**
+     * Repository the push went to
+     */
+    private Repository repository;
+
+    /**
+     * Installation details (contains installation ID)
+     */
+    private Installation installation;
+
+    /**
+     * Pushed commits (GitHub includes at most 2048)
+     */
+    private List<Commit> commits;
+
+    /**
+     * A commit of the push with the paths it touched
+     */
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Commit {
+
+        /**
+         * Commit SHA
+         */
+        private String id;
+
+        /**
+         * Git author of the commit
+         */
+        private Author author;
+
+        /**
+         * Paths added by the commit
+         */
+        private List<String> added;
+
+        /**
+         * Paths removed by the commit
+         */
+        private List<String> removed;
+
+        /**
+         * Paths modified by the commit
+         */
+        private List<String> modified;
+    }
+
+    /**
+     * Git author of a pushed commit
+     */
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Author {
+
+        /**
+         * Author name
+         */
+        private String name;
+
+        /**
+         * Author email
+         */
+        private String email;
+
+        /**
+         * GitHub login, absent if the email matches no account
+         */
+        private String username;
+    }
+
+    /**
+     * Gets the branch name of the pushed ref.
+     *
+     * @return Branch name, or null if the push was not to a branch
+     */
+    public String getBranch() {
+        return ref != null && ref.startsWith("refs/heads/") ? ref.substring("refs/heads/".length()) : null;
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.pr;
+
+import lombok.RequiredArgsConstructor;
+import org.example.client.request.CreateReviewCommentRequest;
+import org.example.config.CheckRunConfig;
+import org.example.content.ContentCache;
+import org.example.content.ContentSpooler;
+import org.example.content.JobMemoryBudget;
+import org.example.content.SpooledContent;
+import org.example.model.github.PullRequestFile;
+import org.example.model.review.RepositoryConfig;
+import org.example.model.review.ReviewRecord;
+import org.example.pr.analyzer.AnalysisContext;
+import org.example.pr.analyzer.AnalyzerRunner;
+import org.example.pr.check.CheckRunSession;
+import org.example.pr.comment.ReviewCommentPublisher;
+import org.example.store.ReviewResultStore;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reviews one changed file of a PR job: runs the analyzers, reports the findings and
+ * records the result. Shared by the blocking and the reactive PR pipelines.
+ */
+@Component
+@RequiredArgsConstructor
+public class FileReviewer {
+
+    private final ContentSpooler contentSpooler;
+    private final ContentCache contentCache;
+    private final AnalyzerRunner analyzerRunner;
+    private final CheckRunConfig checkRunConfig;
+    private final ReviewCommentPublisher commentPublisher;
+    private final ReviewResultStore reviewStore;
+
+    /**
+     * Findings of one analyzed file, not yet published.
+     *
+     * @param path File path
+     * @param blobSha Blob SHA of the analyzed content
+     * @param findings Findings of the analyzers
+     */
+    public record Analysis(String path, String blobSha, List<CreateReviewCommentRequest> findings) {
+    }
+
+    /**
+     * Reviews a single file, posts its findings and records the result
+     * so the file is skipped until its content changes.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param prNumber PR number
+     * @param headSha PR head commit SHA
+     * @param file Changed file
+     * @param content File content at the PR head
+     * @param budget Memory budget of the PR job
+     * @param repoConfig Per-repository settings
+     * @param checkRun Check run of the PR job
+     * @param commentsLeft New comments the job may still post; shared by files reviewed in parallel
+     * @return Number of findings carried by comments on the PR
+     */
+    public int review(String owner, String repo, int prNumber, String headSha, PullRequestFile file,
+                      SpooledContent content, JobMemoryBudget budget, RepositoryConfig repoConfig,
+                      CheckRunSession checkRun, AtomicInteger commentsLeft) throws IOException {
+        Analysis analysis = analyze(owner, repo, prNumber, headSha, file, content, budget, repoConfig, checkRun);
+        return publish(owner, repo, prNumber, headSha, List.of(analysis), commentsLeft);
+    }
+
+    /**
+     * Runs the analyzers on a single file and annotates the check run with the findings.
+     * Nothing is posted on the PR or recorded yet.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param prNumber PR number
+     * @param headSha PR head commit SHA
+     * @param file Changed file
+     * @param content File content at the PR head
+     * @param budget Memory budget of the PR job
+     * @param repoConfig Per-repository settings
+     * @param checkRun Check run of the PR job
+     * @return Findings to publish
+     */
+    public Analysis analyze(String owner, String repo, int prNumber, String headSha, PullRequestFile file,
+                            SpooledContent content, JobMemoryBudget budget, RepositoryConfig repoConfig,
+                            CheckRunSession checkRun) throws IOException {
+        // Move the patch into budgeted storage so large patches do not stay on heap
+        SpooledContent patch = null;
+        if (file.getPatch() != null) {
+            patch = contentSpooler.spool(file.getPatch(), budget);
+            file.setPatch(null);
+        }
+
+        List<CreateReviewCommentRequest> findings = analyzerRunner.analyze(
+                new AnalysisContext(owner, repo, prNumber, headSha, file, content, patch, repoConfig));
+
+        // Keep small files around for follow-up commands on the PR
+        contentCache.put(owner + "/" + repo, file.getSha(), content);
+
+        // Annotations are cheap: every finding goes to the check run
+        checkRun.addFindings(file.getFilename(), findings);
+        return new Analysis(file.getFilename(), file.getSha(), findings);
+    }
+
+    /**
+     * Posts the findings of analyzed files, as one review where they are coalesced, and
+     * records the results so the files are skipped until their content changes.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param prNumber PR number
+     * @param headSha PR head commit SHA
+     * @param analyses Analyzed files, in posting order
+     * @param commentsLeft New comments the job may still post; shared by files reviewed in parallel
+     * @return Number of findings carried by comments on the PR
+     */
+    public int publish(String owner, String repo, int prNumber, String headSha, List<Analysis> analyses,
+                       AtomicInteger commentsLeft) {
+        // All findings go to the publisher, so capped ones don't count as resolved
+        Map<String, List<Long>> commentIds = Map.of();
+        if (checkRunConfig.isReviewComments()) {
+            Map<String, List<CreateReviewCommentRequest>> findings = new LinkedHashMap<>();
+            analyses.forEach(analysis -> findings.put(analysis.path(), analysis.findings()));
+            commentIds = commentPublisher.publish(owner, repo, prNumber, findings, commentsLeft);
+        }
+
+        int commented = 0;
+        for (Analysis analysis : analyses) {
+            List<Long> ids = commentIds.getOrDefault(analysis.path(), List.of());
+            reviewStore.put(ReviewRecord.builder()
+                    .repository(owner + "/" + repo)
+                    .pullNumber(prNumber)
+                    .path(analysis.path())
+                    .blobSha(analysis.blobSha())
+                    .headSha(headSha)
+                    .findings(analysis.findings())
+                    .commentIds(ids)
+                    .reviewedAt(System.currentTimeMillis())
+                    .build());
+            commented += ids.size();
+        }
+        return commented;
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.pr;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parks PR jobs while GitHub is unavailable.
+ *
+ * A parked job holds no thread: it is handed to the scheduler and resubmitted once the
+ * delay has passed, behind the jobs queued meanwhile.
+ * Exposes review.jobs.parked (gauge) and review.jobs.park (counter).
+ */
+@Component
+@Slf4j
+public class JobParker {
+
+    private final TaskScheduler scheduler;
+    private final AtomicInteger parked = new AtomicInteger();
+    private final Counter parkCount;
+
+    public JobParker(TaskScheduler scheduler, MeterRegistry meterRegistry) {
+        this.scheduler = scheduler;
+        this.parkCount = Counter.builder("review.jobs.park")
+                .description("PR jobs parked because GitHub was unavailable")
+                .register(meterRegistry);
+        Gauge.builder("review.jobs.parked", parked, AtomicInteger::get)
+                .description("PR jobs currently parked")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Resubmits a job after a delay.
+     *
+     * @param jobId Job identifier for logs
+     * @param delay Time to wait
+     * @param resubmit Submits the job again
+     */
+    public void park(String jobId, Duration delay, Runnable resubmit) {
+        parked.incrementAndGet();
+        parkCount.increment();
+        log.info("Parking job {} for {} s", jobId, delay.toSeconds());
+        scheduler.schedule(() -> {
+            parked.decrementAndGet();
+            resubmit.run();
+        }, Instant.now().plus(delay));
+    }
+
+    /**
+     * Gets the number of jobs currently parked.
+     *
+     * @return Parked job count
+     */
+    public int getParkedCount() {
+        return parked.get();
+    }
+}
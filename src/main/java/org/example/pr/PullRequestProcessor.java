@@ -1,20 +1,56 @@
 package org.example.pr;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.auth.InstallationContext;
+import org.example.client.resilience.Deadline;
+import org.example.client.resilience.EndpointClass;
+import org.example.client.resilience.GitHubResilience;
+import org.example.config.GitHubReadConfig;
+import org.example.config.GitHubResilienceConfig;
+import org.example.content.ContentSpooler;
+import org.example.content.JobMemoryBudget;
+import org.example.content.SpooledContent;
+import org.example.exception.GitHubUnavailableException;
+import org.example.job.JobRegistry;
+import org.example.job.TrackedJob;
+import org.example.model.github.ChangedFiles;
 import org.example.model.github.PullRequestFile;
+import org.example.model.review.RepositoryConfig;
+import org.example.model.review.ReviewRecord;
 import org.example.model.webhook.WebhookPayload;
+import org.example.pr.check.CheckRunReporter;
+import org.example.pr.check.CheckRunSession;
+import org.example.pr.filter.FilterDecision;
 import org.example.pr.filter.PullRequestFilters;
+import org.example.pr.shard.ShardCheckpointStore;
+import org.example.pr.shard.ShardedReview;
+import org.example.pr.state.PullRequestStateCache;
 import org.example.service.GitHubService;
-import org.springframework.scheduling.annotation.Async;
+import org.example.service.RepositoryConfigService;
+import org.example.store.ReviewResultStore;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
  * Processes pull request webhook events.
- * Fetches changed files and applies filtering logic.
+ * Fetches changed files, applies filtering logic and reviews files
+ * not yet reviewed at their current blob SHA.
  */
 @Service
 @RequiredArgsConstructor
@@ -22,58 +58,281 @@ import java.util.List;
 public class PullRequestProcessor {
 
     private final PullRequestFilters filters;
+    private final PullRequestStateCache stateCache;
     private final GitHubService githubService;
-
+    private final ReviewResultStore reviewStore;
+    private final ContentSpooler contentSpooler;
+    private final RepositoryConfigService repositoryConfigService;
+    private final FileReviewer fileReviewer;
+    private final CheckRunReporter checkRunReporter;
+    private final GitHubResilience resilience;
+    private final GitHubResilienceConfig resilienceConfig;
+    private final GitHubReadConfig readConfig;
+    private final JobParker jobParker;
+    private final JobRegistry jobRegistry;
+    private final ShardedReview shardedReview;
+    private final ShardCheckpointStore shardCheckpoints;
+    private final MeterRegistry meterRegistry;
 
     /**
-     * Processes a pull request webhook event asynchronously.
-     * Fetches and logs changed files for the pull request.
+     * Processes a pull request webhook event asynchronously on the webhook executor.
+     * Fetches changed files and reviews those whose content changed since the last review.
      *
      * @param payload Webhook payload
      */
-    @Async("webhookExecutor")
     public void processPullRequest(WebhookPayload payload) {
+        processPullRequest(payload, null);
+    }
+
+    /**
+     * Processes a pull request webhook event that an earlier job could not finish, reporting
+     * to that job's check run instead of starting another one.
+     *
+     * @param payload Webhook payload
+     * @param checkRun Check run of the earlier job, or null to start a new one
+     */
+    public void processPullRequest(WebhookPayload payload, CheckRunSession checkRun) {
+        TrackedJob job = jobRegistry.register(
+                payload.getRepository().getOwner().getLogin() + "/" + payload.getRepository().getName(),
+                payload.getPullRequest().getNumber(), payload.getPullRequest().getHead().getSha());
+        jobRegistry.submit(job, () -> process(payload, 1, job, checkRun));
+    }
+
+    /**
+     * Restarts sharded reviews that were interrupted, e.g. by a crash. Files reviewed by
+     * their completed shards are skipped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeShardedReviews() {
+        for (ShardCheckpointStore.Checkpoint checkpoint : shardCheckpoints.load()) {
+            WebhookPayload payload = checkpoint.payload();
+            log.info("Resuming sharded review of PR #{} in {}/{} ({} of {} shards were completed)",
+                    payload.getPullRequest().getNumber(), payload.getRepository().getOwner().getLogin(),
+                    payload.getRepository().getName(), checkpoint.completedShards(), checkpoint.shards());
+            processPullRequest(payload);
+        }
+    }
+
+    /**
+     * Runs one attempt of a PR job. While GitHub is unavailable the job is parked and
+     * resubmitted later instead of holding a webhook thread.
+     *
+     * @param payload Webhook payload
+     * @param attempt Attempt number, starting at 1
+     * @param job Registry entry of the job
+     * @param carriedCheckRun Check run of an earlier attempt, or null
+     */
+    private void process(WebhookPayload payload, int attempt, TrackedJob job, CheckRunSession carriedCheckRun) {
         int prNumber = payload.getPullRequest().getNumber();
         String owner = payload.getRepository().getOwner().getLogin();
         String repo = payload.getRepository().getName();
+        String jobId = owner + "/" + repo + "#" + prNumber;
+
+        // Don't start work that would fail on its first call
+        for (EndpointClass endpoint : List.of(EndpointClass.AUTH, EndpointClass.READ)) {
+            if (resilience.isOpen(endpoint)) {
+                if (!park(jobId, payload, attempt, job, resilience.getRetryAfter(endpoint), carriedCheckRun)
+                        && carriedCheckRun != null) {
+                    failDropped(payload, carriedCheckRun);
+                }
+                return;
+            }
+        }
 
         log.info("Processing PR #{} in repository {}/{}", prNumber, owner, repo);
 
+        // Bind the installation so GitHub calls use its token
+        if (payload.getInstallation() != null) {
+            InstallationContext.set(payload.getInstallation().getId());
+        }
+        // Every GitHub call of this attempt is cut short once the job deadline passes
+        Deadline.start(readConfig.getJobDeadline());
+
+        CheckRunSession checkRun = carriedCheckRun;
+        long start = System.nanoTime();
+        String outcome = "skipped";
         try {
             // Step 1: Filter PR
-            if (!filters.shouldProcessPullRequest(payload)) {
-                String reason = filters.getFilterReason(payload);
-                log.info("Skipping PR #{}: {}", prNumber, reason);
+            job.stage("filtering");
+            FilterDecision decision = filters.evaluatePullRequest(payload);
+            if (!decision.accepted()) {
+                log.info("Skipping PR #{}: {}", prNumber, decision.reason());
+                if (checkRun != null) {
+                    checkRun.skip(decision.reason());
+                }
                 return;
             }
 
-            // Step 2: Fetch changed files
-            List<PullRequestFile> changedFiles = fetchChangedFiles(owner, repo, prNumber);
+            // Step 2: Apply per-repository settings from the base branch
+            job.stage("loading repository settings");
+            RepositoryConfig repoConfig = repositoryConfigService.getConfig(
+                    owner, repo, payload.getPullRequest().getBase().getRef());
+            if (!repoConfig.isEnabled()) {
+                log.info("Skipping PR #{}: reviews disabled by {}", prNumber, RepositoryConfigService.CONFIG_PATH);
+                if (checkRun != null) {
+                    checkRun.skip("Reviews are disabled by " + RepositoryConfigService.CONFIG_PATH + ".");
+                }
+                return;
+            }
+
+            // Report progress on the head commit from the start
+            String headSha = payload.getPullRequest().getHead().getSha();
+            if (checkRun == null) {
+                job.stage("starting check run");
+                checkRun = checkRunReporter.start(owner, repo, headSha);
+            }
+
+            // Step 3: Fetch changed files
+            job.stage("listing changed files");
+            ChangedFiles changedFiles = githubService.getChangedFiles(owner, repo, prNumber);
             if (changedFiles.isEmpty()) {
                 log.info("No files changed in PR #{}", prNumber);
+                checkRun.complete("No files changed.");
+                outcome = "completed";
+                return;
+            }
+
+            log.info("PR #{} changes {}", prNumber, changedFiles);
+
+            // Step 4: Review files not yet reviewed at their current blob SHA
+            String repository = owner + "/" + repo;
+            int reviewed = 0;
+            int skipped = 0;
+            AtomicInteger commentsLeft = new AtomicInteger(
+                    repoConfig.getMaxComments() > 0 ? repoConfig.getMaxComments() : Integer.MAX_VALUE);
+
+            List<PullRequestFile> toReview = new ArrayList<>();
+            for (int i = 0; i < changedFiles.size(); i++) {
+                String path = changedFiles.path(i);
+                if (!filters.shouldProcessFile(changedFiles, i) || repoConfig.isIgnored(path)) {
+                    continue;
+                }
+                Optional<ReviewRecord> previous = reviewStore.get(repository, prNumber, path, changedFiles.sha(i));
+                if (previous.isPresent()) {
+                    log.debug("Skipping {} - already reviewed at blob {}", path, changedFiles.sha(i));
+                    // The content is unchanged, so earlier findings still apply to this head
+                    checkRun.addFindings(path, previous.get().getFindings());
+                    skipped++;
+                    continue;
+                }
+                // Only files that are reviewed get a bean
+                toReview.add(changedFiles.file(i));
+            }
+
+            // Large PRs are split into shards that run in parallel and complete the job
+            if (shardedReview.applies(toReview.size())) {
+                job.stage("sharding " + toReview.size() + " files");
+                CheckRunSession shardCheckRun = checkRun;
+                shardedReview.submit(payload, toReview, changedFiles.size(), skipped, repoConfig, checkRun, start,
+                        delay -> park(jobId, payload, attempt, job, delay, shardCheckRun));
+                outcome = "sharded";
                 return;
             }
 
-            log.info("Changed files: {}", changedFiles);
-            log.info("Successfully processed PR #{} with {} changed files",
-                    prNumber, changedFiles.size());
+            try (JobMemoryBudget budget = contentSpooler.openBudget(repository + "#" + prNumber + "@" + headSha)) {
+                // Step 5: Fetch contents of the files to review (one tarball for large PRs)
+                job.stage("fetching " + toReview.size() + " contents");
+                Set<String> paths = new LinkedHashSet<>();
+                toReview.forEach(file -> paths.add(file.getFilename()));
+                Map<String, SpooledContent> contents = paths.isEmpty()
+                        ? Map.of()
+                        : githubService.getFileContents(owner, repo, headSha, paths, budget);
+
+                // Step 6: Review each file
+                for (PullRequestFile file : toReview) {
+                    job.stage("reviewing " + file.getFilename() + " (" + (reviewed + 1) + "/" + toReview.size() + ")");
+                    SpooledContent content = contents.get(file.getFilename());
+                    if (content == null) {
+                        log.info("Skipping {} - content unavailable or too large", file.getFilename());
+                        continue;
+                    }
+                    fileReviewer.review(owner, repo, prNumber, headSha, file, content, budget,
+                            repoConfig, checkRun, commentsLeft);
+                    reviewed++;
+                }
+
+                job.stage("completing check run");
+                checkRun.complete(String.format("%d changed files: %d analyzed, %d unchanged since the last review.",
+                        changedFiles.size(), reviewed, skipped));
+                outcome = "completed";
+
+                log.info("Successfully processed PR #{} with {} changed files ({} reviewed, {} already reviewed, "
+                                + "peak content heap {} bytes, spilled {} bytes)",
+                        prNumber, changedFiles.size(), reviewed, skipped,
+                        budget.getPeakHeapBytes(), budget.getSpilledBytes());
+            }
 
         } catch (Exception e) {
+            if (e instanceof CancellationException && job.isCancelled()) {
+                outcome = "cancelled";
+                log.info("PR #{} in {}/{} cancelled by an operator", prNumber, owner, repo);
+                if (checkRun != null) {
+                    Deadline.clear();
+                    checkRun.fail("The review was cancelled by an operator.");
+                }
+                return;
+            }
+            GitHubUnavailableException unavailable = GitHubUnavailableException.find(e);
+            if (unavailable != null && attempt < resilienceConfig.getMaxParkAttempts()) {
+                // The check run can't be updated either; the next attempt reports to it
+                log.warn("GitHub {} endpoints unavailable while processing PR #{}", unavailable.getEndpointClass(),
+                        prNumber);
+                park(jobId, payload, attempt, job, unavailable.getRetryAfter(), checkRun);
+                outcome = "parked";
+                return;
+            }
+            outcome = "failed";
             log.error("Failed to process pull request #{}", prNumber, e);
+            if (checkRun != null) {
+                // Report the failure even when the job ran out of time
+                Deadline.clear();
+                checkRun.fail("The review could not be completed: " + e.getMessage());
+            }
+        } finally {
+            if ("completed".equals(outcome)) {
+                stateCache.markReviewed(owner, repo, prNumber, payload.getPullRequest().getHead().getSha());
+            }
+            InstallationContext.clear();
+            Deadline.clear();
+            // Sharded jobs are timed when their last shard finishes
+            if (!"sharded".equals(outcome)) {
+                Timer.builder("review.jobs.duration")
+                        .description("Time PR job attempts take")
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
         }
     }
 
     /**
-     * Fetches changed files from a pull request.
+     * Parks a job until GitHub is expected to be available again.
      *
-     * @param owner Repository owner
-     * @param repo Repository name
-     * @param prNumber PR number
-     * @return List of changed files
+     * @return false if the job used up its attempts and was dropped instead
      */
-    private List<PullRequestFile> fetchChangedFiles(String owner, String repo, int prNumber) {
-        List<PullRequestFile> files = githubService.getPullRequestFiles(owner, repo, prNumber);
-        return files != null ? files : List.of();
+    private boolean park(String jobId, WebhookPayload payload, int attempt, TrackedJob job, Duration delay,
+                         CheckRunSession checkRun) {
+        if (attempt >= resilienceConfig.getMaxParkAttempts()) {
+            log.error("Dropping job {}: GitHub still unavailable after {} attempts", jobId, attempt);
+            return false;
+        }
+        jobRegistry.park(job);
+        jobParker.park(jobId, delay,
+                () -> jobRegistry.submit(job, () -> process(payload, attempt + 1, job, checkRun)));
+        return true;
     }
-}
 
+    /**
+     * Fails the check run of an earlier attempt when the job is dropped before it starts.
+     */
+    private void failDropped(WebhookPayload payload, CheckRunSession checkRun) {
+        if (payload.getInstallation() != null) {
+            InstallationContext.set(payload.getInstallation().getId());
+        }
+        try {
+            checkRun.fail("The review could not be completed: GitHub stayed unavailable.");
+        } finally {
+            InstallationContext.clear();
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package org.example.pr;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.auth.InstallationContext;
+import org.example.client.resilience.Deadline;
+import org.example.client.resilience.EndpointClass;
+import org.example.client.resilience.GitHubResilience;
+import org.example.client.request.CreateReviewCommentRequest;
+import org.example.config.GitHubReactiveConfig;
+import org.example.config.GitHubReadConfig;
+import org.example.content.ContentSpooler;
+import org.example.content.ContentTooLargeException;
+import org.example.content.JobMemoryBudget;
+import org.example.content.SpooledContent;
+import org.example.exception.GitHubUnavailableException;
+import org.example.job.JobRegistry;
+import org.example.job.TrackedJob;
+import org.example.model.github.PullRequestFile;
+import org.example.model.review.RepositoryConfig;
+import org.example.model.webhook.WebhookPayload;
+import org.example.pr.check.CheckRunReporter;
+import org.example.pr.check.CheckRunSession;
+import org.example.pr.filter.PullRequestFilters;
+import org.example.pr.state.PullRequestStateCache;
+import org.example.service.ReactiveGitHubService;
+import org.example.service.RepositoryConfigService;
+import org.example.store.ReviewResultStore;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Non-blocking variant of {@link PullRequestProcessor}, used when github.reactive.enabled is set.
+ *
+ * The changed files are streamed from GitHub and their contents fetched while the list is
+ * still arriving, up to github.reactive.content-concurrency per job. No thread waits for
+ * these reads, so a node can keep thousands of them in flight. Contents are always
+ * fetched per file; the tarball and GraphQL strategies are blocking-only.
+ *
+ * Analysis and GitHub writes (check run, review comments) still use the blocking services
+ * and run on Reactor's bounded elastic workers, one file at a time in the order the
+ * contents arrive. Jobs that find GitHub unavailable are handed to the blocking processor,
+ * which parks them until the breakers close.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactivePullRequestProcessor {
+
+    private final PullRequestFilters filters;
+    private final PullRequestStateCache stateCache;
+    private final ReactiveGitHubService githubService;
+    private final ReviewResultStore reviewStore;
+    private final ContentSpooler contentSpooler;
+    private final RepositoryConfigService repositoryConfigService;
+    private final FileReviewer fileReviewer;
+    private final CheckRunReporter checkRunReporter;
+    private final GitHubResilience resilience;
+    private final GitHubReadConfig readConfig;
+    private final GitHubReactiveConfig reactiveConfig;
+    private final PullRequestProcessor blockingProcessor;
+    private final JobRegistry jobRegistry;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Starts processing a pull request webhook event and returns at once.
+     *
+     * @param payload Webhook payload
+     */
+    public void processPullRequest(WebhookPayload payload) {
+        process(payload).subscribe();
+    }
+
+    /**
+     * Processes a pull request webhook event. Never fails: errors are reported on the
+     * check run and logged.
+     *
+     * @param payload Webhook payload
+     * @return Completes when the job has finished
+     */
+    public Mono<Void> process(WebhookPayload payload) {
+        int prNumber = payload.getPullRequest().getNumber();
+        String owner = payload.getRepository().getOwner().getLogin();
+        String repo = payload.getRepository().getName();
+        Long installationId = payload.getInstallation() != null ? payload.getInstallation().getId() : null;
+
+        // Jobs that would fail on their first call are parked by the blocking processor
+        if (resilience.isOpen(EndpointClass.AUTH) || resilience.isOpen(EndpointClass.READ)) {
+            blockingProcessor.processPullRequest(payload);
+            return Mono.empty();
+        }
+
+        String headSha = payload.getPullRequest().getHead().getSha();
+        Job job = new Job(owner, repo, prNumber, headSha, installationId,
+                System.nanoTime() + readConfig.getJobDeadline().toNanos(),
+                jobRegistry.track(owner + "/" + repo, prNumber, headSha));
+        long start = System.nanoTime();
+
+        return Mono.defer(() -> run(payload, job))
+                .timeout(readConfig.getJobDeadline())
+                .onErrorResume(e -> handleFailure(payload, job, e))
+                .contextWrite(context -> installationId != null
+                        ? context.put(InstallationContext.REACTOR_KEY, installationId)
+                        : context)
+                .doFinally(signal -> {
+                    jobRegistry.finish(job.tracked);
+                    if ("completed".equals(job.outcome.get())) {
+                        stateCache.markReviewed(owner, repo, prNumber, job.headSha);
+                    }
+                    Timer.builder("review.jobs.duration")
+                            .description("Time PR job attempts take")
+                            .tag("outcome", job.outcome.get())
+                            .register(meterRegistry)
+                            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                });
+    }
+
+    private Mono<Void> run(WebhookPayload payload, Job job) {
+        log.info("Processing PR #{} in repository {}/{} (reactive)", job.prNumber, job.owner, job.repo);
+
+        // Step 1: Filter PR; may look up the head commit author on a state cache miss
+        String baseRef = payload.getPullRequest().getBase().getRef();
+        return blocking(job, "filtering", () -> filters.evaluatePullRequest(payload))
+                .flatMap(decision -> {
+                    if (!decision.accepted()) {
+                        log.info("Skipping PR #{}: {}", job.prNumber, decision.reason());
+                        return Mono.empty();
+                    }
+                    // Step 2: Apply per-repository settings from the base branch
+                    return blocking(job, "loading repository settings",
+                            () -> repositoryConfigService.getConfig(job.owner, job.repo, baseRef));
+                })
+                .flatMap(repoConfig -> {
+                    if (!repoConfig.isEnabled()) {
+                        log.info("Skipping PR #{}: reviews disabled by {}", job.prNumber,
+                                RepositoryConfigService.CONFIG_PATH);
+                        return Mono.empty();
+                    }
+                    return blocking(job, "starting check run",
+                            () -> checkRunReporter.start(job.owner, job.repo, job.headSha))
+                            .flatMap(checkRun -> {
+                                job.checkRun = checkRun;
+                                return Mono.usingWhen(
+                                        Mono.fromSupplier(() -> contentSpooler.openBudget(
+                                                job.repository() + "#" + job.prNumber + "@" + job.headSha)),
+                                        budget -> review(job, repoConfig, budget),
+                                        budget -> Mono.fromRunnable(budget::close),
+                                        (budget, e) -> Mono.fromRunnable(budget::close),
+                                        budget -> Mono.fromRunnable(budget::close));
+                            });
+                });
+    }
+
+    /**
+     * Steps 3 to 6: streams the changed files, fetches the contents of files not yet
+     * reviewed at their blob SHA and reviews them.
+     */
+    private Mono<Void> review(Job job, RepositoryConfig repoConfig, JobMemoryBudget budget) {
+        AtomicInteger changed = new AtomicInteger();
+        AtomicInteger reviewed = new AtomicInteger();
+        AtomicInteger commentsLeft = new AtomicInteger(
+                repoConfig.getMaxComments() > 0 ? repoConfig.getMaxComments() : Integer.MAX_VALUE);
+        // Check run updates may block, so earlier findings are added on a worker at the end
+        List<Map.Entry<String, List<CreateReviewCommentRequest>>> unchanged =
+                Collections.synchronizedList(new ArrayList<>());
+
+        return githubService.getPullRequestFiles(job.owner, job.repo, job.prNumber)
+                .doOnNext(file -> changed.incrementAndGet())
+                .filter(file -> filters.shouldProcessFile(file) && !repoConfig.isIgnored(file.getFilename()))
+                // The store may read from disk, so lookups run on a worker instead of the event loop
+                .filterWhen(file -> Mono.fromCallable(() -> reviewStore.get(job.repository(), job.prNumber,
+                                        file.getFilename(), file.getSha()))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .map(previous -> {
+                                    if (previous.isEmpty()) {
+                                        return true;
+                                    }
+                                    log.debug("Skipping {} - already reviewed at blob {}",
+                                            file.getFilename(), file.getSha());
+                                    unchanged.add(Map.entry(file.getFilename(), previous.get().getFindings()));
+                                    return false;
+                                }))
+                // Step 5: Fetch contents while the file list is still streaming in
+                .flatMap(file -> githubService.getFileContent(job.owner, job.repo, file.getFilename(), job.headSha,
+                                        budget)
+                                .map(content -> Tuples.of(file, content))
+                                .onErrorResume(ReactivePullRequestProcessor::skippable, e -> {
+                                    if (e instanceof ContentTooLargeException) {
+                                        log.info("Skipping {} - content unavailable or too large",
+                                                file.getFilename());
+                                    } else {
+                                        log.warn("Skipping {} - failed to fetch content: {}",
+                                                file.getFilename(), e.toString());
+                                    }
+                                    return Mono.empty();
+                                }),
+                        reactiveConfig.getContentConcurrency())
+                // Step 6: Review each file; one at a time, as comments draw on a shared limit
+                .concatMap(fetched -> blocking(job, "reviewing " + fetched.getT1().getFilename(), () -> {
+                    reviewFile(job, fetched, budget, repoConfig, commentsLeft);
+                    reviewed.incrementAndGet();
+                    return fetched;
+                }))
+                .then(blocking(job, "completing check run", () -> {
+                    if (changed.get() == 0) {
+                        log.info("No files changed in PR #{}", job.prNumber);
+                        job.checkRun.complete("No files changed.");
+                        job.outcome.set("completed");
+                        return null;
+                    }
+                    unchanged.forEach(entry -> job.checkRun.addFindings(entry.getKey(), entry.getValue()));
+                    job.checkRun.complete(String.format(
+                            "%d changed files: %d analyzed, %d unchanged since the last review.",
+                            changed.get(), reviewed.get(), unchanged.size()));
+                    job.outcome.set("completed");
+
+                    log.info("Successfully processed PR #{} with {} changed files ({} reviewed, {} already "
+                                    + "reviewed, peak content heap {} bytes, spilled {} bytes)",
+                            job.prNumber, changed.get(), reviewed.get(), unchanged.size(),
+                            budget.getPeakHeapBytes(), budget.getSpilledBytes());
+                    return null;
+                }))
+                .then();
+    }
+
+    /**
+     * Checks whether a content fetch error only skips its file. Outages park the whole job
+     * and cancellations end it.
+     */
+    private static boolean skippable(Throwable e) {
+        return GitHubUnavailableException.find(e) == null && !(e instanceof CancellationException);
+    }
+
+    private void reviewFile(Job job, Tuple2<PullRequestFile, SpooledContent> fetched, JobMemoryBudget budget,
+                           RepositoryConfig repoConfig, AtomicInteger commentsLeft) throws Exception {
+        fileReviewer.review(job.owner, job.repo, job.prNumber, job.headSha, fetched.getT1(),
+                fetched.getT2(), budget, repoConfig, job.checkRun, commentsLeft);
+    }
+
+    private Mono<Void> handleFailure(WebhookPayload payload, Job job, Throwable e) {
+        if (e instanceof CancellationException && job.tracked.isCancelled()) {
+            job.outcome.set("cancelled");
+            log.info("PR #{} in {} cancelled by an operator", job.prNumber, job.repository());
+            return job.checkRun == null ? Mono.empty()
+                    : Mono.fromRunnable(() -> job.checkRun.fail("The review was cancelled by an operator."))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .onErrorResume(failure -> Mono.empty())
+                            .then();
+        }
+        GitHubUnavailableException unavailable = GitHubUnavailableException.find(e);
+        if (unavailable != null) {
+            // The check run can't be updated either; the parked job reports to it
+            log.warn("GitHub {} endpoints unavailable while processing PR #{}, parking it",
+                    unavailable.getEndpointClass(), job.prNumber);
+            job.outcome.set("parked");
+            blockingProcessor.processPullRequest(payload, job.checkRun);
+            return Mono.empty();
+        }
+        job.outcome.set("failed");
+        log.error("Failed to process pull request #{}", job.prNumber, e);
+        if (job.checkRun == null) {
+            return Mono.empty();
+        }
+        String reason = e instanceof TimeoutException
+                ? "the job deadline of " + readConfig.getJobDeadline() + " passed"
+                : e.getMessage();
+        // Report the failure even when the job ran out of time
+        return Mono.fromRunnable(() -> job.checkRun.fail("The review could not be completed: " + reason))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(failure -> Mono.empty())
+                .then();
+    }
+
+    /**
+     * Runs a call to the blocking services on a bounded elastic worker, with the job's
+     * installation, deadline and registry entry bound to the worker thread.
+     */
+    private <T> Mono<T> blocking(Job job, String stage, Callable<T> call) {
+        return Mono.fromCallable(() -> {
+            job.tracked.stage(stage);
+            InstallationContext.set(job.installationId);
+            Deadline.set(job.deadlineNanos);
+            TrackedJob.bind(job.tracked);
+            job.tracked.attach(Thread.currentThread());
+            try {
+                return call.call();
+            } finally {
+                job.tracked.attach(null);
+                TrackedJob.bind(null);
+                InstallationContext.clear();
+                Deadline.clear();
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * State of one PR job.
+     */
+    private static final class Job {
+
+        private final String owner;
+        private final String repo;
+        private final int prNumber;
+        private final String headSha;
+        private final Long installationId;
+        private final long deadlineNanos;
+        private final TrackedJob tracked;
+        private final AtomicReference<String> outcome = new AtomicReference<>("skipped");
+        private volatile CheckRunSession checkRun;
+
+        private Job(String owner, String repo, int prNumber, String headSha, Long installationId,
+                    long deadlineNanos, TrackedJob tracked) {
+            this.owner = owner;
+            this.repo = repo;
+            this.prNumber = prNumber;
+            this.headSha = headSha;
+            this.installationId = installationId;
+            this.deadlineNanos = deadlineNanos;
+            this.tracked = tracked;
+        }
+
+        private String repository() {
+            return owner + "/" + repo;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.pr.analyzer;
+
+import org.example.content.SpooledContent;
+import org.example.model.github.PullRequestFile;
+import org.example.model.review.RepositoryConfig;
+
+/**
+ * A file under review, as passed to each {@link Analyzer}.
+ *
+ * @param owner Repository owner
+ * @param repo Repository name
+ * @param pullNumber PR number
+ * @param headSha PR head commit SHA the findings refer to
+ * @param file Changed file (its patch is moved to {@code patch})
+ * @param content File content at the PR head
+ * @param patch Patch of the file, or null for binary or oversized diffs
+ * @param repoConfig Per-repository settings
+ */
+public record AnalysisContext(
+        String owner,
+        String repo,
+        int pullNumber,
+        String headSha,
+        PullRequestFile file,
+        SpooledContent content,
+        SpooledContent patch,
+        RepositoryConfig repoConfig) {
+
+    /**
+     * Gets the path of the file.
+     *
+     * @return File path
+     */
+    public String path() {
+        return file.getFilename();
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.pr.analyzer;
+
+import org.example.client.request.CreateReviewCommentRequest;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A check run on each reviewed file. Implementations are discovered as Spring beans.
+ *
+ * Analyzers run on a dedicated executor chosen by {@link #workload()}, with a per-file
+ * timeout. On timeout the analyzer's thread is interrupted and its findings are dropped,
+ * so long-running analyzers should check {@link Thread#isInterrupted()} periodically.
+ *
+ * Analyzers that return a {@link #fingerprint} have their findings cached by blob SHA
+ * across PRs ({@link org.example.store.FindingsCache}), so each unique input is analyzed once.
+ */
+public interface Analyzer {
+
+    /**
+     * Gets the analyzer ID used in configuration, logs and metrics.
+     *
+     * @return Analyzer ID
+     */
+    String id();
+
+    /**
+     * Gets the file extensions handled, without the dot (e.g., "java", "py").
+     *
+     * @return Extensions; empty to handle every file
+     */
+    default Set<String> fileTypes() {
+        return Set.of();
+    }
+
+    /**
+     * Gets whether the analyzer mostly computes or mostly waits on I/O.
+     *
+     * @return Workload type
+     */
+    Workload workload();
+
+    /**
+     * Gets the version of the analyzer's logic. Bump it whenever the findings for the same
+     * input change, so cached findings of the old version are no longer used.
+     *
+     * @return Version
+     */
+    default int version() {
+        return 1;
+    }
+
+    /**
+     * Gets a fingerprint of every input besides the file content that the findings depend
+     * on, such as the rule set, the enabled checks or the patch. Findings must not depend
+     * on the path or head commit; both are filled in again when cached findings are reused.
+     *
+     * @param context File under review
+     * @return Fingerprint, or null if the findings can't be cached (the default)
+     */
+    default String fingerprint(AnalysisContext context) {
+        return null;
+    }
+
+    /**
+     * Analyzes one file.
+     *
+     * @param context File under review
+     * @return Findings as review comment requests
+     * @throws Exception if analysis fails; other analyzers are unaffected
+     */
+    List<CreateReviewCommentRequest> analyze(AnalysisContext context) throws Exception;
+}
@@ -0,0 +1,285 @@
+package org.example.pr.analyzer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.client.request.CreateReviewCommentRequest;
+import org.example.config.AnalyzerConfig;
+import org.example.store.FindingsCache;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs the registered {@link Analyzer}s on a file, isolated from each other and from the PR job.
+ *
+ * All analyzers handling the file start at once on the executor matching their workload.
+ * The calling job thread only waits, each analyzer up to its own timeout; on timeout the
+ * analyzer is interrupted and its findings are dropped. Each analyzer is limited to a fixed
+ * number of unfinished runs, so one that ignores interruption cannot take over the pool.
+ *
+ * Analyzers that fingerprint their inputs ({@link Analyzer#fingerprint}) are looked up in the
+ * {@link FindingsCache} first, so content seen in another PR is not analyzed again; findings
+ * of runs that completed in time are added to it.
+ *
+ * Per-analyzer latency is exported as the review.analyzer.duration histogram, tagged with
+ * the analyzer ID and outcome (ok, error, timeout, rejected).
+ */
+@Component
+@Slf4j
+public class AnalyzerRunner {
+
+    private final AnalyzerConfig config;
+    private final ThreadPoolTaskExecutor cpuExecutor;
+    private final ThreadPoolTaskExecutor ioExecutor;
+    private final MeterRegistry meterRegistry;
+    private final FindingsCache findingsCache;
+    private final List<Registered> analyzers;
+
+    public AnalyzerRunner(List<Analyzer> analyzers, AnalyzerConfig config,
+                          @Qualifier("analyzerCpuExecutor") ThreadPoolTaskExecutor cpuExecutor,
+                          @Qualifier("analyzerIoExecutor") ThreadPoolTaskExecutor ioExecutor,
+                          MeterRegistry meterRegistry, FindingsCache findingsCache) {
+        this.config = config;
+        this.cpuExecutor = cpuExecutor;
+        this.ioExecutor = ioExecutor;
+        this.meterRegistry = meterRegistry;
+        this.findingsCache = findingsCache;
+        this.analyzers = analyzers.stream()
+                .filter(analyzer -> !config.getDisabled().contains(analyzer.id()))
+                .sorted(Comparator.comparing(Analyzer::id))
+                .map(analyzer -> new Registered(analyzer, new Semaphore(config.getMaxInFlightPerAnalyzer())))
+                .toList();
+
+        log.info("Registered analyzers: {}", this.analyzers.stream()
+                .map(r -> r.analyzer().id() + " (" + r.analyzer().workload() + ")")
+                .toList());
+    }
+
+    /**
+     * Runs every analyzer handling the file and collects their findings.
+     * Failures and timeouts of single analyzers are logged and skipped.
+     *
+     * @param context File under review
+     * @return Findings of all analyzers that completed in time, one per line
+     */
+    public List<CreateReviewCommentRequest> analyze(AnalysisContext context) {
+        List<Run> runs = new ArrayList<>();
+        for (Registered registered : analyzers) {
+            if (registered.handles(context.path())) {
+                FindingsCache.Key key = cacheKey(registered.analyzer(), context);
+                List<CreateReviewCommentRequest> cached = key != null
+                        ? findingsCache.get(key, context.path(), context.headSha())
+                        : null;
+                runs.add(cached != null ? Run.cached(registered.analyzer(), cached) : start(registered, context, key));
+            }
+        }
+
+        // The PR holds one comment per line, so findings of several analyzers on a line are merged
+        Map<String, CreateReviewCommentRequest> byLine = new LinkedHashMap<>();
+        for (Run run : runs) {
+            for (CreateReviewCommentRequest finding : await(run, context)) {
+                byLine.merge(finding.getSide() + ":" + finding.getLine(), finding, (first, next) -> {
+                    first.setBody(first.getBody() + "\n\n" + next.getBody());
+                    return first;
+                });
+            }
+        }
+        return new ArrayList<>(byLine.values());
+    }
+
+    /**
+     * Gets the IDs of the active analyzers.
+     *
+     * @return Analyzer IDs
+     */
+    public List<String> getAnalyzerIds() {
+        return analyzers.stream().map(r -> r.analyzer().id()).toList();
+    }
+
+    /**
+     * Gets the findings cache key of an analyzer run.
+     *
+     * @return Key, or null if the run's findings are not cached
+     */
+    private FindingsCache.Key cacheKey(Analyzer analyzer, AnalysisContext context) {
+        String blobSha = context.file().getSha();
+        if (!findingsCache.accepts(blobSha)) {
+            return null;
+        }
+        try {
+            String fingerprint = analyzer.fingerprint(context);
+            return fingerprint != null
+                    ? new FindingsCache.Key(analyzer.id(), analyzer.version(), fingerprint, blobSha)
+                    : null;
+        } catch (RuntimeException e) {
+            log.warn("Analyzer {} failed to fingerprint {}", analyzer.id(), context.path(), e);
+            return null;
+        }
+    }
+
+    private Run start(Registered registered, AnalysisContext context, FindingsCache.Key key) {
+        Analyzer analyzer = registered.analyzer();
+        long startNanos = System.nanoTime();
+
+        if (!registered.inFlight().tryAcquire()) {
+            return Run.rejected(analyzer, startNanos, "too many unfinished runs");
+        }
+
+        AtomicBoolean abandoned = new AtomicBoolean();
+        AtomicBoolean started = new AtomicBoolean();
+        Permit permit = new Permit(registered.inFlight());
+        ThreadPoolTaskExecutor executor = analyzer.workload() == Workload.IO_BOUND ? ioExecutor : cpuExecutor;
+        try {
+            Future<List<CreateReviewCommentRequest>> future = executor.submit(() -> {
+                started.set(true);
+                long runStart = System.nanoTime();
+                try {
+                    List<CreateReviewCommentRequest> result = analyzer.analyze(context);
+                    record(analyzer, "ok", System.nanoTime() - runStart, abandoned);
+                    return result != null ? result : List.of();
+                } catch (Exception e) {
+                    record(analyzer, "error", System.nanoTime() - runStart, abandoned);
+                    throw e;
+                } finally {
+                    permit.release();
+                }
+            });
+            return new Run(analyzer, future, abandoned, started, permit, startNanos, null, key, null);
+
+        } catch (RejectedExecutionException e) {
+            permit.release();
+            return Run.rejected(analyzer, startNanos, "executor queue full");
+        }
+    }
+
+    private List<CreateReviewCommentRequest> await(Run run, AnalysisContext context) {
+        Analyzer analyzer = run.analyzer();
+        if (run.cached() != null) {
+            return run.cached();
+        }
+        if (run.future() == null) {
+            timer(analyzer, "rejected").record(System.nanoTime() - run.startNanos(), TimeUnit.NANOSECONDS);
+            log.warn("Analyzer {} skipped for {}: {}", analyzer.id(), context.path(), run.rejectReason());
+            return List.of();
+        }
+
+        Duration timeout = config.getTimeout(analyzer.id());
+        long remaining = timeout.toNanos() - (System.nanoTime() - run.startNanos());
+        try {
+            List<CreateReviewCommentRequest> findings = run.future().get(Math.max(0, remaining),
+                    TimeUnit.NANOSECONDS);
+            if (run.cacheKey() != null) {
+                findingsCache.put(run.cacheKey(), findings);
+            }
+            return findings;
+
+        } catch (TimeoutException e) {
+            cancel(run);
+            timer(analyzer, "timeout").record(System.nanoTime() - run.startNanos(), TimeUnit.NANOSECONDS);
+            log.warn("Analyzer {} timed out after {} ms on {}", analyzer.id(), timeout.toMillis(), context.path());
+            return List.of();
+
+        } catch (ExecutionException e) {
+            log.warn("Analyzer {} failed on {}", analyzer.id(), context.path(), e.getCause());
+            return List.of();
+
+        } catch (InterruptedException e) {
+            // The PR job itself is being cancelled; stop the analyzer too
+            cancel(run);
+            Thread.currentThread().interrupt();
+            return List.of();
+        }
+    }
+
+    private static void cancel(Run run) {
+        run.abandoned().set(true);
+        run.future().cancel(true);
+        // A run cancelled while still queued never executes, so its permit is returned here
+        if (!run.started().get()) {
+            run.permit().release();
+        }
+    }
+
+    private void record(Analyzer analyzer, String outcome, long nanos, AtomicBoolean abandoned) {
+        // Runs abandoned by the job were already recorded as timeouts
+        if (!abandoned.get()) {
+            timer(analyzer, outcome).record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(Analyzer analyzer, String outcome) {
+        return Timer.builder("review.analyzer.duration")
+                .description("Time analyzers take per file")
+                .tag("analyzer", analyzer.id())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * An analyzer with its limit on unfinished runs.
+     */
+    private record Registered(Analyzer analyzer, Semaphore inFlight) {
+
+        boolean handles(String path) {
+            if (analyzer.fileTypes().isEmpty()) {
+                return true;
+            }
+            int dot = path.lastIndexOf('.');
+            int slash = path.lastIndexOf('/');
+            return dot > slash && analyzer.fileTypes().contains(path.substring(dot + 1).toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * One analyzer started on one file.
+     */
+    private record Run(Analyzer analyzer, Future<List<CreateReviewCommentRequest>> future,
+                       AtomicBoolean abandoned, AtomicBoolean started, Permit permit,
+                       long startNanos, String rejectReason, FindingsCache.Key cacheKey,
+                       List<CreateReviewCommentRequest> cached) {
+
+        static Run rejected(Analyzer analyzer, long startNanos, String reason) {
+            return new Run(analyzer, null, null, null, null, startNanos, reason, null, null);
+        }
+
+        static Run cached(Analyzer analyzer, List<CreateReviewCommentRequest> findings) {
+            return new Run(analyzer, null, null, null, null, System.nanoTime(), null, null, findings);
+        }
+    }
+
+    /**
+     * One in-flight permit of an analyzer, released at most once.
+     */
+    private static final class Permit {
+
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.pr.analyzer;
+
+/**
+ * Kind of work an analyzer does, which selects the executor it runs on.
+ */
+public enum Workload {
+
+    /**
+     * Computes on the file content; runs on a pool sized to the CPU count
+     */
+    CPU_BOUND,
+
+    /**
+     * Waits on external services or processes; runs on a larger pool
+     */
+    IO_BOUND
+}
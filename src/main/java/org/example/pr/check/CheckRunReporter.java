@@ -0,0 +1,61 @@
+package org.example.pr.check;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.client.GitHubApiClient;
+import org.example.client.request.CheckRunRequest;
+import org.example.config.CheckRunConfig;
+import org.example.model.github.CheckRun;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Opens a check run for each PR job.
+ *
+ * The run is created in progress when the job starts; the returned {@link CheckRunSession}
+ * streams annotations as files finish and concludes the run. If checks are disabled or
+ * the run cannot be created, a no-op session is returned so the review still proceeds.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CheckRunReporter {
+
+    static final String IN_PROGRESS = "in_progress";
+
+    private final GitHubApiClient apiClient;
+    private final CheckRunConfig config;
+
+    /**
+     * Creates an in-progress check run on the PR head commit.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param headSha PR head commit SHA
+     * @return Session reporting to the run
+     */
+    public CheckRunSession start(String owner, String repo, String headSha) {
+        if (!config.isEnabled()) {
+            return CheckRunSession.NOOP;
+        }
+        try {
+            CheckRun run = apiClient.createCheckRun(owner, repo, CheckRunRequest.builder()
+                    .name(config.getName())
+                    .headSha(headSha)
+                    .status(IN_PROGRESS)
+                    .startedAt(Instant.now().toString())
+                    .output(CheckRunRequest.Output.builder()
+                            .title("Review in progress")
+                            .summary("Analyzing changed files...")
+                            .build())
+                    .build());
+            log.info("Started check run {} on {}/{}@{}", run.getId(), owner, repo, headSha);
+            return new CheckRunSession(apiClient, config, owner, repo, run.getId());
+
+        } catch (Exception e) {
+            log.warn("Failed to create check run on {}/{}@{}, continuing without it", owner, repo, headSha, e);
+            return CheckRunSession.NOOP;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package org.example.pr.check;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.client.GitHubApiClient;
+import org.example.client.request.CheckRunRequest;
+import org.example.client.request.CreateReviewCommentRequest;
+import org.example.config.CheckRunConfig;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streams the findings of one PR job into its check run.
+ *
+ * Findings are buffered as annotations and sent in batches of up to 50 per update, so
+ * partial results appear on the PR while later files are still being analyzed. Each
+ * update also refreshes the summary. Failed updates are logged and never fail the job.
+ * Updates are built under the session's lock but sent outside it, so files finishing in
+ * parallel never wait for another file's PATCH.
+ *
+ * A parked job keeps its session for the next attempt, so the PR shows one check run per
+ * head no matter how often the job was parked. Files already annotated are not annotated
+ * again when a later attempt reports them as unchanged.
+ */
+@Slf4j
+public class CheckRunSession {
+
+    /**
+     * Session that reports nothing, for work outside a check run
+     */
+    public static final CheckRunSession NOOP = new CheckRunSession(null, null, null, null, null);
+
+    private static final String ANNOTATION_LEVEL = "warning";
+    private static final int MAX_BATCH = 50;
+
+    private final GitHubApiClient apiClient;
+    private final CheckRunConfig config;
+    private final String owner;
+    private final String repo;
+    private final Long checkRunId;
+
+    private final List<CheckRunRequest.Annotation> pending = new ArrayList<>();
+    private final Set<String> annotatedPaths = new HashSet<>();
+    private int filesDone;
+    private int annotationsSent;
+    private int findings;
+    private int updates;
+
+    CheckRunSession(GitHubApiClient apiClient, CheckRunConfig config, String owner, String repo, Long checkRunId) {
+        this.apiClient = apiClient;
+        this.config = config;
+        this.owner = owner;
+        this.repo = repo;
+        this.checkRunId = checkRunId;
+    }
+
+    /**
+     * Adds the findings of a finished file, sending full batches right away.
+     *
+     * @param path File path
+     * @param fileFindings Findings for the file
+     */
+    public void addFindings(String path, List<CreateReviewCommentRequest> fileFindings) {
+        List<Update> batches = new ArrayList<>();
+        synchronized (this) {
+            if (checkRunId == null || !annotatedPaths.add(path)) {
+                return;
+            }
+            filesDone++;
+            if (fileFindings == null) {
+                return;
+            }
+            for (CreateReviewCommentRequest finding : fileFindings) {
+                if (finding.getLine() == null) {
+                    continue;
+                }
+                findings++;
+                pending.add(CheckRunRequest.Annotation.builder()
+                        .path(path)
+                        .startLine(finding.getStartLine() != null ? finding.getStartLine() : finding.getLine())
+                        .endLine(finding.getLine())
+                        .annotationLevel(ANNOTATION_LEVEL)
+                        .message(finding.getBody())
+                        .build());
+            }
+            while (pending.size() >= batchSize()) {
+                batches.add(nextUpdate(null, "Review in progress", null));
+            }
+        }
+        // Other files keep reporting while these batches are on their way
+        batches.forEach(this::send);
+    }
+
+    /**
+     * Sends the remaining annotations and completes the run.
+     * Concludes "neutral" when there are findings, else "success".
+     *
+     * @param summary Markdown summary of the job
+     */
+    public void complete(String summary) {
+        List<Update> batches = new ArrayList<>();
+        synchronized (this) {
+            if (checkRunId == null) {
+                return;
+            }
+            String conclusion = findings > 0 ? "neutral" : "success";
+            String title = findings > 0 ? findings + " finding" + (findings == 1 ? "" : "s") : "No findings";
+            do {
+                // The last update carries the conclusion together with the final batch
+                boolean last = pending.size() <= batchSize();
+                batches.add(nextUpdate(last ? conclusion : null, title, summary));
+            } while (!pending.isEmpty());
+        }
+        batches.forEach(this::send);
+        synchronized (this) {
+            log.info("Completed check run {} on {}/{}: {} annotations in {} updates", checkRunId, owner, repo,
+                    annotationsSent, updates);
+        }
+    }
+
+    /**
+     * Completes the run as failed, keeping the annotations already sent.
+     *
+     * @param reason Failure reason shown in the summary
+     */
+    public void fail(String reason) {
+        conclude("failure", "Review failed", reason);
+    }
+
+    /**
+     * Completes the run as skipped, when a later attempt of a parked job finds that the
+     * PR no longer needs a review.
+     *
+     * @param reason Reason shown in the summary
+     */
+    public void skip(String reason) {
+        conclude("skipped", "Review skipped", reason);
+    }
+
+    private void conclude(String conclusion, String title, String summary) {
+        Update update;
+        synchronized (this) {
+            if (checkRunId == null) {
+                return;
+            }
+            pending.clear();
+            update = nextUpdate(conclusion, title, summary);
+        }
+        send(update);
+    }
+
+    /**
+     * Takes the next batch of annotations into an update. Caller holds the lock.
+     */
+    private Update nextUpdate(String conclusion, String title, String summary) {
+        int count = Math.min(pending.size(), batchSize());
+        List<CheckRunRequest.Annotation> batch = new ArrayList<>(pending.subList(0, count));
+        pending.subList(0, count).clear();
+
+        CheckRunRequest.CheckRunRequestBuilder request = CheckRunRequest.builder()
+                .output(CheckRunRequest.Output.builder()
+                        .title(title)
+                        .summary(summary != null ? summary : progressSummary())
+                        .annotations(batch.isEmpty() ? null : batch)
+                        .build());
+        if (conclusion != null) {
+            request.status("completed").conclusion(conclusion).completedAt(Instant.now().toString());
+        }
+        return new Update(request.build(), batch.size());
+    }
+
+    /**
+     * Sends an update without holding the lock, so a slow PATCH never blocks other files.
+     */
+    private void send(Update update) {
+        try {
+            apiClient.updateCheckRun(owner, repo, checkRunId, update.request());
+            synchronized (this) {
+                annotationsSent += update.annotations();
+                updates++;
+            }
+        } catch (Exception e) {
+            log.warn("Failed to update check run {} on {}/{} ({} annotations dropped)",
+                    checkRunId, owner, repo, update.annotations(), e);
+        }
+    }
+
+    private String progressSummary() {
+        return filesDone + " file" + (filesDone == 1 ? "" : "s") + " analyzed, "
+                + findings + " finding" + (findings == 1 ? "" : "s") + " so far.";
+    }
+
+    private int batchSize() {
+        return Math.max(1, Math.min(MAX_BATCH, config.getAnnotationBatchSize()));
+    }
+
+    /**
+     * Snapshot of one check run update taken under the lock.
+     */
+    private record Update(CheckRunRequest request, int annotations) {
+    }
+}
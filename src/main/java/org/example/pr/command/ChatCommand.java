@@ -0,0 +1,102 @@
+package org.example.pr.command;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Command posted as a PR comment.
+ *
+ * Syntax, on its own line of the comment:
+ * <pre>
+ * /review src/Foo.java src/Bar.java:10-20 src/Baz.java#L5
+ * /recheck [files...]
+ * </pre>
+ * {@code /review} reports the findings of the named files, reusing earlier results for
+ * files unchanged since their last review. {@code /recheck} always runs the analyzers
+ * again. Line ranges limit which findings the reply lists.
+ *
+ * @param name Command
+ * @param targets Named files, possibly empty
+ */
+public record ChatCommand(Name name, List<Target> targets) {
+
+    private static final Pattern COMMAND = Pattern.compile("^/(review|recheck)(?:\\s+(.*))?$");
+    // Line numbers have at most 9 digits so they always fit an int
+    private static final Pattern TARGET = Pattern.compile("^(.+?)(?:(?::|#L)(\\d{1,9})(?:-L?(\\d{1,9}))?)?$");
+
+    /**
+     * Supported commands
+     */
+    public enum Name {
+
+        /**
+         * Report findings, reusing unchanged results
+         */
+        REVIEW,
+
+        /**
+         * Analyze again
+         */
+        RECHECK
+    }
+
+    /**
+     * File named by a command, with an optional line range.
+     *
+     * @param path File path
+     * @param startLine First line of interest, or null for the whole file
+     * @param endLine Last line of interest, or null for the whole file
+     */
+    public record Target(String path, Integer startLine, Integer endLine) {
+
+        /**
+         * Checks whether a line falls into the range.
+         *
+         * @param line Line number, or null
+         * @return true if the target covers the line
+         */
+        public boolean covers(Integer line) {
+            if (startLine == null) {
+                return true;
+            }
+            return line != null && line >= startLine && line <= endLine;
+        }
+    }
+
+    /**
+     * Finds the first command in a comment.
+     *
+     * @param body Comment text
+     * @return Command, or empty if the comment has none
+     */
+    public static Optional<ChatCommand> parse(String body) {
+        if (body == null || body.indexOf('/') < 0) {
+            return Optional.empty();
+        }
+        for (String line : body.split("\\R")) {
+            Matcher command = COMMAND.matcher(line.strip());
+            if (!command.matches()) {
+                continue;
+            }
+            List<Target> targets = new ArrayList<>();
+            if (command.group(2) != null) {
+                for (String token : command.group(2).trim().split("\\s+")) {
+                    // Paths are often pasted in backticks
+                    Matcher target = TARGET.matcher(token.replace("`", ""));
+                    if (token.isBlank() || !target.matches()) {
+                        continue;
+                    }
+                    Integer start = target.group(2) != null ? Integer.valueOf(target.group(2)) : null;
+                    Integer end = target.group(3) != null ? Integer.valueOf(target.group(3)) : start;
+                    targets.add(new Target(target.group(1), start, end));
+                }
+            }
+            return Optional.of(new ChatCommand(Name.valueOf(command.group(1).toUpperCase(Locale.ROOT)), targets));
+        }
+        return Optional.empty();
+    }
+}
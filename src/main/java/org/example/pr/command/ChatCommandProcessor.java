@@ -0,0 +1,295 @@
+package org.example.pr.command;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.auth.InstallationContext;
+import org.example.client.request.CreateReviewCommentRequest;
+import org.example.client.resilience.Deadline;
+import org.example.config.CommandConfig;
+import org.example.content.ContentCache;
+import org.example.content.ContentSpooler;
+import org.example.content.ContentTooLargeException;
+import org.example.content.JobMemoryBudget;
+import org.example.content.SpooledContent;
+import org.example.model.github.PullRequestFile;
+import org.example.model.review.RepositoryConfig;
+import org.example.model.review.ReviewRecord;
+import org.example.model.webhook.CommentPayload;
+import org.example.model.webhook.PullRequest;
+import org.example.pr.FileReviewer;
+import org.example.pr.check.CheckRunSession;
+import org.example.pr.filter.PullRequestFilters;
+import org.example.service.GitHubService;
+import org.example.service.RepositoryConfigService;
+import org.example.store.ReviewResultStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs chat-ops commands ({@link ChatCommand}) posted as PR comments.
+ *
+ * Commands have their own executor lane, so they are never queued behind full PR jobs,
+ * and touch only the named files: findings recorded at a file's current blob SHA are
+ * reused, and contents of recently reviewed files come from {@link ContentCache}. The
+ * result is posted as a reply in the PR conversation.
+ *
+ * Exposes review.commands.duration (tagged command and outcome, with the latency
+ * objective as SLO boundary) and review.commands.rejected.
+ */
+@Service
+@Slf4j
+public class ChatCommandProcessor {
+
+    private final GitHubService githubService;
+    private final RepositoryConfigService repositoryConfigService;
+    private final PullRequestFilters filters;
+    private final ReviewResultStore reviewStore;
+    private final ContentCache contentCache;
+    private final ContentSpooler contentSpooler;
+    private final FileReviewer fileReviewer;
+    private final CommandConfig config;
+    private final ThreadPoolTaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+
+    public ChatCommandProcessor(GitHubService githubService, RepositoryConfigService repositoryConfigService,
+                                PullRequestFilters filters, ReviewResultStore reviewStore, ContentCache contentCache,
+                                ContentSpooler contentSpooler, FileReviewer fileReviewer, CommandConfig config,
+                                @Qualifier("commandExecutor") ThreadPoolTaskExecutor executor,
+                                MeterRegistry meterRegistry) {
+        this.githubService = githubService;
+        this.repositoryConfigService = repositoryConfigService;
+        this.filters = filters;
+        this.reviewStore = reviewStore;
+        this.contentCache = contentCache;
+        this.contentSpooler = contentSpooler;
+        this.fileReviewer = fileReviewer;
+        this.config = config;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.rejected = Counter.builder("review.commands.rejected")
+                .description("Commands dropped because the command lane was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks whether the author of a comment may run commands.
+     *
+     * @param payload Comment webhook payload
+     * @return true for humans with an allowed association to the repository
+     */
+    public boolean isAllowed(CommentPayload payload) {
+        if (payload.getComment() == null || payload.getComment().getUser() == null) {
+            return false;
+        }
+        // Never react to bots, including this app's own replies
+        if ("Bot".equalsIgnoreCase(payload.getComment().getUser().getType())) {
+            return false;
+        }
+        return config.getAllowedAssociations().contains(payload.getComment().getAuthorAssociation());
+    }
+
+    /**
+     * Queues a command on the command lane.
+     *
+     * @param payload Comment webhook payload
+     * @param command Parsed command
+     * @return false if the lane is full and the command was dropped
+     */
+    public boolean submit(CommentPayload payload, ChatCommand command) {
+        long received = System.nanoTime();
+        try {
+            executor.execute(() -> execute(payload, command, received));
+            return true;
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            log.warn("Command lane full, dropping /{} on PR #{}", command.name().name().toLowerCase(Locale.ROOT),
+                    payload.getPullNumber());
+            return false;
+        }
+    }
+
+    private void execute(CommentPayload payload, ChatCommand command, long received) {
+        String owner = payload.getRepository().getOwner().getLogin();
+        String repo = payload.getRepository().getName();
+        int prNumber = payload.getPullNumber();
+        String commandName = "/" + command.name().name().toLowerCase(Locale.ROOT);
+
+        if (payload.getInstallation() != null) {
+            InstallationContext.set(payload.getInstallation().getId());
+        }
+        Deadline.start(config.getDeadline());
+
+        String outcome = "completed";
+        try {
+            // Review comment events carry the PR; conversation comments only its number
+            PullRequest pullRequest = payload.getPullRequest() != null
+                    ? payload.getPullRequest()
+                    : githubService.getPullRequest(owner, repo, prNumber);
+            String headSha = pullRequest.getHead().getSha();
+
+            RepositoryConfig repoConfig = repositoryConfigService.getConfig(owner, repo,
+                    pullRequest.getBase().getRef());
+            if (!repoConfig.isEnabled()) {
+                outcome = "skipped";
+                return;
+            }
+
+            String reply = run(owner, repo, prNumber, headSha, commandName, targets(payload, command),
+                    command.name() == ChatCommand.Name.RECHECK, repoConfig);
+            githubService.createIssueComment(owner, repo, prNumber, reply);
+
+        } catch (Exception e) {
+            outcome = "failed";
+            log.error("Failed to run {} on PR #{} in {}/{}", commandName, prNumber, owner, repo, e);
+            try {
+                Deadline.clear();
+                githubService.createIssueComment(owner, repo, prNumber,
+                        commandName + " could not be completed: " + e.getMessage());
+            } catch (Exception replyFailure) {
+                log.warn("Failed to report the {} failure on PR #{}", commandName, prNumber, replyFailure);
+            }
+        } finally {
+            InstallationContext.clear();
+            Deadline.clear();
+            long nanos = System.nanoTime() - received;
+            Timer.builder("review.commands.duration")
+                    .description("Time from receiving a command to its reply")
+                    .tag("command", command.name().name().toLowerCase(Locale.ROOT))
+                    .tag("outcome", outcome)
+                    .serviceLevelObjectives(config.getLatencySlo())
+                    .register(meterRegistry)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+            if (nanos > config.getLatencySlo().toNanos()) {
+                log.warn("{} on PR #{} took {} ms, over the {} ms objective", commandName, prNumber,
+                        TimeUnit.NANOSECONDS.toMillis(nanos), config.getLatencySlo().toMillis());
+            }
+        }
+    }
+
+    /**
+     * Gets the files a command applies to. A command without files in a review comment
+     * applies to the commented line.
+     */
+    private static List<ChatCommand.Target> targets(CommentPayload payload, ChatCommand command) {
+        if (command.targets().isEmpty() && payload.getComment().getPath() != null) {
+            Integer line = payload.getComment().getLine();
+            return List.of(new ChatCommand.Target(payload.getComment().getPath(), line, line));
+        }
+        return command.targets();
+    }
+
+    /**
+     * Reviews the targeted files and builds the reply.
+     */
+    private String run(String owner, String repo, int prNumber, String headSha, String commandName,
+                       List<ChatCommand.Target> targets, boolean recheck, RepositoryConfig repoConfig)
+            throws Exception {
+        String repository = owner + "/" + repo;
+        Map<String, PullRequestFile> changedFiles = new LinkedHashMap<>();
+        for (PullRequestFile file : githubService.getPullRequestFiles(owner, repo, prNumber)) {
+            changedFiles.put(file.getFilename(), file);
+        }
+
+        // Without named files, a command applies to every reviewable file of the PR
+        if (targets.isEmpty()) {
+            targets = changedFiles.values().stream()
+                    .filter(file -> filters.shouldProcessFile(file) && !repoConfig.isIgnored(file.getFilename()))
+                    .map(file -> new ChatCommand.Target(file.getFilename(), null, null))
+                    .toList();
+        }
+        if (targets.size() > config.getMaxFiles()) {
+            return String.format("%s applies to %d files; name at most %d, e.g. `%s path/to/File.java`.",
+                    commandName, targets.size(), config.getMaxFiles(), commandName);
+        }
+
+        List<String> lines = new ArrayList<>();
+        AtomicInteger commentsLeft = new AtomicInteger(
+                repoConfig.getMaxComments() > 0 ? repoConfig.getMaxComments() : Integer.MAX_VALUE);
+        try (JobMemoryBudget budget = contentSpooler.openBudget(repository + "#" + prNumber + "@" + headSha
+                + " " + commandName)) {
+            for (ChatCommand.Target target : targets) {
+                PullRequestFile file = changedFiles.get(target.path());
+                if (file == null) {
+                    lines.add(String.format("- `%s`: not changed in this PR", target.path()));
+                    continue;
+                }
+                if (!filters.shouldProcessFile(file) || repoConfig.isIgnored(file.getFilename())) {
+                    lines.add(String.format("- `%s`: excluded from reviews", target.path()));
+                    continue;
+                }
+
+                Optional<ReviewRecord> previous = reviewStore.get(repository, prNumber, file.getFilename(),
+                        file.getSha());
+                String source = "cached";
+                if (recheck || previous.isEmpty()) {
+                    SpooledContent content = content(owner, repo, headSha, file, budget);
+                    if (content == null) {
+                        lines.add(String.format("- `%s`: content too large to analyze", target.path()));
+                        continue;
+                    }
+                    fileReviewer.review(owner, repo, prNumber, headSha, file, content, budget,
+                            repoConfig, CheckRunSession.NOOP, commentsLeft);
+                    previous = reviewStore.get(repository, prNumber, file.getFilename(), file.getSha());
+                    source = "analyzed";
+                }
+                List<CreateReviewCommentRequest> findings = previous.map(ReviewRecord::getFindings).orElse(List.of());
+                lines.add(describe(target, findings, source));
+            }
+        }
+        return String.format("**%s** at %s:%n%s", commandName, headSha.substring(0, Math.min(7, headSha.length())),
+                String.join("\n", lines));
+    }
+
+    /**
+     * Gets a file's content from the cache, or downloads it.
+     *
+     * @return Content, or null if the file is over the size limit
+     */
+    private SpooledContent content(String owner, String repo, String headSha, PullRequestFile file,
+                                   JobMemoryBudget budget) throws Exception {
+        byte[] cached = contentCache.get(owner + "/" + repo, file.getSha());
+        try {
+            if (cached != null) {
+                return contentSpooler.spool(new ByteArrayInputStream(cached), cached.length, budget);
+            }
+            return githubService.getFileContent(owner, repo, file.getFilename(), headSha, budget);
+        } catch (ContentTooLargeException e) {
+            return null;
+        }
+    }
+
+    private static String describe(ChatCommand.Target target, List<CreateReviewCommentRequest> findings,
+                                   String source) {
+        List<CreateReviewCommentRequest> relevant = findings.stream()
+                .filter(finding -> target.covers(finding.getLine()))
+                .toList();
+        String range = target.startLine() == null ? ""
+                : target.startLine().equals(target.endLine()) ? " line " + target.startLine()
+                : " lines " + target.startLine() + "-" + target.endLine();
+        if (relevant.isEmpty()) {
+            return String.format("- `%s`%s: no findings (%s)", target.path(), range, source);
+        }
+        StringBuilder line = new StringBuilder(String.format("- `%s`%s: %d finding%s (%s)", target.path(), range,
+                relevant.size(), relevant.size() == 1 ? "" : "s", source));
+        for (CreateReviewCommentRequest finding : relevant) {
+            String summary = finding.getBody() != null ? finding.getBody().lines().findFirst().orElse("") : "";
+            line.append(String.format("%n  - line %s: %s", finding.getLine(), summary));
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.pr.comment;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Compact open-addressing table of the bot's review comments on one file of a pull request.
+ *
+ * Keys are 64-bit anchor hashes (side, line); each slot stores the content hash
+ * of the comment body and the comment ID in parallel primitive arrays, so a PR with
+ * thousands of comments costs a few dozen bytes per comment and no boxing.
+ *
+ * Not thread-safe; callers synchronize on the table.
+ */
+class CommentFingerprintTable {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] anchors;
+    private long[] contentHashes;
+    private long[] commentIds;
+    private int size;
+
+    CommentFingerprintTable() {
+        this(16);
+    }
+
+    CommentFingerprintTable(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        anchors = new long[capacity];
+        contentHashes = new long[capacity];
+        commentIds = new long[capacity];
+    }
+
+    /**
+     * Checks whether a comment with the same anchor and content already exists.
+     */
+    boolean contains(long anchor, long contentHash) {
+        int slot = find(anchor);
+        return slot >= 0 && contentHashes[slot] == contentHash;
+    }
+
+    /**
+     * Gets the comment ID at an anchor, or -1 if there is none.
+     */
+    long commentIdAt(long anchor) {
+        int slot = find(anchor);
+        return slot >= 0 ? commentIds[slot] : -1;
+    }
+
+    /**
+     * Gets the content hash at an anchor, or 0 if there is none.
+     */
+    long contentHashAt(long anchor) {
+        int slot = find(anchor);
+        return slot >= 0 ? contentHashes[slot] : 0;
+    }
+
+    /**
+     * Inserts or replaces the comment at an anchor.
+     */
+    void put(long anchor, long contentHash, long commentId) {
+        anchor = normalize(anchor);
+        if (size + 1 > anchors.length * LOAD_FACTOR) {
+            resize();
+        }
+        int mask = anchors.length - 1;
+        int slot = (int) anchor & mask;
+        while (anchors[slot] != EMPTY && anchors[slot] != anchor) {
+            slot = (slot + 1) & mask;
+        }
+        if (anchors[slot] == EMPTY) {
+            size++;
+        }
+        anchors[slot] = anchor;
+        contentHashes[slot] = contentHash;
+        commentIds[slot] = commentId;
+    }
+
+    /**
+     * Visits every anchor in the table.
+     */
+    void forEachAnchor(LongConsumer consumer) {
+        for (long anchor : anchors) {
+            if (anchor != EMPTY) {
+                consumer.accept(anchor);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int find(long anchor) {
+        anchor = normalize(anchor);
+        int mask = anchors.length - 1;
+        int slot = (int) anchor & mask;
+        while (anchors[slot] != EMPTY) {
+            if (anchors[slot] == anchor) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void resize() {
+        long[] oldAnchors = anchors;
+        long[] oldContentHashes = contentHashes;
+        long[] oldCommentIds = commentIds;
+
+        anchors = new long[oldAnchors.length * 2];
+        contentHashes = new long[oldAnchors.length * 2];
+        commentIds = new long[oldAnchors.length * 2];
+        size = 0;
+
+        for (int i = 0; i < oldAnchors.length; i++) {
+            if (oldAnchors[i] != EMPTY) {
+                put(oldAnchors[i], oldContentHashes[i], oldCommentIds[i]);
+            }
+        }
+    }
+
+    // 0 marks an empty slot, so remap the (astronomically unlikely) zero hash
+    private static long normalize(long anchor) {
+        return anchor == EMPTY ? 1L : anchor;
+    }
+}
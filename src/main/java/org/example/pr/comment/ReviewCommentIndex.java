@@ -0,0 +1,182 @@
+package org.example.pr.comment;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.GitHubAppConfig;
+import org.example.model.github.ReviewComment;
+import org.example.service.GitHubService;
+import org.example.util.Hashing;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the bot's existing review comments per pull request.
+ *
+ * Loaded once per PR from the paginated review comments API and then kept up to date
+ * as the bot posts and edits comments, so re-reviews can tell which findings are
+ * already on the PR without listing comments again.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReviewCommentIndex {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_CACHED_PULL_REQUESTS = 1_000;
+
+    private final GitHubService githubService;
+    private final GitHubAppConfig config;
+
+    // LRU of per-PR comment tables, keyed by "owner/repo#number"
+    private final Map<String, PullRequestComments> cache = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PullRequestComments> eldest) {
+                    return size() > MAX_CACHED_PULL_REQUESTS;
+                }
+            });
+
+    /**
+     * Gets the bot's comments on a pull request, loading them on first access.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param pullNumber PR number
+     * @return Comment index of the PR
+     */
+    public PullRequestComments forPullRequest(String owner, String repo, int pullNumber) {
+        String key = owner + "/" + repo + "#" + pullNumber;
+        PullRequestComments comments = cache.get(key);
+        if (comments == null) {
+            comments = load(owner, repo, pullNumber);
+            cache.put(key, comments);
+        }
+        return comments;
+    }
+
+    /**
+     * Drops the cached comments of a pull request (e.g., when it is closed).
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param pullNumber PR number
+     */
+    public void evict(String owner, String repo, int pullNumber) {
+        cache.remove(owner + "/" + repo + "#" + pullNumber);
+    }
+
+    /**
+     * Computes the anchor hash of a comment position.
+     *
+     * @param side Diff side (LEFT or RIGHT, null means RIGHT)
+     * @param line Line number
+     * @return Anchor hash
+     */
+    public static long anchor(String side, int line) {
+        return Hashing.combine(Hashing.fnv1a64(side != null ? side : "RIGHT"), line);
+    }
+
+    /**
+     * Computes the content hash of a comment body.
+     *
+     * @param body Comment body
+     * @return Content hash
+     */
+    public static long contentHash(String body) {
+        return Hashing.mix(Hashing.fnv1a64(body));
+    }
+
+    private PullRequestComments load(String owner, String repo, int pullNumber) {
+        PullRequestComments comments = new PullRequestComments();
+        String botLogin = config.getBotLogin();
+        int page = 1;
+        int total = 0;
+
+        while (true) {
+            List<ReviewComment> batch = githubService.listReviewComments(owner, repo, pullNumber, PAGE_SIZE, page);
+            for (ReviewComment comment : batch) {
+                // Only index the bot's own top-level comments that are still anchored in the diff
+                if (comment.getUser() == null || !botLogin.equals(comment.getUser().getLogin())
+                        || comment.getInReplyToId() != null || comment.getLine() == null) {
+                    continue;
+                }
+                comments.record(comment.getPath(), anchor(comment.getSide(), comment.getLine()),
+                        contentHash(comment.getBody()), comment.getId());
+            }
+            total += batch.size();
+            if (batch.size() < PAGE_SIZE) {
+                break;
+            }
+            page++;
+        }
+
+        log.info("Indexed {} bot review comments out of {} on PR #{} in {}/{}",
+                comments.size(), total, pullNumber, owner, repo);
+        return comments;
+    }
+
+    /**
+     * The bot's review comments on one pull request, grouped by file path.
+     */
+    public static class PullRequestComments {
+
+        private final Map<String, CommentFingerprintTable> byPath = new HashMap<>();
+
+        /**
+         * Checks whether an identical comment already exists at the anchor.
+         */
+        public synchronized boolean contains(String path, long anchor, long contentHash) {
+            CommentFingerprintTable table = byPath.get(path);
+            return table != null && table.contains(anchor, contentHash);
+        }
+
+        /**
+         * Gets the comment ID at an anchor, or -1 if there is none.
+         */
+        public synchronized long commentIdAt(String path, long anchor) {
+            CommentFingerprintTable table = byPath.get(path);
+            return table != null ? table.commentIdAt(anchor) : -1;
+        }
+
+        /**
+         * Gets the content hash at an anchor, or 0 if there is none.
+         */
+        public synchronized long contentHashAt(String path, long anchor) {
+            CommentFingerprintTable table = byPath.get(path);
+            return table != null ? table.contentHashAt(anchor) : 0;
+        }
+
+        /**
+         * Records a comment posted or edited by the bot.
+         */
+        public synchronized void record(String path, long anchor, long contentHash, long commentId) {
+            byPath.computeIfAbsent(path, p -> new CommentFingerprintTable()).put(anchor, contentHash, commentId);
+        }
+
+        /**
+         * Gets the anchors of all comments on a file.
+         */
+        public synchronized long[] anchorsOf(String path) {
+            CommentFingerprintTable table = byPath.get(path);
+            if (table == null) {
+                return new long[0];
+            }
+            long[] anchors = new long[table.size()];
+            int[] next = {0};
+            table.forEachAnchor(anchor -> anchors[next[0]++] = anchor);
+            return anchors;
+        }
+
+        /**
+         * Gets the number of indexed comments.
+         */
+        public synchronized int size() {
+            return byPath.values().stream().mapToInt(CommentFingerprintTable::size).sum();
+        }
+    }
+}
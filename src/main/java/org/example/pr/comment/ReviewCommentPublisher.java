@@ -0,0 +1,201 @@
+package org.example.pr.comment;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.client.request.CreateReviewCommentRequest;
+import org.example.client.request.CreateReviewRequest;
+import org.example.config.WriteThrottleConfig;
+import org.example.model.github.ReviewComment;
+import org.example.service.GitHubService;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes findings as review comments without duplicating ones already on the PR.
+ *
+ * For each reviewed file:
+ * - findings identical to an existing bot comment are not posted again
+ * - findings at an anchor with a different existing bot comment update that comment
+ * - bot comments whose anchor no longer has a finding are marked as resolved
+ *
+ * The PR's comment limit only applies to new comments: findings over the limit are not
+ * posted, but their existing comments are kept and never marked as resolved.
+ *
+ * New comments are content-creating calls that GitHub rate-limits; from
+ * github.writes.coalesce-min-comments on, the new comments of one publish call go out as
+ * one review. A sharded review publishes all its files in one call.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReviewCommentPublisher {
+
+    static final String RESOLVED_BODY = "~~This finding no longer applies to the latest changes.~~";
+    private static final long RESOLVED_HASH = ReviewCommentIndex.contentHash(RESOLVED_BODY);
+
+    private final GitHubService githubService;
+    private final ReviewCommentIndex commentIndex;
+    private final WriteThrottleConfig writeConfig;
+
+    /**
+     * Publishes the findings of one file.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param pullNumber PR number
+     * @param path File path
+     * @param findings All findings for the file at the current head
+     * @param commentsLeft New comments the job may still post; shared by files reviewed in parallel
+     * @return IDs of the comments carrying the findings (posted, updated or pre-existing)
+     */
+    public List<Long> publish(String owner, String repo, int pullNumber, String path,
+                              List<CreateReviewCommentRequest> findings, AtomicInteger commentsLeft) {
+        return publish(owner, repo, pullNumber, Map.of(path, findings), commentsLeft).get(path);
+    }
+
+    /**
+     * Publishes the findings of several files; their new comments go out as one review.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param pullNumber PR number
+     * @param findingsByPath All findings per file at the current head, in posting order
+     * @param commentsLeft New comments the job may still post; shared by files reviewed in parallel
+     * @return IDs of the comments carrying the findings (posted, updated or pre-existing) per path
+     */
+    public Map<String, List<Long>> publish(String owner, String repo, int pullNumber,
+                                           Map<String, List<CreateReviewCommentRequest>> findingsByPath,
+                                           AtomicInteger commentsLeft) {
+        ReviewCommentIndex.PullRequestComments existing = commentIndex.forPullRequest(owner, repo, pullNumber);
+
+        Map<String, List<Long>> commentIds = new LinkedHashMap<>();
+        Map<String, Set<Long>> currentAnchors = new HashMap<>();
+        int posted = 0;
+        int updated = 0;
+        int unchanged = 0;
+        List<CreateReviewCommentRequest> fresh = new ArrayList<>();
+        List<String> freshPaths = new ArrayList<>();
+
+        for (Map.Entry<String, List<CreateReviewCommentRequest>> file : findingsByPath.entrySet()) {
+            String path = file.getKey();
+            List<Long> ids = new ArrayList<>(file.getValue().size());
+            Set<Long> anchors = new HashSet<>();
+            commentIds.put(path, ids);
+            currentAnchors.put(path, anchors);
+
+            for (CreateReviewCommentRequest finding : file.getValue()) {
+                long anchor = ReviewCommentIndex.anchor(finding.getSide(), finding.getLine());
+                long contentHash = ReviewCommentIndex.contentHash(finding.getBody());
+                anchors.add(anchor);
+
+                if (existing.contains(path, anchor, contentHash)) {
+                    ids.add(existing.commentIdAt(path, anchor));
+                    unchanged++;
+                    continue;
+                }
+
+                long existingId = existing.commentIdAt(path, anchor);
+                if (existingId >= 0) {
+                    githubService.updateReviewComment(owner, repo, existingId, finding.getBody());
+                    existing.record(path, anchor, contentHash, existingId);
+                    ids.add(existingId);
+                    updated++;
+                    continue;
+                }
+
+                fresh.add(finding);
+                freshPaths.add(path);
+            }
+        }
+
+        String files = findingsByPath.size() == 1
+                ? findingsByPath.keySet().iterator().next() : findingsByPath.size() + " files";
+
+        // Respect the repository's comment limit for new comments only
+        int wanted = fresh.size();
+        int allowed = Math.min(wanted, commentsLeft.getAndUpdate(left -> Math.max(0, left - wanted)));
+        if (allowed < wanted) {
+            log.info("Comment limit reached, not posting {} of {} new findings on {} in PR #{}",
+                    wanted - allowed, wanted, files, pullNumber);
+            fresh = fresh.subList(0, allowed);
+        }
+
+        if (!fresh.isEmpty() && fresh.size() >= writeConfig.getCoalesceMinComments()) {
+            posted = submitReview(owner, repo, pullNumber, fresh, existing, commentIds);
+        } else {
+            for (int i = 0; i < fresh.size(); i++) {
+                CreateReviewCommentRequest finding = fresh.get(i);
+                String path = freshPaths.get(i);
+                ReviewComment comment = githubService.createReviewComment(owner, repo, pullNumber, finding);
+                if (comment != null && comment.getId() != null) {
+                    existing.record(path, ReviewCommentIndex.anchor(finding.getSide(), finding.getLine()),
+                            ReviewCommentIndex.contentHash(finding.getBody()), comment.getId());
+                    commentIds.get(path).add(comment.getId());
+                }
+                posted++;
+            }
+        }
+
+        int resolved = 0;
+        for (Map.Entry<String, Set<Long>> file : currentAnchors.entrySet()) {
+            resolved += resolveOutdated(owner, repo, file.getKey(), existing, file.getValue());
+        }
+
+        log.info("Published findings for {} in PR #{}: {} posted, {} updated, {} unchanged, {} resolved",
+                files, pullNumber, posted, updated, unchanged, resolved);
+        return commentIds;
+    }
+
+    /**
+     * Posts new comments, possibly on several files, as a single review.
+     */
+    private int submitReview(String owner, String repo, int pullNumber, List<CreateReviewCommentRequest> fresh,
+                             ReviewCommentIndex.PullRequestComments existing, Map<String, List<Long>> commentIds) {
+        CreateReviewRequest review = new CreateReviewRequest(fresh.get(0).getCommitId(), "COMMENT",
+                fresh.stream().map(CreateReviewRequest.DraftComment::of).toList());
+        List<ReviewComment> comments;
+        try {
+            comments = githubService.createReview(owner, repo, pullNumber, review);
+        } catch (RuntimeException e) {
+            // The review may have been posted; reload the PR's comments before the next attempt
+            commentIndex.evict(owner, repo, pullNumber);
+            throw e;
+        }
+        for (ReviewComment comment : comments) {
+            List<Long> ids = comment.getPath() != null ? commentIds.get(comment.getPath()) : null;
+            if (comment.getId() == null || comment.getLine() == null || ids == null) {
+                continue;
+            }
+            existing.record(comment.getPath(), ReviewCommentIndex.anchor(comment.getSide(), comment.getLine()),
+                    ReviewCommentIndex.contentHash(comment.getBody()), comment.getId());
+            ids.add(comment.getId());
+        }
+        return fresh.size();
+    }
+
+    /**
+     * Marks bot comments on the file whose finding disappeared as resolved.
+     */
+    private int resolveOutdated(String owner, String repo, String path,
+                                ReviewCommentIndex.PullRequestComments existing, Set<Long> currentAnchors) {
+        int resolved = 0;
+        for (long anchor : existing.anchorsOf(path)) {
+            if (currentAnchors.contains(anchor) || existing.contentHashAt(path, anchor) == RESOLVED_HASH) {
+                continue;
+            }
+            long commentId = existing.commentIdAt(path, anchor);
+            githubService.updateReviewComment(owner, repo, commentId, RESOLVED_BODY);
+            existing.record(path, anchor, RESOLVED_HASH, commentId);
+            resolved++;
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.pr.filter;
+
+/**
+ * Outcome of evaluating the filter rules against a pull request or file.
+ *
+ * @param accepted Whether the PR or file should be processed
+ * @param rule Rule that rejected it, or null if accepted
+ * @param reason Human-readable rejection reason, or null if accepted
+ */
+public record FilterDecision(boolean accepted, FilterRule rule, String reason) {
+
+    private static final FilterDecision ACCEPT = new FilterDecision(true, null, null);
+
+    /**
+     * Gets the shared accepting decision.
+     *
+     * @return Accepting decision
+     */
+    public static FilterDecision accept() {
+        return ACCEPT;
+    }
+
+    /**
+     * Creates a rejecting decision.
+     *
+     * @param rule Rule that rejected
+     * @param reason Rejection reason
+     * @return Rejecting decision
+     */
+    public static FilterDecision reject(FilterRule rule, String reason) {
+        return new FilterDecision(false, rule, reason);
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.pr.filter;
+
+/**
+ * Filter rules, in evaluation order. Each rule has its own hit counter.
+ */
+public enum FilterRule {
+
+    // Pull request rules
+    FORK("fork"),
+    DRAFT("draft"),
+    ALREADY_REVIEWED("already-reviewed"),
+    IGNORED_AUTHOR("ignored-author"),
+    IGNORED_LABEL("ignored-label"),
+    BASE_BRANCH("base-branch"),
+    BOT_AUTHOR("bot-author"),
+
+    // File rules
+    FILE_STATUS("file-status"),
+    IGNORED_PATH("ignored-path"),
+    CHANGED_LINES("changed-lines"),
+    PATCH_SIZE("patch-size");
+
+    private final String id;
+
+    FilterRule(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the rule ID used in metrics and logs.
+     *
+     * @return Rule ID
+     */
+    public String getId() {
+        return id;
+    }
+}
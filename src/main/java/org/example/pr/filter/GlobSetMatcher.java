@@ -0,0 +1,330 @@
+package org.example.pr.filter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matches a path against many glob patterns in a single pass.
+ *
+ * All patterns are compiled into one NFA, which is turned into a DFA eagerly at
+ * construction time. Characters are first mapped to equivalence classes (each literal
+ * used by some pattern, '/', and "anything else"), so the DFA tables stay small.
+ * Matching is one table lookup per character, allocation-free and thread-safe.
+ *
+ * Supported syntax (gitignore-like):
+ * - {@code *} any run of characters except '/'
+ * - {@code ?} a single character except '/'
+ * - {@code **}{@code /} zero or more directories; a trailing {@code **} matches everything
+ * - patterns without '/' match the file name in any directory
+ * - a leading '/' anchors the pattern at the repository root
+ */
+public final class GlobSetMatcher {
+
+    private static final int MAX_DFA_STATES = 20_000;
+    private static final int ASCII = 128;
+
+    // NFA transition kinds
+    private static final int ON_CHAR = 0;
+    private static final int ON_NOT_SLASH = 1;
+    private static final int ON_ANY = 2;
+
+    private final String[] patterns;
+    private final int[] asciiClasses = new int[ASCII];
+    private final Map<Character, Integer> otherClasses = new HashMap<>();
+    private final int otherClass;
+    private final int classCount;
+
+    // DFA: transitions[state * classCount + class] -> next state (-1 = dead)
+    private final int[] transitions;
+    // First pattern accepted in each DFA state, or -1
+    private final int[] acceptingPattern;
+
+    /**
+     * Compiles a set of glob patterns.
+     *
+     * @param patterns Glob patterns; the index of the first matching pattern is reported
+     */
+    public GlobSetMatcher(List<String> patterns) {
+        this.patterns = patterns.toArray(new String[0]);
+
+        Nfa nfa = new Nfa();
+        List<Integer> starts = new ArrayList<>();
+        for (int i = 0; i < this.patterns.length; i++) {
+            starts.add(nfa.addPattern(normalize(this.patterns[i]), i));
+        }
+
+        // Character classes: '/' is class 0, each literal gets its own, then "other"
+        Arrays.fill(asciiClasses, -1);
+        int classes = 0;
+        asciiClasses['/'] = classes++;
+        for (char c : nfa.literals) {
+            if (c < ASCII) {
+                if (asciiClasses[c] < 0) {
+                    asciiClasses[c] = classes++;
+                }
+            } else if (!otherClasses.containsKey(c)) {
+                otherClasses.put(c, classes++);
+            }
+        }
+        otherClass = classes++;
+        for (int c = 0; c < ASCII; c++) {
+            if (asciiClasses[c] < 0) {
+                asciiClasses[c] = otherClass;
+            }
+        }
+        classCount = classes;
+
+        Dfa dfa = buildDfa(nfa, starts);
+        transitions = dfa.transitions;
+        acceptingPattern = dfa.accepting;
+    }
+
+    /**
+     * Finds the first pattern matching a path.
+     *
+     * @param path Slash-separated path
+     * @return Index of the first matching pattern, or -1
+     */
+    public int match(String path) {
+        if (patterns.length == 0) {
+            return -1;
+        }
+        int state = 0;
+        for (int i = 0; i < path.length() && state >= 0; i++) {
+            state = transitions[state * classCount + classOf(path.charAt(i))];
+        }
+        return state >= 0 ? acceptingPattern[state] : -1;
+    }
+
+    /**
+     * Gets a compiled pattern.
+     *
+     * @param index Pattern index
+     * @return Pattern as configured
+     */
+    public String pattern(int index) {
+        return patterns[index];
+    }
+
+    /**
+     * Gets the number of DFA states, for diagnostics.
+     *
+     * @return DFA state count
+     */
+    public int stateCount() {
+        return acceptingPattern.length;
+    }
+
+    private int classOf(char c) {
+        if (c < ASCII) {
+            return asciiClasses[c];
+        }
+        Integer cls = otherClasses.get(c);
+        return cls != null ? cls : otherClass;
+    }
+
+    private static String normalize(String pattern) {
+        // A leading '/' anchors the pattern at the repository root
+        boolean anchored = pattern.startsWith("/");
+        String normalized = anchored ? pattern.substring(1) : pattern;
+        if (normalized.endsWith("/")) {
+            normalized = normalized + "**";
+        }
+        if (!anchored && !normalized.contains("/")) {
+            normalized = "**/" + normalized;
+        }
+        return normalized;
+    }
+
+    /**
+     * Subset construction over character classes.
+     */
+    private Dfa buildDfa(Nfa nfa, List<Integer> starts) {
+        Map<BitSet, Integer> stateIds = new HashMap<>();
+        List<BitSet> states = new ArrayList<>();
+        Deque<Integer> work = new ArrayDeque<>();
+
+        BitSet start = new BitSet();
+        starts.forEach(start::set);
+        nfa.closure(start);
+        stateIds.put(start, 0);
+        states.add(start);
+        work.add(0);
+
+        List<int[]> rows = new ArrayList<>();
+        while (!work.isEmpty()) {
+            int id = work.poll();
+            BitSet current = states.get(id);
+            int[] row = new int[classCount];
+
+            for (int cls = 0; cls < classCount; cls++) {
+                BitSet next = nfa.step(current, cls == 0 ? '/' : representative(cls), cls == otherClass);
+                if (next.isEmpty()) {
+                    row[cls] = -1;
+                    continue;
+                }
+                Integer nextId = stateIds.get(next);
+                if (nextId == null) {
+                    nextId = states.size();
+                    if (nextId >= MAX_DFA_STATES) {
+                        throw new IllegalArgumentException("Glob patterns too complex: more than "
+                                + MAX_DFA_STATES + " automaton states");
+                    }
+                    stateIds.put(next, nextId);
+                    states.add(next);
+                    work.add(nextId);
+                }
+                row[cls] = nextId;
+            }
+            while (rows.size() <= id) {
+                rows.add(null);
+            }
+            rows.set(id, row);
+        }
+
+        int[] table = new int[states.size() * classCount];
+        int[] accepting = new int[states.size()];
+        for (int id = 0; id < states.size(); id++) {
+            System.arraycopy(rows.get(id), 0, table, id * classCount, classCount);
+            accepting[id] = nfa.firstAccepting(states.get(id));
+        }
+        return new Dfa(table, accepting);
+    }
+
+    private char representative(int cls) {
+        for (char c = 0; c < ASCII; c++) {
+            if (asciiClasses[c] == cls) {
+                return c;
+            }
+        }
+        for (Map.Entry<Character, Integer> entry : otherClasses.entrySet()) {
+            if (entry.getValue() == cls) {
+                return entry.getKey();
+            }
+        }
+        return 0;
+    }
+
+    private record Dfa(int[] transitions, int[] accepting) {
+    }
+
+    /**
+     * Thompson-style NFA shared by all patterns.
+     */
+    private static final class Nfa {
+
+        private final List<int[]> edges = new ArrayList<>();      // {kind, char, target}
+        private final List<Integer> edgeOwner = new ArrayList<>();
+        private final List<List<Integer>> epsilons = new ArrayList<>();
+        private final List<Integer> acceptPattern = new ArrayList<>();
+        private final List<Character> literals = new ArrayList<>();
+
+        int newState() {
+            epsilons.add(new ArrayList<>());
+            acceptPattern.add(-1);
+            return epsilons.size() - 1;
+        }
+
+        void edge(int from, int kind, char c, int to) {
+            edges.add(new int[]{kind, c, to});
+            edgeOwner.add(from);
+        }
+
+        int addPattern(String glob, int patternIndex) {
+            int start = newState();
+            int current = start;
+            int i = 0;
+            while (i < glob.length()) {
+                char c = glob.charAt(i);
+                if (c == '*' && i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                    boolean directories = i + 2 < glob.length() && glob.charAt(i + 2) == '/';
+                    int next = newState();
+                    if (directories) {
+                        // ([^/]*/)* : loop through whole directory segments
+                        int inSegment = newState();
+                        epsilons.get(current).add(next);
+                        edge(current, ON_NOT_SLASH, '\0', inSegment);
+                        edge(current, ON_CHAR, '/', current);
+                        edge(inSegment, ON_NOT_SLASH, '\0', inSegment);
+                        edge(inSegment, ON_CHAR, '/', current);
+                        i += 3;
+                    } else {
+                        epsilons.get(current).add(next);
+                        edge(current, ON_ANY, '\0', current);
+                        i += 2;
+                    }
+                    current = next;
+                } else if (c == '*') {
+                    int next = newState();
+                    epsilons.get(current).add(next);
+                    edge(current, ON_NOT_SLASH, '\0', current);
+                    current = next;
+                    i++;
+                } else if (c == '?') {
+                    int next = newState();
+                    edge(current, ON_NOT_SLASH, '\0', next);
+                    current = next;
+                    i++;
+                } else {
+                    int next = newState();
+                    edge(current, ON_CHAR, c, next);
+                    literals.add(c);
+                    current = next;
+                    i++;
+                }
+            }
+            acceptPattern.set(current, patternIndex);
+            return start;
+        }
+
+        void closure(BitSet states) {
+            Deque<Integer> work = new ArrayDeque<>();
+            states.stream().forEach(work::add);
+            while (!work.isEmpty()) {
+                for (int target : epsilons.get(work.poll())) {
+                    if (!states.get(target)) {
+                        states.set(target);
+                        work.add(target);
+                    }
+                }
+            }
+        }
+
+        BitSet step(BitSet from, char c, boolean otherClass) {
+            BitSet next = new BitSet();
+            for (int e = 0; e < edges.size(); e++) {
+                if (!from.get(edgeOwner.get(e))) {
+                    continue;
+                }
+                int[] edge = edges.get(e);
+                boolean matches = switch (edge[0]) {
+                    case ON_CHAR -> !otherClass && edge[1] == c;
+                    case ON_NOT_SLASH -> c != '/';
+                    default -> true;
+                };
+                if (matches) {
+                    next.set(edge[2]);
+                }
+            }
+            closure(next);
+            return next;
+        }
+
+        int firstAccepting(BitSet states) {
+            int first = -1;
+            for (int s = states.nextSetBit(0); s >= 0; s = states.nextSetBit(s + 1)) {
+                int pattern = acceptPattern.get(s);
+                if (pattern >= 0 && (first < 0 || pattern < first)) {
+                    first = pattern;
+                }
+            }
+            return first;
+        }
+    }
+}
@@ -1,118 +1,258 @@
 package org.example.pr.filter;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.example.config.FileLimitsConfig;
+import org.example.config.FilterRulesConfig;
 import org.example.config.GitHubAppConfig;
+import org.example.config.PullRequestStateConfig;
+import org.example.model.github.ChangedFiles;
 import org.example.model.github.PullRequestFile;
+import org.example.model.webhook.Label;
+import org.example.model.webhook.PullRequest;
 import org.example.model.webhook.WebhookPayload;
+import org.example.pr.state.PullRequestState;
+import org.example.pr.state.PullRequestStateCache;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Centralized filtering logic for pull requests and files.
- * 
+ *
+ * Rules come from {@link FilterRulesConfig} and {@link FileLimitsConfig} and are compiled
+ * once at startup: author, label and branch lists become hash sets, and all path globs and
+ * excluded suffixes are merged into a single {@link GlobSetMatcher} automaton. Each
+ * evaluation is a single pass that returns the decision and its reason together.
+ *
+ * Head state that the payload alone does not tell (the last commit author, the last
+ * reviewed head) comes from {@link PullRequestStateCache}; rules that may need a GitHub
+ * call run last.
+ *
  * SOLID Principles Applied:
  * - Single Responsibility: Only responsible for filtering decisions
  * - Open/Closed: Can extend filtering rules without breaking existing code
  * - Interface Segregation: Provides focused methods for different filtering needs
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class PullRequestFilters {
 
-    private final GitHubAppConfig config;
+    private final FileLimitsConfig fileLimits;
+    private final PullRequestStateCache stateCache;
+    private final boolean skipReviewedHeads;
+    private final String botLogin;
+    private final Set<String> ignoredAuthors;
+    private final Set<String> ignoredLabels;
+    private final Set<String> baseBranches;
+    private final GlobSetMatcher ignoredPaths;
+    private final String[] ignoredPathReasons;
+    private final Counter[] ruleHits;
+
+    public PullRequestFilters(GitHubAppConfig config, FileLimitsConfig fileLimits, FilterRulesConfig rules,
+                              PullRequestStateCache stateCache, PullRequestStateConfig stateConfig,
+                              MeterRegistry meterRegistry) {
+        this.fileLimits = fileLimits;
+        this.stateCache = stateCache;
+        this.skipReviewedHeads = stateConfig.isSkipReviewedHeads();
+        this.botLogin = config.getBotLogin();
+        this.ignoredAuthors = Set.copyOf(rules.getIgnoreAuthors());
+        this.ignoredLabels = Set.copyOf(rules.getIgnoreLabels());
+        this.baseBranches = Set.copyOf(rules.getBaseBranches());
+
+        // Merge path globs and excluded suffixes into one automaton
+        List<String> patterns = new ArrayList<>(rules.getIgnorePaths());
+        List<String> reasons = new ArrayList<>();
+        rules.getIgnorePaths().forEach(glob -> reasons.add("ignored path " + glob));
+        for (String suffix : fileLimits.getSkipSuffixes()) {
+            patterns.add("*" + suffix);
+            reasons.add("excluded suffix " + suffix);
+        }
+        this.ignoredPaths = new GlobSetMatcher(patterns);
+        this.ignoredPathReasons = reasons.toArray(new String[0]);
+
+        this.ruleHits = new Counter[FilterRule.values().length];
+        for (FilterRule rule : FilterRule.values()) {
+            ruleHits[rule.ordinal()] = Counter.builder("review.filter.hits")
+                    .description("PRs and files rejected by each filter rule")
+                    .tag("rule", rule.getId())
+                    .register(meterRegistry);
+        }
+
+        log.info("Compiled {} path rules into {} automaton states", patterns.size(), ignoredPaths.stateCount());
+    }
 
     /**
-     * Determines if a pull request should be processed.
-     * 
+     * Evaluates the pull request rules in a single pass.
+     *
      * Filters out:
      * - PRs from forks (GitHub security restriction)
      * - Draft PRs
-     * - PRs where the bot is the last commit author (prevents infinite loops)
+     * - PRs whose head was already reviewed
+     * - PRs by ignored authors, carrying ignored labels or targeting other base branches
+     * - PRs opened by the bot or whose last commit is by the bot (prevents infinite loops)
      *
      * @param payload Webhook payload
-     * @return true if PR should be processed
+     * @return Decision with the rejecting rule and reason, if any
      */
-    public boolean shouldProcessPullRequest(WebhookPayload payload) {
-        // Filter 1: Ignore PRs from forks
-        if (isPullRequestFromFork(payload)) {
-            log.info("Ignoring PR #{} from fork: {}", 
-                    payload.getPullRequest().getNumber(),
-                    payload.getPullRequest().getHead().getRepository().getFullName());
-            return false;
+    public FilterDecision evaluatePullRequest(WebhookPayload payload) {
+        PullRequest pr = payload.getPullRequest();
+        String owner = payload.getRepository().getOwner().getLogin();
+        String repo = payload.getRepository().getName();
+        PullRequestState state = stateCache.update(owner, repo, pr);
+
+        if (state.fork()) {
+            return reject(FilterRule.FORK, "PR is from a fork");
+        }
+
+        if (state.draft()) {
+            return reject(FilterRule.DRAFT, "PR is a draft");
         }
 
-        // Filter 2: Ignore draft PRs
-        if (Boolean.TRUE.equals(payload.getPullRequest().getDraft())) {
-            log.info("Ignoring draft PR #{}", payload.getPullRequest().getNumber());
-            return false;
+        if (skipReviewedHeads && state.isReviewed()) {
+            return reject(FilterRule.ALREADY_REVIEWED, "Head " + state.headSha() + " was already reviewed");
         }
 
-        // Filter 3: Prevent infinite loops - ignore PRs where bot is the last commit author
-        if (isBotTheAuthor(payload)) {
-            log.info("Ignoring PR #{} - last commit by bot (preventing infinite loop)", 
-                    payload.getPullRequest().getNumber());
-            return false;
+        String author = pr.getUser() != null ? pr.getUser().getLogin() : null;
+        if (author != null && ignoredAuthors.contains(author)) {
+            return reject(FilterRule.IGNORED_AUTHOR, "PR author " + author + " is ignored");
         }
 
-        return true;
+        if (!ignoredLabels.isEmpty() && pr.getLabels() != null) {
+            for (Label label : pr.getLabels()) {
+                if (ignoredLabels.contains(label.getName())) {
+                    return reject(FilterRule.IGNORED_LABEL, "PR has label " + label.getName());
+                }
+            }
+        }
+
+        if (!baseBranches.isEmpty()) {
+            String base = pr.getBase() != null ? pr.getBase().getRef() : null;
+            if (!baseBranches.contains(base)) {
+                return reject(FilterRule.BASE_BRANCH, "Base branch " + base + " is not reviewed");
+            }
+        }
+
+        if (botLogin.equals(author)) {
+            return reject(FilterRule.BOT_AUTHOR, "PR opened by bot - preventing infinite loop");
+        }
+
+        // Usually known from a push or the app's own commit; fetched once per head otherwise
+        if (botLogin.equals(stateCache.getHeadAuthor(owner, repo, pr.getNumber()))) {
+            return reject(FilterRule.BOT_AUTHOR, "Last commit by bot - preventing infinite loop");
+        }
+
+        return FilterDecision.accept();
     }
 
     /**
-     * Determines if a file should be processed.
-     * Only processes files with status "added" or "modified".
+     * Determines if a pull request should be processed.
+     *
+     * @param payload Webhook payload
+     * @return true if PR should be processed
+     */
+    public boolean shouldProcessPullRequest(WebhookPayload payload) {
+        return evaluatePullRequest(payload).accepted();
+    }
+
+    /**
+     * Evaluates the file rules in a single pass.
+     * Only files with status "added" or "modified" that match no ignored path
+     * and stay within the configured size limits are accepted.
      *
      * @param file Pull request file
-     * @return true if file should be processed
+     * @return Decision with the rejecting rule and reason, if any
      */
-    public boolean shouldProcessFile(PullRequestFile file) {
-        String status = file.getStatus();
-        boolean shouldProcess = "added".equals(status) || "modified".equals(status);
-        
-        if (!shouldProcess) {
-            log.debug("Skipping file {} with status: {}", file.getFilename(), status);
-        }
-        
-        return shouldProcess;
+    public FilterDecision evaluateFile(PullRequestFile file) {
+        return evaluateFile(file.getStatus(), file.getFilename(), file.getChanges(),
+                file.getPatch() != null ? file.getPatch().length() : -1);
     }
 
     /**
-     * Gets the reason why a PR was filtered out.
+     * Evaluates a file of a columnar file set without creating its bean.
      *
-     * @param payload Webhook payload
-     * @return Reason for filtering, or null if should be processed
+     * @param files Changed files
+     * @param index File index
+     * @return Decision with the rule that rejected the file, if any
      */
-    public String getFilterReason(WebhookPayload payload) {
-        if (isPullRequestFromFork(payload)) {
-            return "PR is from a fork";
+    public FilterDecision evaluateFile(ChangedFiles files, int index) {
+        return evaluateFile(files.status(index).getName(), files.path(index), files.changes(index),
+                files.patchLength(index));
+    }
+
+    private FilterDecision evaluateFile(String status, String filename, Integer changes, int patchLength) {
+        if (!"added".equals(status) && !"modified".equals(status)) {
+            return reject(FilterRule.FILE_STATUS, "status " + status);
+        }
+
+        if (filename != null) {
+            int pattern = ignoredPaths.match(filename);
+            if (pattern >= 0) {
+                return reject(FilterRule.IGNORED_PATH, ignoredPathReasons[pattern]);
+            }
         }
 
-        if (Boolean.TRUE.equals(payload.getPullRequest().getDraft())) {
-            return "PR is a draft";
+        if (changes != null && changes > fileLimits.getMaxChangedLines()) {
+            return reject(FilterRule.CHANGED_LINES,
+                    changes + " changed lines exceeds limit of " + fileLimits.getMaxChangedLines());
         }
 
-        if (isBotTheAuthor(payload)) {
-            return "Last commit by bot - preventing infinite loop";
+        if (patchLength > fileLimits.getMaxPatchBytes()) {
+            return reject(FilterRule.PATCH_SIZE, "patch exceeds " + fileLimits.getMaxPatchBytes() + " bytes");
         }
 
-        return null;
+        return FilterDecision.accept();
     }
 
     /**
-     * Checks if the pull request is from a fork.
+     * Determines if a file should be processed.
+     *
+     * @param file Pull request file
+     * @return true if file should be processed
      */
-    private boolean isPullRequestFromFork(WebhookPayload payload) {
-        return payload.getPullRequest().getHead().getRepository() != null &&
-               Boolean.TRUE.equals(payload.getPullRequest().getHead().getRepository().getFork());
+    public boolean shouldProcessFile(PullRequestFile file) {
+        FilterDecision decision = evaluateFile(file);
+        if (!decision.accepted()) {
+            log.debug("Skipping file {}: {}", file.getFilename(), decision.reason());
+        }
+        return decision.accepted();
     }
 
     /**
-     * Checks if the bot is the author of the PR.
+     * Determines if a file of a columnar file set should be processed.
+     *
+     * @param files Changed files
+     * @param index File index
+     * @return true if file should be processed
      */
-    private boolean isBotTheAuthor(WebhookPayload payload) {
-        String lastCommitAuthor = payload.getPullRequest().getUser().getLogin();
-        String botName = config.getBotName() + "[bot]";
-        return botName.equals(lastCommitAuthor);
+    public boolean shouldProcessFile(ChangedFiles files, int index) {
+        FilterDecision decision = evaluateFile(files, index);
+        if (!decision.accepted()) {
+            log.debug("Skipping file {}: {}", files.path(index), decision.reason());
+        }
+        return decision.accepted();
+    }
+
+    /**
+     * Gets the number of rejections per rule since startup.
+     *
+     * @return Hit counts keyed by rule ID
+     */
+    public Map<String, Long> getRuleHits() {
+        Map<String, Long> hits = new LinkedHashMap<>();
+        for (FilterRule rule : FilterRule.values()) {
+            hits.put(rule.getId(), (long) ruleHits[rule.ordinal()].count());
+        }
+        return hits;
     }
-}
 
+    private FilterDecision reject(FilterRule rule, String reason) {
+        ruleHits[rule.ordinal()].increment();
+        return FilterDecision.reject(rule, reason);
+    }
+}
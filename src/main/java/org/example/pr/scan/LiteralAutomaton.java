@@ -0,0 +1,216 @@
+package org.example.pr.scan;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds all occurrences of many literals in a single pass (Aho-Corasick).
+ *
+ * The keyword trie and its failure links are flattened into a dense DFA over character
+ * classes at construction time, so scanning is one table lookup per character with no
+ * failure-link walking. Matching is ASCII case-insensitive: literals and input are folded
+ * to lower case, and callers verify exact case where a rule requires it.
+ *
+ * Immutable and thread-safe after construction.
+ */
+final class LiteralAutomaton {
+
+    private static final int ASCII = 128;
+    private static final int[] NO_OUTPUT = new int[0];
+
+    private final int[] lengths;
+    private final int[] asciiClasses = new int[ASCII];
+    private final Map<Character, Integer> otherClasses = new HashMap<>();
+    private final int otherClass;
+    private final int classCount;
+
+    // transitions[state * classCount + class] -> next state; state 0 is the root
+    private final int[] transitions;
+    // Literals ending in each state, including those reached through failure links
+    private final int[][] outputs;
+
+    /**
+     * Receives each literal occurrence.
+     */
+    @FunctionalInterface
+    interface HitConsumer {
+
+        /**
+         * @param literal Index of the literal
+         * @param end Index one past the last matched character
+         */
+        void hit(int literal, int end);
+    }
+
+    /**
+     * Compiles a set of literals.
+     *
+     * @param literals Non-empty literals; hits report their index in this list
+     */
+    LiteralAutomaton(List<String> literals) {
+        this.lengths = new int[literals.size()];
+
+        // Character classes: one per distinct folded character, then "other"
+        Arrays.fill(asciiClasses, -1);
+        int classes = 0;
+        for (String literal : literals) {
+            for (int i = 0; i < literal.length(); i++) {
+                char c = fold(literal.charAt(i));
+                if (c < ASCII) {
+                    if (asciiClasses[c] < 0) {
+                        asciiClasses[c] = classes++;
+                    }
+                } else if (!otherClasses.containsKey(c)) {
+                    otherClasses.put(c, classes++);
+                }
+            }
+        }
+        otherClass = classes++;
+        for (int c = 0; c < ASCII; c++) {
+            if (asciiClasses[c] < 0) {
+                asciiClasses[c] = otherClass;
+            }
+        }
+        // Upper-case ASCII letters share the class of their lower-case form
+        for (char c = 'A'; c <= 'Z'; c++) {
+            asciiClasses[c] = asciiClasses[fold(c)];
+        }
+        classCount = classes;
+
+        // Keyword trie
+        List<int[]> children = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        children.add(newRow());
+        ends.add(new ArrayList<>());
+        for (int i = 0; i < literals.size(); i++) {
+            String literal = literals.get(i);
+            if (literal.isEmpty()) {
+                throw new IllegalArgumentException("Empty literal at index " + i);
+            }
+            lengths[i] = literal.length();
+            int state = 0;
+            for (int j = 0; j < literal.length(); j++) {
+                int cls = classOf(literal.charAt(j));
+                int next = children.get(state)[cls];
+                if (next < 0) {
+                    next = children.size();
+                    children.add(newRow());
+                    ends.add(new ArrayList<>());
+                    children.get(state)[cls] = next;
+                }
+                state = next;
+            }
+            ends.get(state).add(i);
+        }
+
+        // Breadth-first: resolve failure links into full transitions and merge outputs
+        int states = children.size();
+        transitions = new int[states * classCount];
+        outputs = new int[states][];
+        int[] fail = new int[states];
+        Deque<Integer> queue = new ArrayDeque<>();
+
+        outputs[0] = toArray(ends.get(0), NO_OUTPUT);
+        int[] root = children.get(0);
+        for (int cls = 0; cls < classCount; cls++) {
+            int child = root[cls];
+            if (child < 0) {
+                transitions[cls] = 0;
+            } else {
+                transitions[cls] = child;
+                fail[child] = 0;
+                queue.add(child);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] = toArray(ends.get(state), outputs[fail[state]]);
+            int[] row = children.get(state);
+            for (int cls = 0; cls < classCount; cls++) {
+                int child = row[cls];
+                int viaFail = transitions[fail[state] * classCount + cls];
+                if (child < 0) {
+                    transitions[state * classCount + cls] = viaFail;
+                } else {
+                    transitions[state * classCount + cls] = child;
+                    fail[child] = viaFail;
+                    queue.add(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reports every literal occurring in a text.
+     *
+     * @param text Text to scan
+     * @param consumer Receives each occurrence in order of its end position
+     */
+    void scan(CharSequence text, HitConsumer consumer) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * classCount + classOf(text.charAt(i))];
+            int[] out = outputs[state];
+            for (int literal : out) {
+                consumer.hit(literal, i + 1);
+            }
+        }
+    }
+
+    /**
+     * Gets the length of a literal.
+     *
+     * @param literal Literal index
+     * @return Length in characters
+     */
+    int length(int literal) {
+        return lengths[literal];
+    }
+
+    /**
+     * Gets the number of automaton states, for diagnostics.
+     *
+     * @return State count
+     */
+    int stateCount() {
+        return outputs.length;
+    }
+
+    private int classOf(char c) {
+        if (c < ASCII) {
+            return asciiClasses[c];
+        }
+        Integer cls = otherClasses.get(fold(c));
+        return cls != null ? cls : otherClass;
+    }
+
+    private int[] newRow() {
+        int[] row = new int[classCount];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static int[] toArray(List<Integer> own, int[] inherited) {
+        if (own.isEmpty()) {
+            return inherited;
+        }
+        int[] merged = Arrays.copyOf(inherited, inherited.length + own.size());
+        for (int i = 0; i < own.size(); i++) {
+            merged[inherited.length + i] = own.get(i);
+        }
+        return merged;
+    }
+
+    private static char fold(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return (char) (c + ('a' - 'A'));
+        }
+        return c;
+    }
+}
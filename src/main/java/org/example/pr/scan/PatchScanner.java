@@ -0,0 +1,277 @@
+package org.example.pr.scan;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.client.request.CreateReviewCommentRequest;
+import org.example.config.ScanRulesConfig;
+import org.example.content.SpooledContent;
+import org.example.model.review.RepositoryConfig;
+import org.example.pr.analyzer.AnalysisContext;
+import org.example.pr.analyzer.Analyzer;
+import org.example.pr.analyzer.Workload;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scans the added lines of a patch with all pattern rules in a single pass.
+ *
+ * Rules are loaded from {@link ScanRulesConfig#getRules()} and compiled once into a
+ * {@link RuleSet}. Hunk headers are followed to assign each added line its line number
+ * in the new file, so findings are anchored on the RIGHT side of the diff. All rules
+ * matched on one line are reported in a single comment.
+ *
+ * Runs as the CPU-bound "patterns" analyzer on every file with a patch. Its findings depend
+ * on the rules, the enabled checks and the patch, whose digest forms its cache fingerprint.
+ *
+ * Throughput is exposed as the review.scan.bytes counter and review.scan.duration timer.
+ */
+@Component
+@Slf4j
+public class PatchScanner implements Analyzer {
+
+    private static final String RIGHT = "RIGHT";
+
+    private final ScanRulesConfig config;
+    private final RuleSet ruleSet;
+    private final byte[] rulesDigest;
+    private final Counter scannedBytes;
+    private final Timer scanTimer;
+
+    public PatchScanner(ScanRulesConfig config, ResourceLoader resourceLoader, ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry) {
+        this.config = config;
+        List<ScanRule> rules = loadRules(resourceLoader.getResource(config.getRules()), objectMapper);
+        this.ruleSet = new RuleSet(rules);
+        this.rulesDigest = digest(rules);
+        this.scannedBytes = Counter.builder("review.scan.bytes")
+                .description("Characters of added diff lines scanned by pattern rules")
+                .register(meterRegistry);
+        this.scanTimer = Timer.builder("review.scan.duration")
+                .description("Time spent scanning patches with pattern rules")
+                .register(meterRegistry);
+
+        log.info("Compiled {} scan rules into {} automaton states", ruleSet.size(), ruleSet.stateCount());
+        if (!ruleSet.unanchoredRules().isEmpty()) {
+            log.warn("Scan rules without anchor run on every line: {}", ruleSet.unanchoredRules());
+        }
+    }
+
+    @Override
+    public String id() {
+        return "patterns";
+    }
+
+    @Override
+    public Workload workload() {
+        return Workload.CPU_BOUND;
+    }
+
+    @Override
+    public String fingerprint(AnalysisContext context) {
+        MessageDigest digest = sha256();
+        digest.update(rulesDigest);
+        // Only enabled rules report findings
+        for (int i = 0; i < ruleSet.size(); i++) {
+            digest.update((byte) (context.repoConfig().isCheckEnabled(ruleSet.rule(i).check()) ? 1 : 0));
+        }
+        digest.update(ByteBuffer.allocate(Integer.BYTES + 1)
+                .putInt(config.getMaxFindingsPerFile())
+                .put((byte) (config.isEnabled() ? 1 : 0))
+                .flip());
+        if (context.patch() != null) {
+            digest.update(context.patch().buffer());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    @Override
+    public List<CreateReviewCommentRequest> analyze(AnalysisContext context) {
+        if (context.patch() == null) {
+            return List.of();
+        }
+        return scan(context.path(), context.patch(), context.headSha(), context.repoConfig());
+    }
+
+    /**
+     * Scans the added lines of a file's patch.
+     *
+     * @param path File path
+     * @param patch Unified diff of the file
+     * @param headSha PR head commit SHA the comments refer to
+     * @param repoConfig Per-repository settings (enabled checks)
+     * @return One review comment per line with findings, in line order
+     */
+    public List<CreateReviewCommentRequest> scan(String path, SpooledContent patch, String headSha,
+                                                 RepositoryConfig repoConfig) {
+        if (!config.isEnabled() || ruleSet.size() == 0) {
+            return List.of();
+        }
+
+        boolean[] enabled = new boolean[ruleSet.size()];
+        boolean anyEnabled = false;
+        for (int i = 0; i < enabled.length; i++) {
+            enabled[i] = repoConfig.isCheckEnabled(ruleSet.rule(i).check());
+            anyEnabled |= enabled[i];
+        }
+        if (!anyEnabled) {
+            return List.of();
+        }
+
+        RuleSet.LineMatcher matcher = ruleSet.matcher(enabled);
+        List<CreateReviewCommentRequest> findings = new ArrayList<>();
+        long start = System.nanoTime();
+        long chars = 0;
+        int rightLine = 0;
+        boolean inHunk = false;
+
+        for (String line : patch.lines()) {
+            if (Thread.currentThread().isInterrupted()) {
+                // Cancelled by the analyzer timeout; the findings are discarded
+                break;
+            }
+            if (line.startsWith("@@")) {
+                rightLine = parseNewStart(line);
+                inHunk = rightLine > 0;
+                continue;
+            }
+            if (!inHunk || line.isEmpty()) {
+                continue;
+            }
+
+            switch (line.charAt(0)) {
+                case '+' -> {
+                    String added = line.substring(1);
+                    chars += added.length();
+                    int count = matcher.match(added);
+                    if (count > 0) {
+                        findings.add(toComment(path, rightLine, headSha, matcher, count));
+                    }
+                    rightLine++;
+                }
+                case ' ' -> rightLine++;
+                default -> {
+                    // '-' lines exist only on the LEFT side; '\' marks a missing newline
+                }
+            }
+            if (findings.size() >= config.getMaxFindingsPerFile()) {
+                log.info("Stopping scan of {} after {} findings", path, findings.size());
+                break;
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        scannedBytes.increment(chars);
+        scanTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        if (log.isDebugEnabled() && elapsed > 0) {
+            log.debug("Scanned {} added chars of {} in {} us ({} MB/s), {} findings",
+                    chars, path, elapsed / 1_000, String.format("%.1f", chars * 1_000.0 / elapsed), findings.size());
+        }
+        return findings;
+    }
+
+    /**
+     * Gets the compiled rule set.
+     *
+     * @return Rule set
+     */
+    public RuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    private CreateReviewCommentRequest toComment(String path, int line, String headSha,
+                                                 RuleSet.LineMatcher matcher, int count) {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            ScanRule rule = ruleSet.rule(matcher.matchedRule(i));
+            if (count > 1) {
+                body.append("- ");
+            }
+            body.append("**").append(rule.check()).append("** (`").append(rule.id()).append("`): ")
+                    .append(rule.message());
+            if (i < count - 1) {
+                body.append('\n');
+            }
+        }
+        return CreateReviewCommentRequest.builder()
+                .body(body.toString())
+                .commitId(headSha)
+                .path(path)
+                .line(line)
+                .side(RIGHT)
+                .build();
+    }
+
+    /**
+     * Parses the new-file start line of a hunk header ("@@ -a,b +c,d @@").
+     *
+     * @return Start line, or 0 if the header is malformed
+     */
+    static int parseNewStart(String header) {
+        int plus = header.indexOf('+', 2);
+        if (plus < 0) {
+            return 0;
+        }
+        int value = 0;
+        int i = plus + 1;
+        while (i < header.length() && Character.isDigit(header.charAt(i))) {
+            value = value * 10 + (header.charAt(i) - '0');
+            i++;
+        }
+        // "+0,0" is an empty new side (deleted file); no lines to anchor on
+        return i > plus + 1 ? value : 0;
+    }
+
+    private static byte[] digest(List<ScanRule> rules) {
+        MessageDigest digest = sha256();
+        for (ScanRule rule : rules) {
+            // Field separators keep ("ab", "c") and ("a", "bc") apart
+            String fields = String.join("\u0000", String.valueOf(rule.id()), String.valueOf(rule.check()),
+                    String.valueOf(rule.literal()), String.valueOf(rule.regex()), String.valueOf(rule.anchor()),
+                    String.valueOf(rule.ignoreCase()), String.valueOf(rule.message()));
+            digest.update(fields.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static List<ScanRule> loadRules(Resource resource, ObjectMapper objectMapper) {
+        try (InputStream in = resource.getInputStream()) {
+            Object document = new Yaml(new SafeConstructor(new LoaderOptions())).load(in);
+            if (!(document instanceof Map<?, ?> root) || root.get("rules") == null) {
+                throw new IllegalStateException("Scan rule file " + resource + " has no rules list");
+            }
+            return objectMapper.convertValue(root.get("rules"), new TypeReference<List<ScanRule>>() {
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read scan rules from " + resource, e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.pr.scan;
+
+/**
+ * Extracts a literal that every match of a regular expression must contain.
+ *
+ * Only the top-level sequence is considered: groups, character classes, escapes for
+ * character types and optional atoms end a literal run. Expressions with top-level
+ * alternation have no required literal.
+ */
+final class RegexLiterals {
+
+    private static final int MIN_ANCHOR_LENGTH = 3;
+
+    private RegexLiterals() {
+    }
+
+    /**
+     * Gets the longest literal required by a regular expression.
+     *
+     * @param regex Java regular expression
+     * @return Required literal, or null if none of useful length exists
+     */
+    static String requiredLiteral(String regex) {
+        String best = "";
+        StringBuilder run = new StringBuilder();
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            int atomStart = run.length();
+            int next;
+
+            if (c == '|') {
+                return null;
+            } else if (c == '(') {
+                next = skipGroup(regex, i);
+                best = longer(best, run);
+                run.setLength(0);
+                atomStart = -1;
+            } else if (c == '[') {
+                next = skipClass(regex, i);
+                best = longer(best, run);
+                run.setLength(0);
+                atomStart = -1;
+            } else if (c == '\\' && i + 1 < regex.length()) {
+                char escaped = regex.charAt(i + 1);
+                next = i + 2;
+                if (Character.isLetterOrDigit(escaped)) {
+                    // Character type, boundary or back reference
+                    best = longer(best, run);
+                    run.setLength(0);
+                    atomStart = -1;
+                } else {
+                    run.append(escaped);
+                }
+            } else if (c == '.' || c == '^' || c == '$') {
+                next = i + 1;
+                best = longer(best, run);
+                run.setLength(0);
+                atomStart = -1;
+            } else {
+                next = i + 1;
+                run.append(c);
+            }
+
+            // A quantifier allowing zero repetitions makes the atom optional;
+            // any quantifier ends the run after the atom
+            if (next < regex.length() && isQuantifier(regex, next)) {
+                if (atomStart >= 0 && optional(regex, next)) {
+                    run.setLength(atomStart);
+                }
+                best = longer(best, run);
+                run.setLength(0);
+                next = skipQuantifier(regex, next);
+            }
+            i = next;
+        }
+        best = longer(best, run);
+        return best.length() >= MIN_ANCHOR_LENGTH ? best : null;
+    }
+
+    private static boolean isQuantifier(String regex, int i) {
+        char c = regex.charAt(i);
+        return c == '*' || c == '+' || c == '?' || c == '{';
+    }
+
+    private static boolean optional(String regex, int i) {
+        char c = regex.charAt(i);
+        return c == '*' || c == '?' || (c == '{' && regex.startsWith("{0", i));
+    }
+
+    private static int skipQuantifier(String regex, int i) {
+        int next = i;
+        if (regex.charAt(next) == '{') {
+            int close = regex.indexOf('}', next);
+            next = close < 0 ? regex.length() : close + 1;
+        } else {
+            next++;
+        }
+        // Lazy or possessive modifier
+        if (next < regex.length() && (regex.charAt(next) == '?' || regex.charAt(next) == '+')) {
+            next++;
+        }
+        return next;
+    }
+
+    private static int skipGroup(String regex, int i) {
+        int depth = 0;
+        boolean inClass = false;
+        for (int j = i; j < regex.length(); j++) {
+            char c = regex.charAt(j);
+            if (c == '\\') {
+                j++;
+            } else if (inClass) {
+                inClass = c != ']';
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return j + 1;
+            }
+        }
+        return regex.length();
+    }
+
+    private static int skipClass(String regex, int i) {
+        int j = i + 1;
+        // A ']' right after '[' or '[^' is a literal member
+        if (j < regex.length() && regex.charAt(j) == '^') {
+            j++;
+        }
+        if (j < regex.length() && regex.charAt(j) == ']') {
+            j++;
+        }
+        for (; j < regex.length(); j++) {
+            char c = regex.charAt(j);
+            if (c == '\\') {
+                j++;
+            } else if (c == ']') {
+                return j + 1;
+            }
+        }
+        return regex.length();
+    }
+
+    private static String longer(String best, CharSequence run) {
+        return run.length() > best.length() ? run.toString() : best;
+    }
+}
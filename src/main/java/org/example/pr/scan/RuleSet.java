@@ -0,0 +1,203 @@
+package org.example.pr.scan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * All scan rules compiled into one literal automaton.
+ *
+ * Literal rules are keywords of the automaton. Regex rules contribute their anchor as a
+ * keyword and are verified with their {@link Pattern} only on lines where the anchor occurs,
+ * so each added line is read once by the automaton and most lines never reach a regex.
+ * Regex rules without any usable anchor are evaluated on every line.
+ *
+ * Immutable and thread-safe; per-scan state lives in {@link LineMatcher}.
+ */
+public final class RuleSet {
+
+    private final ScanRule[] rules;
+    private final Pattern[] patterns;
+    private final int[] unanchored;
+    private final LiteralAutomaton automaton;
+    // Rule of each automaton keyword
+    private final int[] keywordRule;
+
+    /**
+     * Compiles a set of rules.
+     *
+     * @param rules Rules in reporting order
+     * @throws IllegalArgumentException if a rule is invalid
+     */
+    public RuleSet(List<ScanRule> rules) {
+        this.rules = rules.toArray(new ScanRule[0]);
+        this.patterns = new Pattern[this.rules.length];
+
+        List<String> keywords = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        List<Integer> withoutAnchor = new ArrayList<>();
+
+        for (int i = 0; i < this.rules.length; i++) {
+            ScanRule rule = this.rules[i];
+            if (rule.id() == null || rule.check() == null) {
+                throw new IllegalArgumentException("Scan rule " + i + " needs an id and a check");
+            }
+            boolean hasLiteral = rule.literal() != null && !rule.literal().isEmpty();
+            boolean hasRegex = rule.regex() != null && !rule.regex().isEmpty();
+            if (hasLiteral == hasRegex) {
+                throw new IllegalArgumentException("Scan rule " + rule.id() + " needs exactly one of literal or regex");
+            }
+
+            if (hasLiteral) {
+                keywords.add(rule.literal());
+                owners.add(i);
+                continue;
+            }
+
+            patterns[i] = Pattern.compile(rule.regex());
+            String anchor = rule.anchor() != null ? rule.anchor() : RegexLiterals.requiredLiteral(rule.regex());
+            if (anchor == null || anchor.isEmpty()) {
+                withoutAnchor.add(i);
+            } else {
+                keywords.add(anchor);
+                owners.add(i);
+            }
+        }
+
+        this.automaton = keywords.isEmpty() ? null : new LiteralAutomaton(keywords);
+        this.keywordRule = owners.stream().mapToInt(Integer::intValue).toArray();
+        this.unanchored = withoutAnchor.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Gets a rule.
+     *
+     * @param index Rule index
+     * @return Rule
+     */
+    public ScanRule rule(int index) {
+        return rules[index];
+    }
+
+    /**
+     * Gets the number of rules.
+     *
+     * @return Rule count
+     */
+    public int size() {
+        return rules.length;
+    }
+
+    /**
+     * Gets the IDs of regex rules evaluated on every line because they have no anchor.
+     *
+     * @return Rule IDs
+     */
+    public List<String> unanchoredRules() {
+        return Arrays.stream(unanchored).mapToObj(i -> rules[i].id()).toList();
+    }
+
+    /**
+     * Gets the number of automaton states, for diagnostics.
+     *
+     * @return State count
+     */
+    public int stateCount() {
+        return automaton != null ? automaton.stateCount() : 0;
+    }
+
+    /**
+     * Creates a matcher for scanning lines on one thread.
+     *
+     * @param enabled Which rules to report, indexed like the rules; null for all
+     * @return Line matcher
+     */
+    public LineMatcher matcher(boolean[] enabled) {
+        return new LineMatcher(enabled);
+    }
+
+    /**
+     * Matches single lines against the rule set. Not thread-safe.
+     */
+    public final class LineMatcher {
+
+        private final boolean[] enabled;
+        // Line stamp per rule: matched or verified on the current line
+        private final int[] seen = new int[rules.length];
+        private final int[] matched = new int[rules.length];
+        private final LiteralAutomaton.HitConsumer keywordHandler = this::onKeyword;
+        private int matchCount;
+        private int stamp;
+        private String line;
+
+        private LineMatcher(boolean[] enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Matches one line.
+         *
+         * @param text Line without terminator
+         * @return Number of rules matched; read them with {@link #matchedRule(int)}
+         */
+        public int match(String text) {
+            line = text;
+            matchCount = 0;
+            if (++stamp == 0) {
+                Arrays.fill(seen, 0);
+                stamp = 1;
+            }
+
+            if (automaton != null) {
+                automaton.scan(text, keywordHandler);
+            }
+            for (int rule : unanchored) {
+                if (isEnabled(rule) && patterns[rule].matcher(text).find()) {
+                    matched[matchCount++] = rule;
+                }
+            }
+            if (matchCount > 1) {
+                Arrays.sort(matched, 0, matchCount);
+            }
+            return matchCount;
+        }
+
+        /**
+         * Gets a rule matched on the last line.
+         *
+         * @param i Match index, below the count returned by {@link #match(String)}
+         * @return Rule index
+         */
+        public int matchedRule(int i) {
+            return matched[i];
+        }
+
+        private void onKeyword(int keyword, int end) {
+            int rule = keywordRule[keyword];
+            if (seen[rule] == stamp || !isEnabled(rule)) {
+                return;
+            }
+
+            ScanRule r = rules[rule];
+            if (patterns[rule] != null) {
+                // Anchor found: verify the regex once for this line
+                seen[rule] = stamp;
+                if (patterns[rule].matcher(line).find()) {
+                    matched[matchCount++] = rule;
+                }
+                return;
+            }
+
+            int length = automaton.length(keyword);
+            if (r.ignoreCase() || line.regionMatches(end - length, r.literal(), 0, length)) {
+                seen[rule] = stamp;
+                matched[matchCount++] = rule;
+            }
+        }
+
+        private boolean isEnabled(int rule) {
+            return enabled == null || enabled[rule];
+        }
+    }
+}
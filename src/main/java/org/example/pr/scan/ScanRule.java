@@ -0,0 +1,38 @@
+package org.example.pr.scan;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A pattern rule applied to added lines of a diff.
+ *
+ * Exactly one of {@code literal} or {@code regex} is set. Regex rules are only evaluated on
+ * lines containing their anchor: a literal that every match must contain. If no anchor is
+ * configured, the longest required literal is extracted from the regex.
+ *
+ * Example:
+ * <pre>
+ * - id: aws-access-key-id
+ *   check: secrets
+ *   regex: "AKIA[0-9A-Z]{16}"
+ *   message: Possible AWS access key ID committed
+ * </pre>
+ *
+ * @param id Unique rule ID shown in comments
+ * @param check Check the rule belongs to (secrets, banned-api, todo, debug, ...)
+ * @param literal Literal text to find
+ * @param regex Java regular expression to find
+ * @param anchor Literal every regex match contains, used to skip lines cheaply
+ * @param ignoreCase Whether a literal matches regardless of ASCII case
+ * @param message Comment text for a finding
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ScanRule(
+        String id,
+        String check,
+        String literal,
+        String regex,
+        String anchor,
+        @JsonProperty("ignore_case") boolean ignoreCase,
+        String message) {
+}
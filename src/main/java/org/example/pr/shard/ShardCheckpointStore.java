@@ -0,0 +1,109 @@
+package org.example.pr.shard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.ShardingConfig;
+import org.example.model.webhook.WebhookPayload;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Checkpoints of sharded reviews in progress, one JSON file per PR head.
+ *
+ * A checkpoint holds the webhook payload and the number of completed shards. The files
+ * of completed shards are in the review result store, so a job restarted from its
+ * checkpoint after a crash reviews only what the unfinished shards left. Files are keyed by
+ * the head SHA too, so a job finishing on an old head never removes the checkpoint of a
+ * job already running on a newer push.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ShardCheckpointStore {
+
+    private static final String SUFFIX = ".json";
+
+    private final ShardingConfig config;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Progress of a sharded review.
+     *
+     * @param payload Webhook payload of the job
+     * @param shards Number of shards
+     * @param completedShards Shards finished so far
+     */
+    public record Checkpoint(WebhookPayload payload, int shards, int completedShards) {
+    }
+
+    /**
+     * Writes the checkpoint of a job, replacing its previous one.
+     *
+     * @param checkpoint Checkpoint
+     */
+    public synchronized void save(Checkpoint checkpoint) {
+        try {
+            Path directory = Path.of(config.getCheckpointDirectory());
+            Files.createDirectories(directory);
+            Path file = file(checkpoint.payload());
+            Path temp = directory.resolve(file.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(), checkpoint);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // A lost checkpoint only costs the resume after a crash
+            log.warn("Failed to write shard checkpoint for {}", file(checkpoint.payload()).getFileName(), e);
+        }
+    }
+
+    /**
+     * Removes the checkpoint of a finished job.
+     *
+     * @param payload Webhook payload of the job
+     */
+    public synchronized void delete(WebhookPayload payload) {
+        try {
+            Files.deleteIfExists(file(payload));
+        } catch (IOException e) {
+            log.warn("Failed to delete shard checkpoint {}", file(payload).getFileName(), e);
+        }
+    }
+
+    /**
+     * Reads all checkpoints left behind, e.g. by a crash.
+     *
+     * @return Checkpoints; unreadable ones are skipped
+     */
+    public synchronized List<Checkpoint> load() {
+        Path directory = Path.of(config.getCheckpointDirectory());
+        List<Checkpoint> checkpoints = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return checkpoints;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(SUFFIX)).toList()) {
+                try {
+                    checkpoints.add(objectMapper.readValue(file.toFile(), Checkpoint.class));
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable shard checkpoint {}", file, e);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to list shard checkpoints in {}", directory, e);
+        }
+        return checkpoints;
+    }
+
+    private Path file(WebhookPayload payload) {
+        String name = payload.getRepository().getOwner().getLogin() + "_" + payload.getRepository().getName()
+                + "_" + payload.getPullRequest().getNumber() + "_" + payload.getPullRequest().getHead().getSha();
+        return Path.of(config.getCheckpointDirectory()).resolve(name.replaceAll("[^A-Za-z0-9._-]", "_") + SUFFIX);
+    }
+}
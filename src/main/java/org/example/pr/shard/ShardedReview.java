@@ -0,0 +1,263 @@
+package org.example.pr.shard;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.auth.InstallationContext;
+import org.example.client.resilience.Deadline;
+import org.example.config.GitHubReadConfig;
+import org.example.config.ShardingConfig;
+import org.example.content.ContentSpooler;
+import org.example.content.JobMemoryBudget;
+import org.example.content.SpooledContent;
+import org.example.exception.GitHubUnavailableException;
+import org.example.job.JobRegistry;
+import org.example.job.TrackedJob;
+import org.example.model.github.PullRequestFile;
+import org.example.model.review.RepositoryConfig;
+import org.example.model.webhook.WebhookPayload;
+import org.example.pr.FileReviewer;
+import org.example.pr.check.CheckRunSession;
+import org.example.pr.state.PullRequestStateCache;
+import org.example.service.GitHubService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * Reviews large PRs in shards that run in parallel on the webhook executor.
+ *
+ * The files to review are split into groups of review.sharding.shard-size. Each shard is
+ * a job of its own in {@link JobRegistry}: it fetches the contents of its files under its
+ * own memory budget and analyzes them, annotating the PR's single check run. The last
+ * shard to finish publishes the findings of all shards as one review submission, under
+ * the PR's comment limit, and completes the check run. A review that fails or is parked
+ * posts nothing, so files are only recorded as reviewed once their findings are on the PR.
+ *
+ * Progress is checkpointed after every shard ({@link ShardCheckpointStore}). If a shard
+ * finds GitHub unavailable, the whole job is parked once all shards are done. When the
+ * job runs again, files analyzed by completed shards come from the findings cache.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ShardedReview {
+
+    private final GitHubService githubService;
+    private final ContentSpooler contentSpooler;
+    private final FileReviewer fileReviewer;
+    private final JobRegistry jobRegistry;
+    private final PullRequestStateCache stateCache;
+    private final ShardCheckpointStore checkpoints;
+    private final ShardingConfig config;
+    private final GitHubReadConfig readConfig;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Checks whether a review of this size is sharded.
+     *
+     * @param files Number of files to review
+     * @return true if the files are reviewed in shards
+     */
+    public boolean applies(int files) {
+        return config.isEnabled() && files >= config.getMinFiles();
+    }
+
+    /**
+     * Splits the review into shards and queues them. Returns at once; the last shard
+     * completes the check run and records review.jobs.duration for the whole job.
+     *
+     * @param payload Webhook payload of the job
+     * @param toReview Files to review
+     * @param changedFiles Number of changed files in the PR
+     * @param unchanged Number of files skipped as already reviewed
+     * @param repoConfig Per-repository settings
+     * @param checkRun Check run of the job
+     * @param startNanos Start of the job attempt
+     * @param park Parks the whole job for the given delay when GitHub is unavailable; false if
+     *             the job used up its attempts and was dropped
+     */
+    public void submit(WebhookPayload payload, List<PullRequestFile> toReview, int changedFiles, int unchanged,
+                       RepositoryConfig repoConfig, CheckRunSession checkRun, long startNanos,
+                       Predicate<Duration> park) {
+        List<List<PullRequestFile>> shards = new ArrayList<>();
+        for (int from = 0; from < toReview.size(); from += config.getShardSize()) {
+            shards.add(toReview.subList(from, Math.min(from + config.getShardSize(), toReview.size())));
+        }
+
+        Join join = new Join(payload, shards.size(), changedFiles, unchanged, repoConfig, checkRun, startNanos, park);
+        checkpoints.save(new ShardCheckpointStore.Checkpoint(payload, shards.size(), 0));
+        log.info("Reviewing {} files of PR #{} in {} in {} shards", toReview.size(), join.prNumber,
+                join.repository(), shards.size());
+
+        for (int i = 0; i < shards.size(); i++) {
+            int index = i;
+            List<PullRequestFile> shard = shards.get(i);
+            TrackedJob shardJob = jobRegistry.register(join.repository(), join.prNumber, join.headSha);
+            jobRegistry.submit(shardJob, () -> runShard(join, index, shard, shardJob));
+        }
+    }
+
+    private void runShard(Join join, int index, List<PullRequestFile> shard, TrackedJob job) {
+        String label = "shard " + (index + 1) + "/" + join.shards;
+        InstallationContext.set(join.installationId);
+        Deadline.start(readConfig.getJobDeadline());
+        try (JobMemoryBudget budget = contentSpooler.openBudget(
+                join.repository() + "#" + join.prNumber + "@" + join.headSha + " " + label)) {
+            job.stage("fetching contents (" + label + ")");
+            Set<String> paths = new LinkedHashSet<>();
+            shard.forEach(file -> paths.add(file.getFilename()));
+            Map<String, SpooledContent> contents = githubService.getFileContents(join.owner, join.repo,
+                    join.headSha, paths, budget);
+
+            List<FileReviewer.Analysis> analyses = new ArrayList<>(shard.size());
+            for (PullRequestFile file : shard) {
+                job.stage("analyzing " + file.getFilename() + " (" + label + ")");
+                SpooledContent content = contents.get(file.getFilename());
+                if (content == null) {
+                    log.info("Skipping {} - content unavailable or too large", file.getFilename());
+                    continue;
+                }
+                analyses.add(fileReviewer.analyze(join.owner, join.repo, join.prNumber, join.headSha, file,
+                        content, budget, join.repoConfig, join.checkRun));
+            }
+            join.analyses.set(index, analyses);
+
+            checkpoints.save(new ShardCheckpointStore.Checkpoint(join.payload, join.shards,
+                    join.completed.incrementAndGet()));
+            log.debug("Finished {} of PR #{} in {}", label, join.prNumber, join.repository());
+
+        } catch (Exception e) {
+            join.failure.compareAndSet(null, e);
+            log.warn("{} of PR #{} in {} failed", label, join.prNumber, join.repository(), e);
+        } finally {
+            Deadline.clear();
+            if (join.remaining.decrementAndGet() == 0) {
+                finish(join, job);
+            }
+            InstallationContext.clear();
+        }
+    }
+
+    /**
+     * Joins the shards: publishes their findings and completes the check run, or fails
+     * the check run, or parks the job.
+     */
+    private void finish(Join join, TrackedJob job) {
+        Exception failure = join.failure.get();
+        int reviewed = 0;
+        if (failure == null) {
+            try {
+                job.stage("publishing findings");
+                List<FileReviewer.Analysis> analyses = new ArrayList<>();
+                for (int i = 0; i < join.shards; i++) {
+                    analyses.addAll(join.analyses.get(i));
+                }
+                fileReviewer.publish(join.owner, join.repo, join.prNumber, join.headSha, analyses, join.commentsLeft);
+                reviewed = analyses.size();
+            } catch (Exception e) {
+                failure = e;
+                log.warn("Publishing the findings of PR #{} in {} failed", join.prNumber, join.repository(), e);
+            }
+        }
+        GitHubUnavailableException unavailable = failure != null ? GitHubUnavailableException.find(failure) : null;
+        String outcome = "failed";
+        try {
+            if (failure == null) {
+                join.checkRun.complete(String.format(
+                        "%d changed files: %d analyzed in %d shards, %d unchanged since the last review.",
+                        join.changedFiles, reviewed, join.shards, join.unchanged));
+                stateCache.markReviewed(join.owner, join.repo, join.prNumber, join.headSha);
+                outcome = "completed";
+                log.info("Successfully processed PR #{} with {} changed files ({} reviewed in {} shards, "
+                                + "{} already reviewed)", join.prNumber, join.changedFiles, reviewed,
+                        join.shards, join.unchanged);
+            } else if (unavailable != null && join.park.test(unavailable.getRetryAfter())) {
+                // The check run can't be updated either; the next attempt reports to it
+                outcome = "parked";
+            } else if (unavailable != null) {
+                join.checkRun.fail("The review could not be completed: GitHub stayed unavailable.");
+            } else if (failure instanceof CancellationException) {
+                outcome = "cancelled";
+                join.checkRun.fail("A shard of the review was cancelled by an operator.");
+            } else {
+                join.checkRun.fail("The review could not be completed: " + failure.getMessage());
+            }
+        } catch (Exception e) {
+            log.error("Failed to finish the sharded review of PR #{} in {}", join.prNumber, join.repository(), e);
+        } finally {
+            if (!"parked".equals(outcome)) {
+                checkpoints.delete(join.payload);
+            }
+            Timer.builder("review.jobs.duration")
+                    .description("Time PR job attempts take")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - join.startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * State shared by the shards of one PR job.
+     */
+    private static final class Join {
+
+        private final WebhookPayload payload;
+        private final String owner;
+        private final String repo;
+        private final int prNumber;
+        private final String headSha;
+        private final Long installationId;
+        private final int shards;
+        private final int changedFiles;
+        private final int unchanged;
+        private final RepositoryConfig repoConfig;
+        private final CheckRunSession checkRun;
+        private final long startNanos;
+        private final Predicate<Duration> park;
+        private final AtomicInteger remaining;
+        private final AtomicInteger completed = new AtomicInteger();
+        // Findings per shard, published together by the last shard
+        private final AtomicReferenceArray<List<FileReviewer.Analysis>> analyses;
+        private final AtomicInteger commentsLeft;
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+        private Join(WebhookPayload payload, int shards, int changedFiles, int unchanged,
+                     RepositoryConfig repoConfig, CheckRunSession checkRun, long startNanos,
+                     Predicate<Duration> park) {
+            this.payload = payload;
+            this.owner = payload.getRepository().getOwner().getLogin();
+            this.repo = payload.getRepository().getName();
+            this.prNumber = payload.getPullRequest().getNumber();
+            this.headSha = payload.getPullRequest().getHead().getSha();
+            this.installationId = payload.getInstallation() != null ? payload.getInstallation().getId() : null;
+            this.shards = shards;
+            this.changedFiles = changedFiles;
+            this.unchanged = unchanged;
+            this.repoConfig = repoConfig;
+            this.checkRun = checkRun;
+            this.startNanos = startNanos;
+            this.park = park;
+            this.remaining = new AtomicInteger(shards);
+            this.analyses = new AtomicReferenceArray<>(shards);
+            this.commentsLeft = new AtomicInteger(
+                    repoConfig.getMaxComments() > 0 ? repoConfig.getMaxComments() : Integer.MAX_VALUE);
+        }
+
+        private String repository() {
+            return owner + "/" + repo;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.pr.state;
+
+/**
+ * What is known about the head of a pull request.
+ *
+ * @param headSha Head commit SHA
+ * @param headAuthor Login of the head commit's author, null if unknown or not a GitHub account
+ * @param authorResolved Whether {@code headAuthor} was looked up for this head
+ * @param lastReviewedSha Head SHA of the last completed review, or null
+ * @param draft Whether the PR is a draft
+ * @param fork Whether the head branch lives in a fork
+ */
+public record PullRequestState(String headSha, String headAuthor, boolean authorResolved, String lastReviewedSha,
+                               boolean draft, boolean fork) {
+
+    /**
+     * Checks whether the current head has been reviewed.
+     *
+     * @return true if the last completed review was of this head
+     */
+    public boolean isReviewed() {
+        return headSha != null && headSha.equals(lastReviewedSha);
+    }
+
+    PullRequestState withHeadAuthor(String author) {
+        return new PullRequestState(headSha, author, true, lastReviewedSha, draft, fork);
+    }
+
+    PullRequestState withLastReviewedSha(String sha) {
+        return new PullRequestState(headSha, headAuthor, authorResolved, sha, draft, fork);
+    }
+}
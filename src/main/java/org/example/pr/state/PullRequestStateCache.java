@@ -0,0 +1,180 @@
+package org.example.pr.state;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.PullRequestStateConfig;
+import org.example.exception.GitHubUnavailableException;
+import org.example.model.webhook.PullRequest;
+import org.example.model.webhook.PushPayload;
+import org.example.profiling.CacheLookupEvent;
+import org.example.service.GitHubService;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU of pull request head state ({@link PullRequestState}), so filter decisions
+ * that depend on more than the webhook payload cost no GitHub calls in the common case.
+ *
+ * Head SHA and draft/fork flags come from pull_request payloads. Commit authors are
+ * remembered from push payloads and from the app's own commits; the author of a head
+ * that was seen in neither is fetched once and then kept with the state. Completed
+ * reviews record their head SHA, so repeated events for the same head can be skipped.
+ *
+ * Exposes review.state.lookups (result=hit/miss) for head author lookups.
+ */
+@Component
+@Slf4j
+public class PullRequestStateCache {
+
+    private final GitHubService githubService;
+    private final Map<String, PullRequestState> pullRequests;
+    private final Map<String, String> commitAuthors;
+    private final Counter hits;
+    private final Counter misses;
+
+    public PullRequestStateCache(GitHubService githubService, PullRequestStateConfig config,
+                                 MeterRegistry meterRegistry) {
+        this.githubService = githubService;
+        this.pullRequests = lru(config.getMaxPullRequests());
+        this.commitAuthors = lru(config.getMaxCommits());
+        this.hits = lookups(meterRegistry, "hit");
+        this.misses = lookups(meterRegistry, "miss");
+    }
+
+    /**
+     * Records the state carried by a pull_request payload. The head author is kept
+     * while the head stays the same.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param pr Pull request from the payload
+     * @return Updated state
+     */
+    public PullRequestState update(String owner, String repo, PullRequest pr) {
+        String headSha = pr.getHead().getSha();
+        boolean draft = Boolean.TRUE.equals(pr.getDraft());
+        boolean fork = pr.getHead().getRepository() != null
+                && Boolean.TRUE.equals(pr.getHead().getRepository().getFork());
+
+        return pullRequests.compute(key(owner, repo, pr.getNumber()), (key, previous) -> {
+            if (previous == null) {
+                return new PullRequestState(headSha, null, false, null, draft, fork);
+            }
+            boolean sameHead = headSha != null && headSha.equals(previous.headSha());
+            return new PullRequestState(headSha, sameHead ? previous.headAuthor() : null,
+                    sameHead && previous.authorResolved(), previous.lastReviewedSha(), draft, fork);
+        });
+    }
+
+    /**
+     * Gets the login of the author of a PR's head commit, fetching it on a miss.
+     * Failed lookups other than an unavailable GitHub are logged and yield null.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param prNumber PR number
+     * @return Author login, or null if unknown
+     */
+    public String getHeadAuthor(String owner, String repo, int prNumber) {
+        String key = key(owner, repo, prNumber);
+        PullRequestState state = pullRequests.get(key);
+        if (state == null || state.headSha() == null) {
+            return null;
+        }
+        if (state.authorResolved()) {
+            hits.increment();
+            CacheLookupEvent.record("pr-state", true);
+            return state.headAuthor();
+        }
+
+        String headSha = state.headSha();
+        String author = commitAuthors.get(owner + "/" + repo + "@" + headSha);
+        CacheLookupEvent.record("pr-state", author != null);
+        if (author != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            try {
+                author = githubService.getCommitAuthor(owner, repo, headSha);
+            } catch (GitHubUnavailableException e) {
+                throw e;
+            } catch (Exception e) {
+                log.warn("Could not resolve the author of {} in {}/{}", headSha, owner, repo, e);
+                return null;
+            }
+        }
+
+        String resolved = author;
+        pullRequests.computeIfPresent(key, (k, current) ->
+                headSha.equals(current.headSha()) ? current.withHeadAuthor(resolved) : current);
+        return resolved;
+    }
+
+    /**
+     * Records the author of a commit.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param sha Commit SHA
+     * @param author Author login; ignored if null
+     */
+    public void recordCommit(String owner, String repo, String sha, String author) {
+        if (sha != null && author != null) {
+            commitAuthors.put(owner + "/" + repo + "@" + sha, author);
+        }
+    }
+
+    /**
+     * Records the authors of pushed commits.
+     *
+     * @param payload Push webhook payload
+     */
+    public void onPush(PushPayload payload) {
+        if (payload.getRepository() == null || payload.getCommits() == null) {
+            return;
+        }
+        String owner = payload.getRepository().getOwner().getLogin();
+        String repo = payload.getRepository().getName();
+        for (PushPayload.Commit commit : payload.getCommits()) {
+            if (commit.getAuthor() != null) {
+                recordCommit(owner, repo, commit.getId(), commit.getAuthor().getUsername());
+            }
+        }
+    }
+
+    /**
+     * Records a completed review of a PR head.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param prNumber PR number
+     * @param headSha Reviewed head SHA
+     */
+    public void markReviewed(String owner, String repo, int prNumber, String headSha) {
+        pullRequests.computeIfPresent(key(owner, repo, prNumber), (key, state) -> state.withLastReviewedSha(headSha));
+    }
+
+    private static String key(String owner, String repo, int prNumber) {
+        return owner + "/" + repo + "#" + prNumber;
+    }
+
+    private static <V> Map<String, V> lru(int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("review.state.lookups")
+                .description("Head commit author lookups in the pull request state")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Instant JFR event for a lookup in one of the bot's in-memory caches.
+ */
+@Name("org.example.CacheLookup")
+@Label("Cache Lookup")
+@Category({"PR Review Bot", "Caches"})
+@Description("Hit or miss in an in-memory cache")
+@StackTrace(false)
+public class CacheLookupEvent extends jdk.jfr.Event {
+
+    @Label("Cache")
+    public String cache;
+
+    @Label("Hit")
+    public boolean hit;
+
+    /**
+     * Records a lookup if the event is enabled.
+     *
+     * @param cache Cache name
+     * @param hit Whether the lookup was a hit
+     */
+    public static void record(String cache, boolean hit) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        if (event.isEnabled()) {
+            event.cache = cache;
+            event.hit = hit;
+            event.commit();
+        }
+    }
+}
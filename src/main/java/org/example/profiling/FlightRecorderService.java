@@ -0,0 +1,128 @@
+package org.example.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.ProfilingConfig;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Controls the JFR recording of the bot.
+ *
+ * The recording keeps a rolling on-disk buffer bounded by review.profiling.max-age and
+ * max-size-bytes, so it can run continuously; a dump writes the buffered data to a file
+ * for analysis in JDK Mission Control alongside the JVM's GC, lock and I/O events.
+ * The bot's own events are in the "PR Review Bot" category.
+ */
+@Service
+@Slf4j
+public class FlightRecorderService {
+
+    private static final DateTimeFormatter DUMP_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")
+            .withZone(ZoneOffset.UTC);
+
+    private final ProfilingConfig config;
+    private Recording recording;
+
+    public FlightRecorderService(ProfilingConfig config) {
+        this.config = config;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnBoot() {
+        if (config.isStartOnBoot()) {
+            try {
+                start(null);
+            } catch (Exception e) {
+                log.warn("Could not start the JFR recording", e);
+            }
+        }
+    }
+
+    /**
+     * Starts the recording unless one is running.
+     *
+     * @param settings JFR settings name or .jfc path, or null for review.profiling.settings
+     * @return Recording status
+     */
+    public synchronized Map<String, Object> start(String settings) throws IOException, ParseException {
+        if (recording == null || recording.getState() == RecordingState.CLOSED) {
+            String name = settings != null ? settings : config.getSettings();
+            Configuration configuration = name.endsWith(".jfc")
+                    ? Configuration.create(Path.of(name))
+                    : Configuration.getConfiguration(name);
+
+            Recording started = new Recording(configuration);
+            started.setName("pr-review-bot");
+            started.setToDisk(true);
+            started.setMaxAge(config.getMaxAge());
+            started.setMaxSize(config.getMaxSizeBytes());
+            started.start();
+            recording = started;
+            log.info("Started JFR recording with '{}' settings, keeping {} / {} bytes", name,
+                    config.getMaxAge(), config.getMaxSizeBytes());
+        }
+        return status();
+    }
+
+    /**
+     * Stops and discards the recording.
+     *
+     * @return Recording status
+     */
+    public synchronized Map<String, Object> stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+            log.info("Stopped JFR recording");
+        }
+        return status();
+    }
+
+    /**
+     * Writes the buffered data of the running recording to a new file.
+     *
+     * @return Dump file, or null if no recording is running
+     */
+    public synchronized Path dump() throws IOException {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return null;
+        }
+        Path directory = Path.of(config.getDirectory());
+        Files.createDirectories(directory);
+        Path file = directory.resolve("pr-review-bot-" + DUMP_NAME.format(Instant.now()) + ".jfr");
+        recording.dump(file);
+        log.info("Dumped JFR recording to {} ({} bytes)", file, Files.size(file));
+        return file;
+    }
+
+    /**
+     * Gets the state of the recording.
+     *
+     * @return Recording status
+     */
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", recording != null ? recording.getState().name() : "NONE");
+        if (recording != null) {
+            status.put("startTime", recording.getStartTime());
+            status.put("maxAge", recording.getMaxAge());
+            status.put("maxSizeBytes", recording.getMaxSize());
+            status.put("bufferedBytes", recording.getSize());
+        }
+        return status;
+    }
+}
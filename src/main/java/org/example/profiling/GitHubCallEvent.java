@@ -0,0 +1,41 @@
+package org.example.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one GitHub REST call made through Feign, including hedged attempts.
+ */
+@Name("org.example.GitHubCall")
+@Label("GitHub Call")
+@Category({"PR Review Bot", "GitHub"})
+@Description("Blocking GitHub REST call")
+@StackTrace(false)
+public class GitHubCallEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint Class")
+    public String endpoint;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Status")
+    @Description("HTTP status, or 0 if the call failed without a response")
+    public int status;
+
+    @Label("Response Bytes")
+    @Description("Content-Length of the response, or -1 if unknown")
+    @DataAmount
+    public long responseBytes;
+
+    @Label("PR Job")
+    @Description("Registry ID of the job the call was made for, or 0")
+    public long jobId;
+}
@@ -0,0 +1,65 @@
+package org.example.profiling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Actuator endpoint controlling the JFR recording ({@code /actuator/jfr}).
+ *
+ * <pre>
+ * GET    /actuator/jfr        recording state and buffer size
+ * POST   /actuator/jfr        start; optional body {"settings": "profile"}
+ * DELETE /actuator/jfr        stop and discard the buffer
+ * GET    /actuator/jfr/dump   download the buffered data as a .jfr file
+ * </pre>
+ *
+ * Not exposed by default; see management.endpoints.web.exposure.include.
+ */
+@Component
+@WebEndpoint(id = "jfr")
+@RequiredArgsConstructor
+public class JfrEndpoint {
+
+    private static final String DUMP = "dump";
+
+    private final FlightRecorderService recorder;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return recorder.status();
+    }
+
+    @WriteOperation
+    public Map<String, Object> start(@Nullable String settings) throws Exception {
+        return recorder.start(settings);
+    }
+
+    @DeleteOperation
+    public Map<String, Object> stop() {
+        return recorder.stop();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Selector String name) throws Exception {
+        if (!DUMP.equals(name)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = recorder.dump();
+        if (file == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(file), WebEndpointResponse.STATUS_OK);
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one stage of a PR job, such as listing files or reviewing a file.
+ */
+@Name("org.example.JobStage")
+@Label("PR Job Stage")
+@Category({"PR Review Bot", "Jobs"})
+@Description("Stage of a PR review job")
+@StackTrace(false)
+public class JobStageEvent extends jdk.jfr.Event {
+
+    @Label("PR Job")
+    public long jobId;
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Pull Request")
+    public int pullNumber;
+
+    @Label("Stage")
+    public String stage;
+}
@@ -0,0 +1,22 @@
+package org.example.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for requesting an installation access token.
+ */
+@Name("org.example.TokenRefresh")
+@Label("Installation Token Refresh")
+@Category({"PR Review Bot", "GitHub"})
+@Description("Exchange of an app JWT for an installation access token")
+public class TokenRefreshEvent extends jdk.jfr.Event {
+
+    @Label("Installation")
+    public long installationId;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
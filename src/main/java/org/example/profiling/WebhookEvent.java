@@ -0,0 +1,37 @@
+package org.example.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning the receipt of a webhook delivery, from signature verification to
+ * the response.
+ */
+@Name("org.example.Webhook")
+@Label("Webhook Delivery")
+@Category({"PR Review Bot", "Webhooks"})
+@Description("Webhook delivery handled by the controller")
+@StackTrace(false)
+public class WebhookEvent extends jdk.jfr.Event {
+
+    @Label("Event")
+    public String event;
+
+    @Label("Payload Length")
+    @Description("Length of the payload in characters")
+    public long payloadLength;
+
+    @Label("Signature Valid")
+    public boolean verified;
+
+    @Label("Verification Nanos")
+    @Description("Time spent verifying the signature")
+    public long verificationNanos;
+
+    @Label("Result")
+    @Description("accepted, ignored, rejected or error")
+    public String result;
+}
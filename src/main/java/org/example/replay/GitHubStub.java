@@ -0,0 +1,217 @@
+package org.example.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.git.GitDataService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal stand-in for the GitHub REST API, serving the calls a PR review makes with
+ * synthetic data, so captured webhooks can be replayed without touching GitHub.
+ *
+ * Every PR has the same number of changed files; their patches contain lines that trip
+ * the bundled scan rules, so reviews exercise the comment and check run write paths.
+ * Each response is delayed by a configurable latency. Only REST is served: run the bot
+ * with the "replay" profile, which keeps content fetches off GraphQL and tarballs.
+ *
+ * Request counts per route are served at GET /_stub/stats and included in replay reports.
+ *
+ * Usage: GitHubStub [--port 8089] [--files 20] [--lines 200] [--latency-ms 20] [--jitter-ms 10]
+ */
+@Slf4j
+public final class GitHubStub {
+
+    private static final String JSON = "application/json";
+    private static final Pattern ROUTE_ID = Pattern.compile("/\\d+(?=/|$)");
+    private static final Pattern ROUTE_SHA = Pattern.compile("/[0-9a-f]{40}(?=/|$)");
+    private static final Pattern PULL_FILES = Pattern.compile("/repos/[^/]+/[^/]+/pulls/(\\d+)/files");
+    private static final Pattern CONTENTS = Pattern.compile("/repos/[^/]+/[^/]+/contents/(.+)");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong(1);
+    private final int files;
+    private final int lines;
+    private final long latencyMs;
+    private final long jitterMs;
+
+    public GitHubStub(int files, int lines, long latencyMs, long jitterMs) {
+        this.files = files;
+        this.lines = lines;
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+    }
+
+    public static void main(String[] args) throws IOException {
+        ReplayArguments arguments = ReplayArguments.parse(args);
+        GitHubStub stub = new GitHubStub(arguments.getInt("files", 20), arguments.getInt("lines", 200),
+                arguments.getInt("latency-ms", 20), arguments.getInt("jitter-ms", 10));
+        HttpServer server = stub.start(arguments.getInt("port", 8089));
+        log.info("GitHub stub listening on http://localhost:{} ({} files of {} lines per PR, "
+                        + "{} ms latency + up to {} ms jitter)", server.getAddress().getPort(),
+                stub.files, stub.lines, stub.latencyMs, stub.jitterMs);
+    }
+
+    /**
+     * Starts serving on localhost.
+     *
+     * @param port Port, or 0 for any free port
+     * @return Running server
+     */
+    public HttpServer start(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        return server;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            URI uri = exchange.getRequestURI();
+            String path = uri.getPath();
+
+            if (path.equals("/_stub/stats")) {
+                Map<String, Long> stats = new TreeMap<>();
+                requests.forEach((route, count) -> stats.put(route, count.sum()));
+                respond(exchange, 200, JSON, objectMapper.writeValueAsBytes(stats));
+                return;
+            }
+
+            String route = method + " " + ROUTE_ID.matcher(ROUTE_SHA.matcher(path).replaceAll("/{sha}"))
+                    .replaceAll("/{id}");
+            requests.computeIfAbsent(route, key -> new LongAdder()).increment();
+            exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+            delay();
+
+            Matcher matcher;
+            if (method.equals("POST") && path.matches("/app/installations/\\d+/access_tokens")) {
+                json(exchange, 201, Map.of("token", "stub-token",
+                        "expires_at", Instant.now().plus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.SECONDS).toString()));
+            } else if (method.equals("GET") && (matcher = PULL_FILES.matcher(path)).matches()) {
+                boolean firstPage = uri.getQuery() == null || !uri.getQuery().matches(".*\\bpage=([2-9]|\\d{2,}).*");
+                json(exchange, 200, firstPage ? pullFiles(Integer.parseInt(matcher.group(1))) : List.of());
+            } else if (method.equals("GET") && (matcher = CONTENTS.matcher(path)).matches()) {
+                contents(exchange, matcher.group(1));
+            } else if (method.equals("GET")
+                    && path.matches("/repos/[^/]+/[^/]+/pulls/\\d+/(comments|reviews/\\d+/comments)")) {
+                json(exchange, 200, List.of());
+            } else if (method.equals("GET") && path.matches("/repos/[^/]+/[^/]+/commits/[0-9a-f]+")) {
+                json(exchange, 200, Map.of("sha", path.substring(path.lastIndexOf('/') + 1),
+                        "author", Map.of("login", "stub-user", "type", "User")));
+            } else if (method.equals("GET") && path.matches("/repos/[^/]+/[^/]+/pulls/\\d+")) {
+                json(exchange, 200, pullRequest(Integer.parseInt(path.substring(path.lastIndexOf('/') + 1))));
+            } else if (method.equals("POST")
+                    && path.matches("/repos/[^/]+/[^/]+/(pulls/\\d+/(comments|reviews)|issues/\\d+/comments|check-runs)")) {
+                json(exchange, 201, Map.of("id", ids.getAndIncrement()));
+            } else if (method.equals("PATCH") && path.matches("/repos/[^/]+/[^/]+/(pulls/comments|check-runs)/\\d+")) {
+                json(exchange, 200, Map.of("id", Long.parseLong(path.substring(path.lastIndexOf('/') + 1))));
+            } else {
+                json(exchange, 404, Map.of("message", "Not Found"));
+            }
+        }
+    }
+
+    private static Map<String, Object> pullRequest(int pullNumber) {
+        return Map.of(
+                "number", pullNumber,
+                "state", "open",
+                "head", Map.of("ref", "stub-" + pullNumber, "sha", String.format("%040x", pullNumber)),
+                "base", Map.of("ref", "main", "sha", String.format("%040x", 0)));
+    }
+
+    private List<Map<String, Object>> pullFiles(int pullNumber) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (int i = 0; i < files; i++) {
+            String filename = "src/main/java/stub/File" + i + ".java";
+            String content = content(filename);
+            result.add(Map.of(
+                    "filename", filename,
+                    "status", "modified",
+                    "sha", GitDataService.blobSha((pullNumber + ":" + content).getBytes(StandardCharsets.UTF_8)),
+                    "additions", 3,
+                    "deletions", 0,
+                    "changes", 3,
+                    "patch", "@@ -1,2 +1,5 @@\n class File" + i + " {\n"
+                            + "+    // TODO remove before merging\n"
+                            + "+    void debug() { System.out.println(\"here\"); }\n"
+                            + "+    String password = \"hunter2-" + pullNumber + "\";\n"
+                            + " }"));
+        }
+        return result;
+    }
+
+    private void contents(HttpExchange exchange, String filePath) throws IOException {
+        if (filePath.startsWith(".github/")) {
+            json(exchange, 404, Map.of("message", "Not Found"));
+            return;
+        }
+        byte[] content = content(filePath).getBytes(StandardCharsets.UTF_8);
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        if (accept != null && accept.contains("raw")) {
+            respond(exchange, 200, "application/vnd.github.raw", content);
+            return;
+        }
+        json(exchange, 200, Map.of(
+                "path", filePath,
+                "sha", GitDataService.blobSha(content),
+                "size", content.length,
+                "encoding", "base64",
+                "type", "file",
+                "content", Base64.getEncoder().encodeToString(content)));
+    }
+
+    private String content(String filePath) {
+        StringBuilder text = new StringBuilder("// ").append(filePath).append('\n');
+        for (int i = 0; i < lines; i++) {
+            text.append("    int value").append(i).append(" = ").append(i).append(";\n");
+        }
+        return text.toString();
+    }
+
+    private void delay() {
+        long millis = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void json(HttpExchange exchange, int status, Object body) throws IOException {
+        respond(exchange, status, JSON, objectMapper.writeValueAsBytes(body));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, byte[] body)
+            throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("X-RateLimit-Remaining", "5000");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+}
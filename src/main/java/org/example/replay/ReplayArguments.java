@@ -0,0 +1,44 @@
+package org.example.replay;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * "--name value" command-line arguments of the replay tools.
+ */
+final class ReplayArguments {
+
+    private final Map<String, String> values;
+
+    private ReplayArguments(Map<String, String> values) {
+        this.values = values;
+    }
+
+    static ReplayArguments parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --name value, got: " + args[i]);
+            }
+            values.put(args[i].substring(2), args[++i]);
+        }
+        return new ReplayArguments(values);
+    }
+
+    String get(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    String require(String name) {
+        String value = values.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing required argument --" + name);
+        }
+        return value;
+    }
+
+    int getInt(String name, int defaultValue) {
+        String value = values.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+}
@@ -0,0 +1,262 @@
+package org.example.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.example.util.SignatureVerifier;
+import org.example.webhook.capture.CapturedDelivery;
+import org.example.webhook.capture.WebhookArchive;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Re-sends a captured webhook archive to a local bot instance and writes a throughput
+ * and latency report.
+ *
+ * Deliveries keep their recorded spacing divided by the speed factor ("1", "10", ...), or
+ * are sent back to back with "max". Once all are sent, the runner waits for the accepted
+ * PR jobs to finish, using the review.jobs.duration metric of the instance, so the report
+ * covers processing and not only webhook acceptance. The report is JSON with sorted keys,
+ * meant to be diffed between builds.
+ *
+ * Run the instance with the "replay" profile against {@link GitHubStub}.
+ *
+ * Usage: WebhookReplay --archive data/webhook-capture [--target http://localhost:3000]
+ *        [--speed 1|10|max] [--secret webhook-secret] [--concurrency 64]
+ *        [--drain-timeout-s 300] [--stub http://localhost:8089] [--report replay-report.json]
+ */
+@Slf4j
+public final class WebhookReplay {
+
+    private static final String JOB_METRIC = "/actuator/metrics/review.jobs.duration";
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            "host", "content-length", "connection", "expect", "upgrade", "transfer-encoding", "x-hub-signature-256");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        ReplayArguments arguments = ReplayArguments.parse(args);
+        Map<String, Object> report = new WebhookReplay().run(arguments);
+        Path reportPath = Path.of(arguments.get("report", "replay-report.json"));
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .writeValue(reportPath.toFile(), report);
+        log.info("Replay report written to {}", reportPath.toAbsolutePath());
+    }
+
+    private Map<String, Object> run(ReplayArguments arguments) throws Exception {
+        List<CapturedDelivery> deliveries = WebhookArchive.read(Path.of(arguments.require("archive")), objectMapper);
+        if (deliveries.isEmpty()) {
+            throw new IllegalArgumentException("No deliveries in archive " + arguments.require("archive"));
+        }
+        String target = arguments.get("target", "http://localhost:3000");
+        String speed = arguments.get("speed", "1");
+        double factor = speed.equals("max") ? 0 : Double.parseDouble(speed);
+        String secret = arguments.get("secret", null);
+        Semaphore inFlight = new Semaphore(arguments.getInt("concurrency", 64));
+        SignatureVerifier signer = new SignatureVerifier();
+
+        long jobsBefore = metricsAvailable(target) ? jobCount(target) : -1;
+        long[] latencies = new long[deliveries.size()];
+        Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+        Map<String, LongAdder> events = new ConcurrentHashMap<>();
+        AtomicInteger acceptedPullRequests = new AtomicInteger();
+
+        log.info("Replaying {} deliveries to {} at speed {}", deliveries.size(), target, speed);
+        long firstReceived = deliveries.get(0).receivedAt();
+        long start = System.nanoTime();
+        for (int i = 0; i < deliveries.size(); i++) {
+            CapturedDelivery delivery = deliveries.get(i);
+            if (factor > 0) {
+                long due = start + (long) ((delivery.receivedAt() - firstReceived) * 1_000_000 / factor);
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+            }
+            events.computeIfAbsent(String.valueOf(delivery.event()), key -> new LongAdder()).increment();
+
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(target + "/webhook/github"))
+                    .timeout(Duration.ofSeconds(30))
+                    .POST(HttpRequest.BodyPublishers.ofString(delivery.body()));
+            delivery.headers().forEach((name, value) -> {
+                if (!SKIPPED_HEADERS.contains(name)) {
+                    request.header(name, value);
+                }
+            });
+            String signature = secret != null
+                    ? signer.sign(delivery.body(), secret)
+                    : delivery.headers().get("x-hub-signature-256");
+            if (signature != null) {
+                request.header("X-Hub-Signature-256", signature);
+            }
+
+            int index = i;
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        latencies[index] = System.nanoTime() - sent;
+                        String status = error != null ? "error" : String.valueOf(response.statusCode());
+                        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+                        if (error == null && "pull_request".equals(delivery.event())
+                                && response.body().contains("\"accepted\"")) {
+                            acceptedPullRequests.incrementAndGet();
+                        }
+                        inFlight.release();
+                    });
+        }
+        inFlight.acquire(arguments.getInt("concurrency", 64));
+        long sendNanos = System.nanoTime() - start;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("speed", speed);
+        report.put("deliveries", deliveries.size());
+        report.put("events", counts(events));
+        report.put("status", counts(statuses));
+        report.put("send_duration_ms", TimeUnit.NANOSECONDS.toMillis(sendNanos));
+        report.put("deliveries_per_second", round(deliveries.size() * 1e9 / sendNanos));
+        report.put("accept_latency_ms", percentiles(latencies));
+        report.put("jobs", drain(target, jobsBefore, acceptedPullRequests.get(), start,
+                arguments.getInt("drain-timeout-s", 300)));
+        String stub = arguments.get("stub", null);
+        if (stub != null) {
+            report.put("github_requests", objectMapper.readValue(get(stub + "/_stub/stats"), Map.class));
+        }
+        return report;
+    }
+
+    /**
+     * Waits until the instance has finished the accepted PR jobs and summarizes them.
+     */
+    private Map<String, Object> drain(String target, long jobsBefore, int expected, long start, int timeoutSeconds)
+            throws InterruptedException {
+        Map<String, Object> jobs = new LinkedHashMap<>();
+        jobs.put("accepted", expected);
+        if (jobsBefore < 0) {
+            jobs.put("error", "metrics unavailable; expose the metrics actuator endpoint (replay profile)");
+            return jobs;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        long finished = 0;
+        while (System.nanoTime() < deadline) {
+            finished = jobCount(target) - jobsBefore;
+            if (finished >= expected) {
+                break;
+            }
+            TimeUnit.MILLISECONDS.sleep(200);
+        }
+        long elapsed = System.nanoTime() - start;
+        jobs.put("finished", finished);
+        jobs.put("duration_ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+        jobs.put("jobs_per_second", round(finished * 1e9 / elapsed));
+
+        JsonNode metric = metric(target);
+        if (metric != null) {
+            for (JsonNode measurement : metric.path("measurements")) {
+                // Totals include jobs that ran before the replay started
+                switch (measurement.path("statistic").asText()) {
+                    case "TOTAL_TIME" -> jobs.put("total_time_s", round(measurement.path("value").asDouble()));
+                    case "MAX" -> jobs.put("max_s", round(measurement.path("value").asDouble()));
+                    default -> {
+                    }
+                }
+            }
+        }
+        return jobs;
+    }
+
+    private long jobCount(String target) {
+        JsonNode metric = metric(target);
+        if (metric == null) {
+            // The timer is registered by the first finished job
+            return 0;
+        }
+        for (JsonNode measurement : metric.path("measurements")) {
+            if ("COUNT".equals(measurement.path("statistic").asText())) {
+                return measurement.path("value").asLong();
+            }
+        }
+        return 0;
+    }
+
+    private boolean metricsAvailable(String target) {
+        try {
+            return httpClient.send(HttpRequest.newBuilder(URI.create(target + "/actuator/metrics")).build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private JsonNode metric(String target) {
+        try {
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(target + JOB_METRIC))
+                    .timeout(Duration.ofSeconds(5)).build(), HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() == 200 ? objectMapper.readTree(response.body()) : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private String get(String url) throws IOException, InterruptedException {
+        return httpClient.send(HttpRequest.newBuilder(URI.create(url)).build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private static Map<String, Long> counts(Map<String, LongAdder> adders) {
+        Map<String, Long> counts = new TreeMap<>();
+        adders.forEach((key, value) -> counts.put(key, value.sum()));
+        return counts;
+    }
+
+    private static Map<String, Object> percentiles(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("p50", millis(sorted, 0.50));
+        result.put("p90", millis(sorted, 0.90));
+        result.put("p99", millis(sorted, 0.99));
+        result.put("max", round(sorted[sorted.length - 1] / 1e6));
+        result.put("mean", round(Arrays.stream(sorted).average().orElse(0) / 1e6));
+        return result;
+    }
+
+    private static double millis(long[] sorted, double quantile) {
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1);
+        return round(sorted[Math.max(0, index)] / 1e6);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -1,14 +1,40 @@
 package org.example.service;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import feign.FeignException;
+import feign.Response;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.client.GitHubApiClient;
+import org.example.client.request.CreateReviewCommentRequest;
+import org.example.client.request.CreateReviewRequest;
+import org.example.config.ContentFetchConfig;
+import org.example.content.ContentSpooler;
+import org.example.content.ContentTooLargeException;
+import org.example.content.JobMemoryBudget;
+import org.example.content.SpooledContent;
+import org.example.exception.GitHubUnavailableException;
+import org.example.model.github.ChangedFiles;
 import org.example.model.github.FileContent;
+import org.example.model.github.IssueComment;
 import org.example.model.github.PullRequestFile;
+import org.example.model.github.PullRequestReview;
+import org.example.model.github.RepositoryCommit;
+import org.example.model.github.ReviewComment;
+import org.example.model.webhook.PullRequest;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
 
 /**
  * Service layer for GitHub API operations.
@@ -19,7 +45,61 @@ import java.util.List;
 @Slf4j
 public class GitHubService {
 
+    private static final String RAW_MEDIA_TYPE = "application/vnd.github.raw+json";
+    private static final int FILES_PAGE_SIZE = 100;
+    private static final int COMMENTS_PAGE_SIZE = 100;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     private final GitHubApiClient apiClient;
+    private final ContentSpooler contentSpooler;
+    private final TarballContentFetcher tarballFetcher;
+    private final GraphQlContentFetcher graphQlFetcher;
+    private final ContentFetchConfig fetchConfig;
+
+    /**
+     * Fetches a pull request.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param pullNumber PR number
+     * @return Pull request with its head and base
+     */
+    public PullRequest getPullRequest(String owner, String repo, int pullNumber) {
+        log.debug("Fetching PR #{} in {}/{}", pullNumber, owner, repo);
+
+        try {
+            return apiClient.getPullRequest(owner, repo, pullNumber);
+
+        } catch (GitHubUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to fetch PR #{} in {}/{}", pullNumber, owner, repo, e);
+            throw new RuntimeException("Failed to fetch pull request #" + pullNumber, e);
+        }
+    }
+
+    /**
+     * Gets the login of the account that authored a commit.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param sha Commit SHA
+     * @return Author login, or null if the commit author has no GitHub account
+     */
+    public String getCommitAuthor(String owner, String repo, String sha) {
+        log.debug("Fetching author of {} in {}/{}", sha, owner, repo);
+
+        try {
+            RepositoryCommit commit = apiClient.getRepositoryCommit(owner, repo, sha);
+            return commit.getAuthor() != null ? commit.getAuthor().getLogin() : null;
+
+        } catch (GitHubUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to fetch commit {} in {}/{}", sha, owner, repo, e);
+            throw new RuntimeException("Failed to fetch commit " + sha, e);
+        }
+    }
 
     /**
      * Fetches the list of files changed in a pull request.
@@ -33,11 +113,62 @@ public class GitHubService {
         log.info("Fetching files for PR #{} in {}/{}", pullNumber, owner, repo);
 
         try {
-            List<PullRequestFile> files = apiClient.getPullRequestFiles(owner, repo, pullNumber);
-            log.info("Found {} changed files in PR #{}", 
-                    files != null ? files.size() : 0, pullNumber);
+            // GitHub pages this list (max 100 per page, 3000 files in total)
+            List<PullRequestFile> files = new ArrayList<>();
+            for (int page = 1; ; page++) {
+                List<PullRequestFile> batch = apiClient.getPullRequestFiles(owner, repo, pullNumber,
+                        FILES_PAGE_SIZE, page);
+                if (batch == null || batch.isEmpty()) {
+                    break;
+                }
+                files.addAll(batch);
+                if (batch.size() < FILES_PAGE_SIZE) {
+                    break;
+                }
+            }
+            log.info("Found {} changed files in PR #{}", files.size(), pullNumber);
             return files;
 
+        } catch (GitHubUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to fetch PR files for PR #{} in {}/{}", pullNumber, owner, repo, e);
+            throw new RuntimeException("Failed to fetch PR files", e);
+        }
+    }
+
+    /**
+     * Fetches the files changed in a pull request into a columnar {@link ChangedFiles},
+     * decoding each page from the response stream without a bean per file.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param pullNumber PR number
+     * @return Changed files
+     */
+    public ChangedFiles getChangedFiles(String owner, String repo, int pullNumber) {
+        log.info("Fetching files for PR #{} in {}/{}", pullNumber, owner, repo);
+
+        try {
+            ChangedFiles.Builder files = new ChangedFiles.Builder();
+            for (int page = 1; ; page++) {
+                int count;
+                try (Response response = apiClient.streamPullRequestFiles(owner, repo, pullNumber,
+                        FILES_PAGE_SIZE, page);
+                     InputStream body = openBody(response, "streamPullRequestFiles");
+                     JsonParser parser = JSON_FACTORY.createParser(body)) {
+                    count = files.readPage(parser);
+                }
+                if (count < FILES_PAGE_SIZE) {
+                    break;
+                }
+            }
+            ChangedFiles changedFiles = files.build();
+            log.info("Found {} changed files in PR #{}", changedFiles.size(), pullNumber);
+            return changedFiles;
+
+        } catch (GitHubUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to fetch PR files for PR #{} in {}/{}", pullNumber, owner, repo, e);
             throw new RuntimeException("Failed to fetch PR files", e);
@@ -65,12 +196,261 @@ public class GitHubService {
                     path, decodedContent.length());
             return decodedContent;
 
+        } catch (GitHubUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to fetch file content for: {} in {}/{}", path, owner, repo, e);
+            throw new RuntimeException("Failed to fetch file content: " + path, e);
+        }
+    }
+
+    /**
+     * Streams the raw content of a file into job-budgeted storage.
+     * Small files stay on heap; large ones spill to a memory-mapped temp file.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param path File path
+     * @param ref Branch name or commit SHA
+     * @param budget Memory budget of the calling job
+     * @return Spooled file content (released when the budget closes)
+     * @throws ContentTooLargeException if the file exceeds the hard size limit
+     */
+    public SpooledContent getFileContent(String owner, String repo, String path, String ref,
+                                         JobMemoryBudget budget) {
+        log.debug("Streaming content for file: {} at {} in {}/{}", path, ref, owner, repo);
+
+        try (Response response = apiClient.getRawFileContent(owner, repo, path, ref, RAW_MEDIA_TYPE);
+             InputStream body = openBody(response, "getRawFileContent")) {
+            SpooledContent content = contentSpooler.spool(body, contentLength(response), budget);
+            log.debug("Fetched {} ({} bytes, spilled: {})", path, content.size(), content.isSpilled());
+            return content;
+
+        } catch (ContentTooLargeException e) {
+            throw e;
+        } catch (GitHubUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to fetch file content for: {} in {}/{}", path, owner, repo, e);
             throw new RuntimeException("Failed to fetch file content: " + path, e);
         }
     }
 
+    /**
+     * Fetches the contents of several files of one commit, choosing the cheapest strategy:
+     * a single tarball download for very many files, batched GraphQL queries for a
+     * moderate number, and per-file REST requests for a few. Paths a failed tarball download
+     * did not deliver go to GraphQL or REST, and paths of failed GraphQL batches go to REST.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param ref Commit SHA
+     * @param paths File paths
+     * @param budget Memory budget of the calling job
+     * @return Contents keyed by path; files over the size limit or failing to download are left out
+     * @throws GitHubUnavailableException if GitHub is unavailable
+     */
+    public Map<String, SpooledContent> getFileContents(String owner, String repo, String ref, Set<String> paths,
+                                                       JobMemoryBudget budget) {
+        Map<String, SpooledContent> contents = new HashMap<>();
+        Set<String> remaining = paths;
+        if (paths.size() >= fetchConfig.getTarballThreshold()) {
+            // A failed download leaves the unread paths to the cheaper strategies below
+            TarballContentFetcher.Result result = tarballFetcher.fetch(owner, repo, ref, paths, budget);
+            contents.putAll(result.contents());
+            remaining = result.fallbackPaths();
+        }
+
+        Collection<String> restPaths = remaining;
+        if (remaining.size() >= fetchConfig.getGraphqlThreshold()) {
+            // Failed batches come back as fallback paths; fetched contents are kept
+            GraphQlContentFetcher.Result result = graphQlFetcher.fetch(owner, repo, ref, remaining, budget);
+            contents.putAll(result.contents());
+            restPaths = result.fallbackPaths();
+        }
+
+        for (String path : restPaths) {
+            try {
+                contents.put(path, getFileContent(owner, repo, path, ref, budget));
+            } catch (ContentTooLargeException e) {
+                log.info("Skipping content of {}: {}", path, e.getMessage());
+            } catch (RuntimeException e) {
+                // A file deleted by a later push only drops that file; outages and cancellation end the job
+                if (GitHubUnavailableException.find(e) != null || e instanceof CancellationException) {
+                    throw e;
+                }
+                log.warn("Skipping {} - failed to fetch content: {}", path, e.toString());
+            }
+        }
+        return contents;
+    }
+
+    /**
+     * Creates an inline review comment on a pull request.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param pullNumber PR number
+     * @param request Review comment details
+     * @return Created review comment
+     */
+    public ReviewComment createReviewComment(String owner, String repo, int pullNumber,
+                                             CreateReviewCommentRequest request) {
+        log.debug("Creating review comment on {}:{} in PR #{}", request.getPath(), request.getLine(), pullNumber);
+
+        try {
+            return apiClient.createReviewComment(owner, repo, pullNumber, request);
+
+        } catch (GitHubUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to create review comment on {} in PR #{} in {}/{}",
+                    request.getPath(), pullNumber, owner, repo, e);
+            throw new RuntimeException("Failed to create review comment: " + request.getPath(), e);
+        }
+    }
+
+    /**
+     * Submits a review with several inline comments in one call.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param pullNumber PR number
+     * @param request Review with its comments
+     * @return Comments of the submitted review
+     */
+    public List<ReviewComment> createReview(String owner, String repo, int pullNumber, CreateReviewRequest request) {
+        log.debug("Submitting a review with {} comments in PR #{}", request.getComments().size(), pullNumber);
+
+        try {
+            PullRequestReview review = apiClient.createReview(owner, repo, pullNumber, request);
+            List<ReviewComment> comments = new ArrayList<>();
+            if (review == null || review.getId() == null) {
+                return comments;
+            }
+            for (int page = 1; ; page++) {
+                List<ReviewComment> batch = apiClient.listReviewCommentsOfReview(owner, repo, pullNumber,
+                        review.getId(), COMMENTS_PAGE_SIZE, page);
+                if (batch == null || batch.isEmpty()) {
+                    break;
+                }
+                comments.addAll(batch);
+                if (batch.size() < COMMENTS_PAGE_SIZE) {
+                    break;
+                }
+            }
+            return comments;
+
+        } catch (GitHubUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to submit a review in PR #{} in {}/{}", pullNumber, owner, repo, e);
+            throw new RuntimeException("Failed to submit review", e);
+        }
+    }
+
+    /**
+     * Posts a comment in the conversation of a pull request.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param pullNumber PR number
+     * @param body Comment text (Markdown)
+     * @return Created comment
+     */
+    public IssueComment createIssueComment(String owner, String repo, int pullNumber, String body) {
+        log.debug("Creating conversation comment in PR #{} in {}/{}", pullNumber, owner, repo);
+
+        try {
+            return apiClient.createIssueComment(owner, repo, pullNumber, Map.of("body", body));
+
+        } catch (GitHubUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to create conversation comment in PR #{} in {}/{}", pullNumber, owner, repo, e);
+            throw new RuntimeException("Failed to create conversation comment", e);
+        }
+    }
+
+    /**
+     * Lists one page of review comments on a pull request.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param pullNumber PR number
+     * @param perPage Page size (max 100)
+     * @param page Page number (1-based)
+     * @return Review comments on the page
+     */
+    public List<ReviewComment> listReviewComments(String owner, String repo, int pullNumber, int perPage, int page) {
+        log.debug("Listing review comments page {} for PR #{} in {}/{}", page, pullNumber, owner, repo);
+
+        try {
+            List<ReviewComment> comments = apiClient.listReviewComments(owner, repo, pullNumber, perPage, page);
+            return comments != null ? comments : List.of();
+
+        } catch (GitHubUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to list review comments for PR #{} in {}/{}", pullNumber, owner, repo, e);
+            throw new RuntimeException("Failed to list review comments", e);
+        }
+    }
+
+    /**
+     * Replaces the body of an existing review comment.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param commentId Comment ID
+     * @param body New comment body
+     * @return Updated review comment
+     */
+    public ReviewComment updateReviewComment(String owner, String repo, long commentId, String body) {
+        log.debug("Updating review comment {} in {}/{}", commentId, owner, repo);
+
+        try {
+            return apiClient.updateReviewComment(owner, repo, commentId, Map.of("body", body));
+
+        } catch (GitHubUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to update review comment {} in {}/{}", commentId, owner, repo, e);
+            throw new RuntimeException("Failed to update review comment: " + commentId, e);
+        }
+    }
+
+    /**
+     * Opens the body of a streamed response once its status is known to be a success.
+     * Error statuses are thrown as {@link FeignException} (the error body is read by Feign).
+     *
+     * @param response Response of a client method returning {@link Response}
+     * @param methodKey Client method, for the exception message
+     * @return Body stream; closed together with the response
+     * @throws IOException if a successful response has no body
+     */
+    static InputStream openBody(Response response, String methodKey) throws IOException {
+        if (response.status() >= 400) {
+            throw FeignException.errorStatus(methodKey, response);
+        }
+        if (response.body() == null) {
+            throw new IOException(methodKey + " returned status " + response.status() + " without a body");
+        }
+        return response.body().asInputStream();
+    }
+
+    private static long contentLength(Response response) {
+        Collection<String> values = response.headers().get("content-length");
+        if (values == null || values.isEmpty()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(values.iterator().next());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
     /**
      * Decodes Base64-encoded file content from GitHub API.
      *
@@ -0,0 +1,170 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.client.GitHubGraphQlClient;
+import org.example.config.ContentFetchConfig;
+import org.example.content.ContentSpooler;
+import org.example.content.ContentTooLargeException;
+import org.example.content.JobMemoryBudget;
+import org.example.content.SpooledContent;
+import org.example.exception.GitHubUnavailableException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fetches many files of a commit with a few GraphQL queries.
+ *
+ * Each query asks for up to {@code graphqlBatchSize} blobs through aliased
+ * {@code object(expression: "sha:path")} fields, so N files cost N / batch-size round
+ * trips instead of N. Blobs GraphQL cannot return as text (binary or truncated), blobs
+ * an error refers to, and the paths of batches whose query failed or returned no
+ * repository, are reported back so the caller can fall back to REST; contents of the
+ * other batches are kept. Only a null blob without an error means the path does not exist.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GraphQlContentFetcher {
+
+    private final GitHubGraphQlClient graphQlClient;
+    private final ContentSpooler contentSpooler;
+    private final ContentFetchConfig config;
+
+    /**
+     * Result of a batched fetch.
+     *
+     * @param contents Contents keyed by path
+     * @param fallbackPaths Paths that must be fetched another way
+     */
+    public record Result(Map<String, SpooledContent> contents, List<String> fallbackPaths) {
+    }
+
+    /**
+     * Fetches the requested files of a commit in batches.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param ref Commit SHA
+     * @param paths Paths to fetch
+     * @param budget Memory budget of the calling job
+     * @return Batched fetch result
+     * @throws GitHubUnavailableException if GitHub is unavailable
+     */
+    public Result fetch(String owner, String repo, String ref, Set<String> paths, JobMemoryBudget budget) {
+        List<String> ordered = new ArrayList<>(paths);
+        Map<String, SpooledContent> contents = new HashMap<>();
+        List<String> fallbackPaths = new ArrayList<>();
+        int queries = 0;
+        int totalCost = 0;
+
+        for (int start = 0; start < ordered.size(); start += config.getGraphqlBatchSize()) {
+            List<String> batch = ordered.subList(start, Math.min(start + config.getGraphqlBatchSize(), ordered.size()));
+            JsonNode response;
+            try {
+                response = graphQlClient.query(buildRequest(owner, repo, ref, batch));
+            } catch (GitHubUnavailableException e) {
+                throw e;
+            } catch (Exception e) {
+                log.warn("GraphQL content query for {}/{} failed, {} files fall back to REST",
+                        owner, repo, batch.size(), e);
+                fallbackPaths.addAll(batch);
+                continue;
+            }
+            queries++;
+
+            JsonNode repository = response.path("data").path("repository");
+            totalCost += response.path("data").path("rateLimit").path("cost").asInt(0);
+            Set<String> failedAliases = new HashSet<>();
+            boolean batchFailed = repository.isMissingNode() || repository.isNull();
+            if (response.hasNonNull("errors")) {
+                log.warn("GraphQL content query for {}/{} returned errors: {}", owner, repo, response.get("errors"));
+                for (JsonNode error : response.get("errors")) {
+                    String alias = failedAlias(error);
+                    if (alias != null) {
+                        failedAliases.add(alias);
+                    } else {
+                        batchFailed = true;
+                    }
+                }
+            }
+            if (batchFailed) {
+                fallbackPaths.addAll(batch);
+                continue;
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                String path = batch.get(i);
+                JsonNode blob = repository.path("f" + i);
+                if (blob.isMissingNode() || blob.isNull()) {
+                    if (failedAliases.contains("f" + i)) {
+                        fallbackPaths.add(path);
+                    }
+                    // Otherwise the path does not exist at this commit
+                    continue;
+                }
+
+                if (blob.path("isBinary").asBoolean(false) || blob.path("isTruncated").asBoolean(false)
+                        || !blob.hasNonNull("text")) {
+                    fallbackPaths.add(path);
+                    continue;
+                }
+                try {
+                    contents.put(path, contentSpooler.spool(blob.get("text").asText(), budget));
+                } catch (ContentTooLargeException e) {
+                    log.info("Skipping content of {}: {}", path, e.getMessage());
+                } catch (Exception e) {
+                    fallbackPaths.add(path);
+                }
+            }
+        }
+
+        log.info("Fetched {} of {} files of {}/{}@{} in {} GraphQL queries (cost {}, {} fall back to REST)",
+                contents.size(), paths.size(), owner, repo, ref, queries, totalCost, fallbackPaths.size());
+        return new Result(contents, fallbackPaths);
+    }
+
+    /**
+     * Gets the blob alias an error refers to, e.g. "f3" for the path ["repository", "f3"].
+     *
+     * @return Alias, or null if the error concerns the whole query
+     */
+    private static String failedAlias(JsonNode error) {
+        JsonNode path = error.path("path");
+        if (path.size() >= 2 && "repository".equals(path.get(0).asText()) && path.get(1).asText().startsWith("f")) {
+            return path.get(1).asText();
+        }
+        return null;
+    }
+
+    /**
+     * Builds a query with one aliased blob lookup per path. Expressions are passed
+     * as variables so paths never need escaping inside the query text.
+     */
+    private static Map<String, Object> buildRequest(String owner, String repo, String ref, List<String> batch) {
+        StringBuilder declarations = new StringBuilder("$owner: String!, $name: String!");
+        StringBuilder fields = new StringBuilder();
+        Map<String, Object> variables = new LinkedHashMap<>();
+        variables.put("owner", owner);
+        variables.put("name", repo);
+
+        for (int i = 0; i < batch.size(); i++) {
+            declarations.append(", $e").append(i).append(": String!");
+            fields.append("f").append(i).append(": object(expression: $e").append(i).append(") ")
+                    .append("{ ... on Blob { isBinary isTruncated text } } ");
+            variables.put("e" + i, ref + ":" + batch.get(i));
+        }
+
+        String query = "query(" + declarations + ") { repository(owner: $owner, name: $name) { "
+                + fields + "} rateLimit { cost remaining } }";
+        return Map.of("query", query, "variables", variables);
+    }
+}
@@ -0,0 +1,212 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.client.request.CreateReviewCommentRequest;
+import org.example.content.ContentSpooler;
+import org.example.content.ContentTooLargeException;
+import org.example.content.JobMemoryBudget;
+import org.example.content.SpooledContent;
+import org.example.exception.GitHubUnavailableException;
+import org.example.model.github.FileContent;
+import org.example.model.github.PullRequestFile;
+import org.example.model.github.ReviewComment;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking counterpart of {@link GitHubService} on WebClient and Reactor Netty.
+ *
+ * No thread waits for GitHub, so the number of concurrent calls is bounded by the
+ * connection pool instead of thread pools. Callers put the installation into the Reactor
+ * context under {@link org.example.auth.InstallationContext#REACTOR_KEY}.
+ *
+ * Errors are wrapped like in {@link GitHubService}; {@link GitHubUnavailableException} and
+ * {@link ContentTooLargeException} are passed through.
+ */
+@Service
+@Slf4j
+public class ReactiveGitHubService {
+
+    private static final String RAW_MEDIA_TYPE = "application/vnd.github.raw+json";
+    private static final int FILES_PAGE_SIZE = 100;
+
+    private final WebClient webClient;
+    private final ContentSpooler contentSpooler;
+
+    public ReactiveGitHubService(@Qualifier("githubWebClient") WebClient webClient, ContentSpooler contentSpooler) {
+        this.webClient = webClient;
+        this.contentSpooler = contentSpooler;
+    }
+
+    /**
+     * Streams the files changed in a pull request. Each page is decoded element by
+     * element, so files are emitted while the page is still arriving and the next page
+     * is requested only once the previous one is exhausted.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param pullNumber PR number
+     * @return Changed files
+     */
+    public Flux<PullRequestFile> getPullRequestFiles(String owner, String repo, int pullNumber) {
+        log.info("Streaming files for PR #{} in {}/{}", pullNumber, owner, repo);
+        return filesPage(owner, repo, pullNumber, 1)
+                .onErrorMap(e -> !(e instanceof GitHubUnavailableException), e -> {
+                    log.error("Failed to fetch PR files for PR #{} in {}/{}", pullNumber, owner, repo, e);
+                    return new RuntimeException("Failed to fetch PR files", e);
+                });
+    }
+
+    private Flux<PullRequestFile> filesPage(String owner, String repo, int pullNumber, int page) {
+        return Flux.defer(() -> {
+            AtomicInteger received = new AtomicInteger();
+            return webClient.get()
+                    .uri("/repos/{owner}/{repo}/pulls/{pullNumber}/files?per_page={perPage}&page={page}",
+                            owner, repo, pullNumber, FILES_PAGE_SIZE, page)
+                    .retrieve()
+                    .bodyToFlux(PullRequestFile.class)
+                    .doOnNext(file -> received.incrementAndGet())
+                    // GitHub pages this list (max 100 per page, 3000 files in total)
+                    .concatWith(Flux.defer(() -> received.get() < FILES_PAGE_SIZE
+                            ? Flux.empty()
+                            : filesPage(owner, repo, pullNumber, page + 1)));
+        });
+    }
+
+    /**
+     * Fetches the content of a file from a specific branch.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param path File path
+     * @param branch Branch name
+     * @return Decoded file content as string
+     */
+    public Mono<String> getFileContent(String owner, String repo, String path, String branch) {
+        return webClient.get()
+                .uri(builder -> contentsUri(builder, owner, repo, path, branch))
+                .retrieve()
+                .bodyToMono(FileContent.class)
+                .map(content -> new String(Base64.getMimeDecoder().decode(content.getContent())))
+                .onErrorMap(e -> !(e instanceof GitHubUnavailableException), e -> {
+                    log.error("Failed to fetch file content for: {} in {}/{}", path, owner, repo, e);
+                    return new RuntimeException("Failed to fetch file content: " + path, e);
+                });
+    }
+
+    /**
+     * Streams the raw content of a file into job-budgeted storage.
+     * Small files stay on heap; large ones are written to a spill file as they arrive.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param path File path
+     * @param ref Branch name or commit SHA
+     * @param budget Memory budget of the calling job
+     * @return Spooled file content (released when the budget closes)
+     */
+    public Mono<SpooledContent> getFileContent(String owner, String repo, String path, String ref,
+                                               JobMemoryBudget budget) {
+        return webClient.get()
+                .uri(builder -> contentsUri(builder, owner, repo, path, ref))
+                .header(HttpHeaders.ACCEPT, RAW_MEDIA_TYPE)
+                .exchangeToMono(response -> response.statusCode().isError()
+                        ? response.<SpooledContent>createError()
+                        : contentSpooler.spool(response.bodyToFlux(DataBuffer.class),
+                                response.headers().contentLength().orElse(-1), budget))
+                .doOnNext(content -> log.debug("Fetched {} ({} bytes, spilled: {})", path, content.size(),
+                        content.isSpilled()))
+                .onErrorMap(e -> !(e instanceof GitHubUnavailableException || e instanceof ContentTooLargeException),
+                        e -> {
+                            log.error("Failed to fetch file content for: {} in {}/{}", path, owner, repo, e);
+                            return new RuntimeException("Failed to fetch file content: " + path, e);
+                        });
+    }
+
+    /**
+     * Creates an inline review comment on a pull request.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param pullNumber PR number
+     * @param request Review comment details
+     * @return Created review comment
+     */
+    public Mono<ReviewComment> createReviewComment(String owner, String repo, int pullNumber,
+                                                   CreateReviewCommentRequest request) {
+        return webClient.post()
+                .uri("/repos/{owner}/{repo}/pulls/{pullNumber}/comments", owner, repo, pullNumber)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(ReviewComment.class)
+                .onErrorMap(e -> !(e instanceof GitHubUnavailableException), e -> {
+                    log.error("Failed to create review comment on {} in PR #{} in {}/{}",
+                            request.getPath(), pullNumber, owner, repo, e);
+                    return new RuntimeException("Failed to create review comment: " + request.getPath(), e);
+                });
+    }
+
+    /**
+     * Lists one page of review comments on a pull request.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param pullNumber PR number
+     * @param perPage Page size (max 100)
+     * @param page Page number (1-based)
+     * @return Review comments on the page
+     */
+    public Flux<ReviewComment> listReviewComments(String owner, String repo, int pullNumber, int perPage, int page) {
+        return webClient.get()
+                .uri("/repos/{owner}/{repo}/pulls/{pullNumber}/comments?per_page={perPage}&page={page}",
+                        owner, repo, pullNumber, perPage, page)
+                .retrieve()
+                .bodyToFlux(ReviewComment.class)
+                .onErrorMap(e -> !(e instanceof GitHubUnavailableException), e -> {
+                    log.error("Failed to list review comments for PR #{} in {}/{}", pullNumber, owner, repo, e);
+                    return new RuntimeException("Failed to list review comments", e);
+                });
+    }
+
+    /**
+     * Replaces the body of an existing review comment.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param commentId Comment ID
+     * @param body New comment body
+     * @return Updated review comment
+     */
+    public Mono<ReviewComment> updateReviewComment(String owner, String repo, long commentId, String body) {
+        return webClient.patch()
+                .uri("/repos/{owner}/{repo}/pulls/comments/{commentId}", owner, repo, commentId)
+                .bodyValue(Map.of("body", body))
+                .retrieve()
+                .bodyToMono(ReviewComment.class)
+                .onErrorMap(e -> !(e instanceof GitHubUnavailableException), e -> {
+                    log.error("Failed to update review comment {} in {}/{}", commentId, owner, repo, e);
+                    return new RuntimeException("Failed to update review comment: " + commentId, e);
+                });
+    }
+
+    /**
+     * Builds a contents URI; the file path keeps its slashes, one segment per directory.
+     */
+    private static URI contentsUri(UriBuilder builder, String owner, String repo, String path, String ref) {
+        return builder.path("/repos/{owner}/{repo}/contents")
+                .pathSegment(path.split("/"))
+                .queryParam("ref", "{ref}")
+                .build(owner, repo, ref);
+    }
+}
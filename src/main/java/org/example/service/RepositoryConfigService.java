@@ -0,0 +1,153 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.client.GitHubApiClient;
+import org.example.exception.GitHubUnavailableException;
+import org.example.model.github.FileContent;
+import org.example.model.review.RepositoryConfig;
+import org.example.model.webhook.PushPayload;
+import org.example.profiling.CacheLookupEvent;
+import org.springframework.stereotype.Service;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads per-repository settings from {@code .github/pr-review-bot.yml} on the base branch.
+ *
+ * Two bounded LRU caches keep the hot path free of API calls:
+ * - (repository, branch) to the config's blob SHA and parsed settings, dropped only when
+ *   a push to that branch touches the config file
+ * - (repository, blob SHA) to parsed settings, so a re-fetched but unchanged file is
+ *   never parsed twice
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RepositoryConfigService {
+
+    public static final String CONFIG_PATH = ".github/pr-review-bot.yml";
+
+    private static final int MAX_CACHED_BRANCHES = 2_000;
+    private static final int MAX_CACHED_BLOBS = 2_000;
+    private static final String NO_FILE = "none";
+
+    private final GitHubApiClient apiClient;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, BranchEntry> byBranch = lruMap(MAX_CACHED_BRANCHES);
+    private final Map<String, RepositoryConfig> byBlob = lruMap(MAX_CACHED_BLOBS);
+
+    /**
+     * Gets the settings of a repository as configured on a branch.
+     * Falls back to defaults if the file is missing or invalid. Any other fetch failure is
+     * thrown, so a job never reviews a repository that may have disabled reviews.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param branch Base branch of the PR
+     * @return Repository settings
+     * @throws GitHubUnavailableException if GitHub is unavailable; the job should be parked
+     */
+    public RepositoryConfig getConfig(String owner, String repo, String branch) {
+        String branchKey = owner + "/" + repo + "@" + branch;
+        BranchEntry cached = byBranch.get(branchKey);
+        CacheLookupEvent.record("repository-config", cached != null);
+        if (cached != null) {
+            return cached.config();
+        }
+
+        BranchEntry loaded = load(owner, repo, branch);
+        byBranch.put(branchKey, loaded);
+        return loaded.config();
+    }
+
+    /**
+     * Drops the cached settings of a branch when a push touched the config file.
+     *
+     * @param payload Push webhook payload
+     */
+    public void onPush(PushPayload payload) {
+        String branch = payload.getBranch();
+        if (branch == null || payload.getRepository() == null || payload.getCommits() == null) {
+            return;
+        }
+
+        boolean touched = payload.getCommits().stream().anyMatch(commit ->
+                contains(commit.getAdded()) || contains(commit.getModified()) || contains(commit.getRemoved()));
+        if (touched) {
+            String branchKey = payload.getRepository().getFullName() + "@" + branch;
+            byBranch.remove(branchKey);
+            log.info("Config file changed on {}, cached settings dropped", branchKey);
+        }
+    }
+
+    private BranchEntry load(String owner, String repo, String branch) {
+        FileContent file;
+        try {
+            file = apiClient.getFileContent(owner, repo, CONFIG_PATH, branch);
+        } catch (FeignException.NotFound e) {
+            log.debug("No {} in {}/{}@{}, using defaults", CONFIG_PATH, owner, repo, branch);
+            return new BranchEntry(NO_FILE, RepositoryConfig.DEFAULT);
+        } catch (GitHubUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to fetch {} from {}/{}@{}", CONFIG_PATH, owner, repo, branch, e);
+            throw new RuntimeException("Failed to fetch " + CONFIG_PATH + " from " + owner + "/" + repo, e);
+        }
+
+        String blobKey = owner + "/" + repo + "@" + file.getSha();
+        RepositoryConfig config = byBlob.get(blobKey);
+        if (config == null) {
+            config = parse(file, owner, repo);
+            byBlob.put(blobKey, config);
+        }
+        return new BranchEntry(file.getSha(), config);
+    }
+
+    private RepositoryConfig parse(FileContent file, String owner, String repo) {
+        try {
+            String yaml = new String(Base64.getMimeDecoder().decode(file.getContent()), StandardCharsets.UTF_8);
+            Object document = new Yaml(new SafeConstructor(new LoaderOptions())).load(yaml);
+            if (document == null) {
+                return RepositoryConfig.DEFAULT;
+            }
+            RepositoryConfig config = objectMapper.convertValue(document, RepositoryConfig.class).compile();
+            log.info("Loaded {} for {}/{} at blob {}", CONFIG_PATH, owner, repo, file.getSha());
+            return config;
+
+        } catch (Exception e) {
+            log.warn("Invalid {} in {}/{} at blob {}, using defaults", CONFIG_PATH, owner, repo, file.getSha(), e);
+            return RepositoryConfig.DEFAULT;
+        }
+    }
+
+    private static boolean contains(List<String> paths) {
+        return paths != null && paths.contains(CONFIG_PATH);
+    }
+
+    private static <V> Map<String, V> lruMap(int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Settings cached for a branch with the blob SHA they were parsed from.
+     */
+    private record BranchEntry(String blobSha, RepositoryConfig config) {
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.service;
+
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.client.GitHubApiClient;
+import org.example.content.ContentSpooler;
+import org.example.content.ContentTooLargeException;
+import org.example.content.JobMemoryBudget;
+import org.example.content.SpooledContent;
+import org.example.content.TarStreamReader;
+import org.example.exception.GitHubUnavailableException;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Fetches many files of a commit with a single tarball download.
+ *
+ * The gzip-compressed tarball is decompressed and parsed as it streams in; only entries
+ * whose path was requested are spooled, everything else is skipped without touching disk.
+ * Decompression and parsing stop once all requested paths have been found. The rest of the
+ * archive is still transferred: closing the response drains the body so the connection can
+ * be reused.
+ *
+ * If the download fails for any reason other than an outage (a corrupt or truncated archive,
+ * an unexpected entry, an I/O error), the files extracted so far are kept and the paths not
+ * read yet are reported back so the caller can fetch them another way.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TarballContentFetcher {
+
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    private final GitHubApiClient apiClient;
+    private final ContentSpooler contentSpooler;
+
+    /**
+     * Result of a tarball fetch.
+     *
+     * @param contents Contents keyed by path
+     * @param fallbackPaths Paths that must be fetched another way because the download failed
+     */
+    public record Result(Map<String, SpooledContent> contents, Set<String> fallbackPaths) {
+    }
+
+    /**
+     * Extracts the requested files from the tarball of a commit.
+     * Files over the hard size limit are left out of the result.
+     *
+     * @param owner Repository owner
+     * @param repo Repository name
+     * @param ref Commit SHA or branch
+     * @param paths Paths to extract
+     * @param budget Memory budget of the calling job
+     * @return Contents keyed by path (other paths were not found, too large or fall back)
+     * @throws GitHubUnavailableException if GitHub is unavailable
+     */
+    public Result fetch(String owner, String repo, String ref, Set<String> paths,
+                                             JobMemoryBudget budget) {
+        log.info("Fetching {} files of {}/{}@{} via tarball", paths.size(), owner, repo, ref);
+
+        Map<String, SpooledContent> contents = new HashMap<>();
+        Set<String> pending = new HashSet<>(paths);
+        int scanned = 0;
+
+        try (Response response = apiClient.downloadTarball(owner, repo, ref);
+             InputStream body = GitHubService.openBody(response, "downloadTarball")) {
+
+            TarStreamReader reader = new TarStreamReader(
+                    new GZIPInputStream(new BufferedInputStream(body, STREAM_BUFFER_SIZE), STREAM_BUFFER_SIZE));
+
+            TarStreamReader.Entry entry;
+            // Stops inflating, not downloading: the remaining bytes are drained on close
+            while (!pending.isEmpty() && (entry = reader.nextFile()) != null) {
+                scanned++;
+                String path = stripRootDirectory(entry.name());
+                if (!pending.contains(path)) {
+                    continue;
+                }
+                try {
+                    contents.put(path, contentSpooler.spool(entry.content(), entry.size(), budget));
+                } catch (ContentTooLargeException e) {
+                    log.info("Skipping {} from tarball: {}", path, e.getMessage());
+                }
+                // Only once read, so a path whose entry is cut off falls back
+                pending.remove(path);
+            }
+            pending.clear();
+
+        } catch (GitHubUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.warn("Failed to fetch tarball of {}/{}@{}, {} files fall back", owner, repo, ref, pending.size(), e);
+        }
+
+        log.info("Extracted {} of {} files from tarball after scanning {} entries",
+                contents.size(), paths.size(), scanned);
+        return new Result(contents, pending);
+    }
+
+    /**
+     * GitHub tarballs nest everything under a single "{owner}-{repo}-{sha}/" directory.
+     */
+    private static String stripRootDirectory(String name) {
+        int slash = name.indexOf('/');
+        return slash >= 0 ? name.substring(slash + 1) : name;
+    }
+}
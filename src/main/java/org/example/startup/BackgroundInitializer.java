@@ -0,0 +1,67 @@
+package org.example.startup;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.auth.GitHubAppJwtService;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Finishes initialization off the startup path.
+ *
+ * With {@code spring.main.lazy-initialization=true} (fast-start profile) the server starts
+ * accepting requests before most beans exist. Once the application is ready, this creates
+ * every remaining singleton on a background thread, generates a first JWT to load the
+ * crypto classes, and then opens the {@link StartupGate}. Without lazy initialization only
+ * the JWT warm-up is left to do.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BackgroundInitializer {
+
+    private final ConfigurableListableBeanFactory beanFactory;
+    private final GitHubAppJwtService jwtService;
+    private final StartupGate startupGate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        Thread thread = new Thread(this::warmUp, "startup-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void warmUp() {
+        long start = System.currentTimeMillis();
+        int created = 0;
+        try {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (definition.isAbstract() || !definition.isSingleton() || beanFactory.containsSingleton(name)) {
+                    continue;
+                }
+                try {
+                    beanFactory.getBean(name);
+                    created++;
+                } catch (Exception e) {
+                    log.warn("Failed to initialize bean {} during warm-up", name, e);
+                }
+            }
+            try {
+                jwtService.warmUp();
+            } catch (Exception e) {
+                log.warn("JWT warm-up failed; the first token exchange will retry", e);
+            }
+        } finally {
+            startupGate.markReady();
+        }
+        log.info("Warm-up finished in {} ms ({} beans created), {} ms after JVM start",
+                System.currentTimeMillis() - start, created,
+                System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime());
+    }
+}
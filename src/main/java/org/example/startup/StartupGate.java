@@ -0,0 +1,101 @@
+package org.example.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lets the webhook endpoint acknowledge deliveries while the application is still warming up.
+ *
+ * Work submitted before {@link #markReady()} is held and run once warm-up has finished,
+ * so a cold instance answers GitHub without waiting for the GitHub clients. Also reports
+ * the time from JVM start to the first acknowledged webhook (review.startup.first.ack).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StartupGate {
+
+    private final MeterRegistry meterRegistry;
+
+    private final List<Runnable> pending = new ArrayList<>();
+    private volatile boolean ready;
+    private volatile boolean acknowledged;
+    private volatile long firstAckMillis;
+
+    /**
+     * Runs work now if warm-up has finished, otherwise once it has.
+     *
+     * @param work Work needing fully initialized beans
+     */
+    public void runWhenReady(Runnable work) {
+        if (!ready) {
+            synchronized (pending) {
+                if (!ready) {
+                    pending.add(work);
+                    return;
+                }
+            }
+        }
+        work.run();
+    }
+
+    /**
+     * Marks warm-up as finished and runs the held work.
+     */
+    public void markReady() {
+        List<Runnable> held;
+        synchronized (pending) {
+            ready = true;
+            held = new ArrayList<>(pending);
+            pending.clear();
+        }
+        if (!held.isEmpty()) {
+            log.info("Running {} webhook(s) received during warm-up", held.size());
+        }
+        for (Runnable work : held) {
+            try {
+                work.run();
+            } catch (Exception e) {
+                log.error("Failed to run webhook received during warm-up", e);
+            }
+        }
+    }
+
+    /**
+     * Checks whether warm-up has finished.
+     *
+     * @return true once ready
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Notes that a webhook was acknowledged; the first one is reported.
+     */
+    public void recordAck() {
+        if (acknowledged) {
+            return;
+        }
+        synchronized (this) {
+            if (acknowledged) {
+                return;
+            }
+            firstAckMillis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+            acknowledged = true;
+        }
+        TimeGauge.builder("review.startup.first.ack", this, TimeUnit.MILLISECONDS, gate -> gate.firstAckMillis)
+                .description("Time from JVM start to the first acknowledged webhook")
+                .register(meterRegistry);
+        log.info("First webhook acknowledged {} ms after JVM start (warm-up {})", firstAckMillis,
+                ready ? "finished" : "still running");
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.openssl.jcajce.JcaPEMWriter;
+import org.example.Main;
+import org.example.replay.GitHubStub;
+import org.example.util.SignatureVerifier;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Training run for the AppCDS archive of the fast-start build.
+ *
+ * Starts the application against an in-process {@link GitHubStub} with a throwaway key,
+ * sends it signed pull_request webhooks and waits until they are reviewed, then exits.
+ * Run with {@code -XX:ArchiveClassesAtExit}, this records the classes of startup and of
+ * the whole review path (Feign, Jackson, JWT signing, analyzers). The fast-start Maven
+ * profile runs it after packaging.
+ */
+@Slf4j
+public final class TrainingRun {
+
+    private static final String SECRET = "training";
+    private static final int PULL_REQUESTS = 20;
+    private static final long TIMEOUT_SECONDS = 120;
+
+    private TrainingRun() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        HttpServer stub = new GitHubStub(10, 100, 0, 0).start(0);
+        int exitCode;
+        try {
+            SpringApplication application = new SpringApplication(Main.class);
+            application.setAdditionalProfiles("fast-start", "replay");
+            ConfigurableApplicationContext context = application.run(
+                    "--server.port=0",
+                    "--github.app.api-base-url=http://localhost:" + stub.getAddress().getPort(),
+                    "--github.app.app-id=1",
+                    "--github.app.installation-id=1",
+                    "--github.app.webhook-secret=" + SECRET,
+                    "--github.app.private-key=" + generatePrivateKey());
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            sendWebhooks(port);
+            awaitJobs(context.getBean(MeterRegistry.class));
+            exitCode = SpringApplication.exit(context);
+        } finally {
+            stub.stop(0);
+        }
+        System.exit(exitCode);
+    }
+
+    private static void sendWebhooks(int port) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        ObjectMapper objectMapper = new ObjectMapper();
+        SignatureVerifier signer = new SignatureVerifier();
+        for (int number = 1; number <= PULL_REQUESTS; number++) {
+            String body = objectMapper.writeValueAsString(pullRequestEvent(number));
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/webhook/github"))
+                    .header("Content-Type", "application/json")
+                    .header("X-GitHub-Event", "pull_request")
+                    .header("X-Hub-Signature-256", signer.sign(body, SECRET))
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Training webhook rejected: " + response.body());
+            }
+        }
+    }
+
+    private static void awaitJobs(MeterRegistry meterRegistry) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        long finished = 0;
+        while (System.nanoTime() < deadline) {
+            finished = meterRegistry.find("review.jobs.duration").timers().stream().mapToLong(Timer::count).sum();
+            if (finished >= PULL_REQUESTS) {
+                log.info("Training run reviewed {} pull requests", finished);
+                return;
+            }
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        log.warn("Training run timed out after {} of {} pull requests", finished, PULL_REQUESTS);
+    }
+
+    private static Map<String, Object> pullRequestEvent(int number) {
+        Map<String, Object> owner = Map.of("id", 1, "login", "example", "type", "Organization");
+        Map<String, Object> repository = Map.of("id", 1, "name", "training", "full_name", "example/training",
+                "owner", owner, "private", false, "fork", false, "default_branch", "main");
+        String headSha = String.format("%040x", number);
+        return Map.of(
+                "action", "opened",
+                "pull_request", Map.of(
+                        "number", number,
+                        "title", "Training change " + number,
+                        "state", "open",
+                        "draft", false,
+                        "head", Map.of("ref", "training-" + number, "sha", headSha, "repo", repository),
+                        "base", Map.of("ref", "main", "sha", String.format("%040x", 0), "repo", repository),
+                        "user", Map.of("id", 2, "login", "trainer", "type", "User"),
+                        "labels", List.of()),
+                "repository", repository,
+                "installation", Map.of("id", 1),
+                "sender", Map.of("id", 2, "login", "trainer", "type", "User"));
+    }
+
+    /**
+     * Generates a PKCS#1 PEM key, the format GitHub issues app keys in.
+     */
+    private static String generatePrivateKey() throws NoSuchAlgorithmException, IOException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        StringWriter pem = new StringWriter();
+        try (JcaPEMWriter writer = new JcaPEMWriter(pem)) {
+            writer.writeObject(generator.generateKeyPair().getPrivate());
+        }
+        return pem.toString();
+    }
+}
@@ -0,0 +1,297 @@
+package org.example.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.client.request.CreateReviewCommentRequest;
+import org.example.config.FindingsCacheConfig;
+import org.example.profiling.CacheLookupEvent;
+import org.example.util.Hashing;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Findings of analyzers keyed by (analyzer, version, fingerprint, blob SHA), shared by all PRs.
+ *
+ * The same blob often shows up in many PRs (vendored code, cherry-picks to release branches).
+ * An analyzer's findings depend only on the content and its fingerprint of everything else
+ * (rules, enabled checks, patch), so they are analyzed once and reused for every PR.
+ *
+ * Two tiers: an LRU of review.findings-cache.memory-entries entries in memory, and one JSON
+ * file per entry on disk. The disk tier survives restarts and is bounded by
+ * review.findings-cache.max-disk-bytes; the least recently used files are deleted first.
+ *
+ * Exposes review.findings.cache.requests (result=memory/disk/miss) and
+ * review.findings.cache.disk.bytes.
+ */
+@Component
+@Slf4j
+public class FindingsCache {
+
+    private static final String SUFFIX = ".json";
+    private static final Pattern BLOB_SHA = Pattern.compile("[0-9a-f]{40,64}");
+
+    private final FindingsCacheConfig config;
+    private final ObjectMapper objectMapper;
+    private final Counter memoryHits;
+    private final Counter diskHits;
+    private final Counter misses;
+    private final Map<Key, List<Finding>> memory;
+    // Access-ordered file sizes, so the least recently used files are deleted first
+    private final LinkedHashMap<String, Long> files = new LinkedHashMap<>(256, 0.75f, true);
+    private long diskBytes;
+    private Path directory;
+
+    public FindingsCache(FindingsCacheConfig config, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.memoryHits = requests(meterRegistry, "memory");
+        this.diskHits = requests(meterRegistry, "disk");
+        this.misses = requests(meterRegistry, "miss");
+        this.memory = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<Finding>> eldest) {
+                return size() > config.getMemoryEntries();
+            }
+        };
+        Gauge.builder("review.findings.cache.disk.bytes", this, FindingsCache::getDiskBytes)
+                .description("Disk used by cached analyzer findings")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Identifies the findings of one analyzer on one input.
+     *
+     * @param analyzerId Analyzer ID
+     * @param version Analyzer version
+     * @param fingerprint Fingerprint of the inputs besides the content
+     * @param blobSha Blob SHA of the content
+     */
+    public record Key(String analyzerId, int version, String fingerprint, String blobSha) {
+
+        private String fileName() {
+            long hash = Hashing.combine(Hashing.fnv1a64(analyzerId + ":" + version), Hashing.fnv1a64(fingerprint));
+            return blobSha + "-" + HexFormat.of().toHexDigits(hash) + SUFFIX;
+        }
+    }
+
+    /**
+     * A finding without the path and commit it was reported on.
+     */
+    public record Finding(String body, Integer line, String side, Integer startLine, String startSide) {
+    }
+
+    /**
+     * Contents of a cache file; the key guards against file name collisions.
+     */
+    public record Entry(Key key, List<Finding> findings) {
+    }
+
+    /**
+     * Indexes the entries left on disk by earlier runs, oldest first.
+     */
+    @PostConstruct
+    public void open() {
+        if (!config.isEnabled()) {
+            log.info("Findings cache disabled");
+            return;
+        }
+        directory = Path.of(config.getDirectory());
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> listing = Files.list(directory)) {
+                List<Path> existing = listing.filter(path -> path.toString().endsWith(SUFFIX))
+                        .sorted(Comparator.comparing(FindingsCache::lastModified))
+                        .toList();
+                synchronized (files) {
+                    for (Path file : existing) {
+                        long size = Files.size(file);
+                        files.put(file.getFileName().toString(), size);
+                        diskBytes += size;
+                    }
+                    evictFiles();
+                }
+            }
+            log.info("Opened findings cache at {} with {} entries ({} bytes)", directory, files.size(), diskBytes);
+        } catch (IOException e) {
+            log.warn("Findings cache at {} unavailable, keeping findings in memory only", directory, e);
+            directory = null;
+        }
+    }
+
+    /**
+     * Checks whether findings of a blob can be cached.
+     *
+     * @param blobSha Blob SHA, may be null
+     * @return true if the cache is enabled and the SHA is a valid blob SHA
+     */
+    public boolean accepts(String blobSha) {
+        return config.isEnabled() && blobSha != null && BLOB_SHA.matcher(blobSha).matches();
+    }
+
+    /**
+     * Gets cached findings, anchored on the given file and commit.
+     *
+     * @param key Cache key
+     * @param path File path of the current PR
+     * @param headSha Head commit of the current PR
+     * @return New comment requests, or null if nothing is cached
+     */
+    public List<CreateReviewCommentRequest> get(Key key, String path, String headSha) {
+        List<Finding> findings;
+        synchronized (memory) {
+            findings = memory.get(key);
+        }
+        if (findings != null) {
+            memoryHits.increment();
+        } else {
+            findings = read(key);
+            if (findings != null) {
+                diskHits.increment();
+                synchronized (memory) {
+                    memory.put(key, findings);
+                }
+            } else {
+                misses.increment();
+            }
+        }
+        CacheLookupEvent.record("findings", findings != null);
+        if (findings == null) {
+            return null;
+        }
+        return findings.stream()
+                .map(finding -> CreateReviewCommentRequest.builder()
+                        .body(finding.body())
+                        .commitId(headSha)
+                        .path(path)
+                        .line(finding.line())
+                        .side(finding.side())
+                        .startLine(finding.startLine())
+                        .startSide(finding.startSide())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Caches the findings of an analyzer run.
+     *
+     * @param key Cache key
+     * @param findings Findings of the run
+     */
+    public void put(Key key, List<CreateReviewCommentRequest> findings) {
+        List<Finding> copy = findings.stream()
+                .map(finding -> new Finding(finding.getBody(), finding.getLine(), finding.getSide(),
+                        finding.getStartLine(), finding.getStartSide()))
+                .toList();
+        synchronized (memory) {
+            memory.put(key, copy);
+        }
+        write(key, copy);
+    }
+
+    /**
+     * Gets the disk space used by cached entries.
+     *
+     * @return Bytes
+     */
+    public long getDiskBytes() {
+        synchronized (files) {
+            return diskBytes;
+        }
+    }
+
+    private List<Finding> read(Key key) {
+        if (directory == null) {
+            return null;
+        }
+        String name = key.fileName();
+        synchronized (files) {
+            if (files.get(name) == null) {
+                return null;
+            }
+        }
+        Path file = directory.resolve(name);
+        try {
+            Entry entry = objectMapper.readValue(file.toFile(), Entry.class);
+            if (!key.equals(entry.key())) {
+                return null;
+            }
+            // Keeps the entry's place in the LRU order across restarts
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return entry.findings();
+        } catch (IOException e) {
+            log.debug("Failed to read cached findings {}", file, e);
+            return null;
+        }
+    }
+
+    private void write(Key key, List<Finding> findings) {
+        if (directory == null) {
+            return;
+        }
+        String name = key.fileName();
+        try {
+            Path temp = Files.createTempFile(directory, name, ".tmp");
+            objectMapper.writeValue(temp.toFile(), new Entry(key, findings));
+            long size = Files.size(temp);
+            Files.move(temp, directory.resolve(name), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            synchronized (files) {
+                Long previous = files.put(name, size);
+                diskBytes += size - (previous != null ? previous : 0);
+                evictFiles();
+            }
+        } catch (IOException e) {
+            // The findings stay in memory; only the reuse after a restart is lost
+            log.warn("Failed to write cached findings {}", name, e);
+        }
+    }
+
+    /**
+     * Deletes the least recently used files until the disk limit is met. Caller holds the files lock.
+     */
+    private void evictFiles() {
+        Iterator<Map.Entry<String, Long>> oldest = files.entrySet().iterator();
+        while (diskBytes > config.getMaxDiskBytes() && oldest.hasNext()) {
+            Map.Entry<String, Long> entry = oldest.next();
+            try {
+                Files.deleteIfExists(directory.resolve(entry.getKey()));
+            } catch (IOException e) {
+                log.warn("Failed to delete cached findings {}", entry.getKey(), e);
+            }
+            diskBytes -= entry.getValue();
+            oldest.remove();
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("review.findings.cache.requests")
+                .description("Lookups in the cross-PR findings cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,322 @@
+package org.example.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.ReviewStoreConfig;
+import org.example.model.review.ReviewRecord;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Local-file-backed store of review results.
+ *
+ * Records are appended as JSON lines to a single log file. An in-memory index maps each
+ * key (repository, PR, path, blob SHA) to the offset of its latest record, so lookups
+ * never scan the file. Superseded and evicted records are reclaimed by compaction, which
+ * rewrites only live records and atomically replaces the log.
+ *
+ * Disk usage is bounded by {@code maxEntries} and {@code maxLogBytes}: the oldest records
+ * are dropped during compaction when either limit is exceeded, down to 90% of
+ * {@code maxEntries} and half of {@code maxLogBytes} so the next compaction is far away.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReviewResultStore {
+
+    private static final String LOG_FILE = "reviews.log";
+    private static final byte NEWLINE = '\n';
+
+    private final ReviewStoreConfig config;
+    private final ObjectMapper objectMapper;
+
+    // Insertion-ordered so the oldest records are evicted first
+    private final LinkedHashMap<String, Location> index = new LinkedHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Path logPath;
+    private FileChannel channel;
+    private long liveBytes;
+
+    /**
+     * Opens the log and rebuilds the in-memory index from it.
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        if (!config.isEnabled()) {
+            log.info("Review result store disabled");
+            return;
+        }
+
+        Path directory = Path.of(config.getDirectory());
+        Files.createDirectories(directory);
+        logPath = directory.resolve(LOG_FILE);
+        channel = FileChannel.open(logPath,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        rebuildIndex();
+        log.info("Opened review result store at {} with {} records", logPath, index.size());
+    }
+
+    /**
+     * Closes the log file.
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (channel != null) {
+                channel.force(true);
+                channel.close();
+                channel = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether a file was already reviewed at the given blob SHA.
+     *
+     * @param repository Full repository name
+     * @param pullNumber PR number
+     * @param path File path
+     * @param blobSha Blob SHA
+     * @return true if a review record exists
+     */
+    public boolean isReviewed(String repository, int pullNumber, String path, String blobSha) {
+        if (channel == null || blobSha == null) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return index.containsKey(ReviewRecord.key(repository, pullNumber, path, blobSha));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Loads the review record of a file at the given blob SHA.
+     *
+     * @param repository Full repository name
+     * @param pullNumber PR number
+     * @param path File path
+     * @param blobSha Blob SHA
+     * @return Review record, if present
+     */
+    public Optional<ReviewRecord> get(String repository, int pullNumber, String path, String blobSha) {
+        if (channel == null || blobSha == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            Location location = index.get(ReviewRecord.key(repository, pullNumber, path, blobSha));
+            if (location == null) {
+                return Optional.empty();
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(location.length());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, location.offset() + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of review log");
+                }
+            }
+            return Optional.of(objectMapper.readValue(buffer.array(), ReviewRecord.class));
+
+        } catch (IOException e) {
+            log.error("Failed to read review record for {} in {}#{}", path, repository, pullNumber, e);
+            return Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends a review record, superseding any previous record with the same key.
+     *
+     * @param record Review record
+     */
+    public void put(ReviewRecord record) {
+        if (channel == null || record.getBlobSha() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(record);
+            ByteBuffer buffer = ByteBuffer.allocate(json.length + 1).put(json).put(NEWLINE).flip();
+
+            long offset = channel.size();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, offset + buffer.position());
+            }
+
+            String key = record.key();
+            Location previous = index.remove(key);
+            if (previous != null) {
+                liveBytes -= previous.length() + 1;
+            }
+            index.put(key, new Location(offset, json.length));
+            liveBytes += json.length + 1;
+
+            if (needsCompaction()) {
+                compact();
+            }
+
+        } catch (IOException e) {
+            // Losing a record only costs a re-review, never a failed job
+            log.error("Failed to persist review record for {} in {}#{}",
+                    record.getPath(), record.getRepository(), record.getPullNumber(), e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of live records.
+     *
+     * @return Record count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the log with only live records, dropping the oldest ones while
+     * the entry or byte limits are exceeded.
+     */
+    public void compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            evictOldest();
+
+            Path compacted = logPath.resolveSibling(LOG_FILE + ".compact");
+            LinkedHashMap<String, Location> newIndex = new LinkedHashMap<>();
+            long newLiveBytes = 0;
+
+            try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                long position = 0;
+                for (Map.Entry<String, Location> entry : index.entrySet()) {
+                    Location location = entry.getValue();
+                    int recordBytes = location.length() + 1;
+                    long copied = 0;
+                    while (copied < recordBytes) {
+                        copied += channel.transferTo(location.offset() + copied, recordBytes - copied, out);
+                    }
+                    newIndex.put(entry.getKey(), new Location(position, location.length()));
+                    position += recordBytes;
+                    newLiveBytes += recordBytes;
+                }
+                out.force(true);
+            }
+
+            channel.close();
+            Files.move(compacted, logPath,
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            index.clear();
+            index.putAll(newIndex);
+            liveBytes = newLiveBytes;
+
+            log.info("Compacted review result store to {} records ({} bytes)", index.size(), liveBytes);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean needsCompaction() throws IOException {
+        long logBytes = channel.size();
+        return index.size() > config.getMaxEntries()
+                || logBytes > config.getMaxLogBytes()
+                || (logBytes > 1024 * 1024 && logBytes > liveBytes * config.getCompactionRatio());
+    }
+
+    private void evictOldest() {
+        // Keep live data well under both limits so compaction is not re-triggered immediately;
+        // evicting just the one record over maxEntries would rewrite the whole log on every put
+        long byteBudget = config.getMaxLogBytes() / 2;
+        int entryBudget = config.getMaxEntries() - config.getMaxEntries() / 10;
+        if (index.size() <= config.getMaxEntries()) {
+            entryBudget = Integer.MAX_VALUE;
+        }
+        Iterator<Location> oldest = index.values().iterator();
+        while (oldest.hasNext() && (index.size() > entryBudget || liveBytes > byteBudget)) {
+            liveBytes -= oldest.next().length() + 1;
+            oldest.remove();
+        }
+    }
+
+    /**
+     * Replays the log to rebuild the index. A truncated trailing record from a crash
+     * mid-append is cut off.
+     */
+    private void rebuildIndex() throws IOException {
+        index.clear();
+        liveBytes = 0;
+
+        long offset = 0;
+        long validEnd = 0;
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(logPath))) {
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b != NEWLINE) {
+                    line.write(b);
+                    continue;
+                }
+                byte[] json = line.toByteArray();
+                line.reset();
+                try {
+                    ReviewRecord record = objectMapper.readValue(json, ReviewRecord.class);
+                    Location previous = index.remove(record.key());
+                    if (previous != null) {
+                        liveBytes -= previous.length() + 1;
+                    }
+                    index.put(record.key(), new Location(offset, json.length));
+                    liveBytes += json.length + 1;
+                } catch (IOException e) {
+                    log.warn("Skipping corrupt review record at offset {}", offset);
+                }
+                offset += json.length + 1;
+                validEnd = offset;
+            }
+        }
+
+        if (validEnd < channel.size()) {
+            log.warn("Truncating incomplete review record at offset {}", validEnd);
+            channel.truncate(validEnd);
+        }
+    }
+
+    /**
+     * Position of a record in the log (excluding the trailing newline).
+     */
+    private record Location(long offset, int length) {
+    }
+}
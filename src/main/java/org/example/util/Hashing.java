@@ -0,0 +1,58 @@
+package org.example.util;
+
+/**
+ * Fast non-cryptographic 64-bit hashing for in-memory fingerprints.
+ * Not suitable for anything security related.
+ */
+public final class Hashing {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private Hashing() {
+    }
+
+    /**
+     * Computes the 64-bit FNV-1a hash of a string's UTF-16 code units.
+     *
+     * @param value String to hash (null hashes like the empty string)
+     * @return 64-bit hash
+     */
+    public static long fnv1a64(CharSequence value) {
+        long hash = FNV_OFFSET;
+        if (value == null) {
+            return hash;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            hash ^= c & 0xff;
+            hash *= FNV_PRIME;
+            hash ^= c >>> 8;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Combines two 64-bit hashes into one.
+     *
+     * @param first First hash
+     * @param second Second hash
+     * @return Combined hash
+     */
+    public static long combine(long first, long second) {
+        return mix(first * 31 + second);
+    }
+
+    /**
+     * Finalizes a 64-bit value so that all input bits affect all output bits (SplitMix64).
+     *
+     * @param value Value to mix
+     * @return Mixed value
+     */
+    public static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -58,6 +58,21 @@ public class SignatureVerifier {
         }
     }
 
+    /**
+     * Signs a payload the way GitHub does, e.g. to re-send recorded deliveries.
+     *
+     * @param payload The raw webhook payload
+     * @param secret The webhook secret
+     * @return Value for the X-Hub-Signature-256 header
+     */
+    public String sign(String payload, String secret) {
+        try {
+            return SIGNATURE_PREFIX + computeHmacSha256(payload, secret);
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("Failed to sign payload", e);
+        }
+    }
+
     /**
      * Computes HMAC-SHA256 signature for the given payload and secret.
      *
@@ -3,15 +3,33 @@ package org.example.webhook;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.config.CommandConfig;
 import org.example.config.GitHubAppConfig;
+import org.example.config.GitHubReactiveConfig;
+import org.example.model.webhook.CommentPayload;
+import org.example.model.webhook.PushPayload;
 import org.example.model.webhook.WebhookPayload;
 import org.example.pr.PullRequestProcessor;
+import org.example.pr.ReactivePullRequestProcessor;
+import org.example.pr.command.ChatCommand;
+import org.example.pr.command.ChatCommandProcessor;
+import org.example.pr.state.PullRequestStateCache;
+import org.example.profiling.WebhookEvent;
+import org.example.service.RepositoryConfigService;
+import org.example.startup.StartupGate;
 import org.example.util.SignatureVerifier;
+import org.example.webhook.capture.WebhookRecorder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -19,7 +37,12 @@ import java.util.Set;
  * Endpoint: POST /webhook/github
  * 
  * Handles pull_request events with actions: opened, synchronize
+ * Handles push events to keep cached per-repository settings and commit authors current
+ * Handles /review and /recheck commands in issue_comment and pull_request_review_comment events
  * Returns 200 OK immediately and processes webhooks asynchronously.
+ *
+ * The processing beans are looked up on use, so that during a lazy (fast-start) startup
+ * deliveries are acknowledged at once and handed over when warm-up has finished.
  */
 @RestController
 @RequestMapping("/webhook")
@@ -27,20 +50,32 @@ import java.util.Set;
 @Slf4j
 public class GitHubWebhookController {
 
-    private final PullRequestProcessor pullRequestProcessor;
+    private final ObjectProvider<PullRequestProcessor> pullRequestProcessor;
+    private final ObjectProvider<ReactivePullRequestProcessor> reactivePullRequestProcessor;
+    private final GitHubReactiveConfig reactiveConfig;
+    private final ObjectProvider<ChatCommandProcessor> commandProcessor;
+    private final CommandConfig commandConfig;
     private final SignatureVerifier signatureVerifier;
     private final GitHubAppConfig config;
+    private final ObjectProvider<RepositoryConfigService> repositoryConfigService;
+    private final ObjectProvider<PullRequestStateCache> pullRequestState;
+    private final WebhookRecorder webhookRecorder;
+    private final StartupGate startupGate;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     // Actions we want to process
     private static final Set<String> SUPPORTED_ACTIONS = Set.of("opened", "synchronize");
 
+    // Events that may carry chat-ops commands
+    private static final Set<String> COMMENT_EVENTS = Set.of("issue_comment", "pull_request_review_comment");
+
     /**
      * Handles GitHub webhook events.
      * POST /webhook/github
      *
      * @param signature Webhook signature from X-Hub-Signature-256 header
      * @param event Event type from X-GitHub-Event header
+     * @param headers All request headers (recorded in capture mode)
      * @param payload Raw webhook payload
      * @return 200 OK response
      */
@@ -48,18 +83,66 @@ public class GitHubWebhookController {
     public ResponseEntity<Map<String, String>> handleWebhook(
             @RequestHeader(value = "X-Hub-Signature-256", required = false) String signature,
             @RequestHeader(value = "X-GitHub-Event", required = false) String event,
+            @RequestHeader HttpHeaders headers,
             @RequestBody String payload) {
 
         log.info("Received GitHub webhook event: {}", event);
 
+        WebhookEvent delivery = new WebhookEvent();
+        delivery.begin();
+        ResponseEntity<Map<String, String>> response = null;
+        try {
+            response = handle(signature, event, headers, payload, delivery);
+            return response;
+        } finally {
+            delivery.end();
+            if (delivery.shouldCommit()) {
+                delivery.event = event;
+                delivery.payloadLength = payload.length();
+                delivery.result = response == null || response.getBody() == null ? "error"
+                        : response.getBody().getOrDefault("status", "rejected");
+                delivery.commit();
+            }
+        }
+    }
+
+    private ResponseEntity<Map<String, String>> handle(String signature, String event, HttpHeaders headers,
+                                                       String payload, WebhookEvent delivery) {
         try {
             // Step 1: Verify webhook signature
-            if (!signatureVerifier.verifySignature(payload, signature, config.getWebhookSecret())) {
+            long verifyStart = System.nanoTime();
+            delivery.verified = signatureVerifier.verifySignature(payload, signature, config.getWebhookSecret());
+            delivery.verificationNanos = System.nanoTime() - verifyStart;
+            if (!delivery.verified) {
                 log.warn("Invalid webhook signature");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("error", "Invalid signature"));
             }
 
+            // Capture mode: keep the raw delivery for replay
+            if (webhookRecorder.isEnabled()) {
+                webhookRecorder.record(flatten(headers), payload);
+            }
+
+            // Pushes only refresh cached per-repository settings and commit authors
+            if ("push".equals(event)) {
+                PushPayload pushPayload = objectMapper.readValue(payload, PushPayload.class);
+                startupGate.runWhenReady(() -> {
+                    repositoryConfigService.getObject().onPush(pushPayload);
+                    pullRequestState.getObject().onPush(pushPayload);
+                });
+                startupGate.recordAck();
+                return ResponseEntity.ok(Map.of(
+                        "status", "accepted",
+                        "message", "Push processed"
+                ));
+            }
+
+            // Commands in PR comments take the command lane
+            if (COMMENT_EVENTS.contains(event)) {
+                return handleComment(objectMapper.readValue(payload, CommentPayload.class));
+            }
+
             // Step 2: Check if this is a pull_request event
             if (!"pull_request".equals(event)) {
                 log.debug("Ignoring non-pull_request event: {}", event);
@@ -84,7 +167,14 @@ public class GitHubWebhookController {
 
             // Step 5: Process pull request asynchronously
             // This returns immediately while processing happens in background
-            pullRequestProcessor.processPullRequest(webhookPayload);
+            startupGate.runWhenReady(() -> {
+                if (reactiveConfig.isEnabled()) {
+                    reactivePullRequestProcessor.getObject().processPullRequest(webhookPayload);
+                } else {
+                    pullRequestProcessor.getObject().processPullRequest(webhookPayload);
+                }
+            });
+            startupGate.recordAck();
 
             log.info("Accepted pull_request webhook for PR #{} (action: {})", 
                     webhookPayload.getPullRequest().getNumber(), action);
@@ -107,6 +197,80 @@ public class GitHubWebhookController {
         }
     }
 
+    private ResponseEntity<Map<String, String>> handleComment(CommentPayload payload) {
+        if (!commandConfig.isEnabled() || !"created".equals(payload.getAction()) || payload.getPullNumber() == null) {
+            return ResponseEntity.ok(Map.of(
+                    "status", "ignored",
+                    "message", "Not a new pull request comment"
+            ));
+        }
+        Optional<ChatCommand> command = ChatCommand.parse(payload.getComment().getBody());
+        if (command.isEmpty()) {
+            return ResponseEntity.ok(Map.of(
+                    "status", "ignored",
+                    "message", "No command"
+            ));
+        }
+
+        if (!startupGate.isReady()) {
+            // Building the command processor would pull in the whole GitHub client graph
+            // on the ack path; the author check and the lane run once warm-up finishes
+            ChatCommand queued = command.get();
+            startupGate.runWhenReady(() -> {
+                ChatCommandProcessor processor = commandProcessor.getObject();
+                if (!processor.isAllowed(payload)) {
+                    log.info("Ignoring command on PR #{} from {}", payload.getPullNumber(), commenter(payload));
+                } else if (!processor.submit(payload, queued)) {
+                    log.warn("Dropped /{} command for PR #{} queued during warm-up: too many commands in progress",
+                            queued.name().name().toLowerCase(Locale.ROOT), payload.getPullNumber());
+                }
+            });
+            startupGate.recordAck();
+
+            log.info("Accepted /{} command for PR #{} during warm-up",
+                    queued.name().name().toLowerCase(Locale.ROOT), payload.getPullNumber());
+            return ResponseEntity.ok(Map.of(
+                    "status", "accepted",
+                    "message", "Command received",
+                    "pr_number", String.valueOf(payload.getPullNumber())
+            ));
+        }
+
+        ChatCommandProcessor processor = commandProcessor.getObject();
+        if (!processor.isAllowed(payload)) {
+            log.info("Ignoring command on PR #{} from {}", payload.getPullNumber(), commenter(payload));
+            return ResponseEntity.ok(Map.of(
+                    "status", "ignored",
+                    "message", "Commenter may not run commands"
+            ));
+        }
+        if (!processor.submit(payload, command.get())) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                    "status", "rejected",
+                    "message", "Too many commands in progress"
+            ));
+        }
+        startupGate.recordAck();
+
+        log.info("Accepted /{} command for PR #{}", command.get().name().name().toLowerCase(Locale.ROOT),
+                payload.getPullNumber());
+        return ResponseEntity.ok(Map.of(
+                "status", "accepted",
+                "message", "Command received",
+                "pr_number", String.valueOf(payload.getPullNumber())
+        ));
+    }
+
+    private static String commenter(CommentPayload payload) {
+        return payload.getComment().getUser() != null ? payload.getComment().getUser().getLogin() : null;
+    }
+
+    private static Map<String, String> flatten(HttpHeaders headers) {
+        Map<String, String> flat = new LinkedHashMap<>();
+        headers.forEach((name, values) -> flat.put(name.toLowerCase(Locale.ROOT), String.join(",", values)));
+        return flat;
+    }
+
     /**
      * Health check endpoint for the webhook service.
      * GET /webhook/health
@@ -133,7 +297,7 @@ public class GitHubWebhookController {
         return ResponseEntity.ok(Map.of(
                 "endpoint", "/webhook/github",
                 "method", "POST",
-                "supported_events", "pull_request",
+                "supported_events", List.of("pull_request", "push", "issue_comment", "pull_request_review_comment"),
                 "supported_actions", SUPPORTED_ACTIONS,
                 "description", "GitHub App webhook endpoint for automated PR reviews"
         ));
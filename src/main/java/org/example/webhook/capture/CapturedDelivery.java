@@ -0,0 +1,28 @@
+package org.example.webhook.capture;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Map;
+
+/**
+ * One recorded webhook delivery.
+ *
+ * @param receivedAt Epoch milliseconds at which the delivery was received
+ * @param headers Request headers (lower-case names)
+ * @param body Raw request body
+ */
+public record CapturedDelivery(
+        @JsonProperty("received_at") long receivedAt,
+        Map<String, String> headers,
+        String body
+) {
+
+    /**
+     * Gets the GitHub event type.
+     *
+     * @return Value of the X-GitHub-Event header, or null
+     */
+    public String event() {
+        return headers.get("x-github-event");
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.webhook.capture;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads archives written by {@link WebhookRecorder}.
+ */
+public final class WebhookArchive {
+
+    private WebhookArchive() {
+    }
+
+    /**
+     * Lists the segments of an archive, oldest first.
+     *
+     * @param directory Archive directory
+     * @return Segment files
+     */
+    public static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            // Segment names embed their creation time, so name order is time order
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(WebhookRecorder.SEGMENT_PREFIX)
+                                && name.endsWith(WebhookRecorder.SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Reads all deliveries of an archive in the order they were received.
+     * A segment still being written is read up to its last flush.
+     *
+     * @param directory Archive directory
+     * @param objectMapper Mapper for the JSON lines
+     * @return Deliveries
+     */
+    public static List<CapturedDelivery> read(Path directory, ObjectMapper objectMapper) throws IOException {
+        List<CapturedDelivery> deliveries = new ArrayList<>();
+        for (Path segment : segments(directory)) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(segment)), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        deliveries.add(objectMapper.readValue(line, CapturedDelivery.class));
+                    }
+                }
+            } catch (EOFException e) {
+                // Open or truncated segment: everything up to the last flush was read
+            }
+        }
+        return deliveries;
+    }
+}
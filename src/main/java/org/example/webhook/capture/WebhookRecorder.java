@@ -0,0 +1,184 @@
+package org.example.webhook.capture;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.WebhookCaptureConfig;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Records webhook deliveries to a rotating, gzip-compressed local archive.
+ *
+ * Deliveries are queued by the request thread and written as JSON lines by a single
+ * background writer, so recording never delays the webhook response. A segment is closed
+ * once it holds {@code segmentBytes} of uncompressed data; only the newest
+ * {@code maxSegments} segments are kept. The writer flushes whenever the queue runs empty,
+ * so the open segment can be read up to its last flush.
+ *
+ * Exposes review.capture.deliveries, tagged result=recorded/dropped.
+ */
+@Component
+@Slf4j
+public class WebhookRecorder {
+
+    static final String SEGMENT_PREFIX = "deliveries-";
+    static final String SEGMENT_SUFFIX = ".jsonl.gz";
+    private static final DateTimeFormatter SEGMENT_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final WebhookCaptureConfig config;
+    private final ObjectMapper objectMapper;
+    private final Counter recorded;
+    private final Counter dropped;
+    private final BlockingQueue<CapturedDelivery> queue;
+
+    private Thread writer;
+    private volatile boolean running;
+    private OutputStream segment;
+    private long segmentBytes;
+
+    public WebhookRecorder(WebhookCaptureConfig config, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity()));
+        this.recorded = counter(meterRegistry, "recorded");
+        this.dropped = counter(meterRegistry, "dropped");
+    }
+
+    /**
+     * Starts the background writer if capture is enabled.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        if (!config.isEnabled()) {
+            return;
+        }
+        Files.createDirectories(Path.of(config.getDirectory()));
+        running = true;
+        writer = new Thread(this::writeLoop, "webhook-capture");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Recording webhook deliveries to {}", Path.of(config.getDirectory()).toAbsolutePath());
+    }
+
+    /**
+     * Writes the queued deliveries and closes the open segment.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Checks whether deliveries are being recorded.
+     *
+     * @return true if capture is enabled
+     */
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Queues a delivery for recording; never blocks.
+     *
+     * @param headers Request headers
+     * @param body Raw request body
+     */
+    public void record(Map<String, String> headers, String body) {
+        if (!running) {
+            return;
+        }
+        if (queue.offer(new CapturedDelivery(System.currentTimeMillis(), headers, body))) {
+            recorded.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    private void writeLoop() {
+        try {
+            while (running || !queue.isEmpty()) {
+                CapturedDelivery delivery = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (delivery == null) {
+                    continue;
+                }
+                try {
+                    write(delivery);
+                    if (queue.isEmpty()) {
+                        segment.flush();
+                    }
+                } catch (IOException e) {
+                    log.warn("Failed to record webhook delivery", e);
+                    closeSegment();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeSegment();
+        }
+    }
+
+    private void write(CapturedDelivery delivery) throws IOException {
+        byte[] line = objectMapper.writeValueAsBytes(delivery);
+        if (segment == null || segmentBytes + line.length + 1 > config.getSegmentBytes()) {
+            rotate();
+        }
+        segment.write(line);
+        segment.write('\n');
+        segmentBytes += line.length + 1;
+    }
+
+    private void rotate() throws IOException {
+        closeSegment();
+        Path directory = Path.of(config.getDirectory());
+        Path path = directory.resolve(SEGMENT_PREFIX + LocalDateTime.now().format(SEGMENT_TIME) + SEGMENT_SUFFIX);
+        // Sync flush, so flushed deliveries can be decompressed while the segment is still open
+        segment = new GZIPOutputStream(Files.newOutputStream(path), 64 * 1024, true);
+        segmentBytes = 0;
+
+        List<Path> segments = WebhookArchive.segments(directory);
+        for (int i = 0; i < segments.size() - config.getMaxSegments(); i++) {
+            Files.deleteIfExists(segments.get(i));
+            log.debug("Deleted old capture segment {}", segments.get(i));
+        }
+    }
+
+    private void closeSegment() {
+        if (segment == null) {
+            return;
+        }
+        try {
+            segment.close();
+        } catch (IOException e) {
+            log.warn("Failed to close capture segment", e);
+        }
+        segment = null;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("review.capture.deliveries")
+                .description("Webhook deliveries queued for capture")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.client;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import org.example.auth.InstallationTokenService;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FeignClientConfigTest {
+
+    @Test
+    void retriedRequestCarriesOnlyTheNewToken() {
+        InstallationTokenService tokenService = mock(InstallationTokenService.class);
+        when(tokenService.getInstallationToken()).thenReturn("rejected", "fresh");
+        RequestInterceptor interceptor = new FeignClientConfig(tokenService).githubAuthInterceptor();
+        RequestTemplate template = new RequestTemplate();
+
+        // Feign applies the interceptors to the same template on every attempt
+        interceptor.apply(template);
+        interceptor.apply(template);
+
+        assertThat(template.headers().get("Authorization")).containsExactly("Bearer fresh");
+        assertThat(template.headers().get("X-GitHub-Api-Version")).containsExactly("2022-11-28");
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.client.resilience;
+
+import org.example.config.GitHubResilienceConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(2).toNanos();
+
+    private GitHubResilienceConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new GitHubResilienceConfig();
+        config.setWindow(Duration.ofSeconds(30));
+        config.setMinimumCalls(4);
+        config.setFailureRateThreshold(50);
+        config.setSlowCallThreshold(Duration.ofSeconds(1));
+        config.setSlowCallRateThreshold(75);
+        config.setOpenDuration(Duration.ofMillis(50));
+        config.setMaxOpenDuration(Duration.ofMillis(80));
+        config.setHalfOpenCalls(2);
+    }
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        CircuitBreaker breaker = new CircuitBreaker(config);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.record(true, FAST);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void opensAtTheFailureRate() {
+        CircuitBreaker breaker = new CircuitBreaker(config);
+
+        record(breaker, false, FAST, 2);
+        record(breaker, true, FAST, 2);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.getRemainingOpen()).isPositive().isLessThanOrEqualTo(Duration.ofMillis(50));
+    }
+
+    @Test
+    void opensAtTheSlowCallRate() {
+        CircuitBreaker breaker = new CircuitBreaker(config);
+
+        record(breaker, false, FAST, 1);
+        record(breaker, false, SLOW, 3);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void closesAfterSuccessfulTrials() throws InterruptedException {
+        CircuitBreaker breaker = tripped();
+        Thread.sleep(60);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+        // Only half-open-calls trials at once
+        assertThat(breaker.tryAcquire()).isFalse();
+        breaker.record(false, FAST);
+        breaker.record(false, FAST);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        // The window starts over: three failures are below the minimum again
+        record(breaker, true, FAST, 3);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void failedTrialReopensForLonger() throws InterruptedException {
+        CircuitBreaker breaker = tripped();
+        Thread.sleep(60);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.record(true, FAST);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        // Twice the open duration, capped at the maximum
+        assertThat(breaker.getRemainingOpen()).isGreaterThan(Duration.ofMillis(50))
+                .isLessThanOrEqualTo(Duration.ofMillis(80));
+    }
+
+    @Test
+    void unusedTrialPermitsAreReturned() throws InterruptedException {
+        CircuitBreaker breaker = tripped();
+        Thread.sleep(60);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.releaseUnused();
+
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    private CircuitBreaker tripped() {
+        CircuitBreaker breaker = new CircuitBreaker(config);
+        record(breaker, true, FAST, 4);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        return breaker;
+    }
+
+    private static void record(CircuitBreaker breaker, boolean failed, long durationNanos, int times) {
+        for (int i = 0; i < times; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.record(failed, durationNanos);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.client.resilience;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.auth.InstallationContext;
+import org.example.config.WriteThrottleConfig;
+import org.example.exception.GitHubUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class WriteThrottleTest {
+
+    private static final String COMMENTS = "https://api.github.com/repos/o/r/pulls/1/comments";
+    private static final Request.Options OPTIONS = new Request.Options();
+
+    private WriteThrottleConfig config;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        config = new WriteThrottleConfig();
+        config.setMaxWait(Duration.ZERO);
+        calls = new AtomicInteger();
+        InstallationContext.set(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        InstallationContext.clear();
+    }
+
+    @Test
+    void appliesToContentCreatingCallsOnly() {
+        WriteThrottle throttle = throttle();
+
+        assertThat(throttle.applies(request(Request.HttpMethod.POST, COMMENTS))).isTrue();
+        assertThat(throttle.applies(request(Request.HttpMethod.POST,
+                "https://api.github.com/repos/o/r/pulls/1/reviews"))).isTrue();
+        assertThat(throttle.applies(request(Request.HttpMethod.PATCH,
+                "https://api.github.com/repos/o/r/pulls/comments/5"))).isTrue();
+        assertThat(throttle.applies(request(Request.HttpMethod.POST,
+                "https://api.github.com/repos/o/r/issues/3/comments"))).isTrue();
+        assertThat(throttle.applies(request(Request.HttpMethod.GET, COMMENTS))).isFalse();
+        assertThat(throttle.applies(request(Request.HttpMethod.POST,
+                "https://api.github.com/repos/o/r/check-runs"))).isFalse();
+
+        config.setEnabled(false);
+        assertThat(throttle.applies(request(Request.HttpMethod.POST, COMMENTS))).isFalse();
+    }
+
+    @Test
+    void burstIsServedThenCallsAreDeferred() throws IOException {
+        config.setBurst(2);
+        WriteThrottle throttle = throttle();
+        Client client = respondWith(201, Map.of());
+
+        throttle.execute(client, post(), OPTIONS);
+        throttle.execute(client, post(), OPTIONS);
+        GitHubUnavailableException deferred = catchThrowableOfType(
+                () -> throttle.execute(client, post(), OPTIONS), GitHubUnavailableException.class);
+
+        assertThat(calls).hasValue(2);
+        assertThat(deferred.getEndpointClass()).isEqualTo(EndpointClass.WRITE.getId());
+        // One token per second at 60 per minute
+        assertThat(deferred.getRetryAfter()).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void callsWaitForTheirTokenWithinMaxWait() throws IOException {
+        config.setRatePerMinute(6_000);
+        config.setMaxWait(Duration.ofSeconds(1));
+        WriteThrottle throttle = throttle();
+        Client client = respondWith(201, Map.of());
+
+        throttle.execute(client, post(), OPTIONS);
+        long start = System.nanoTime();
+        throttle.execute(client, post(), OPTIONS);
+
+        // 100 tokens per second: the second call waits for about 10 ms
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(5));
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void retryAfterPausesTheLane() {
+        config.setMaxWait(Duration.ofSeconds(30));
+        WriteThrottle throttle = throttle();
+        Client client = respondWith(429, Map.of("Retry-After", List.of("120")));
+
+        GitHubUnavailableException limited = catchThrowableOfType(
+                () -> throttle.execute(client, post(), OPTIONS), GitHubUnavailableException.class);
+        assertThat(limited.getRetryAfter()).isEqualTo(Duration.ofSeconds(120));
+
+        // The pause is longer than max-wait, so the next call fails without reaching GitHub
+        assertThatThrownBy(() -> throttle.execute(client, post(), OPTIONS))
+                .isInstanceOf(GitHubUnavailableException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void plainForbiddenIsReturned() throws IOException {
+        WriteThrottle throttle = throttle();
+
+        Response response = throttle.execute(respondWith(403, Map.of()), post(), OPTIONS);
+
+        assertThat(response.status()).isEqualTo(403);
+    }
+
+    @Test
+    void installationsHaveTheirOwnLanes() throws IOException {
+        WriteThrottle throttle = throttle();
+        Client client = respondWith(201, Map.of());
+
+        throttle.execute(client, post(), OPTIONS);
+        InstallationContext.set(2L);
+        throttle.execute(client, post(), OPTIONS);
+
+        assertThat(calls).hasValue(2);
+    }
+
+    private WriteThrottle throttle() {
+        return new WriteThrottle(config, new SimpleMeterRegistry());
+    }
+
+    private Client respondWith(int status, Map<String, Collection<String>> headers) {
+        return (request, options) -> {
+            calls.incrementAndGet();
+            return Response.builder()
+                    .status(status)
+                    .reason("status " + status)
+                    .request(request)
+                    .headers(headers)
+                    .body("{}", StandardCharsets.UTF_8)
+                    .build();
+        };
+    }
+
+    private static Request post() {
+        return request(Request.HttpMethod.POST, COMMENTS);
+    }
+
+    private static Request request(Request.HttpMethod method, String url) {
+        return Request.create(method, url, Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.model.github;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChangedFilesTest {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Test
+    void readsPagesAndSkipsUnknownFields() throws IOException {
+        String page = """
+                [
+                  {"sha": "a1", "filename": "src/main/App.java", "status": "modified", "additions": 3,
+                   "deletions": 1, "changes": 4, "blob_url": "https://example", "patch": "@@ -1 +1 @@",
+                   "extra": {"nested": [1, 2, {"deep": true}]}},
+                  {"sha": "b2", "filename": "README.md", "status": "renamed", "additions": 0, "deletions": 0,
+                   "changes": 0, "previous_filename": "README.txt", "patch": null},
+                  {"sha": "c3", "filename": "src/main/Util.java", "status": "brand-new", "changes": 12}
+                ]
+                """;
+        ChangedFiles.Builder builder = new ChangedFiles.Builder();
+
+        int count;
+        try (JsonParser parser = JSON_FACTORY.createParser(page)) {
+            count = builder.readPage(parser);
+        }
+        ChangedFiles files = builder.build();
+
+        assertThat(count).isEqualTo(3);
+        assertThat(files.size()).isEqualTo(3);
+        assertThat(files.path(0)).isEqualTo("src/main/App.java");
+        assertThat(files.sha(0)).isEqualTo("a1");
+        assertThat(files.status(0)).isEqualTo(ChangedFiles.Status.MODIFIED);
+        assertThat(files.additions(0)).isEqualTo(3);
+        assertThat(files.deletions(0)).isEqualTo(1);
+        assertThat(files.patchLength(0)).isEqualTo("@@ -1 +1 @@".length());
+        assertThat(files.path(1)).isEqualTo("README.md");
+        assertThat(files.status(1)).isEqualTo(ChangedFiles.Status.RENAMED);
+        assertThat(files.previousFilename(1)).isEqualTo("README.txt");
+        assertThat(files.patchLength(1)).isEqualTo(-1);
+        assertThat(files.status(2)).isEqualTo(ChangedFiles.Status.UNKNOWN);
+        assertThat(files.changes(2)).isEqualTo(12);
+    }
+
+    @Test
+    void rejectsBodiesThatAreNotFileArrays() throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser("{\"message\": \"Not Found\"}")) {
+            assertThatThrownBy(() -> new ChangedFiles.Builder().readPage(parser)).isInstanceOf(IOException.class);
+        }
+    }
+
+    @Test
+    void fileMovesThePatchToTheBean() {
+        ChangedFiles files = new ChangedFiles.Builder()
+                .add("a/b/C.java", "sha", "added", 2, 0, 2, null, "+x\n+y")
+                .build();
+
+        PullRequestFile file = files.file(0);
+
+        assertThat(file.getFilename()).isEqualTo("a/b/C.java");
+        assertThat(file.getStatus()).isEqualTo("added");
+        assertThat(file.getPatch()).isEqualTo("+x\n+y");
+        assertThat(files.patchLength(0)).isEqualTo(-1);
+    }
+
+    @Test
+    void largestReturnsTheMostChangedFilesFirst() {
+        ChangedFiles files = sample();
+
+        assertThat(files.largest(2)).containsExactly(3, 1);
+        assertThat(files.largest(10)).containsExactly(3, 1, 4, 0, 2);
+        assertThat(files.largest(0)).isEmpty();
+        assertThat(files.totalChurn()).isEqualTo(10 + 50 + 1 + 70 + 20);
+    }
+
+    @Test
+    void groupsFilesByExtension() {
+        ChangedFiles files = sample();
+
+        Map<String, Integer> counts = files.countByExtension();
+        assertThat(counts).containsExactlyInAnyOrderEntriesOf(Map.of("java", 3, "md", 1, "", 1));
+        assertThat(counts.keySet()).first().isEqualTo("java");
+        assertThat(files.withExtension("JAVA")).containsExactly(0, 1, 3);
+        assertThat(files.toString()).startsWith("5 files, 151 changed lines, largest: src/D.java (70)");
+    }
+
+    @Test
+    void emptySet() {
+        ChangedFiles files = ChangedFiles.empty();
+
+        assertThat(files.isEmpty()).isTrue();
+        assertThat(files.largest(3)).isEmpty();
+        assertThat(files.toString()).isEqualTo("0 files, 0 changed lines");
+    }
+
+    private static ChangedFiles sample() {
+        return new ChangedFiles.Builder()
+                .add("src/A.java", "1", "modified", 5, 5, 10, null, null)
+                .add("src/B.java", "2", "modified", 50, 0, 50, null, null)
+                .add("Makefile", "3", "modified", 1, 0, 1, null, null)
+                .add("src/D.java", "4", "added", 70, 0, 70, null, null)
+                .add("docs/.hidden/E.md", "5", "modified", 10, 10, 20, null, null)
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.pr.check;
+
+import org.example.client.GitHubApiClient;
+import org.example.client.request.CheckRunRequest;
+import org.example.client.request.CreateReviewCommentRequest;
+import org.example.config.CheckRunConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class CheckRunSessionTest {
+
+    private GitHubApiClient apiClient;
+    private CheckRunSession session;
+
+    @BeforeEach
+    void setUp() {
+        apiClient = mock(GitHubApiClient.class);
+        CheckRunConfig config = new CheckRunConfig();
+        config.setAnnotationBatchSize(2);
+        session = new CheckRunSession(apiClient, config, "o", "r", 42L);
+    }
+
+    @Test
+    void fullBatchesAreSentRightAway() {
+        session.addFindings("a.java", List.of(finding(1), finding(2), finding(3)));
+
+        ArgumentCaptor<CheckRunRequest> request = ArgumentCaptor.forClass(CheckRunRequest.class);
+        verify(apiClient, times(1)).updateCheckRun(eq("o"), eq("r"), eq(42L), request.capture());
+        assertThat(request.getValue().getOutput().getAnnotations()).hasSize(2);
+        assertThat(request.getValue().getConclusion()).isNull();
+    }
+
+    @Test
+    void laterAttemptsDoNotAnnotateAFileTwice() {
+        session.addFindings("a.java", List.of(finding(1)));
+        // A parked job's next attempt reports the file again as unchanged
+        session.addFindings("a.java", List.of(finding(1)));
+
+        session.complete("done");
+
+        ArgumentCaptor<CheckRunRequest> request = ArgumentCaptor.forClass(CheckRunRequest.class);
+        verify(apiClient).updateCheckRun(eq("o"), eq("r"), eq(42L), request.capture());
+        assertThat(request.getValue().getOutput().getAnnotations()).hasSize(1);
+        assertThat(request.getValue().getConclusion()).isEqualTo("neutral");
+    }
+
+    @Test
+    void skipConcludesWithoutAnnotations() {
+        session.addFindings("a.java", List.of(finding(1)));
+
+        session.skip("head moved on");
+
+        ArgumentCaptor<CheckRunRequest> request = ArgumentCaptor.forClass(CheckRunRequest.class);
+        verify(apiClient).updateCheckRun(eq("o"), eq("r"), eq(42L), request.capture());
+        assertThat(request.getValue().getConclusion()).isEqualTo("skipped");
+        assertThat(request.getValue().getOutput().getAnnotations()).isNull();
+    }
+
+    @Test
+    void noopSessionSendsNothing() {
+        CheckRunSession.NOOP.addFindings("a.java", List.of(finding(1)));
+        CheckRunSession.NOOP.complete("done");
+
+        verify(apiClient, never()).updateCheckRun(any(), any(), anyLong(), any());
+    }
+
+    private static CreateReviewCommentRequest finding(int line) {
+        return CreateReviewCommentRequest.builder().line(line).body("finding " + line).build();
+    }
+}
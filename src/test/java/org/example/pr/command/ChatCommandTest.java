@@ -0,0 +1,61 @@
+package org.example.pr.command;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatCommandTest {
+
+    @Test
+    void parsesTargetsWithLineRanges() {
+        ChatCommand command = ChatCommand.parse("Thanks!\n/review src/Foo.java src/Bar.java:10-20 `src/Baz.java#L5`")
+                .orElseThrow();
+
+        assertThat(command.name()).isEqualTo(ChatCommand.Name.REVIEW);
+        assertThat(command.targets()).containsExactly(
+                new ChatCommand.Target("src/Foo.java", null, null),
+                new ChatCommand.Target("src/Bar.java", 10, 20),
+                new ChatCommand.Target("src/Baz.java", 5, 5));
+    }
+
+    @Test
+    void parsesGitHubStyleRanges() {
+        ChatCommand command = ChatCommand.parse("/recheck a.py#L3-L7").orElseThrow();
+
+        assertThat(command.name()).isEqualTo(ChatCommand.Name.RECHECK);
+        assertThat(command.targets()).containsExactly(new ChatCommand.Target("a.py", 3, 7));
+    }
+
+    @Test
+    void recheckWithoutTargets() {
+        ChatCommand command = ChatCommand.parse("  /recheck  ").orElseThrow();
+
+        assertThat(command.targets()).isEmpty();
+    }
+
+    @Test
+    void oversizedLineNumbersDoNotFail() {
+        ChatCommand command = ChatCommand.parse("/review Foo.java:99999999999").orElseThrow();
+
+        // Not a line range, so the whole token is taken as a path that matches no file
+        assertThat(command.targets()).containsExactly(new ChatCommand.Target("Foo.java:99999999999", null, null));
+    }
+
+    @Test
+    void ignoresCommentsWithoutCommand() {
+        assertThat(ChatCommand.parse("LGTM, see /docs/review.md")).isEqualTo(Optional.empty());
+        assertThat(ChatCommand.parse(null)).isEmpty();
+    }
+
+    @Test
+    void targetCoversItsRange() {
+        ChatCommand.Target target = new ChatCommand.Target("a", 10, 20);
+
+        assertThat(target.covers(10)).isTrue();
+        assertThat(target.covers(21)).isFalse();
+        assertThat(target.covers(null)).isFalse();
+        assertThat(new ChatCommand.Target("a", null, null).covers(null)).isTrue();
+    }
+}
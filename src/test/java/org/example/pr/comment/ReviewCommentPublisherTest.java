@@ -0,0 +1,146 @@
+package org.example.pr.comment;
+
+import org.example.client.request.CreateReviewCommentRequest;
+import org.example.client.request.CreateReviewRequest;
+import org.example.config.WriteThrottleConfig;
+import org.example.model.github.ReviewComment;
+import org.example.service.GitHubService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReviewCommentPublisherTest {
+
+    private static final String PATH = "src/Foo.java";
+
+    private GitHubService githubService;
+    private ReviewCommentIndex.PullRequestComments existing;
+    private ReviewCommentPublisher publisher;
+    private long nextId = 100;
+
+    @BeforeEach
+    void setUp() {
+        githubService = mock(GitHubService.class);
+        ReviewCommentIndex index = mock(ReviewCommentIndex.class);
+        existing = new ReviewCommentIndex.PullRequestComments();
+        when(index.forPullRequest("o", "r", 1)).thenReturn(existing);
+        when(githubService.createReviewComment(anyString(), anyString(), anyInt(), any())).thenAnswer(call -> {
+            ReviewComment comment = new ReviewComment();
+            comment.setId(nextId++);
+            return comment;
+        });
+        WriteThrottleConfig writeConfig = new WriteThrottleConfig();
+        // Post one by one, so each new comment is one createReviewComment call
+        writeConfig.setCoalesceMinComments(Integer.MAX_VALUE);
+        publisher = new ReviewCommentPublisher(githubService, index, writeConfig);
+    }
+
+    @Test
+    void cappedFindingsKeepTheirExistingComments() {
+        record(5, "finding A", 1L);
+        record(9, "finding B", 2L);
+
+        List<Long> ids = publisher.publish("o", "r", 1, PATH,
+                List.of(finding(5, "finding A"), finding(9, "finding B changed"), finding(12, "finding C")),
+                new AtomicInteger(0));
+
+        // No new post over the limit, and neither live comment is marked as resolved
+        verify(githubService, never()).createReviewComment(anyString(), anyString(), anyInt(), any());
+        verify(githubService, never()).updateReviewComment(anyString(), anyString(), anyLong(),
+                eq(ReviewCommentPublisher.RESOLVED_BODY));
+        verify(githubService).updateReviewComment("o", "r", 2L, "finding B changed");
+        assertThat(ids).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void limitAppliesToNewCommentsOnly() {
+        record(5, "finding A", 1L);
+        AtomicInteger commentsLeft = new AtomicInteger(1);
+
+        List<Long> ids = publisher.publish("o", "r", 1, PATH,
+                List.of(finding(5, "finding A"), finding(7, "new 1"), finding(8, "new 2")), commentsLeft);
+
+        verify(githubService, times(1)).createReviewComment(anyString(), anyString(), anyInt(), any());
+        assertThat(commentsLeft).hasValue(0);
+        assertThat(ids).containsExactly(1L, 100L);
+    }
+
+    @Test
+    void commentsWithoutFindingAreResolved() {
+        record(5, "finding A", 1L);
+        record(9, "finding B", 2L);
+
+        publisher.publish("o", "r", 1, PATH, List.of(finding(5, "finding A")), new AtomicInteger(10));
+
+        verify(githubService).updateReviewComment("o", "r", 2L, ReviewCommentPublisher.RESOLVED_BODY);
+        verify(githubService, never()).updateReviewComment("o", "r", 1L, ReviewCommentPublisher.RESOLVED_BODY);
+    }
+
+    @Test
+    void newCommentsOfSeveralFilesGoOutAsOneReview() {
+        WriteThrottleConfig coalesceAll = new WriteThrottleConfig();
+        coalesceAll.setCoalesceMinComments(1);
+        ReviewCommentIndex index = mock(ReviewCommentIndex.class);
+        when(index.forPullRequest("o", "r", 1)).thenReturn(existing);
+        publisher = new ReviewCommentPublisher(githubService, index, coalesceAll);
+        when(githubService.createReview(eq("o"), eq("r"), eq(1), any())).thenAnswer(call -> {
+            CreateReviewRequest review = call.getArgument(3);
+            return review.getComments().stream().map(draft -> {
+                ReviewComment comment = new ReviewComment();
+                comment.setId(nextId++);
+                comment.setPath(draft.getPath());
+                comment.setLine(draft.getLine());
+                comment.setSide(draft.getSide());
+                comment.setBody(draft.getBody());
+                return comment;
+            }).toList();
+        });
+        Map<String, List<CreateReviewCommentRequest>> findings = new LinkedHashMap<>();
+        findings.put(PATH, List.of(finding(5, "finding A")));
+        findings.put("src/Bar.java", List.of(finding("src/Bar.java", 3, "finding B")));
+
+        Map<String, List<Long>> ids = publisher.publish("o", "r", 1, findings, new AtomicInteger(10));
+
+        ArgumentCaptor<CreateReviewRequest> review = ArgumentCaptor.forClass(CreateReviewRequest.class);
+        verify(githubService, times(1)).createReview(eq("o"), eq("r"), eq(1), review.capture());
+        assertThat(review.getValue().getComments())
+                .extracting(CreateReviewRequest.DraftComment::getPath)
+                .containsExactly(PATH, "src/Bar.java");
+        assertThat(ids).containsEntry(PATH, List.of(100L)).containsEntry("src/Bar.java", List.of(101L));
+    }
+
+    private void record(int line, String body, long id) {
+        existing.record(PATH, ReviewCommentIndex.anchor("RIGHT", line), ReviewCommentIndex.contentHash(body), id);
+    }
+
+    private static CreateReviewCommentRequest finding(int line, String body) {
+        return finding(PATH, line, body);
+    }
+
+    private static CreateReviewCommentRequest finding(String path, int line, String body) {
+        return CreateReviewCommentRequest.builder()
+                .path(path)
+                .line(line)
+                .side("RIGHT")
+                .body(body)
+                .commitId("abc")
+                .build();
+    }
+}
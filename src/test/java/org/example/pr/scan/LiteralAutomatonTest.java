@@ -0,0 +1,92 @@
+package org.example.pr.scan;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LiteralAutomatonTest {
+
+    @Test
+    void findsOverlappingLiterals() {
+        LiteralAutomaton automaton = new LiteralAutomaton(List.of("he", "she", "his", "hers"));
+
+        // Hits are literal:end pairs, in order of their end position
+        assertThat(hits(automaton, "ushers")).containsExactly("0:4", "1:4", "3:6");
+    }
+
+    @Test
+    void matchesAsciiCaseInsensitively() {
+        LiteralAutomaton automaton = new LiteralAutomaton(List.of("password", "API_KEY"));
+
+        assertThat(hits(automaton, "PassWord = api_key")).containsExactly("0:8", "1:18");
+    }
+
+    @Test
+    void handlesCharactersOutsideAscii() {
+        LiteralAutomaton automaton = new LiteralAutomaton(List.of("gr\u00f6\u00dfe", "\u00df"));
+
+        assertThat(hits(automaton, "die gr\u00f6\u00dfe")).containsExactly("1:8", "0:9");
+        assertThat(hits(automaton, "\u00fc")).isEmpty();
+    }
+
+    @Test
+    void reportsLiteralLengths() {
+        LiteralAutomaton automaton = new LiteralAutomaton(List.of("a", "abc"));
+
+        assertThat(automaton.length(0)).isEqualTo(1);
+        assertThat(automaton.length(1)).isEqualTo(3);
+        // Root, "a", "ab", "abc"
+        assertThat(automaton.stateCount()).isEqualTo(4);
+    }
+
+    @Test
+    void rejectsEmptyLiterals() {
+        assertThatThrownBy(() -> new LiteralAutomaton(List.of("a", "")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void agreesWithNaiveSearch() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            List<String> literals = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(6); i++) {
+                literals.add(randomText(random, 1 + random.nextInt(4)));
+            }
+            String text = randomText(random, random.nextInt(40));
+            LiteralAutomaton automaton = new LiteralAutomaton(literals);
+
+            List<String> expected = new ArrayList<>();
+            for (int end = 1; end <= text.length(); end++) {
+                for (int i = 0; i < literals.size(); i++) {
+                    String literal = literals.get(i);
+                    if (end >= literal.length()
+                            && text.substring(end - literal.length(), end).equalsIgnoreCase(literal)) {
+                        expected.add(i + ":" + end);
+                    }
+                }
+            }
+            assertThat(hits(automaton, text)).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    private static List<String> hits(LiteralAutomaton automaton, String text) {
+        List<String> hits = new ArrayList<>();
+        automaton.scan(text, (literal, end) -> hits.add(literal + ":" + end));
+        return hits;
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            // A small alphabet with both cases makes overlaps likely
+            text.append("abAB".charAt(random.nextInt(4)));
+        }
+        return text.toString();
+    }
+}
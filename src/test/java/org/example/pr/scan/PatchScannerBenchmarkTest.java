@@ -0,0 +1,120 @@
+package org.example.pr.scan;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.FileLimitsConfig;
+import org.example.config.ScanRulesConfig;
+import org.example.content.ContentSpooler;
+import org.example.content.JobMemoryBudget;
+import org.example.content.SpooledContent;
+import org.example.model.review.RepositoryConfig;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput of the pattern rule scan in MB/s of added diff lines, with the default rules
+ * and with 500 extra rules. Run with mvn test -Pbenchmark -Dtest=PatchScannerBenchmarkTest.
+ */
+@Tag("benchmark")
+class PatchScannerBenchmarkTest {
+
+    private static final int PATCH_LINES = 200_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final String[] LINES = {
+            "    private final Map<String, List<Integer>> index = new HashMap<>();",
+            "        for (int i = 0; i < items.size(); i++) {",
+            "            result.add(transform(items.get(i), options));",
+            "        log.debug(\"Processed {} items in {} ms\", count, elapsed);",
+            "    public Optional<Order> findOrder(long customerId, String reference) {",
+            "        return repository.findByCustomerAndReference(customerId, reference);",
+            "        // TODO handle partial refunds",
+            "        if (response.getStatus() >= 400 && retries++ < maxRetries) {",
+            "            throw new IllegalStateException(\"Unexpected state: \" + state);",
+            "        String url = baseUrl + \"/api/v2/orders/\" + URLEncoder.encode(id, UTF_8);",
+            "    }",
+            "",
+    };
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void defaultRules() throws IOException {
+        measure("classpath:scan-rules.yml", "default rules");
+    }
+
+    @Test
+    void defaultRulesPlus500() throws IOException {
+        Path rules = directory.resolve("rules.yml");
+        try (InputStream in = new DefaultResourceLoader().getResource("classpath:scan-rules.yml").getInputStream()) {
+            StringBuilder yaml = new StringBuilder(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            for (int i = 0; i < 500; i++) {
+                yaml.append("\n  - id: bench-").append(i).append("\n    check: banned-api\n");
+                if (i % 4 == 0) {
+                    yaml.append("    regex: \"\\\\bLegacyClient").append(i).append("\\\\.(?:get|post)\\\\(\"\n");
+                } else {
+                    yaml.append("    literal: \"com.example.legacy.Api").append(i).append(".call(\"\n");
+                }
+                yaml.append("    message: Benchmark rule ").append(i).append('.');
+            }
+            Files.writeString(rules, yaml.append('\n'));
+        }
+        measure("file:" + rules, "default rules + 500");
+    }
+
+    private void measure(String rules, String label) throws IOException {
+        ScanRulesConfig config = new ScanRulesConfig();
+        config.setRules(rules);
+        config.setMaxFindingsPerFile(Integer.MAX_VALUE);
+        PatchScanner scanner = new PatchScanner(config, new DefaultResourceLoader(), new ObjectMapper(),
+                new SimpleMeterRegistry());
+
+        FileLimitsConfig limits = new FileLimitsConfig();
+        limits.setMaxFileBytes(256L * 1024 * 1024);
+        limits.setSpillThresholdBytes(256L * 1024 * 1024);
+        limits.setJobMemoryBudgetBytes(512L * 1024 * 1024);
+        limits.setSpillDirectory(directory.toString());
+        ContentSpooler spooler = new ContentSpooler(limits, new SimpleMeterRegistry());
+
+        StringBuilder patch = new StringBuilder("@@ -1,0 +1,").append(PATCH_LINES).append(" @@\n");
+        long addedBytes = 0;
+        Random random = new Random(42);
+        for (int i = 0; i < PATCH_LINES; i++) {
+            String line = LINES[random.nextInt(LINES.length)];
+            patch.append('+').append(line).append('\n');
+            addedBytes += line.length();
+        }
+
+        RepositoryConfig repoConfig = RepositoryConfig.DEFAULT;
+        try (JobMemoryBudget budget = spooler.openBudget("benchmark");
+             SpooledContent content = spooler.spool(patch.toString(), budget)) {
+            int findings = 0;
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                findings = scanner.scan("Bench.java", content, "head", repoConfig).size();
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                scanner.scan("Bench.java", content, "head", repoConfig);
+            }
+            long elapsed = System.nanoTime() - start;
+
+            double megabytes = addedBytes * (double) MEASURED_ROUNDS / (1024 * 1024);
+            System.out.printf("%s: %d rules, %d states, %.1f MB scanned at %.1f MB/s, %d findings per round%n",
+                    label, scanner.getRuleSet().size(), scanner.getRuleSet().stateCount(), megabytes,
+                    megabytes / (elapsed / 1e9), findings);
+            assertThat(findings).isPositive();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.pr.shard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.config.ShardingConfig;
+import org.example.model.webhook.PullRequest;
+import org.example.model.webhook.Repository;
+import org.example.model.webhook.User;
+import org.example.model.webhook.WebhookPayload;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardCheckpointStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private ShardCheckpointStore store;
+
+    @BeforeEach
+    void setUp() {
+        ShardingConfig config = new ShardingConfig();
+        config.setCheckpointDirectory(directory.toString());
+        store = new ShardCheckpointStore(config, new ObjectMapper());
+    }
+
+    @Test
+    void savedCheckpointsAreLoadedBack() {
+        store.save(new ShardCheckpointStore.Checkpoint(payload("aaa"), 4, 0));
+        store.save(new ShardCheckpointStore.Checkpoint(payload("aaa"), 4, 3));
+
+        List<ShardCheckpointStore.Checkpoint> loaded = store.load();
+
+        assertThat(loaded).hasSize(1);
+        assertThat(loaded.get(0).shards()).isEqualTo(4);
+        assertThat(loaded.get(0).completedShards()).isEqualTo(3);
+        assertThat(loaded.get(0).payload().getPullRequest().getHead().getSha()).isEqualTo("aaa");
+    }
+
+    @Test
+    void finishingAnOldHeadKeepsTheNewerCheckpoint() {
+        store.save(new ShardCheckpointStore.Checkpoint(payload("old"), 4, 2));
+        store.save(new ShardCheckpointStore.Checkpoint(payload("new"), 5, 0));
+
+        store.delete(payload("old"));
+
+        assertThat(store.load())
+                .extracting(checkpoint -> checkpoint.payload().getPullRequest().getHead().getSha())
+                .containsExactly("new");
+    }
+
+    @Test
+    void missingDirectoryHasNoCheckpoints() {
+        ShardingConfig config = new ShardingConfig();
+        config.setCheckpointDirectory(directory.resolve("missing").toString());
+
+        assertThat(new ShardCheckpointStore(config, new ObjectMapper()).load()).isEmpty();
+    }
+
+    private static WebhookPayload payload(String headSha) {
+        User owner = new User();
+        owner.setLogin("octo");
+        Repository repository = new Repository();
+        repository.setName("repo");
+        repository.setOwner(owner);
+        PullRequest.Branch head = new PullRequest.Branch();
+        head.setSha(headSha);
+        PullRequest pullRequest = new PullRequest();
+        pullRequest.setNumber(7);
+        pullRequest.setHead(head);
+        WebhookPayload payload = new WebhookPayload();
+        payload.setRepository(repository);
+        payload.setPullRequest(pullRequest);
+        return payload;
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.service;
+
+import feign.Request;
+import feign.Response;
+import org.example.client.GitHubApiClient;
+import org.example.config.ContentFetchConfig;
+import org.example.content.ContentSpooler;
+import org.example.content.JobMemoryBudget;
+import org.example.content.SpooledContent;
+import org.example.exception.GitHubUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GitHubServiceFileContentsTest {
+
+    private GitHubApiClient apiClient;
+    private ContentSpooler contentSpooler;
+    private TarballContentFetcher tarballFetcher;
+    private ContentFetchConfig config;
+    private GitHubService service;
+
+    @BeforeEach
+    void setUp() {
+        apiClient = mock(GitHubApiClient.class);
+        contentSpooler = mock(ContentSpooler.class);
+        tarballFetcher = mock(TarballContentFetcher.class);
+        config = new ContentFetchConfig();
+        service = new GitHubService(apiClient, contentSpooler, tarballFetcher,
+                mock(GraphQlContentFetcher.class), config);
+    }
+
+    @Test
+    void fileFailingOverRestIsSkipped() throws Exception {
+        SpooledContent content = mock(SpooledContent.class);
+        when(contentSpooler.spool(any(InputStream.class), anyLong(), any())).thenReturn(content);
+        when(apiClient.getRawFileContent(eq("o"), eq("r"), eq("kept.java"), eq("sha"), anyString()))
+                .thenReturn(ok());
+        when(apiClient.getRawFileContent(eq("o"), eq("r"), eq("deleted.java"), eq("sha"), anyString()))
+                .thenThrow(new RuntimeException("404 Not Found"));
+
+        Map<String, SpooledContent> contents = service.getFileContents("o", "r", "sha",
+                new LinkedHashSet<>(List.of("deleted.java", "kept.java")), mock(JobMemoryBudget.class));
+
+        assertThat(contents).isEqualTo(Map.of("kept.java", content));
+    }
+
+    @Test
+    void unavailableGitHubFailsTheFetch() {
+        GitHubUnavailableException unavailable = new GitHubUnavailableException("read", Duration.ofSeconds(30), "open");
+        when(apiClient.getRawFileContent(eq("o"), eq("r"), eq("a.java"), eq("sha"), anyString()))
+                .thenThrow(unavailable);
+
+        assertThatThrownBy(() -> service.getFileContents("o", "r", "sha",
+                new LinkedHashSet<>(List.of("a.java")), mock(JobMemoryBudget.class))).isSameAs(unavailable);
+    }
+
+    @Test
+    void pathsOfAFailedTarballFallBackToRest() throws Exception {
+        config.setTarballThreshold(2);
+        SpooledContent extracted = mock(SpooledContent.class);
+        SpooledContent fetched = mock(SpooledContent.class);
+        when(tarballFetcher.fetch(eq("o"), eq("r"), eq("sha"), any(), any()))
+                .thenReturn(new TarballContentFetcher.Result(Map.of("a.java", extracted), Set.of("kept.java")));
+        when(contentSpooler.spool(any(InputStream.class), anyLong(), any())).thenReturn(fetched);
+        when(apiClient.getRawFileContent(eq("o"), eq("r"), eq("kept.java"), eq("sha"), anyString()))
+                .thenReturn(ok());
+
+        Map<String, SpooledContent> contents = service.getFileContents("o", "r", "sha",
+                new LinkedHashSet<>(List.of("a.java", "kept.java")), mock(JobMemoryBudget.class));
+
+        assertThat(contents).isEqualTo(Map.of("a.java", extracted, "kept.java", fetched));
+    }
+
+    private static Response ok() {
+        return Response.builder()
+                .status(200)
+                .request(Request.create(Request.HttpMethod.GET, "https://api.github.com/repos/o/r/contents/kept.java",
+                        Map.of(), null, StandardCharsets.UTF_8, null))
+                .body("class Kept {}", StandardCharsets.UTF_8)
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.service;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GitHubServiceOpenBodyTest {
+
+    private static final Request REQUEST = Request.create(Request.HttpMethod.GET,
+            "https://api.github.com/repos/o/r/tarball/abc", Map.of(), null, StandardCharsets.UTF_8, null);
+
+    @Test
+    void errorStatusIsThrownBeforeTheBodyIsOpened() {
+        Response response = response(404).body("{\"message\":\"Not Found\"}", StandardCharsets.UTF_8).build();
+
+        assertThatThrownBy(() -> GitHubService.openBody(response, "downloadTarball"))
+                .isInstanceOf(FeignException.NotFound.class);
+    }
+
+    @Test
+    void errorStatusWithoutBodyIsThrownAsFeignException() {
+        Response response = response(502).build();
+
+        assertThatThrownBy(() -> GitHubService.openBody(response, "downloadTarball"))
+                .isInstanceOf(FeignException.BadGateway.class);
+    }
+
+    @Test
+    void successWithoutBodyFails() {
+        Response response = response(204).build();
+
+        assertThatThrownBy(() -> GitHubService.openBody(response, "getRawFileContent"))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void successOpensTheBody() throws IOException {
+        Response response = response(200).body("content", StandardCharsets.UTF_8).build();
+
+        try (InputStream body = GitHubService.openBody(response, "getRawFileContent")) {
+            assertThat(new String(body.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("content");
+        }
+    }
+
+    private static Response.Builder response(int status) {
+        return Response.builder().status(status).reason("status " + status).request(REQUEST).headers(Map.of());
+    }
+}
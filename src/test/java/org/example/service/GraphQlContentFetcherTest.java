@@ -0,0 +1,95 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.client.GitHubGraphQlClient;
+import org.example.config.ContentFetchConfig;
+import org.example.content.ContentSpooler;
+import org.example.content.JobMemoryBudget;
+import org.example.content.SpooledContent;
+import org.example.exception.GitHubUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GraphQlContentFetcherTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private GitHubGraphQlClient graphQlClient;
+    private ContentSpooler contentSpooler;
+    private GraphQlContentFetcher fetcher;
+
+    @BeforeEach
+    void setUp() {
+        graphQlClient = mock(GitHubGraphQlClient.class);
+        contentSpooler = mock(ContentSpooler.class);
+        ContentFetchConfig config = new ContentFetchConfig();
+        config.setGraphqlBatchSize(2);
+        fetcher = new GraphQlContentFetcher(graphQlClient, contentSpooler, config);
+    }
+
+    @Test
+    void failedBatchFallsBackWithoutDroppingOthers() throws Exception {
+        SpooledContent content = mock(SpooledContent.class);
+        when(contentSpooler.spool(eq("text"), any())).thenReturn(content);
+        JsonNode answer = objectMapper.readTree(
+                "{\"data\":{\"repository\":{\"f0\":{\"isBinary\":false,\"isTruncated\":false,\"text\":\"text\"},"
+                        + "\"f1\":{\"isBinary\":true,\"isTruncated\":false,\"text\":null}}}}");
+        when(graphQlClient.query(anyMap()))
+                .thenReturn(answer)
+                .thenThrow(new RuntimeException("502 Bad Gateway"));
+
+        GraphQlContentFetcher.Result result = fetcher.fetch("o", "r", "sha",
+                new LinkedHashSet<>(List.of("a", "b", "c", "d")), mock(JobMemoryBudget.class));
+
+        assertThat(result.contents()).isEqualTo(Map.of("a", content));
+        assertThat(result.fallbackPaths()).containsExactly("b", "c", "d");
+    }
+
+    @Test
+    void nullRepositoryFallsBackInsteadOfDroppingTheBatch() throws Exception {
+        when(graphQlClient.query(anyMap())).thenReturn(objectMapper.readTree(
+                "{\"data\":{\"repository\":null},"
+                        + "\"errors\":[{\"type\":\"NOT_FOUND\",\"path\":[\"repository\"]}]}"));
+
+        GraphQlContentFetcher.Result result = fetcher.fetch("o", "r", "sha",
+                new LinkedHashSet<>(List.of("a", "b")), mock(JobMemoryBudget.class));
+
+        assertThat(result.contents()).isEmpty();
+        assertThat(result.fallbackPaths()).containsExactly("a", "b");
+    }
+
+    @Test
+    void onlyBlobsWithoutErrorsAreTreatedAsMissing() throws Exception {
+        when(graphQlClient.query(anyMap())).thenReturn(objectMapper.readTree(
+                "{\"data\":{\"repository\":{\"f0\":null,\"f1\":null}},"
+                        + "\"errors\":[{\"message\":\"timeout\",\"path\":[\"repository\",\"f1\"]}]}"));
+
+        GraphQlContentFetcher.Result result = fetcher.fetch("o", "r", "sha",
+                new LinkedHashSet<>(List.of("deleted", "failed")), mock(JobMemoryBudget.class));
+
+        assertThat(result.contents()).isEmpty();
+        assertThat(result.fallbackPaths()).containsExactly("failed");
+    }
+
+    @Test
+    void unavailableGitHubIsRethrown() {
+        GitHubUnavailableException unavailable = new GitHubUnavailableException("read", Duration.ofSeconds(30), "open");
+        when(graphQlClient.query(anyMap())).thenThrow(unavailable);
+
+        assertThatThrownBy(() -> fetcher.fetch("o", "r", "sha", new LinkedHashSet<>(List.of("a")),
+                mock(JobMemoryBudget.class))).isSameAs(unavailable);
+    }
+}
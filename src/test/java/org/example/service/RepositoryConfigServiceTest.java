@@ -0,0 +1,59 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import org.example.client.GitHubApiClient;
+import org.example.exception.GitHubUnavailableException;
+import org.example.model.review.RepositoryConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RepositoryConfigServiceTest {
+
+    private GitHubApiClient apiClient;
+    private RepositoryConfigService service;
+
+    @BeforeEach
+    void setUp() {
+        apiClient = mock(GitHubApiClient.class);
+        service = new RepositoryConfigService(apiClient, new ObjectMapper());
+    }
+
+    @Test
+    void missingFileUsesDefaults() {
+        when(apiClient.getFileContent("o", "r", RepositoryConfigService.CONFIG_PATH, "main"))
+                .thenThrow(mock(FeignException.NotFound.class));
+
+        assertThat(service.getConfig("o", "r", "main")).isSameAs(RepositoryConfig.DEFAULT);
+        assertThat(service.getConfig("o", "r", "main")).isSameAs(RepositoryConfig.DEFAULT);
+        // The missing file is cached until a push touches it
+        verify(apiClient, times(1)).getFileContent("o", "r", RepositoryConfigService.CONFIG_PATH, "main");
+    }
+
+    @Test
+    void unavailableGitHubIsRethrown() {
+        GitHubUnavailableException unavailable = new GitHubUnavailableException("read", Duration.ofSeconds(30), "open");
+        when(apiClient.getFileContent("o", "r", RepositoryConfigService.CONFIG_PATH, "main")).thenThrow(unavailable);
+
+        assertThatThrownBy(() -> service.getConfig("o", "r", "main")).isSameAs(unavailable);
+    }
+
+    @Test
+    void otherFailuresFailTheJob() {
+        when(apiClient.getFileContent("o", "r", RepositoryConfigService.CONFIG_PATH, "main"))
+                .thenThrow(mock(FeignException.InternalServerError.class));
+
+        assertThatThrownBy(() -> service.getConfig("o", "r", "main"))
+                .isInstanceOf(RuntimeException.class)
+                .hasCauseInstanceOf(FeignException.InternalServerError.class);
+    }
+}
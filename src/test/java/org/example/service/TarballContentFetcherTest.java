@@ -0,0 +1,113 @@
+package org.example.service;
+
+import feign.Request;
+import feign.Response;
+import org.example.client.GitHubApiClient;
+import org.example.content.ContentSpooler;
+import org.example.content.JobMemoryBudget;
+import org.example.content.SpooledContent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TarballContentFetcherTest {
+
+    private GitHubApiClient apiClient;
+    private ContentSpooler contentSpooler;
+    private TarballContentFetcher fetcher;
+
+    @BeforeEach
+    void setUp() {
+        apiClient = mock(GitHubApiClient.class);
+        contentSpooler = mock(ContentSpooler.class);
+        fetcher = new TarballContentFetcher(apiClient, contentSpooler);
+    }
+
+    @Test
+    void truncatedArchiveKeepsExtractedFilesAndFallsBackForTheRest() throws Exception {
+        SpooledContent content = mock(SpooledContent.class);
+        when(contentSpooler.spool(any(InputStream.class), anyLong(), any())).thenReturn(content);
+        ByteArrayOutputStream tar = new ByteArrayOutputStream();
+        tar.write(header("o-r-sha/a.java", 5));
+        tar.write(Arrays.copyOf("hello".getBytes(StandardCharsets.US_ASCII), 512));
+        // The archive ends in the middle of the next header
+        tar.write(header("o-r-sha/b.java", 5), 0, 200);
+        when(apiClient.downloadTarball("o", "r", "sha")).thenReturn(response(gzip(tar.toByteArray())));
+
+        TarballContentFetcher.Result result = fetcher.fetch("o", "r", "sha",
+                new LinkedHashSet<>(List.of("a.java", "b.java")), mock(JobMemoryBudget.class));
+
+        assertThat(result.contents()).isEqualTo(Map.of("a.java", content));
+        assertThat(result.fallbackPaths()).containsExactly("b.java");
+    }
+
+    @Test
+    void corruptArchiveFallsBackForAllPaths() {
+        when(apiClient.downloadTarball("o", "r", "sha"))
+                .thenReturn(response("not a gzip stream".getBytes(StandardCharsets.US_ASCII)));
+
+        TarballContentFetcher.Result result = fetcher.fetch("o", "r", "sha",
+                new LinkedHashSet<>(List.of("a.java", "b.java")), mock(JobMemoryBudget.class));
+
+        assertThat(result.contents()).isEmpty();
+        assertThat(result.fallbackPaths()).containsExactlyInAnyOrder("a.java", "b.java");
+    }
+
+    @Test
+    void pathsMissingFromACompleteArchiveDoNotFallBack() throws Exception {
+        when(contentSpooler.spool(any(InputStream.class), anyLong(), any())).thenReturn(mock(SpooledContent.class));
+        ByteArrayOutputStream tar = new ByteArrayOutputStream();
+        tar.write(header("o-r-sha/a.java", 5));
+        tar.write(Arrays.copyOf("hello".getBytes(StandardCharsets.US_ASCII), 512));
+        tar.write(new byte[1024]);
+        when(apiClient.downloadTarball("o", "r", "sha")).thenReturn(response(gzip(tar.toByteArray())));
+
+        TarballContentFetcher.Result result = fetcher.fetch("o", "r", "sha",
+                new LinkedHashSet<>(List.of("a.java", "deleted.java")), mock(JobMemoryBudget.class));
+
+        assertThat(result.contents()).containsOnlyKeys("a.java");
+        assertThat(result.fallbackPaths()).isEmpty();
+    }
+
+    private static byte[] header(String name, long size) {
+        byte[] header = new byte[512];
+        byte[] nameBytes = name.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(nameBytes, 0, header, 0, nameBytes.length);
+        byte[] sizeBytes = String.format("%011o", size).getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(sizeBytes, 0, header, 124, sizeBytes.length);
+        header[156] = '0';
+        return header;
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static Response response(byte[] body) {
+        return Response.builder()
+                .status(200)
+                .request(Request.create(Request.HttpMethod.GET, "https://api.github.com/repos/o/r/tarball/sha",
+                        Map.of(), null, StandardCharsets.UTF_8, null))
+                .body(body)
+                .build();
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.client.request.CreateReviewCommentRequest;
+import org.example.config.FindingsCacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FindingsCacheTest {
+
+    private static final String BLOB_A = "a".repeat(40);
+    private static final String BLOB_B = "b".repeat(40);
+    private static final String BLOB_C = "c".repeat(40);
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private FindingsCacheConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new FindingsCacheConfig();
+        config.setDirectory(directory.toString());
+        config.setMemoryEntries(100);
+    }
+
+    @Test
+    void acceptsOnlyBlobShas() {
+        FindingsCache cache = open();
+
+        assertThat(cache.accepts(BLOB_A)).isTrue();
+        assertThat(cache.accepts("A".repeat(40))).isFalse();
+        assertThat(cache.accepts("abc123")).isFalse();
+        assertThat(cache.accepts(null)).isFalse();
+
+        config.setEnabled(false);
+        assertThat(cache.accepts(BLOB_A)).isFalse();
+    }
+
+    @Test
+    void anchorsCachedFindingsOnTheCurrentFile() {
+        FindingsCache cache = open();
+        FindingsCache.Key key = key(BLOB_A);
+
+        assertThat(cache.get(key, "src/A.java", "head1")).isNull();
+        cache.put(key, List.of(finding("Unused import", 3)));
+
+        List<CreateReviewCommentRequest> hits = cache.get(key, "lib/A.java", "head2");
+        assertThat(hits).singleElement().satisfies(hit -> {
+            assertThat(hit.getBody()).isEqualTo("Unused import");
+            assertThat(hit.getLine()).isEqualTo(3);
+            assertThat(hit.getSide()).isEqualTo("RIGHT");
+            assertThat(hit.getPath()).isEqualTo("lib/A.java");
+            assertThat(hit.getCommitId()).isEqualTo("head2");
+        });
+    }
+
+    @Test
+    void separatesAnalyzerVersionsAndFingerprints() {
+        FindingsCache cache = open();
+        cache.put(key(BLOB_A), List.of(finding("Unused import", 3)));
+
+        assertThat(cache.get(new FindingsCache.Key("lint", 2, "rules-1", BLOB_A), "A.java", "head")).isNull();
+        assertThat(cache.get(new FindingsCache.Key("lint", 1, "rules-2", BLOB_A), "A.java", "head")).isNull();
+    }
+
+    @Test
+    void readsEntriesBackAfterRestart() {
+        open().put(key(BLOB_A), List.of(finding("Unused import", 3), finding("Missing null check", 7)));
+
+        FindingsCache reopened = open();
+
+        assertThat(reopened.getDiskBytes()).isPositive();
+        assertThat(reopened.get(key(BLOB_A), "A.java", "head"))
+                .extracting(CreateReviewCommentRequest::getLine)
+                .containsExactly(3, 7);
+    }
+
+    @Test
+    void deletesLeastRecentlyUsedFilesBeyondTheDiskLimit() {
+        FindingsCache cache = open();
+        cache.put(key(BLOB_A), List.of(finding("Unused import", 3)));
+        long entryBytes = cache.getDiskBytes();
+        config.setMaxDiskBytes(entryBytes * 2 + entryBytes / 2);
+
+        cache.put(key(BLOB_B), List.of(finding("Unused import", 3)));
+        cache.put(key(BLOB_C), List.of(finding("Unused import", 3)));
+
+        assertThat(cache.getDiskBytes()).isLessThanOrEqualTo(config.getMaxDiskBytes());
+        FindingsCache reopened = open();
+        assertThat(reopened.get(key(BLOB_A), "A.java", "head")).isNull();
+        assertThat(reopened.get(key(BLOB_B), "B.java", "head")).hasSize(1);
+        assertThat(reopened.get(key(BLOB_C), "C.java", "head")).hasSize(1);
+    }
+
+    @Test
+    void ignoresFilesOfAnotherKey() throws IOException {
+        open().put(key(BLOB_A), List.of(finding("Unused import", 3)));
+        // A file name collision: the file holds the findings of another key
+        Path file;
+        try (Stream<Path> listing = Files.list(directory)) {
+            file = listing.findFirst().orElseThrow();
+        }
+        FindingsCache.Entry entry = objectMapper.readValue(file.toFile(), FindingsCache.Entry.class);
+        objectMapper.writeValue(file.toFile(), new FindingsCache.Entry(key(BLOB_B), entry.findings()));
+
+        assertThat(open().get(key(BLOB_A), "A.java", "head")).isNull();
+    }
+
+    private FindingsCache open() {
+        FindingsCache cache = new FindingsCache(config, objectMapper, new SimpleMeterRegistry());
+        cache.open();
+        return cache;
+    }
+
+    private static FindingsCache.Key key(String blobSha) {
+        return new FindingsCache.Key("lint", 1, "rules-1", blobSha);
+    }
+
+    private static CreateReviewCommentRequest finding(String body, int line) {
+        return CreateReviewCommentRequest.builder()
+                .body(body)
+                .line(line)
+                .side("RIGHT")
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.config.ReviewStoreConfig;
+import org.example.model.review.ReviewRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReviewResultStoreTest {
+
+    private static final String REPO = "owner/repo";
+
+    @TempDir
+    Path directory;
+
+    private ReviewResultStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ReviewStoreConfig config = new ReviewStoreConfig();
+        config.setDirectory(directory.toString());
+        config.setMaxEntries(10);
+        store = new ReviewResultStore(config, new ObjectMapper());
+        store.open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void evictsBelowTheEntryLimitSoPutsDoNotRewriteTheLog() throws IOException {
+        for (int i = 0; i < 10; i++) {
+            store.put(record(i));
+        }
+        assertThat(store.size()).isEqualTo(10);
+
+        store.put(record(10));
+
+        // Down to 90% of maxEntries, oldest first
+        assertThat(store.size()).isEqualTo(9);
+        assertThat(store.isReviewed(REPO, 1, "File1.java", "sha1")).isFalse();
+        assertThat(store.isReviewed(REPO, 1, "File2.java", "sha2")).isTrue();
+        assertThat(logLines()).isEqualTo(9);
+
+        // The next put only appends
+        store.put(record(11));
+        assertThat(store.size()).isEqualTo(10);
+        assertThat(logLines()).isEqualTo(10);
+    }
+
+    @Test
+    void keepsRecordsAcrossRestarts() throws IOException {
+        store.put(record(1));
+        store.close();
+
+        ReviewStoreConfig config = new ReviewStoreConfig();
+        config.setDirectory(directory.toString());
+        store = new ReviewResultStore(config, new ObjectMapper());
+        store.open();
+
+        assertThat(store.get(REPO, 1, "File1.java", "sha1"))
+                .hasValueSatisfying(found -> assertThat(found.getHeadSha()).isEqualTo("head"));
+    }
+
+    private long logLines() throws IOException {
+        try (var lines = Files.lines(directory.resolve("reviews.log"))) {
+            return lines.count();
+        }
+    }
+
+    private static ReviewRecord record(int i) {
+        return ReviewRecord.builder()
+                .repository(REPO)
+                .pullNumber(1)
+                .path("File" + i + ".java")
+                .blobSha("sha" + i)
+                .headSha("head")
+                .reviewedAt(i)
+                .build();
+    }
+}